@@ -0,0 +1,193 @@
+package com.lovemp.common.domain;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 聚合流式读取支持
+ *
+ * <p>仓储的stream系列方法返回惰性的{@link Stream}：按fetchSize分批从存储中拉取，调用方消费多少才读取多少
+ * （拉取模型天然具备背压），同一时刻堆上最多只保留一批聚合，内存占用与租户数据量无关。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * // 批处理/导出：流必须关闭，以释放底层游标或连接
+ * try (Stream&lt;BrandCustomer&gt; customers = brandCustomerRepository.streamByBrandId(brandId, 500)) {
+ *     customers.forEach(exporter::write);
+ * }
+ *
+ * // 按批处理，方法结束时自动关闭流
+ * AggregateStreams.forEachBatch(repository.streamAll(500), 200, batch -&gt; indexer.index(batch));
+ * </pre>
+ *
+ * <p>仓储实现可使用{@link #keyset}按主键分批查询构造流，或使用{@link #fromIterator}包装数据库游标
+ * （如JDBC设置fetchSize的ResultSet、Hibernate ScrollableResults）。</p>
+ */
+public final class AggregateStreams {
+
+    /**
+     * 默认每批拉取条数
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    /**
+     * 每批拉取条数上限
+     */
+    public static final int MAX_FETCH_SIZE = 10_000;
+
+    private AggregateStreams() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 基于键集分批查询构造惰性流
+     *
+     * <p>batchLoader接收上一批末行游标（首批为null）和批大小，按排序键升序返回不超过批大小的行；
+     * 返回行数小于批大小即视为读取完毕。</p>
+     *
+     * @param fetchSize 每批拉取条数
+     * @param batchLoader 批量加载函数
+     * @param cursorExtractor 从行中提取排序键
+     * @param <T> 元素类型
+     * @return 惰性流
+     */
+    public static <T> Stream<T> keyset(int fetchSize, BiFunction<Cursor, Integer, List<T>> batchLoader,
+                                       Function<? super T, Cursor> cursorExtractor) {
+        checkFetchSize(fetchSize);
+        Objects.requireNonNull(batchLoader, "批量加载函数不能为空");
+        Objects.requireNonNull(cursorExtractor, "游标提取函数不能为空");
+        KeysetSpliterator<T> spliterator = new KeysetSpliterator<>(fetchSize, batchLoader, cursorExtractor);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * 将底层游标迭代器包装为流，流关闭时执行onClose释放资源
+     *
+     * @param iterator 游标迭代器
+     * @param onClose 关闭回调
+     * @param <T> 元素类型
+     * @return 惰性流
+     */
+    public static <T> Stream<T> fromIterator(Iterator<T> iterator, Runnable onClose) {
+        Objects.requireNonNull(iterator, "迭代器不能为空");
+        Stream<T> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+        return onClose == null ? stream : stream.onClose(onClose);
+    }
+
+    /**
+     * 按批消费流，结束（包括异常）时关闭流
+     *
+     * @param stream 聚合流
+     * @param batchSize 每批条数
+     * @param consumer 批处理函数，每批传入新的列表
+     * @param <T> 元素类型
+     * @return 处理的总条数
+     */
+    public static <T> long forEachBatch(Stream<T> stream, int batchSize, Consumer<List<T>> consumer) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("批大小必须大于0");
+        }
+        Objects.requireNonNull(consumer, "批处理函数不能为空");
+        long total = 0;
+        try (Stream<T> source = stream) {
+            Iterator<T> iterator = source.iterator();
+            List<T> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    consumer.accept(batch);
+                    total += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                total += batch.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 校验每批拉取条数
+     *
+     * @param fetchSize 每批拉取条数
+     * @throws IllegalArgumentException 超出范围时
+     */
+    public static void checkFetchSize(int fetchSize) {
+        if (fetchSize <= 0 || fetchSize > MAX_FETCH_SIZE) {
+            throw new IllegalArgumentException("每批拉取条数必须在1到" + MAX_FETCH_SIZE + "之间");
+        }
+    }
+
+    /**
+     * 键集分批读取的Spliterator，只持有当前一批数据
+     */
+    private static final class KeysetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final int fetchSize;
+        private final BiFunction<Cursor, Integer, List<T>> batchLoader;
+        private final Function<? super T, Cursor> cursorExtractor;
+
+        private List<T> batch;
+        private int index;
+        private Cursor cursor;
+        private boolean exhausted;
+        private volatile boolean closed;
+
+        private KeysetSpliterator(int fetchSize, BiFunction<Cursor, Integer, List<T>> batchLoader,
+                                  Function<? super T, Cursor> cursorExtractor) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.fetchSize = fetchSize;
+            this.batchLoader = batchLoader;
+            this.cursorExtractor = cursorExtractor;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                throw new IllegalStateException("聚合流已关闭");
+            }
+            if (batch == null || index == batch.size()) {
+                if (exhausted || !loadNextBatch()) {
+                    return false;
+                }
+            }
+            action.accept(batch.get(index++));
+            return true;
+        }
+
+        private boolean loadNextBatch() {
+            // 先释放上一批的引用，保证堆上最多只有一批数据
+            batch = null;
+            List<T> loaded = batchLoader.apply(cursor, fetchSize);
+            if (loaded == null || loaded.isEmpty()) {
+                exhausted = true;
+                return false;
+            }
+            if (loaded.size() > fetchSize) {
+                throw new IllegalStateException("批量加载返回了" + loaded.size() + "条，超过批大小" + fetchSize);
+            }
+            exhausted = loaded.size() < fetchSize;
+            cursor = cursorExtractor.apply(loaded.get(loaded.size() - 1));
+            batch = loaded;
+            index = 0;
+            return true;
+        }
+
+        private void close() {
+            closed = true;
+            batch = null;
+        }
+    }
+}
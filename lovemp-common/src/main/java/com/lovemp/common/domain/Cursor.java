@@ -0,0 +1,221 @@
+package com.lovemp.common.domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * 键集分页游标
+ *
+ * <p>记录上一页最后一行的排序键（如"姓名 + ID"），下一页查询从该位置之后开始，
+ * 数据库可直接沿索引定位，与页码深度无关。对外以不透明的URL安全字符串传递，
+ * 调用方不应解析或拼接其内容。</p>
+ *
+ * <p>令牌格式：Base64URL(版本号 + 键数量 + 每个键的UTF-8字节 + CRC32校验)。校验只用于发现损坏或误传的令牌，
+ * 不具备防篡改能力，仓储实现仍需对解码出的键做参数化查询。</p>
+ */
+public final class Cursor implements ValueObject {
+
+    private static final byte VERSION = 1;
+
+    /**
+     * 单个游标允许的最大键数量
+     */
+    private static final int MAX_KEYS = 8;
+
+    /**
+     * 令牌最大长度，防止超长输入消耗解码资源
+     */
+    private static final int MAX_TOKEN_LENGTH = 2048;
+
+    /**
+     * 令牌解码后的最大字节数，Base64无填充编码后不超过MAX_TOKEN_LENGTH
+     */
+    private static final int MAX_ENCODED_BYTES = MAX_TOKEN_LENGTH / 4 * 3;
+
+    private final List<String> keys;
+
+    private Cursor(List<String> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * 由排序键创建游标
+     *
+     * @param keys 排序键，按排序列顺序排列，最后一个通常为唯一ID
+     * @return 游标
+     * @throws IllegalArgumentException 键数量无效、键为null或编码后的令牌超过最大长度时
+     */
+    public static Cursor of(String... keys) {
+        if (keys == null || keys.length == 0 || keys.length > MAX_KEYS) {
+            throw new IllegalArgumentException("游标键数量必须在1到" + MAX_KEYS + "之间");
+        }
+        // 版本号、键数量和CRC32校验
+        int encodedBytes = 6;
+        for (String key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("游标键不能为null");
+            }
+            encodedBytes += 2 + modifiedUtf8Length(key);
+        }
+        if (encodedBytes > MAX_ENCODED_BYTES) {
+            throw new IllegalArgumentException("游标键过长，编码后的令牌不能超过" + MAX_TOKEN_LENGTH + "个字符");
+        }
+        return new Cursor(Collections.unmodifiableList(Arrays.asList(keys.clone())));
+    }
+
+    /**
+     * 解码游标令牌
+     *
+     * @param token 游标令牌
+     * @return 游标
+     * @throws IllegalArgumentException 令牌格式无效时
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            throw invalidCursor(null);
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(e);
+        }
+        if (bytes.length < 6) {
+            throw invalidCursor(null);
+        }
+        int bodyLength = bytes.length - 4;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bodyLength);
+        if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bodyLength, 4).getInt()) {
+            throw invalidCursor(null);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bodyLength))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("不支持的分页游标版本");
+            }
+            int count = in.readUnsignedByte();
+            if (count == 0 || count > MAX_KEYS) {
+                throw invalidCursor(null);
+            }
+            List<String> keys = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                keys.add(in.readUTF());
+            }
+            if (in.available() != 0) {
+                throw invalidCursor(null);
+            }
+            return new Cursor(Collections.unmodifiableList(keys));
+        } catch (IOException e) {
+            throw invalidCursor(e);
+        }
+    }
+
+    /**
+     * 编码为不透明令牌
+     *
+     * @return URL安全的游标令牌
+     */
+    public String encode() {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeByte(VERSION);
+            out.writeByte(keys.size());
+            for (String key : keys) {
+                out.writeUTF(key);
+            }
+            CRC32 crc = new CRC32();
+            byte[] body = buffer.toByteArray();
+            crc.update(body);
+            out.writeInt((int) crc.getValue());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("编码分页游标失败", e);
+        }
+    }
+
+    /**
+     * 获取全部排序键
+     *
+     * @return 不可变的排序键列表
+     */
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * 获取指定位置的排序键
+     *
+     * @param index 位置
+     * @return 排序键
+     */
+    public String getKey(int index) {
+        return keys.get(index);
+    }
+
+    /**
+     * 以long类型获取指定位置的排序键
+     *
+     * @param index 位置
+     * @return 排序键
+     * @throws IllegalArgumentException 不是合法数字时
+     */
+    public long getLongKey(int index) {
+        try {
+            return Long.parseLong(keys.get(index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+
+    /**
+     * 计算writeUTF写出的字节数（不含2字节长度前缀）
+     */
+    private static int modifiedUtf8Length(String key) {
+        int length = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static IllegalArgumentException invalidCursor(Exception cause) {
+        return new IllegalArgumentException("无效的分页游标", cause);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return keys.equals(((Cursor) o).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(keys);
+    }
+
+    @Override
+    public String toString() {
+        return "Cursor" + keys;
+    }
+}
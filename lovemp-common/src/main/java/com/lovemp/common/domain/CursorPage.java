@@ -0,0 +1,201 @@
+package com.lovemp.common.domain;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 键集（游标）分页结果
+ *
+ * <p>与{@link Page}相比不提供页码跳转，只提供"下一页"游标，深翻页时数据库按索引直接定位，
+ * 无需扫描并丢弃前面的offset行；总数按需提供（不统计、估算或延迟精确统计）。</p>
+ *
+ * <p>仓储实现示例（多取一行判断是否有下一页）：</p>
+ * <pre>
+ * List&lt;Person&gt; rows = query(request.getCursor(), request.getFetchSize());
+ * CursorPage&lt;Person&gt; page = CursorPage.fromOverFetch(rows, request.getSize(),
+ *         person -&gt; Cursor.of(person.getName(), person.getId().getValue()));
+ * if (request.getTotalMode() == CursorRequest.TotalMode.EXACT) {
+ *     page = page.withLazyTotal(() -&gt; countByName(name));
+ * }
+ * </pre>
+ *
+ * @param <T> 分页项类型
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final LongSupplier totalSupplier;
+    private final boolean totalEstimated;
+
+    private volatile boolean totalResolved;
+    private long total;
+
+    private CursorPage(List<T> content, int size, String nextCursor, LongSupplier totalSupplier, boolean totalEstimated) {
+        this.content = Objects.requireNonNull(content, "分页内容不能为空");
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.totalSupplier = totalSupplier;
+        this.totalEstimated = totalEstimated;
+    }
+
+    /**
+     * 创建不含总数的分页结果
+     *
+     * @param content 当前页内容
+     * @param size 每页大小
+     * @param nextCursor 下一页游标，没有下一页时为null
+     * @param <T> 分页项类型
+     * @return 分页结果
+     */
+    public static <T> CursorPage<T> of(List<T> content, int size, Cursor nextCursor) {
+        return new CursorPage<>(content, size, nextCursor == null ? null : nextCursor.encode(), null, false);
+    }
+
+    /**
+     * 由多取一行的查询结果创建分页结果
+     *
+     * <p>rows最多应包含size + 1行；多出的一行只用于判断是否还有下一页，不返回给调用方</p>
+     *
+     * @param rows 按排序键升序查询出的行
+     * @param size 每页大小
+     * @param cursorExtractor 从行中提取排序键
+     * @param <T> 分页项类型
+     * @return 分页结果
+     */
+    public static <T> CursorPage<T> fromOverFetch(List<T> rows, int size, Function<? super T, Cursor> cursorExtractor) {
+        if (rows.size() <= size) {
+            return of(rows, size, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return of(content, size, cursorExtractor.apply(content.get(size - 1)));
+    }
+
+    /**
+     * 创建空分页结果
+     *
+     * @param <T> 分页项类型
+     * @return 空分页结果
+     */
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(Collections.emptyList(), 0, null, null, false);
+    }
+
+    /**
+     * 附加精确总数
+     *
+     * @param totalElements 总数
+     * @return 新的分页结果
+     */
+    public CursorPage<T> withTotal(long totalElements) {
+        return new CursorPage<>(content, size, nextCursor, () -> totalElements, false);
+    }
+
+    /**
+     * 附加估算总数
+     *
+     * @param estimatedTotal 估算总数
+     * @return 新的分页结果
+     */
+    public CursorPage<T> withEstimatedTotal(long estimatedTotal) {
+        return new CursorPage<>(content, size, nextCursor, () -> estimatedTotal, true);
+    }
+
+    /**
+     * 附加延迟计算的精确总数，首次读取时计算并缓存
+     *
+     * @param totalSupplier 总数计算函数
+     * @return 新的分页结果
+     */
+    public CursorPage<T> withLazyTotal(LongSupplier totalSupplier) {
+        return new CursorPage<>(content, size, nextCursor, Objects.requireNonNull(totalSupplier, "总数计算函数不能为空"), false);
+    }
+
+    /**
+     * 获取当前页内容
+     *
+     * @return 当前页内容列表
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * 获取每页大小
+     *
+     * @return 每页大小
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取下一页游标令牌
+     *
+     * @return 下一页游标令牌，没有下一页时为null
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * 判断是否有下一页
+     *
+     * @return 是否有下一页
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * 判断是否有内容
+     *
+     * @return 是否有内容
+     */
+    public boolean hasContent() {
+        return !content.isEmpty();
+    }
+
+    /**
+     * 判断是否提供了总数
+     *
+     * @return 是否提供了总数
+     */
+    public boolean hasTotal() {
+        return totalSupplier != null;
+    }
+
+    /**
+     * 判断总数是否为估算值
+     *
+     * @return 是否为估算值
+     */
+    public boolean isTotalEstimated() {
+        return totalEstimated;
+    }
+
+    /**
+     * 获取总数，延迟统计时首次调用才会执行计算
+     *
+     * @return 总数，未统计时为空
+     */
+    public OptionalLong getTotalElements() {
+        if (totalSupplier == null) {
+            return OptionalLong.empty();
+        }
+        if (!totalResolved) {
+            synchronized (this) {
+                if (!totalResolved) {
+                    total = totalSupplier.getAsLong();
+                    totalResolved = true;
+                }
+            }
+        }
+        return OptionalLong.of(total);
+    }
+}
@@ -0,0 +1,147 @@
+package com.lovemp.common.domain;
+
+import java.util.Objects;
+
+/**
+ * 键集分页请求
+ *
+ * <p>首页不带游标，后续页传入上一页返回的{@link CursorPage#getNextCursor()}。
+ * 是否统计总数由{@link TotalMode}决定，默认不统计，避免每页都执行一次全量COUNT。</p>
+ */
+public final class CursorRequest implements ValueObject {
+
+    /**
+     * 单页最大条数
+     */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * 总数统计方式
+     */
+    public enum TotalMode {
+        /**
+         * 不统计总数
+         */
+        NONE,
+        /**
+         * 返回估算值（如表统计信息或执行计划预估行数），开销与数据量无关
+         */
+        ESTIMATED,
+        /**
+         * 返回精确值，仅在调用方读取时才执行COUNT
+         */
+        EXACT
+    }
+
+    private final Cursor cursor;
+    private final int size;
+    private final TotalMode totalMode;
+
+    private CursorRequest(Cursor cursor, int size, TotalMode totalMode) {
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("每页大小必须在1到" + MAX_SIZE + "之间");
+        }
+        this.cursor = cursor;
+        this.size = size;
+        this.totalMode = Objects.requireNonNull(totalMode, "总数统计方式不能为空");
+    }
+
+    /**
+     * 创建首页请求
+     *
+     * @param size 每页大小
+     * @return 分页请求
+     */
+    public static CursorRequest first(int size) {
+        return new CursorRequest(null, size, TotalMode.NONE);
+    }
+
+    /**
+     * 根据游标令牌创建请求，令牌为空时表示首页
+     *
+     * @param token 上一页返回的游标令牌
+     * @param size 每页大小
+     * @return 分页请求
+     * @throws IllegalArgumentException 令牌无效时
+     */
+    public static CursorRequest of(String token, int size) {
+        return new CursorRequest(token == null || token.isEmpty() ? null : Cursor.decode(token), size, TotalMode.NONE);
+    }
+
+    /**
+     * 指定总数统计方式
+     *
+     * @param totalMode 总数统计方式
+     * @return 新的分页请求
+     */
+    public CursorRequest withTotal(TotalMode totalMode) {
+        return new CursorRequest(cursor, size, totalMode);
+    }
+
+    /**
+     * 是否为首页请求
+     *
+     * @return 是否首页
+     */
+    public boolean isFirst() {
+        return cursor == null;
+    }
+
+    /**
+     * 获取游标，首页时为null
+     *
+     * @return 游标
+     */
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * 获取每页大小
+     *
+     * @return 每页大小
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取实际应查询的行数（多取一行用于判断是否还有下一页）
+     *
+     * @return 查询行数
+     */
+    public int getFetchSize() {
+        return size + 1;
+    }
+
+    /**
+     * 获取总数统计方式
+     *
+     * @return 总数统计方式
+     */
+    public TotalMode getTotalMode() {
+        return totalMode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CursorRequest that = (CursorRequest) o;
+        return size == that.size && Objects.equals(cursor, that.cursor) && totalMode == that.totalMode;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cursor, size, totalMode);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorRequest{" +
+                "cursor=" + cursor +
+                ", size=" + size +
+                ", totalMode=" + totalMode +
+                '}';
+    }
+}
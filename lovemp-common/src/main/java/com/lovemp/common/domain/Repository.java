@@ -2,6 +2,7 @@ package com.lovemp.common.domain;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 仓储接口
@@ -53,7 +54,20 @@ public interface Repository<T extends AggregateRoot<ID>, ID> {
     /**
      * 查询所有聚合根
      *
+     * <p>结果全部加载到内存，仅适用于数据量可控的场景；批处理和导出请使用{@link #streamAll(int)}</p>
+     *
      * @return 聚合根列表
      */
     List<T> findAll();
+
+    /**
+     * 流式读取所有聚合根
+     *
+     * <p>按fetchSize分批拉取，消费多少读取多少，调用方必须关闭返回的流（推荐try-with-resources）。
+     * 实现可参考{@link AggregateStreams}。</p>
+     *
+     * @param fetchSize 每批拉取条数，见{@link AggregateStreams#MAX_FETCH_SIZE}
+     * @return 惰性聚合根流
+     */
+    Stream<T> streamAll(int fetchSize);
 } 
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.lovemp.common.domain.specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 可查询属性
+ *
+ * <p>同时携带属性名（供持久化层翻译为列或JPA路径）和取值函数（供内存求值），
+ * 通常在聚合对应的规约工厂类中声明为常量：</p>
+ * <pre>
+ * public static final Attribute&lt;BrandCustomer, Integer&gt; POINTS = Attribute.of("points", BrandCustomer::getPoints);
+ *
+ * ExpressionSpecification&lt;BrandCustomer&gt; spec = BRAND_ID.eq(brandId).and(POINTS.between(100, 500));
+ * </pre>
+ *
+ * @param <T> 聚合类型
+ * @param <V> 属性值类型
+ */
+public final class Attribute<T, V> {
+
+    private final String name;
+    private final Function<? super T, ? extends V> accessor;
+
+    private Attribute(String name, Function<? super T, ? extends V> accessor) {
+        this.name = name;
+        this.accessor = accessor;
+    }
+
+    /**
+     * 声明属性
+     *
+     * @param name 属性名
+     * @param accessor 取值函数
+     * @param <T> 聚合类型
+     * @param <V> 属性值类型
+     * @return 属性
+     */
+    public static <T, V> Attribute<T, V> of(String name, Function<? super T, ? extends V> accessor) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("属性名不能为空");
+        }
+        return new Attribute<>(name, Objects.requireNonNull(accessor, "取值函数不能为空"));
+    }
+
+    /**
+     * 获取属性名
+     *
+     * @return 属性名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 从候选对象中读取属性值
+     *
+     * @param candidate 候选对象
+     * @return 属性值
+     */
+    public V get(T candidate) {
+        return accessor.apply(candidate);
+    }
+
+    /**
+     * 等于
+     *
+     * @param value 比较值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> eq(V value) {
+        return comparison(Operator.EQ, value);
+    }
+
+    /**
+     * 不等于（属性为null时不满足）
+     *
+     * @param value 比较值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> ne(V value) {
+        return comparison(Operator.NE, value);
+    }
+
+    /**
+     * 大于
+     *
+     * @param value 比较值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> gt(V value) {
+        return comparison(Operator.GT, value);
+    }
+
+    /**
+     * 大于等于
+     *
+     * @param value 比较值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> ge(V value) {
+        return comparison(Operator.GE, value);
+    }
+
+    /**
+     * 小于
+     *
+     * @param value 比较值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> lt(V value) {
+        return comparison(Operator.LT, value);
+    }
+
+    /**
+     * 小于等于
+     *
+     * @param value 比较值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> le(V value) {
+        return comparison(Operator.LE, value);
+    }
+
+    /**
+     * 闭区间[lower, upper]
+     *
+     * @param lower 下界
+     * @param upper 上界
+     * @return 规约
+     */
+    public ExpressionSpecification<T> between(V lower, V upper) {
+        return comparison(Operator.BETWEEN, Arrays.asList(requireValue(lower), requireValue(upper)));
+    }
+
+    /**
+     * 属于集合
+     *
+     * @param values 候选值
+     * @return 规约
+     */
+    public ExpressionSpecification<T> in(Collection<? extends V> values) {
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("IN条件的候选值不能为空");
+        }
+        List<Object> copy = new ArrayList<>(values.size());
+        for (V value : values) {
+            copy.add(requireValue(value));
+        }
+        return comparison(Operator.IN, Collections.unmodifiableList(copy));
+    }
+
+    /**
+     * 模式匹配，模式语法同SQL LIKE（以\转义）
+     *
+     * @param pattern 模式
+     * @return 规约
+     */
+    public ExpressionSpecification<T> like(String pattern) {
+        return comparison(Operator.LIKE, pattern);
+    }
+
+    /**
+     * 前缀匹配，自动转义前缀中的通配符
+     *
+     * @param prefix 前缀
+     * @return 规约
+     */
+    public ExpressionSpecification<T> startsWith(String prefix) {
+        return like(escapeLike(prefix) + "%");
+    }
+
+    /**
+     * 包含匹配，自动转义其中的通配符
+     *
+     * @param fragment 片段
+     * @return 规约
+     */
+    public ExpressionSpecification<T> contains(String fragment) {
+        return like("%" + escapeLike(fragment) + "%");
+    }
+
+    /**
+     * 属性为null
+     *
+     * @return 规约
+     */
+    public ExpressionSpecification<T> isNull() {
+        return new ExpressionSpecification.Comparison<>(this, Operator.IS_NULL, null);
+    }
+
+    /**
+     * 属性不为null
+     *
+     * @return 规约
+     */
+    public ExpressionSpecification<T> isNotNull() {
+        return new ExpressionSpecification.Comparison<>(this, Operator.IS_NOT_NULL, null);
+    }
+
+    private ExpressionSpecification<T> comparison(Operator operator, Object value) {
+        return new ExpressionSpecification.Comparison<>(this, operator, requireValue(value));
+    }
+
+    private static <X> X requireValue(X value) {
+        if (value == null) {
+            throw new IllegalArgumentException("比较值不能为null，判空请使用isNull/isNotNull");
+        }
+        return value;
+    }
+
+    private static String escapeLike(String value) {
+        requireValue(value);
+        StringBuilder builder = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,359 @@
+package com.lovemp.common.domain.specification;
+
+import com.lovemp.common.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 可内省的规约表达式树
+ *
+ * <p>与直接用lambda实现的{@link Specification}不同，表达式规约保留了"属性 运算符 值"以及与/或/非的结构，
+ * 仓储适配器可通过{@link PredicateTranslator}将其翻译为SQL WHERE条件或JPA Criteria谓词下推到数据库执行；
+ * 无法翻译的部分（如包装进来的普通lambda规约）作为剩余条件在内存中求值。</p>
+ *
+ * <p>节点类型：{@link Comparison}、{@link And}、{@link Or}、{@link Not}，以及包装任意规约的{@link Opaque}。</p>
+ *
+ * @param <T> 规约应用的对象类型
+ */
+public abstract class ExpressionSpecification<T> implements Specification<T> {
+
+    private ExpressionSpecification() {
+    }
+
+    /**
+     * 将任意规约转换为表达式规约，普通规约包装为不可下推的{@link Opaque}节点
+     *
+     * @param specification 规约
+     * @param <T> 对象类型
+     * @return 表达式规约
+     */
+    public static <T> ExpressionSpecification<T> from(Specification<T> specification) {
+        Objects.requireNonNull(specification, "规约不能为空");
+        if (specification instanceof ExpressionSpecification) {
+            return (ExpressionSpecification<T>) specification;
+        }
+        return new Opaque<>(specification);
+    }
+
+    /**
+     * 接受访问者
+     *
+     * @param visitor 访问者
+     * @param <R> 访问结果类型
+     * @return 访问结果
+     */
+    public abstract <R> R accept(SpecificationVisitor<T, R> visitor);
+
+    @Override
+    public ExpressionSpecification<T> and(Specification<T> other) {
+        List<ExpressionSpecification<T>> children = new ArrayList<>();
+        flatten(this, And.class, children);
+        flatten(from(other), And.class, children);
+        return new And<>(children);
+    }
+
+    @Override
+    public ExpressionSpecification<T> or(Specification<T> other) {
+        List<ExpressionSpecification<T>> children = new ArrayList<>();
+        flatten(this, Or.class, children);
+        flatten(from(other), Or.class, children);
+        return new Or<>(children);
+    }
+
+    @Override
+    public ExpressionSpecification<T> not() {
+        if (this instanceof Not) {
+            return ((Not<T>) this).getChild();
+        }
+        return new Not<>(this);
+    }
+
+    private static <T> void flatten(ExpressionSpecification<T> node, Class<?> type,
+                                    List<ExpressionSpecification<T>> target) {
+        if (type == And.class && node instanceof And) {
+            target.addAll(((And<T>) node).getChildren());
+        } else if (type == Or.class && node instanceof Or) {
+            target.addAll(((Or<T>) node).getChildren());
+        } else {
+            target.add(node);
+        }
+    }
+
+    /**
+     * 比较节点：属性 运算符 值
+     */
+    public static final class Comparison<T> extends ExpressionSpecification<T> {
+
+        private final Attribute<T, ?> attribute;
+        private final Operator operator;
+        private final Object value;
+        private final Pattern likePattern;
+
+        Comparison(Attribute<T, ?> attribute, Operator operator, Object value) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.value = value;
+            this.likePattern = operator == Operator.LIKE ? toRegex((String) value) : null;
+        }
+
+        public Attribute<T, ?> getAttribute() {
+            return attribute;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        /**
+         * 获取比较值：IN为候选值列表，BETWEEN为[下界, 上界]列表，判空运算为null
+         *
+         * @return 比较值
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * 获取比较值列表（IN、BETWEEN）
+         *
+         * @return 比较值列表
+         */
+        @SuppressWarnings("unchecked")
+        public List<Object> getValues() {
+            return value instanceof List ? (List<Object>) value : Collections.singletonList(value);
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            Object actual = attribute.get(candidate);
+            switch (operator) {
+                case IS_NULL:
+                    return actual == null;
+                case IS_NOT_NULL:
+                    return actual != null;
+                case EQ:
+                    return Objects.equals(actual, value);
+                case NE:
+                    // 与SQL三值逻辑一致：null不满足任何比较
+                    return actual != null && !actual.equals(value);
+                case IN:
+                    return actual != null && getValues().contains(actual);
+                case LIKE:
+                    return actual != null && likePattern.matcher(actual.toString()).matches();
+                default:
+                    break;
+            }
+            if (actual == null) {
+                return false;
+            }
+            if (operator == Operator.BETWEEN) {
+                List<Object> bounds = getValues();
+                return compare(actual, bounds.get(0)) >= 0 && compare(actual, bounds.get(1)) <= 0;
+            }
+            int result = compare(actual, value);
+            switch (operator) {
+                case GT:
+                    return result > 0;
+                case GE:
+                    return result >= 0;
+                case LT:
+                    return result < 0;
+                case LE:
+                    return result <= 0;
+                default:
+                    throw new IllegalStateException("不支持的运算符: " + operator);
+            }
+        }
+
+        @Override
+        public <R> R accept(SpecificationVisitor<T, R> visitor) {
+            return visitor.visitComparison(this);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Object actual, Object expected) {
+            if (!(actual instanceof Comparable)) {
+                throw new IllegalArgumentException("属性值不可比较: " + actual.getClass().getName());
+            }
+            return ((Comparable) actual).compareTo(expected);
+        }
+
+        private static Pattern toRegex(String like) {
+            StringBuilder regex = new StringBuilder(like.length() + 8);
+            StringBuilder literal = new StringBuilder();
+            for (int i = 0; i < like.length(); i++) {
+                char c = like.charAt(i);
+                if (c == '\\' && i + 1 < like.length()) {
+                    literal.append(like.charAt(++i));
+                } else if (c == '%' || c == '_') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            return Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+
+        @Override
+        public String toString() {
+            return attribute.getName() + " " + operator + (value == null ? "" : " " + value);
+        }
+    }
+
+    /**
+     * 与节点
+     */
+    public static final class And<T> extends ExpressionSpecification<T> {
+
+        private final List<ExpressionSpecification<T>> children;
+
+        And(Collection<ExpressionSpecification<T>> children) {
+            this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+
+        public List<ExpressionSpecification<T>> getChildren() {
+            return children;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            for (ExpressionSpecification<T> child : children) {
+                if (!child.isSatisfiedBy(candidate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public <R> R accept(SpecificationVisitor<T, R> visitor) {
+            return visitor.visitAnd(this);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + join(children, " AND ") + ")";
+        }
+    }
+
+    /**
+     * 或节点
+     */
+    public static final class Or<T> extends ExpressionSpecification<T> {
+
+        private final List<ExpressionSpecification<T>> children;
+
+        Or(Collection<ExpressionSpecification<T>> children) {
+            this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+
+        public List<ExpressionSpecification<T>> getChildren() {
+            return children;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            for (ExpressionSpecification<T> child : children) {
+                if (child.isSatisfiedBy(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public <R> R accept(SpecificationVisitor<T, R> visitor) {
+            return visitor.visitOr(this);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + join(children, " OR ") + ")";
+        }
+    }
+
+    /**
+     * 非节点
+     */
+    public static final class Not<T> extends ExpressionSpecification<T> {
+
+        private final ExpressionSpecification<T> child;
+
+        Not(ExpressionSpecification<T> child) {
+            this.child = child;
+        }
+
+        public ExpressionSpecification<T> getChild() {
+            return child;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            return !child.isSatisfiedBy(candidate);
+        }
+
+        @Override
+        public <R> R accept(SpecificationVisitor<T, R> visitor) {
+            return visitor.visitNot(this);
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + child;
+        }
+    }
+
+    /**
+     * 不透明节点：包装无法内省的普通规约，只能在内存中求值
+     */
+    public static final class Opaque<T> extends ExpressionSpecification<T> {
+
+        private final Specification<T> delegate;
+
+        Opaque(Specification<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        public Specification<T> getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(T candidate) {
+            return delegate.isSatisfiedBy(candidate);
+        }
+
+        @Override
+        public <R> R accept(SpecificationVisitor<T, R> visitor) {
+            return visitor.visitOpaque(this);
+        }
+
+        @Override
+        public String toString() {
+            return "<opaque>";
+        }
+    }
+
+    private static String join(List<?> parts, String separator) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                builder.append(separator);
+            }
+            builder.append(parts.get(i));
+        }
+        return builder.toString();
+    }
+}
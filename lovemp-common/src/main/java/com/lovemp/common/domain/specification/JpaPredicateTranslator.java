@@ -0,0 +1,109 @@
+package com.lovemp.common.domain.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JPA Criteria谓词翻译器
+ *
+ * <p>将规约属性映射到JPA实体属性路径（支持"a.b"形式的嵌入属性路径），
+ * 适合在Spring Data的{@code Specification#toPredicate}或手写Criteria查询中使用：</p>
+ * <pre>
+ * Pushdown&lt;BrandCustomer, Predicate&gt; pushdown =
+ *         new JpaPredicateTranslator&lt;BrandCustomer&gt;(root, cb, PATHS).translate(spec);
+ * query.where(pushdown.hasPredicate() ? pushdown.getPredicate() : cb.conjunction());
+ * </pre>
+ *
+ * <p>root与CriteriaBuilder与单次查询绑定，因此每次查询创建一个翻译器实例。
+ * 实体属性类型与规约属性类型不一致（如枚举映射为编码）时，请在实体端使用AttributeConverter保持一致。</p>
+ *
+ * @param <T> 规约应用的对象类型
+ */
+public class JpaPredicateTranslator<T> extends PredicateTranslator<T, Predicate> {
+
+    private final Root<?> root;
+    private final CriteriaBuilder cb;
+    private final Map<String, String> paths;
+
+    /**
+     * 构造函数
+     *
+     * @param root 查询根
+     * @param cb CriteriaBuilder
+     * @param paths 规约属性名到实体属性路径的映射，未映射的属性不下推
+     */
+    public JpaPredicateTranslator(Root<?> root, CriteriaBuilder cb, Map<String, String> paths) {
+        this.root = Objects.requireNonNull(root, "查询根不能为空");
+        this.cb = Objects.requireNonNull(cb, "CriteriaBuilder不能为空");
+        this.paths = paths == null ? Collections.emptyMap() : paths;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Predicate comparison(ExpressionSpecification.Comparison<T> comparison) {
+        String path = paths.get(comparison.getAttribute().getName());
+        if (path == null) {
+            return null;
+        }
+        Path<?> expression = resolve(path);
+        Expression<Comparable> comparable = (Expression<Comparable>) expression;
+        switch (comparison.getOperator()) {
+            case EQ:
+                return cb.equal(expression, comparison.getValue());
+            case NE:
+                return cb.notEqual(expression, comparison.getValue());
+            case GT:
+                return cb.greaterThan(comparable, (Comparable) comparison.getValue());
+            case GE:
+                return cb.greaterThanOrEqualTo(comparable, (Comparable) comparison.getValue());
+            case LT:
+                return cb.lessThan(comparable, (Comparable) comparison.getValue());
+            case LE:
+                return cb.lessThanOrEqualTo(comparable, (Comparable) comparison.getValue());
+            case BETWEEN:
+                return cb.between(comparable, (Comparable) comparison.getValues().get(0),
+                        (Comparable) comparison.getValues().get(1));
+            case IN:
+                return expression.in(comparison.getValues());
+            case LIKE:
+                return cb.like((Expression<String>) expression, (String) comparison.getValue(), '\\');
+            case IS_NULL:
+                return cb.isNull(expression);
+            case IS_NOT_NULL:
+                return cb.isNotNull(expression);
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    protected Predicate and(List<Predicate> predicates) {
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    @Override
+    protected Predicate or(List<Predicate> predicates) {
+        return cb.or(predicates.toArray(new Predicate[0]));
+    }
+
+    @Override
+    protected Predicate not(Predicate predicate) {
+        return cb.not(predicate);
+    }
+
+    private Path<?> resolve(String path) {
+        Path<?> current = root;
+        for (String part : path.split("\\.")) {
+            current = current.get(part);
+        }
+        return current;
+    }
+}
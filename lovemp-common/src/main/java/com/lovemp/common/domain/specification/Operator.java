@@ -0,0 +1,62 @@
+package com.lovemp.common.domain.specification;
+
+/**
+ * 比较运算符
+ */
+public enum Operator {
+
+    /**
+     * 等于
+     */
+    EQ,
+
+    /**
+     * 不等于
+     */
+    NE,
+
+    /**
+     * 大于
+     */
+    GT,
+
+    /**
+     * 大于等于
+     */
+    GE,
+
+    /**
+     * 小于
+     */
+    LT,
+
+    /**
+     * 小于等于
+     */
+    LE,
+
+    /**
+     * 模式匹配，%匹配任意字符序列，_匹配单个字符，\为转义符
+     */
+    LIKE,
+
+    /**
+     * 属于集合
+     */
+    IN,
+
+    /**
+     * 闭区间
+     */
+    BETWEEN,
+
+    /**
+     * 为空
+     */
+    IS_NULL,
+
+    /**
+     * 不为空
+     */
+    IS_NOT_NULL
+}
@@ -0,0 +1,122 @@
+package com.lovemp.common.domain.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 规约谓词翻译器基类
+ *
+ * <p>遍历表达式树，将能够翻译的部分组合为持久化层谓词，其余部分保留为内存剩余规约：</p>
+ * <ul>
+ *   <li>AND：逐个子节点拆分，能翻译的下推，不能翻译的留在内存，两者组合等价于原条件</li>
+ *   <li>OR、NOT：只有整棵子树都能翻译时才下推，否则整体留在内存</li>
+ *   <li>比较节点：由子类翻译，返回null表示不支持（如属性未映射）</li>
+ *   <li>不透明节点：始终留在内存</li>
+ * </ul>
+ *
+ * <p>注意：数据库对NULL采用三值逻辑，NOT下推后对属性为NULL的行结果与内存求值可能不同，
+ * 对可能为NULL的属性取反时应显式组合isNotNull。</p>
+ *
+ * @param <T> 规约应用的对象类型
+ * @param <P> 持久化层谓词类型
+ */
+public abstract class PredicateTranslator<T, P> {
+
+    /**
+     * 翻译规约
+     *
+     * @param specification 表达式规约
+     * @return 下推结果
+     */
+    public Pushdown<T, P> translate(ExpressionSpecification<T> specification) {
+        return specification.accept(new Splitter());
+    }
+
+    /**
+     * 翻译比较节点
+     *
+     * @param comparison 比较节点
+     * @return 谓词，不支持时返回null
+     */
+    protected abstract P comparison(ExpressionSpecification.Comparison<T> comparison);
+
+    /**
+     * 组合与谓词
+     *
+     * @param predicates 至少两个谓词
+     * @return 组合谓词
+     */
+    protected abstract P and(List<P> predicates);
+
+    /**
+     * 组合或谓词
+     *
+     * @param predicates 至少两个谓词
+     * @return 组合谓词
+     */
+    protected abstract P or(List<P> predicates);
+
+    /**
+     * 取反谓词
+     *
+     * @param predicate 谓词
+     * @return 取反后的谓词
+     */
+    protected abstract P not(P predicate);
+
+    private final class Splitter implements SpecificationVisitor<T, Pushdown<T, P>> {
+
+        @Override
+        public Pushdown<T, P> visitComparison(ExpressionSpecification.Comparison<T> comparison) {
+            P predicate = PredicateTranslator.this.comparison(comparison);
+            return predicate == null ? new Pushdown<>(null, comparison) : new Pushdown<>(predicate, null);
+        }
+
+        @Override
+        public Pushdown<T, P> visitAnd(ExpressionSpecification.And<T> and) {
+            List<P> predicates = new ArrayList<>();
+            List<ExpressionSpecification<T>> residuals = new ArrayList<>();
+            for (ExpressionSpecification<T> child : and.getChildren()) {
+                Pushdown<T, P> result = child.accept(this);
+                if (result.getPredicate() != null) {
+                    predicates.add(result.getPredicate());
+                }
+                if (result.getResidual() != null) {
+                    residuals.add(result.getResidual());
+                }
+            }
+            P predicate = predicates.isEmpty() ? null
+                    : predicates.size() == 1 ? predicates.get(0) : PredicateTranslator.this.and(predicates);
+            ExpressionSpecification<T> residual = residuals.isEmpty() ? null
+                    : residuals.size() == 1 ? residuals.get(0) : new ExpressionSpecification.And<>(residuals);
+            return new Pushdown<>(predicate, residual);
+        }
+
+        @Override
+        public Pushdown<T, P> visitOr(ExpressionSpecification.Or<T> or) {
+            List<P> predicates = new ArrayList<>(or.getChildren().size());
+            for (ExpressionSpecification<T> child : or.getChildren()) {
+                Pushdown<T, P> result = child.accept(this);
+                if (!result.isFullyPushed() || result.getPredicate() == null) {
+                    return new Pushdown<>(null, or);
+                }
+                predicates.add(result.getPredicate());
+            }
+            return new Pushdown<>(PredicateTranslator.this.or(predicates), null);
+        }
+
+        @Override
+        public Pushdown<T, P> visitNot(ExpressionSpecification.Not<T> not) {
+            Pushdown<T, P> result = not.getChild().accept(this);
+            if (!result.isFullyPushed() || result.getPredicate() == null) {
+                return new Pushdown<>(null, not);
+            }
+            return new Pushdown<>(PredicateTranslator.this.not(result.getPredicate()), null);
+        }
+
+        @Override
+        public Pushdown<T, P> visitOpaque(ExpressionSpecification.Opaque<T> opaque) {
+            return new Pushdown<>(null, opaque);
+        }
+    }
+}
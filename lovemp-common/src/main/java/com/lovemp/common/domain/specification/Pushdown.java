@@ -0,0 +1,79 @@
+package com.lovemp.common.domain.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 规约下推结果
+ *
+ * <p>predicate为可交给数据库执行的谓词（为null表示没有可下推的条件，需全量读取），
+ * residual为无法下推、需在内存中对查询结果再过滤的剩余规约（为null表示已全部下推）。</p>
+ *
+ * @param <T> 规约应用的对象类型
+ * @param <P> 持久化层谓词类型
+ */
+public final class Pushdown<T, P> {
+
+    private final P predicate;
+    private final ExpressionSpecification<T> residual;
+
+    Pushdown(P predicate, ExpressionSpecification<T> residual) {
+        this.predicate = predicate;
+        this.residual = residual;
+    }
+
+    /**
+     * 获取可下推的谓词
+     *
+     * @return 谓词，没有可下推条件时为null
+     */
+    public P getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * 获取需在内存中求值的剩余规约
+     *
+     * @return 剩余规约，全部下推时为null
+     */
+    public ExpressionSpecification<T> getResidual() {
+        return residual;
+    }
+
+    /**
+     * 是否存在可下推的谓词
+     *
+     * @return 是否存在
+     */
+    public boolean hasPredicate() {
+        return predicate != null;
+    }
+
+    /**
+     * 是否已全部下推
+     *
+     * @return 是否全部下推
+     */
+    public boolean isFullyPushed() {
+        return residual == null;
+    }
+
+    /**
+     * 用剩余规约过滤数据库返回的结果
+     *
+     * @param candidates 数据库返回的结果
+     * @return 满足剩余规约的结果
+     */
+    public List<T> filterResidual(List<T> candidates) {
+        if (residual == null) {
+            return candidates;
+        }
+        List<T> result = new ArrayList<>(candidates.size());
+        for (T candidate : candidates) {
+            if (residual.isSatisfiedBy(candidate)) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+}
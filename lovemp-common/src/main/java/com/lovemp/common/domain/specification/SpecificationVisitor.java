@@ -0,0 +1,20 @@
+package com.lovemp.common.domain.specification;
+
+/**
+ * 规约表达式树访问者
+ *
+ * @param <T> 规约应用的对象类型
+ * @param <R> 访问结果类型
+ */
+public interface SpecificationVisitor<T, R> {
+
+    R visitComparison(ExpressionSpecification.Comparison<T> comparison);
+
+    R visitAnd(ExpressionSpecification.And<T> and);
+
+    R visitOr(ExpressionSpecification.Or<T> or);
+
+    R visitNot(ExpressionSpecification.Not<T> not);
+
+    R visitOpaque(ExpressionSpecification.Opaque<T> opaque);
+}
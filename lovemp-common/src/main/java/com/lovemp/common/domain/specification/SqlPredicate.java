@@ -0,0 +1,41 @@
+package com.lovemp.common.domain.specification;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 参数化的SQL WHERE条件片段
+ */
+public final class SqlPredicate {
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    SqlPredicate(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * 获取条件SQL，参数以?占位
+     *
+     * @return 条件SQL
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 获取按占位符顺序排列的参数
+     *
+     * @return 参数列表
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return sql + " " + parameters;
+    }
+}
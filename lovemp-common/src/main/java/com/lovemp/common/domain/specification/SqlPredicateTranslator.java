@@ -0,0 +1,156 @@
+package com.lovemp.common.domain.specification;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * SQL WHERE条件翻译器
+ *
+ * <p>只有显式映射过的属性才会下推，列名在映射时校验，比较值一律以参数绑定，不拼接进SQL。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * SqlPredicateTranslator&lt;BrandCustomer&gt; translator = new SqlPredicateTranslator&lt;BrandCustomer&gt;()
+ *         .map("brandId", "brand_id")
+ *         .map("status", "status", status -&gt; ((CustomerStatus) status).getCode())
+ *         .map("points", "points");
+ * Pushdown&lt;BrandCustomer, SqlPredicate&gt; pushdown = translator.translate(spec);
+ * String sql = "SELECT * FROM brand_customer" + (pushdown.hasPredicate() ? " WHERE " + pushdown.getPredicate().getSql() : "");
+ * List&lt;BrandCustomer&gt; result = pushdown.filterResidual(query(sql, pushdown.getPredicate().getParameters()));
+ * </pre>
+ *
+ * <p>翻译器在完成映射配置后是线程安全的，可作为单例复用。</p>
+ *
+ * @param <T> 规约应用的对象类型
+ */
+public class SqlPredicateTranslator<T> extends PredicateTranslator<T, SqlPredicate> {
+
+    private static final Pattern COLUMN_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private final Map<String, Column> columns = new HashMap<>();
+
+    /**
+     * 映射属性到列
+     *
+     * @param attribute 属性名
+     * @param column 列名，可带表别名
+     * @return 当前翻译器
+     */
+    public SqlPredicateTranslator<T> map(String attribute, String column) {
+        return map(attribute, column, Function.identity());
+    }
+
+    /**
+     * 映射属性到列，并指定值转换（如枚举转编码）
+     *
+     * @param attribute 属性名
+     * @param column 列名，可带表别名
+     * @param converter 值转换函数
+     * @return 当前翻译器
+     */
+    public SqlPredicateTranslator<T> map(String attribute, String column, Function<Object, Object> converter) {
+        if (column == null || !COLUMN_PATTERN.matcher(column).matches()) {
+            throw new IllegalArgumentException("列名无效: " + column);
+        }
+        columns.put(Objects.requireNonNull(attribute, "属性名不能为空"),
+                new Column(column, Objects.requireNonNull(converter, "值转换函数不能为空")));
+        return this;
+    }
+
+    @Override
+    protected SqlPredicate comparison(ExpressionSpecification.Comparison<T> comparison) {
+        Column column = columns.get(comparison.getAttribute().getName());
+        if (column == null) {
+            return null;
+        }
+        String name = column.name;
+        List<Object> parameters = new ArrayList<>(2);
+        switch (comparison.getOperator()) {
+            case IS_NULL:
+                return new SqlPredicate(name + " IS NULL", parameters);
+            case IS_NOT_NULL:
+                return new SqlPredicate(name + " IS NOT NULL", parameters);
+            case IN: {
+                StringBuilder sql = new StringBuilder(name).append(" IN (");
+                List<Object> values = comparison.getValues();
+                for (int i = 0; i < values.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                    parameters.add(column.converter.apply(values.get(i)));
+                }
+                return new SqlPredicate(sql.append(')').toString(), parameters);
+            }
+            case BETWEEN:
+                parameters.add(column.converter.apply(comparison.getValues().get(0)));
+                parameters.add(column.converter.apply(comparison.getValues().get(1)));
+                return new SqlPredicate(name + " BETWEEN ? AND ?", parameters);
+            case LIKE:
+                parameters.add(column.converter.apply(comparison.getValue()));
+                return new SqlPredicate(name + " LIKE ? ESCAPE '\\'", parameters);
+            default:
+                parameters.add(column.converter.apply(comparison.getValue()));
+                return new SqlPredicate(name + " " + symbol(comparison.getOperator()) + " ?", parameters);
+        }
+    }
+
+    @Override
+    protected SqlPredicate and(List<SqlPredicate> predicates) {
+        return join(predicates, " AND ");
+    }
+
+    @Override
+    protected SqlPredicate or(List<SqlPredicate> predicates) {
+        return join(predicates, " OR ");
+    }
+
+    @Override
+    protected SqlPredicate not(SqlPredicate predicate) {
+        return new SqlPredicate("NOT (" + predicate.getSql() + ")", new ArrayList<>(predicate.getParameters()));
+    }
+
+    private static SqlPredicate join(List<SqlPredicate> predicates, String separator) {
+        StringBuilder sql = new StringBuilder("(");
+        List<Object> parameters = new ArrayList<>();
+        for (int i = 0; i < predicates.size(); i++) {
+            if (i > 0) {
+                sql.append(separator);
+            }
+            sql.append(predicates.get(i).getSql());
+            parameters.addAll(predicates.get(i).getParameters());
+        }
+        return new SqlPredicate(sql.append(')').toString(), parameters);
+    }
+
+    private static String symbol(Operator operator) {
+        switch (operator) {
+            case EQ:
+                return "=";
+            case NE:
+                return "<>";
+            case GT:
+                return ">";
+            case GE:
+                return ">=";
+            case LT:
+                return "<";
+            case LE:
+                return "<=";
+            default:
+                throw new IllegalStateException("不支持的运算符: " + operator);
+        }
+    }
+
+    private static final class Column {
+        private final String name;
+        private final Function<Object, Object> converter;
+
+        private Column(String name, Function<Object, Object> converter) {
+            this.name = name;
+            this.converter = converter;
+        }
+    }
+}
@@ -209,6 +209,17 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ApiResponseCode.OPERATION_NOT_ALLOWED, e.getMessage()));
     }
 
+    /**
+     * 处理请求过多异常
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn("请求过多: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ApiResponse.error(ApiResponseCode.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
     /**
      * 处理所有其他未捕获的异常
      */
@@ -258,6 +269,8 @@ public class GlobalExceptionHandler {
                 return ApiResponseCode.REMOTE_SERVICE_ERROR.getCode();
             case "OPERATION_NOT_ALLOWED":
                 return ApiResponseCode.OPERATION_NOT_ALLOWED.getCode();
+            case "TOO_MANY_REQUESTS":
+                return ApiResponseCode.TOO_MANY_REQUESTS.getCode();
             default:
                 return ApiResponseCode.BUSINESS_ERROR.getCode();
         }
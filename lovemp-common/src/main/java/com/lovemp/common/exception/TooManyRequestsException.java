@@ -0,0 +1,29 @@
+package com.lovemp.common.exception;
+
+/**
+ * 请求过多异常
+ * 用于处理资源已满载或请求频率超过限制时的快速拒绝，调用方应稍后重试
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    private static final String DEFAULT_ERROR_CODE = "TOO_MANY_REQUESTS";
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     */
+    public TooManyRequestsException(String message) {
+        super(DEFAULT_ERROR_CODE, message);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param message 错误消息
+     * @param cause 原始异常
+     */
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(DEFAULT_ERROR_CODE, message, cause);
+    }
+}
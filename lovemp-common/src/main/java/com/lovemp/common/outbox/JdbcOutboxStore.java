@@ -0,0 +1,139 @@
+package com.lovemp.common.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 基于JdbcTemplate的发件箱存储
+ *
+ * <p>append使用批量插入，通过Spring管理的数据源自动加入调用方的事务（JPA与JDBC共享同一连接时）。
+ * 表结构见db/migration/V1.0.1__domain_event_outbox.sql。写入聚合与写入发件箱必须使用同一数据源的同一事务，
+ * 每个数据源对应一个存储实例和一个{@link OutboxDispatcher}。</p>
+ */
+public class JdbcOutboxStore implements OutboxStore {
+
+    /**
+     * 默认表名
+     */
+    public static final String DEFAULT_TABLE_NAME = "domain_event_outbox";
+
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_DISPATCHED = "DISPATCHED";
+    private static final String STATUS_DEAD = "DEAD";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("event_id"),
+            rs.getString("aggregate_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("occurred_on").toInstant(),
+            rs.getInt("attempts"),
+            rs.getTimestamp("next_attempt_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String insertSql;
+    private final String fetchSql;
+    private final String markDispatchedSql;
+    private final String markRetrySql;
+    private final String markDeadSql;
+    private final String purgeSql;
+
+    /**
+     * 使用默认表名创建存储
+     *
+     * @param jdbcTemplate JdbcTemplate
+     */
+    public JdbcOutboxStore(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, DEFAULT_TABLE_NAME);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JdbcTemplate
+     * @param tableName 发件箱表名
+     */
+    public JdbcOutboxStore(JdbcTemplate jdbcTemplate, String tableName) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "JdbcTemplate不能为空");
+        if (tableName == null || !TABLE_NAME_PATTERN.matcher(tableName).matches()) {
+            throw new IllegalArgumentException("发件箱表名无效: " + tableName);
+        }
+        this.insertSql = "INSERT INTO " + tableName + " (event_id, aggregate_type, aggregate_id, ordering_key, "
+                + "event_type, payload, occurred_on, status, attempts, next_attempt_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, '" + STATUS_PENDING + "', 0, ?)";
+        // 同一顺序键下存在更早的、仍在退避中的待投递消息时，跳过其后的消息以保证按聚合有序
+        this.fetchSql = "SELECT o.id, o.event_id, o.aggregate_type, o.aggregate_id, o.event_type, o.payload, "
+                + "o.occurred_on, o.attempts, o.next_attempt_at FROM " + tableName + " o "
+                + "WHERE o.status = '" + STATUS_PENDING + "' AND o.next_attempt_at <= ? "
+                + "AND NOT EXISTS (SELECT 1 FROM " + tableName + " p WHERE p.ordering_key = o.ordering_key "
+                + "AND p.status = '" + STATUS_PENDING + "' AND p.id < o.id AND p.next_attempt_at > ?) "
+                + "ORDER BY o.id LIMIT ?";
+        this.markDispatchedSql = "UPDATE " + tableName + " SET status = '" + STATUS_DISPATCHED
+                + "', dispatched_at = ? WHERE id = ?";
+        this.markRetrySql = "UPDATE " + tableName + " SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+        this.markDeadSql = "UPDATE " + tableName + " SET status = '" + STATUS_DEAD
+                + "', attempts = ?, last_error = ? WHERE id = ?";
+        this.purgeSql = "DELETE FROM " + tableName + " WHERE status = '" + STATUS_DISPATCHED + "' AND dispatched_at < ?";
+    }
+
+    @Override
+    public void append(List<OutboxMessage> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(insertSql, messages, messages.size(), (ps, message) -> {
+            ps.setString(1, message.getEventId());
+            ps.setString(2, message.getAggregateType());
+            ps.setString(3, message.getAggregateId());
+            ps.setString(4, message.getOrderingKey());
+            ps.setString(5, message.getEventType());
+            ps.setString(6, message.getPayload());
+            ps.setTimestamp(7, Timestamp.from(message.getOccurredOn()));
+            ps.setTimestamp(8, Timestamp.from(message.getNextAttemptAt()));
+        });
+    }
+
+    @Override
+    public List<OutboxMessage> fetchDispatchable(int limit, Instant now) {
+        Timestamp timestamp = Timestamp.from(now);
+        return jdbcTemplate.query(fetchSql, ROW_MAPPER, timestamp, timestamp, limit);
+    }
+
+    @Override
+    public void markDispatched(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(markDispatchedSql, ids, ids.size(), (ps, id) -> {
+            ps.setTimestamp(1, now);
+            ps.setLong(2, id);
+        });
+    }
+
+    @Override
+    public void markRetry(long id, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(markRetrySql, attempts, Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    @Override
+    public void markDead(long id, int attempts, String error) {
+        jdbcTemplate.update(markDeadSql, attempts, error, id);
+    }
+
+    @Override
+    public int purgeDispatched(Instant before) {
+        return jdbcTemplate.update(purgeSql, Timestamp.from(before));
+    }
+}
@@ -0,0 +1,258 @@
+package com.lovemp.common.outbox;
+
+import com.lovemp.common.util.ThreadPoolUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 发件箱调度器
+ *
+ * <p>后台线程定期从发件箱批量拉取待投递消息并交给{@link OutboxMessagePublisher}发布：</p>
+ * <ul>
+ *   <li>批量：每轮最多拉取batchSize条，拉满时立即开始下一轮，直至积压清空</li>
+ *   <li>有序：同一聚合的消息按写入顺序串行投递，某条失败时该聚合本轮剩余消息不再投递</li>
+ *   <li>并行：不同聚合之间可按parallelism并行投递</li>
+ *   <li>重试：失败消息按指数退避重新投递，超过最大次数后转为死信，不再阻塞该聚合后续消息</li>
+ * </ul>
+ *
+ * <p>投递语义为至少一次：发布成功但标记失败（如进程崩溃）时消息会被再次投递，消费方应按eventId幂等。</p>
+ *
+ * <p>注意：同一发件箱表同一时刻只应有一个活动的调度器，多实例部署时需通过选主或分布式锁保证。</p>
+ */
+@Slf4j
+public class OutboxDispatcher {
+
+    /**
+     * 默认批量大小
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**
+     * 默认轮询间隔
+     */
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
+
+    /**
+     * 默认最大投递次数
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+
+    /**
+     * 默认初始退避时间
+     */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * 默认最大退避时间
+     */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(5);
+
+    /**
+     * 错误信息最大长度
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxStore store;
+    private final OutboxMessagePublisher publisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int parallelism;
+    private final Clock clock;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService publishExecutor;
+
+    /**
+     * 使用默认配置创建调度器
+     *
+     * @param store 发件箱存储
+     * @param publisher 消息发布器
+     */
+    public OutboxDispatcher(OutboxStore store, OutboxMessagePublisher publisher) {
+        this(store, publisher, DEFAULT_BATCH_SIZE, DEFAULT_POLL_INTERVAL, DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF, 1, Clock.systemUTC());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param store 发件箱存储
+     * @param publisher 消息发布器
+     * @param batchSize 每轮拉取的最大消息数
+     * @param pollInterval 无积压时的轮询间隔
+     * @param maxAttempts 最大投递次数，超过后转为死信
+     * @param initialBackoff 首次失败后的退避时间，之后每次翻倍
+     * @param maxBackoff 最大退避时间
+     * @param parallelism 不同聚合之间的并行投递数，1表示在调度线程中串行投递
+     * @param clock 时钟
+     */
+    public OutboxDispatcher(OutboxStore store, OutboxMessagePublisher publisher, int batchSize, Duration pollInterval,
+                            int maxAttempts, Duration initialBackoff, Duration maxBackoff, int parallelism, Clock clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("批量大小必须大于0");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("最大投递次数必须大于0");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("并行度必须大于0");
+        }
+        this.store = Objects.requireNonNull(store, "发件箱存储不能为空");
+        this.publisher = Objects.requireNonNull(publisher, "消息发布器不能为空");
+        this.pollInterval = Objects.requireNonNull(pollInterval, "轮询间隔不能为空");
+        this.initialBackoff = Objects.requireNonNull(initialBackoff, "初始退避时间不能为空");
+        this.maxBackoff = Objects.requireNonNull(maxBackoff, "最大退避时间不能为空");
+        this.clock = Objects.requireNonNull(clock, "时钟不能为空");
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 启动后台调度
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = ThreadPoolUtils.newDaemonScheduler("outbox-dispatcher");
+        if (parallelism > 1) {
+            publishExecutor = ThreadPoolUtils.newDaemonPool("outbox-publisher", parallelism);
+        }
+        scheduler.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止后台调度，等待当前批次完成
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (publishExecutor != null) {
+            publishExecutor.shutdownNow();
+            publishExecutor = null;
+        }
+        scheduler = null;
+    }
+
+    /**
+     * 执行一轮投递
+     *
+     * @return 本轮拉取的消息数（含投递失败的），等于batchSize时说明可能仍有积压
+     */
+    public int dispatchBatch() {
+        Instant now = clock.instant();
+        List<OutboxMessage> batch = store.fetchDispatchable(batchSize, now);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<OutboxMessage>> groups = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            groups.computeIfAbsent(message.getOrderingKey(), key -> new ArrayList<>()).add(message);
+        }
+
+        List<Long> dispatched = Collections.synchronizedList(new ArrayList<>(batch.size()));
+        ExecutorService executor = publishExecutor;
+        if (executor == null || groups.size() == 1) {
+            for (List<OutboxMessage> group : groups.values()) {
+                dispatchGroup(group, now, dispatched);
+            }
+        } else {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+            for (List<OutboxMessage> group : groups.values()) {
+                futures.add(CompletableFuture.runAsync(() -> dispatchGroup(group, now, dispatched), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        }
+
+        if (!dispatched.isEmpty()) {
+            store.markDispatched(dispatched);
+        }
+        return batch.size();
+    }
+
+    /**
+     * 连续投递直至积压清空
+     */
+    private void drain() {
+        try {
+            int fetched;
+            do {
+                fetched = dispatchBatch();
+            } while (fetched == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.error("发件箱投递异常", e);
+        }
+    }
+
+    /**
+     * 按顺序投递同一聚合的消息，遇到失败即停止
+     */
+    private void dispatchGroup(List<OutboxMessage> group, Instant now, List<Long> dispatched) {
+        for (OutboxMessage message : group) {
+            try {
+                publisher.publish(message);
+                dispatched.add(message.getId());
+            } catch (Exception e) {
+                handleFailure(message, now, e);
+                return;
+            }
+        }
+    }
+
+    private void handleFailure(OutboxMessage message, Instant now, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempts >= maxAttempts) {
+            log.error("发件箱消息{}投递{}次仍失败，转为死信: {}", message.getEventId(), attempts, error);
+            store.markDead(message.getId(), attempts, error);
+        } else {
+            Instant nextAttemptAt = now.plus(backoff(attempts));
+            log.warn("发件箱消息{}第{}次投递失败，将于{}重试: {}", message.getEventId(), attempts, nextAttemptAt, error);
+            store.markRetry(message.getId(), attempts, nextAttemptAt, error);
+        }
+    }
+
+    /**
+     * 计算第attempts次失败后的退避时间
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        long millis = initialBackoff.toMillis() << shift;
+        if (millis <= 0 || millis > maxBackoff.toMillis()) {
+            return maxBackoff;
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,107 @@
+package com.lovemp.common.outbox;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 发件箱消息
+ *
+ * <p>领域事件序列化后写入发件箱表的一行记录，与聚合在同一事务中持久化，由OutboxDispatcher异步投递</p>
+ */
+public class OutboxMessage {
+
+    private final Long id;
+    private final String eventId;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final Instant occurredOn;
+    private final int attempts;
+    private final Instant nextAttemptAt;
+
+    /**
+     * 构造函数
+     *
+     * @param id 发件箱自增ID，写入前为null，决定投递顺序
+     * @param eventId 事件ID
+     * @param aggregateType 聚合类型，无归属聚合时为null
+     * @param aggregateId 聚合ID，无归属聚合时为null
+     * @param eventType 事件类型（全限定类名）
+     * @param payload 事件JSON
+     * @param occurredOn 事件发生时间
+     * @param attempts 已尝试投递次数
+     * @param nextAttemptAt 下次可投递时间
+     */
+    public OutboxMessage(Long id, String eventId, String aggregateType, String aggregateId, String eventType,
+                         String payload, Instant occurredOn, int attempts, Instant nextAttemptAt) {
+        this.id = id;
+        this.eventId = Objects.requireNonNull(eventId, "事件ID不能为空");
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = Objects.requireNonNull(eventType, "事件类型不能为空");
+        this.payload = Objects.requireNonNull(payload, "事件内容不能为空");
+        this.occurredOn = Objects.requireNonNull(occurredOn, "事件发生时间不能为空");
+        this.attempts = attempts;
+        this.nextAttemptAt = Objects.requireNonNull(nextAttemptAt, "下次投递时间不能为空");
+    }
+
+    /**
+     * 获取顺序键
+     *
+     * <p>同一顺序键的消息按写入顺序串行投递；无归属聚合的事件各自独立</p>
+     *
+     * @return 顺序键
+     */
+    public String getOrderingKey() {
+        return aggregateId == null ? eventId : aggregateType + ":" + aggregateId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getOccurredOn() {
+        return occurredOn;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "id=" + id +
+                ", eventId='" + eventId + '\'' +
+                ", aggregateType='" + aggregateType + '\'' +
+                ", aggregateId='" + aggregateId + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
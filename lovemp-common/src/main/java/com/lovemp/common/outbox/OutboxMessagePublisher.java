@@ -0,0 +1,18 @@
+package com.lovemp.common.outbox;
+
+/**
+ * 发件箱消息发布器
+ *
+ * <p>由调度器在后台线程调用，将消息投递到消息中间件或进程内监听器。投递语义为至少一次，消费方应按eventId幂等</p>
+ */
+@FunctionalInterface
+public interface OutboxMessagePublisher {
+
+    /**
+     * 发布消息，抛出异常表示投递失败，将按退避策略重试
+     *
+     * @param message 发件箱消息
+     * @throws Exception 投递失败
+     */
+    void publish(OutboxMessage message) throws Exception;
+}
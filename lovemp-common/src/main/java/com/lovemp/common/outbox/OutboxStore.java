@@ -0,0 +1,64 @@
+package com.lovemp.common.outbox;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 发件箱存储接口
+ *
+ * <p>append必须加入调用方当前事务，保证事件与聚合原子提交；其余方法由调度器在事务外调用</p>
+ */
+public interface OutboxStore {
+
+    /**
+     * 追加消息（参与当前事务）
+     *
+     * @param messages 待追加的消息，按列表顺序写入
+     */
+    void append(List<OutboxMessage> messages);
+
+    /**
+     * 按写入顺序获取可投递的消息
+     *
+     * <p>若同一顺序键下存在更早的、尚在退避中的待投递消息，则其后的消息不返回，以保证按聚合有序</p>
+     *
+     * @param limit 最大条数
+     * @param now 当前时间
+     * @return 可投递的消息
+     */
+    List<OutboxMessage> fetchDispatchable(int limit, Instant now);
+
+    /**
+     * 标记消息已投递
+     *
+     * @param ids 消息ID列表
+     */
+    void markDispatched(List<Long> ids);
+
+    /**
+     * 记录投递失败并安排重试
+     *
+     * @param id 消息ID
+     * @param attempts 累计尝试次数
+     * @param nextAttemptAt 下次投递时间
+     * @param error 错误信息
+     */
+    void markRetry(long id, int attempts, Instant nextAttemptAt, String error);
+
+    /**
+     * 标记消息为死信，不再投递，也不再阻塞同一顺序键的后续消息
+     *
+     * @param id 消息ID
+     * @param attempts 累计尝试次数
+     * @param error 错误信息
+     */
+    void markDead(long id, int attempts, String error);
+
+    /**
+     * 清理指定时间之前已投递的消息
+     *
+     * @param before 截止时间
+     * @return 清理条数
+     */
+    int purgeDispatched(Instant before);
+}
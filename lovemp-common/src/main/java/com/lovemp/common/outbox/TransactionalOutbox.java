@@ -0,0 +1,118 @@
+package com.lovemp.common.outbox;
+
+import com.lovemp.common.domain.AggregateRoot;
+import com.lovemp.common.domain.DomainEvent;
+import com.lovemp.common.domain.DomainEventPublisher;
+import com.lovemp.common.util.JsonUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 事务性发件箱
+ *
+ * <p>在保存聚合的同一事务中，将聚合的领域事件序列化写入发件箱表，事务提交即代表事件已可靠记录，
+ * 真正的投递由{@link OutboxDispatcher}在后台批量完成，不占用业务请求线程。</p>
+ *
+ * <p>使用示例（应用服务中）：</p>
+ * <pre>
+ * &#64;Transactional
+ * public void approve(EnterpriseId id) {
+ *     Enterprise enterprise = enterpriseRepository.findById(id).orElseThrow(...);
+ *     enterprise.approve();
+ *     enterpriseRepository.save(enterprise);
+ *     outbox.record(enterprise);
+ * }
+ * </pre>
+ *
+ * <p>本类同时实现{@link DomainEventPublisher}，不属于任何聚合的事件通过publish写入发件箱，彼此之间不保证顺序。</p>
+ *
+ * <p>注意：record和publish必须在事务中调用，否则写入与聚合保存之间不具备原子性。</p>
+ */
+public class TransactionalOutbox implements DomainEventPublisher {
+
+    private final OutboxStore store;
+
+    private final Clock clock;
+
+    /**
+     * 构造函数
+     *
+     * @param store 发件箱存储
+     */
+    public TransactionalOutbox(OutboxStore store) {
+        this(store, Clock.systemUTC());
+    }
+
+    /**
+     * 构造函数（可注入时钟）
+     *
+     * @param store 发件箱存储
+     * @param clock 时钟
+     */
+    public TransactionalOutbox(OutboxStore store, Clock clock) {
+        this.store = Objects.requireNonNull(store, "发件箱存储不能为空");
+        this.clock = Objects.requireNonNull(clock, "时钟不能为空");
+    }
+
+    /**
+     * 记录聚合的全部领域事件并清空聚合中的事件
+     *
+     * @param aggregate 已保存的聚合根
+     */
+    public void record(AggregateRoot<?> aggregate) {
+        if (aggregate == null) {
+            return;
+        }
+        record(Collections.singletonList(aggregate));
+    }
+
+    /**
+     * 批量记录多个聚合的领域事件，所有事件一次性写入发件箱
+     *
+     * @param aggregates 已保存的聚合根集合
+     */
+    public void record(Collection<? extends AggregateRoot<?>> aggregates) {
+        if (aggregates == null || aggregates.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (AggregateRoot<?> aggregate : aggregates) {
+            String aggregateType = aggregate.getClass().getSimpleName();
+            String aggregateId = String.valueOf(aggregate.getId());
+            for (DomainEvent event : aggregate.getUnmodifiableDomainEvents()) {
+                messages.add(toMessage(aggregateType, aggregateId, event, now));
+            }
+        }
+        if (!messages.isEmpty()) {
+            store.append(messages);
+        }
+        for (AggregateRoot<?> aggregate : aggregates) {
+            aggregate.clearEvents();
+        }
+    }
+
+    /**
+     * 记录不属于任何聚合的领域事件
+     *
+     * @param event 领域事件
+     */
+    @Override
+    public void publish(DomainEvent event) {
+        if (event == null) {
+            return;
+        }
+        store.append(Collections.singletonList(toMessage(null, null, event, clock.instant())));
+    }
+
+    private OutboxMessage toMessage(String aggregateType, String aggregateId, DomainEvent event, Instant now) {
+        return new OutboxMessage(null, event.getEventId(), aggregateType, aggregateId,
+                event.getClass().getName(), JsonUtils.toJson(event), event.getOccurredOn(), 0, now);
+    }
+}
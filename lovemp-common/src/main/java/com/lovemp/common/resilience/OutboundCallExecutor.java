@@ -0,0 +1,353 @@
+package com.lovemp.common.resilience;
+
+import com.lovemp.common.util.ThreadPoolUtils;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 外部调用执行器
+ *
+ * <p>按{@link OutboundPolicy}为外部调用叠加resilience4j的容错能力，由外到内依次为：</p>
+ * <ol>
+ *   <li>重试（按策略共享）：瞬时故障按指数退避加抖动重试，异步调用的重试由调度线程触发，不占用调用线程</li>
+ *   <li>熔断（按策略和端点区分）：某个端点失败率过高时对该端点快速失败，不影响同一策略下的其他端点</li>
+ *   <li>舱壁（按策略和端点区分）：端点并发数达到上限时立即拒绝，抛出BulkheadFullException</li>
+ * </ol>
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * OutboundCallExecutor executor = new OutboundCallExecutor();
+ * executor.registerPolicy(OutboundPolicy.builder().name("identity-verify").maxAttempts(3).build());
+ * String url = "https://api.example.com/idcard/verify";
+ * CompletableFuture&lt;String&gt; result = executor.executeAsync("identity-verify",
+ *         OutboundCallExecutor.endpointOf(url), () -&gt; HttpUtils.postJsonAsync(url, request));
+ * </pre>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *   <li>熔断打开时调用以CallNotPermittedException失败，舱壁已满时以BulkheadFullException失败，两者都不会重试</li>
+ *   <li>同步的{@link #execute}在调用线程中等待重试间隔，高并发场景应优先使用{@link #executeAsync}</li>
+ *   <li>重试应只用于幂等调用，非幂等调用应注册maxAttempts为1的策略</li>
+ *   <li>传入Spring管理的Registry时，熔断、重试和舱壁指标会由resilience4j自动注册到Micrometer</li>
+ * </ul>
+ */
+public class OutboundCallExecutor {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final RetryRegistry retryRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final boolean ownsScheduler;
+
+    private final ConcurrentMap<String, PolicyHandle> policies = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, EndpointHandle> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * 使用独立的Registry创建执行器，并注册默认策略
+     */
+    public OutboundCallExecutor() {
+        this(CircuitBreakerRegistry.ofDefaults(), RetryRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), null);
+    }
+
+    /**
+     * 构造函数，并以默认参数注册默认策略
+     *
+     * @param circuitBreakerRegistry 熔断器注册表
+     * @param retryRegistry 重试注册表
+     * @param bulkheadRegistry 舱壁注册表
+     * @param scheduler 异步重试的调度线程池，为null时创建单个守护线程，由{@link #shutdown()}关闭
+     */
+    public OutboundCallExecutor(CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry,
+                                BulkheadRegistry bulkheadRegistry, ScheduledExecutorService scheduler) {
+        this(circuitBreakerRegistry, retryRegistry, bulkheadRegistry, scheduler, OutboundPolicy.defaults());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param circuitBreakerRegistry 熔断器注册表
+     * @param retryRegistry 重试注册表
+     * @param bulkheadRegistry 舱壁注册表
+     * @param scheduler 异步重试的调度线程池，为null时创建单个守护线程，由{@link #shutdown()}关闭
+     * @param defaultPolicy 默认策略参数，以{@link OutboundPolicy#DEFAULT_POLICY}为名注册
+     */
+    public OutboundCallExecutor(CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry,
+                                BulkheadRegistry bulkheadRegistry, ScheduledExecutorService scheduler,
+                                OutboundPolicy defaultPolicy) {
+        this.circuitBreakerRegistry = Objects.requireNonNull(circuitBreakerRegistry, "熔断器注册表不能为空");
+        this.retryRegistry = Objects.requireNonNull(retryRegistry, "重试注册表不能为空");
+        this.bulkheadRegistry = Objects.requireNonNull(bulkheadRegistry, "舱壁注册表不能为空");
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = scheduler != null ? scheduler : ThreadPoolUtils.newDaemonScheduler("outbound-retry");
+        registerPolicy(Objects.requireNonNull(defaultPolicy, "默认策略不能为空").toBuilder()
+                .name(OutboundPolicy.DEFAULT_POLICY)
+                .build());
+    }
+
+    /**
+     * 注册调用策略
+     *
+     * @param policy 调用策略
+     * @throws IllegalArgumentException 策略参数无效
+     * @throws IllegalStateException 同名策略已注册
+     */
+    public void registerPolicy(OutboundPolicy policy) {
+        validate(policy);
+        PolicyHandle handle = new PolicyHandle(policy, retryRegistry.retry(policy.getName(), retryConfig(policy)),
+                circuitBreakerConfig(policy), bulkheadConfig(policy));
+        if (policies.putIfAbsent(policy.getName(), handle) != null) {
+            throw new IllegalStateException("调用策略已注册: " + policy.getName());
+        }
+    }
+
+    /**
+     * 按策略异步执行外部调用
+     *
+     * @param policyName 策略名称
+     * @param endpoint 端点标识，通常为{@link #endpointOf(String)}的结果
+     * @param call 异步调用
+     * @param <T> 结果类型
+     * @return 调用结果
+     */
+    public <T> CompletableFuture<T> executeAsync(String policyName, String endpoint,
+                                                 Supplier<? extends CompletionStage<T>> call) {
+        PolicyHandle policy = getPolicy(policyName);
+        EndpointHandle handle = getEndpoint(policy, endpoint);
+        Supplier<CompletionStage<T>> supplier = call::get;
+        supplier = Bulkhead.decorateCompletionStage(handle.bulkhead, supplier);
+        supplier = CircuitBreaker.decorateCompletionStage(handle.circuitBreaker, supplier);
+        supplier = Retry.decorateCompletionStage(policy.retry, scheduler, supplier);
+        return supplier.get().toCompletableFuture();
+    }
+
+    /**
+     * 按策略同步执行外部调用
+     *
+     * @param policyName 策略名称
+     * @param endpoint 端点标识，通常为{@link #endpointOf(String)}的结果
+     * @param call 同步调用
+     * @param <T> 结果类型
+     * @return 调用结果
+     */
+    public <T> T execute(String policyName, String endpoint, Supplier<T> call) {
+        PolicyHandle policy = getPolicy(policyName);
+        EndpointHandle handle = getEndpoint(policy, endpoint);
+        Supplier<T> supplier = Bulkhead.decorateSupplier(handle.bulkhead, call);
+        supplier = CircuitBreaker.decorateSupplier(handle.circuitBreaker, supplier);
+        supplier = Retry.decorateSupplier(policy.retry, supplier);
+        return supplier.get();
+    }
+
+    /**
+     * 获取策略的运行指标
+     *
+     * @param policyName 策略名称
+     * @return 指标快照
+     */
+    public OutboundPolicyMetrics getMetrics(String policyName) {
+        PolicyHandle policy = getPolicy(policyName);
+        Map<String, OutboundPolicyMetrics.EndpointMetrics> endpointMetrics = new LinkedHashMap<>();
+        endpoints.forEach((key, handle) -> {
+            if (handle.policyName.equals(policyName)) {
+                CircuitBreaker.Metrics metrics = handle.circuitBreaker.getMetrics();
+                endpointMetrics.put(handle.endpoint, new OutboundPolicyMetrics.EndpointMetrics(
+                        handle.circuitBreaker.getState().name(),
+                        metrics.getFailureRate(),
+                        metrics.getNumberOfBufferedCalls(),
+                        metrics.getNumberOfFailedCalls(),
+                        metrics.getNumberOfNotPermittedCalls(),
+                        handle.bulkhead.getMetrics().getAvailableConcurrentCalls()));
+            }
+        });
+        Retry.Metrics retryMetrics = policy.retry.getMetrics();
+        return new OutboundPolicyMetrics(policyName,
+                retryMetrics.getNumberOfSuccessfulCallsWithoutRetryAttempt(),
+                retryMetrics.getNumberOfSuccessfulCallsWithRetryAttempt(),
+                retryMetrics.getNumberOfFailedCallsWithoutRetryAttempt(),
+                retryMetrics.getNumberOfFailedCallsWithRetryAttempt(),
+                endpointMetrics);
+    }
+
+    /**
+     * 从URL中提取端点标识（协议://主机:端口），同一主机的不同路径共享熔断器和舱壁
+     *
+     * @param url 请求URL
+     * @return 端点标识
+     */
+    public static String endpointOf(String url) {
+        URI uri = URI.create(url);
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("无效的URL: " + url);
+        }
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    /**
+     * 关闭执行器自行创建的调度线程
+     */
+    public void shutdown() {
+        if (ownsScheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private PolicyHandle getPolicy(String policyName) {
+        PolicyHandle policy = policies.get(policyName);
+        if (policy == null) {
+            throw new IllegalArgumentException("调用策略未注册: " + policyName);
+        }
+        return policy;
+    }
+
+    private EndpointHandle getEndpoint(PolicyHandle policy, String endpoint) {
+        if (endpoint == null || endpoint.isEmpty()) {
+            throw new IllegalArgumentException("端点标识不能为空");
+        }
+        String name = policy.policy.getName() + "@" + endpoint;
+        return endpoints.computeIfAbsent(name, key -> new EndpointHandle(policy.policy.getName(), endpoint,
+                circuitBreakerRegistry.circuitBreaker(key, policy.circuitBreakerConfig),
+                bulkheadRegistry.bulkhead(key, policy.bulkheadConfig)));
+    }
+
+    private static void validate(OutboundPolicy policy) {
+        Objects.requireNonNull(policy, "调用策略不能为空");
+        if (policy.getName() == null || policy.getName().isEmpty()) {
+            throw new IllegalArgumentException("策略名称不能为空");
+        }
+        if (policy.getMaxAttempts() <= 0) {
+            throw new IllegalArgumentException("最大尝试次数必须大于0");
+        }
+        if (policy.getInitialBackoff() == null || policy.getInitialBackoff().isNegative()
+                || policy.getInitialBackoff().isZero()) {
+            throw new IllegalArgumentException("初始退避时间必须大于0");
+        }
+        if (policy.getMaxBackoff() == null || policy.getMaxBackoff().compareTo(policy.getInitialBackoff()) < 0) {
+            throw new IllegalArgumentException("退避时间上限不能小于初始退避时间");
+        }
+        if (policy.getBackoffMultiplier() < 1.0) {
+            throw new IllegalArgumentException("退避倍数不能小于1");
+        }
+        if (policy.getJitterFactor() < 0.0 || policy.getJitterFactor() >= 1.0) {
+            throw new IllegalArgumentException("抖动系数必须在[0, 1)之间");
+        }
+        if (policy.getMaxConcurrentCalls() <= 0) {
+            throw new IllegalArgumentException("最大并发调用数必须大于0");
+        }
+        if (policy.getTransientFailure() == null) {
+            throw new IllegalArgumentException("瞬时故障判断不能为空");
+        }
+    }
+
+    private static RetryConfig retryConfig(OutboundPolicy policy) {
+        return RetryConfig.custom()
+                .maxAttempts(policy.getMaxAttempts())
+                .intervalFunction(backoff(policy))
+                .retryOnException(policy.getTransientFailure())
+                .build();
+    }
+
+    /**
+     * 构建退避函数
+     *
+     * <p>抖动在指数退避结果上叠加，可能越过上限，因此在抖动之后再截断一次。</p>
+     *
+     * @param policy 调用策略
+     * @return 退避函数
+     */
+    static IntervalFunction backoff(OutboundPolicy policy) {
+        long maxMillis = policy.getMaxBackoff().toMillis();
+        IntervalFunction backoff = policy.getJitterFactor() > 0
+                ? IntervalFunction.ofExponentialRandomBackoff(policy.getInitialBackoff(),
+                        policy.getBackoffMultiplier(), policy.getJitterFactor(), policy.getMaxBackoff())
+                : IntervalFunction.ofExponentialBackoff(policy.getInitialBackoff(), policy.getBackoffMultiplier(),
+                        policy.getMaxBackoff());
+        return attempt -> Math.min(maxMillis, backoff.apply(attempt));
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(OutboundPolicy policy) {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(policy.getFailureRateThreshold())
+                .slidingWindowSize(policy.getSlidingWindowSize())
+                .minimumNumberOfCalls(policy.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(policy.getOpenStateWait())
+                .permittedNumberOfCallsInHalfOpenState(policy.getHalfOpenCalls())
+                .recordException(policy.getTransientFailure())
+                // 舱壁拒绝说明调用方过载，不代表端点故障
+                .ignoreException(throwable -> OutboundPolicy.unwrap(throwable) instanceof BulkheadFullException)
+                .build();
+    }
+
+    private static BulkheadConfig bulkheadConfig(OutboundPolicy policy) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(policy.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+    }
+
+    private static final class PolicyHandle {
+
+        private final OutboundPolicy policy;
+
+        private final Retry retry;
+
+        private final CircuitBreakerConfig circuitBreakerConfig;
+
+        private final BulkheadConfig bulkheadConfig;
+
+        private PolicyHandle(OutboundPolicy policy, Retry retry, CircuitBreakerConfig circuitBreakerConfig,
+                             BulkheadConfig bulkheadConfig) {
+            this.policy = policy;
+            this.retry = retry;
+            this.circuitBreakerConfig = circuitBreakerConfig;
+            this.bulkheadConfig = bulkheadConfig;
+        }
+    }
+
+    private static final class EndpointHandle {
+
+        private final String policyName;
+
+        private final String endpoint;
+
+        private final CircuitBreaker circuitBreaker;
+
+        private final Bulkhead bulkhead;
+
+        private EndpointHandle(String policyName, String endpoint, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.policyName = policyName;
+            this.endpoint = endpoint;
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.lovemp.common.resilience;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * 外部调用策略
+ *
+ * <p>描述一类外部调用（如第三方实名核验、短信网关）的容错参数，由{@link OutboundCallExecutor}转换为
+ * resilience4j的重试、熔断和舱壁配置：</p>
+ * <ul>
+ *   <li>重试：指数退避加随机抖动并限制最大等待时间，避免故障恢复时所有调用方同时重试</li>
+ *   <li>熔断：按端点统计最近调用的失败率，超过阈值后快速失败，等待一段时间后半开试探</li>
+ *   <li>舱壁：限制单个端点的并发调用数，防止一个慢服务占满调用方资源</li>
+ * </ul>
+ *
+ * <p>默认只有瞬时故障（网络异常、超时、429与5xx响应）参与重试和熔断统计，其他4xx视为调用方错误。</p>
+ */
+@Getter
+@Builder(toBuilder = true)
+public final class OutboundPolicy {
+
+    /**
+     * 默认策略名称
+     */
+    public static final String DEFAULT_POLICY = "default";
+
+    /**
+     * 策略名称
+     */
+    @Builder.Default
+    private final String name = DEFAULT_POLICY;
+
+    /**
+     * 最大尝试次数（含首次调用），1表示不重试
+     */
+    @Builder.Default
+    private final int maxAttempts = 3;
+
+    /**
+     * 首次重试前的等待时间
+     */
+    @Builder.Default
+    private final Duration initialBackoff = Duration.ofMillis(200);
+
+    /**
+     * 退避时间倍数
+     */
+    @Builder.Default
+    private final double backoffMultiplier = 2.0;
+
+    /**
+     * 退避时间上限，指数增长和随机抖动后的等待时间都不会超过该值
+     */
+    @Builder.Default
+    private final Duration maxBackoff = Duration.ofSeconds(10);
+
+    /**
+     * 抖动系数，实际等待时间在[backoff*(1-jitter), backoff*(1+jitter)]之间随机
+     */
+    @Builder.Default
+    private final double jitterFactor = 0.5;
+
+    /**
+     * 熔断的失败率阈值（百分比）
+     */
+    @Builder.Default
+    private final float failureRateThreshold = 50f;
+
+    /**
+     * 熔断统计的滑动窗口大小（最近调用次数）
+     */
+    @Builder.Default
+    private final int slidingWindowSize = 50;
+
+    /**
+     * 开始计算失败率前的最少调用次数
+     */
+    @Builder.Default
+    private final int minimumNumberOfCalls = 20;
+
+    /**
+     * 熔断打开后进入半开状态前的等待时间
+     */
+    @Builder.Default
+    private final Duration openStateWait = Duration.ofSeconds(30);
+
+    /**
+     * 半开状态允许的试探调用数
+     */
+    @Builder.Default
+    private final int halfOpenCalls = 5;
+
+    /**
+     * 单个端点的最大并发调用数
+     */
+    @Builder.Default
+    private final int maxConcurrentCalls = 64;
+
+    /**
+     * 判断异常是否为瞬时故障（参与重试和熔断统计）
+     */
+    @Builder.Default
+    private final Predicate<Throwable> transientFailure = OutboundPolicy::isTransientFailure;
+
+    /**
+     * 创建默认策略
+     *
+     * @return 默认策略
+     */
+    public static OutboundPolicy defaults() {
+        return OutboundPolicy.builder().build();
+    }
+
+    /**
+     * 默认的瞬时故障判断：网络异常、超时、429与5xx响应
+     *
+     * @param throwable 异常
+     * @return 是否为瞬时故障
+     */
+    public static boolean isTransientFailure(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof RestClientResponseException) {
+            int status = ((RestClientResponseException) cause).getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return cause instanceof ResourceAccessException
+                || cause instanceof IOException
+                || cause instanceof TimeoutException;
+    }
+
+    /**
+     * 去掉异步调用产生的包装异常
+     *
+     * @param throwable 异常
+     * @return 原始异常
+     */
+    static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
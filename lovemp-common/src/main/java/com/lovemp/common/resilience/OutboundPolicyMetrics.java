@@ -0,0 +1,85 @@
+package com.lovemp.common.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 外部调用策略的运行指标快照
+ *
+ * <p>重试指标按策略汇总，熔断与舱壁指标按端点区分。接入Spring Boot Actuator时，
+ * 同样的指标也会由resilience4j自动注册到Micrometer。</p>
+ */
+@Getter
+@AllArgsConstructor
+public final class OutboundPolicyMetrics {
+
+    /**
+     * 策略名称
+     */
+    private final String policyName;
+
+    /**
+     * 未经重试即成功的调用数
+     */
+    private final long successfulCallsWithoutRetry;
+
+    /**
+     * 重试后成功的调用数
+     */
+    private final long successfulCallsWithRetry;
+
+    /**
+     * 未重试即失败的调用数（非瞬时故障）
+     */
+    private final long failedCallsWithoutRetry;
+
+    /**
+     * 重试耗尽后失败的调用数
+     */
+    private final long failedCallsWithRetry;
+
+    /**
+     * 各端点的熔断与舱壁指标，键为端点
+     */
+    private final Map<String, EndpointMetrics> endpoints;
+
+    /**
+     * 单个端点的熔断与舱壁指标
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class EndpointMetrics {
+
+        /**
+         * 熔断器状态：CLOSED、OPEN、HALF_OPEN等
+         */
+        private final String circuitState;
+
+        /**
+         * 滑动窗口内的失败率（百分比），调用数不足时为-1
+         */
+        private final float failureRate;
+
+        /**
+         * 滑动窗口内的调用数
+         */
+        private final int bufferedCalls;
+
+        /**
+         * 滑动窗口内的失败调用数
+         */
+        private final int failedCalls;
+
+        /**
+         * 熔断打开期间被拒绝的调用数
+         */
+        private final long notPermittedCalls;
+
+        /**
+         * 舱壁当前可用的并发数
+         */
+        private final int availableConcurrentCalls;
+    }
+}
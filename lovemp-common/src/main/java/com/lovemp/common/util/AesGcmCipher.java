@@ -0,0 +1,226 @@
+package com.lovemp.common.util;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * AES-GCM认证加密器
+ *
+ * 为身份证号、手机号等PII字段的加密存储提供带完整性校验的对称加密，支持一次调用批量加解密多个字段。
+ *
+ * 主要特性：
+ * 1. 密钥在构造时校验并构建一次，每个线程复用同一个Cipher实例，相同密钥下不再重复展开轮密钥
+ * 2. 每次加密使用随机的96位IV，密文格式为Base64(IV || 密文 || 16字节认证标签)
+ * 3. 可选附加认证数据（如字段名），密文被移到其他字段解密时认证失败
+ * 4. 批量接口复用同一线程的Cipher和随机数生成器，null元素原样保留
+ *
+ * 使用示例：
+ * AesGcmCipher cipher = new AesGcmCipher(keyBytes);
+ * String encrypted = cipher.encrypt("110101199001011234");
+ * List&lt;String&gt; fields = cipher.encryptAll(Arrays.asList(documentNumber, mobile, email));
+ * String plain = cipher.decrypt(encrypted);
+ *
+ * 注意：
+ * 1. 同一密钥下随机IV的加密次数应控制在2^32次以内，超过后应轮换密钥
+ * 2. 解密时密文被篡改、密钥或附加认证数据不一致均抛出异常，不会返回错误明文
+ * 3. 实例是线程安全的，应按密钥长期复用
+ */
+public final class AesGcmCipher {
+
+    /**
+     * IV长度：12字节
+     */
+    public static final int IV_LENGTH = 12;
+
+    /**
+     * 认证标签长度：16字节
+     */
+    public static final int TAG_LENGTH = 16;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(AesGcmCipher::newRandom);
+
+    private final SecretKeySpec key;
+
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(AesGcmCipher::newCipher);
+
+    /**
+     * 构造函数
+     *
+     * @param key 密钥（长度必须是16、24或32字节）
+     */
+    public AesGcmCipher(byte[] key) {
+        if (key == null || (key.length != 16 && key.length != 24 && key.length != 32)) {
+            throw new IllegalArgumentException("AES密钥长度必须是16、24或32字节");
+        }
+        this.key = new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * 加密文本
+     *
+     * @param text 待加密文本
+     * @return Base64编码的密文，text为null时返回null
+     */
+    public String encrypt(String text) {
+        return encrypt(text, null);
+    }
+
+    /**
+     * 加密文本并绑定附加认证数据
+     *
+     * @param text 待加密文本
+     * @param associatedData 附加认证数据，解密时必须一致，可以为null
+     * @return Base64编码的密文，text为null时返回null
+     */
+    public String encrypt(String text, byte[] associatedData) {
+        if (text == null) {
+            return null;
+        }
+        Cipher c = cipher.get();
+        return Base64.getEncoder().encodeToString(
+                encrypt(c, RANDOM.get(), text.getBytes(StandardCharsets.UTF_8), associatedData));
+    }
+
+    /**
+     * 解密文本
+     *
+     * @param encryptedText Base64编码的密文
+     * @return 明文，encryptedText为null时返回null
+     */
+    public String decrypt(String encryptedText) {
+        return decrypt(encryptedText, null);
+    }
+
+    /**
+     * 解密文本并校验附加认证数据
+     *
+     * @param encryptedText Base64编码的密文
+     * @param associatedData 加密时的附加认证数据，可以为null
+     * @return 明文，encryptedText为null时返回null
+     */
+    public String decrypt(String encryptedText, byte[] associatedData) {
+        if (encryptedText == null) {
+            return null;
+        }
+        return new String(decrypt(cipher.get(), Base64.getDecoder().decode(encryptedText), associatedData),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 加密字节数组
+     *
+     * @param plaintext 明文
+     * @param associatedData 附加认证数据，可以为null
+     * @return IV || 密文 || 认证标签
+     */
+    public byte[] encrypt(byte[] plaintext, byte[] associatedData) {
+        return encrypt(cipher.get(), RANDOM.get(), plaintext, associatedData);
+    }
+
+    /**
+     * 解密字节数组
+     *
+     * @param data IV || 密文 || 认证标签
+     * @param associatedData 加密时的附加认证数据，可以为null
+     * @return 明文
+     */
+    public byte[] decrypt(byte[] data, byte[] associatedData) {
+        return decrypt(cipher.get(), data, associatedData);
+    }
+
+    /**
+     * 批量加密多个字段
+     *
+     * @param texts 待加密文本，null元素原样保留
+     * @return 与传入顺序一致的Base64编码密文
+     */
+    public List<String> encryptAll(List<String> texts) {
+        Cipher c = cipher.get();
+        SecureRandom random = RANDOM.get();
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<String> result = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            result.add(text == null ? null
+                    : encoder.encodeToString(encrypt(c, random, text.getBytes(StandardCharsets.UTF_8), null)));
+        }
+        return result;
+    }
+
+    /**
+     * 批量解密多个字段
+     *
+     * @param encryptedTexts Base64编码的密文，null元素原样保留
+     * @return 与传入顺序一致的明文
+     */
+    public List<String> decryptAll(List<String> encryptedTexts) {
+        Cipher c = cipher.get();
+        Base64.Decoder decoder = Base64.getDecoder();
+        List<String> result = new ArrayList<>(encryptedTexts.size());
+        for (String encryptedText : encryptedTexts) {
+            result.add(encryptedText == null ? null
+                    : new String(decrypt(c, decoder.decode(encryptedText), null), StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private byte[] encrypt(Cipher c, SecureRandom random, byte[] plaintext, byte[] associatedData) {
+        byte[] out = new byte[IV_LENGTH + plaintext.length + TAG_LENGTH];
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        System.arraycopy(iv, 0, out, 0, IV_LENGTH);
+        try {
+            c.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * 8, iv));
+            if (associatedData != null) {
+                c.updateAAD(associatedData);
+            }
+            c.doFinal(plaintext, 0, plaintext.length, out, IV_LENGTH);
+            return out;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("AES-GCM加密失败", e);
+        }
+    }
+
+    private byte[] decrypt(Cipher c, byte[] data, byte[] associatedData) {
+        if (data.length < IV_LENGTH + TAG_LENGTH) {
+            throw new IllegalArgumentException("AES-GCM密文长度不足");
+        }
+        try {
+            c.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * 8, data, 0, IV_LENGTH));
+            if (associatedData != null) {
+                c.updateAAD(associatedData);
+            }
+            return c.doFinal(data, IV_LENGTH, data.length - IV_LENGTH);
+        } catch (AEADBadTagException e) {
+            throw new RuntimeException("AES-GCM解密失败，密文被篡改或密钥不匹配", e);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("AES-GCM解密失败", e);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("当前JDK不支持" + TRANSFORMATION, e);
+        }
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.lovemp.common.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 异步HTTP客户端
+ *
+ * 基于JDK HttpClient的连接池化客户端，为HttpUtils的异步方法以及同步RestTemplate提供底层连接。
+ *
+ * 主要特性：
+ * 1. 连接复用：连接保持存活并复用，协议版本使用JDK HttpClient的默认协商结果，不强制指定
+ * 2. 按主机限流：每个主机（协议+主机+端口）同时进行的请求数不超过上限，超出的请求排队而不阻塞调用线程，
+ *    排队数也有上限，队列已满时请求以RejectedExecutionException结束
+ * 3. 非阻塞API：所有请求返回CompletableFuture，等待响应期间不占用调用线程，适合并发调用多个第三方核验服务
+ * 4. 异常语义与RestTemplate一致：4xx/5xx转换为HttpClientErrorException/HttpServerErrorException，
+ *    网络异常转换为ResourceAccessException
+ *
+ * 使用示例：
+ * AsyncHttpClient client = new AsyncHttpClient(Duration.ofSeconds(3), Duration.ofSeconds(5), 16, null);
+ * CompletableFuture&lt;String&gt; future = client.get("https://api.example.com/verify", params, null);
+ *
+ * 注意：
+ * 1. 客户端持有连接池，应作为单例长期使用，不要每次请求创建
+ * 2. 响应回调在客户端执行器中运行，回调中不要执行阻塞操作；在JDK 21及以上可传入虚拟线程执行器
+ * 3. Connection、Host、Content-Length等受限请求头由客户端管理，自定义请求头中的这些值会被忽略
+ */
+public final class AsyncHttpClient {
+
+    /**
+     * 默认连接超时
+     */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * 默认请求超时（从发出请求到收到响应头）
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * 默认每个主机的最大并发请求数
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+
+    /**
+     * 默认每个主机的最大排队请求数
+     */
+    public static final int DEFAULT_MAX_QUEUED_REQUESTS_PER_HOST = 1024;
+
+    /**
+     * JDK HttpClient不允许调用方设置的请求头
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+
+    private final Duration requestTimeout;
+
+    private final int maxRequestsPerHost;
+
+    private final int maxQueuedRequestsPerHost;
+
+    /**
+     * 许可转交给排队请求时用于发起请求的执行器
+     */
+    private final Executor dispatchExecutor;
+
+    private final ConcurrentMap<String, HostPermits> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * 使用默认超时和并发上限创建客户端
+     */
+    public AsyncHttpClient() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_REQUESTS_PER_HOST, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param connectTimeout     连接超时
+     * @param requestTimeout     请求超时
+     * @param maxRequestsPerHost 每个主机的最大并发请求数
+     * @param executor           异步回调执行器，为null时使用JDK HttpClient默认执行器
+     */
+    public AsyncHttpClient(Duration connectTimeout, Duration requestTimeout, int maxRequestsPerHost, Executor executor) {
+        this(connectTimeout, requestTimeout, maxRequestsPerHost, DEFAULT_MAX_QUEUED_REQUESTS_PER_HOST, executor);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param connectTimeout           连接超时
+     * @param requestTimeout           请求超时
+     * @param maxRequestsPerHost       每个主机的最大并发请求数
+     * @param maxQueuedRequestsPerHost 每个主机的最大排队请求数
+     * @param executor                 异步回调执行器，为null时使用JDK HttpClient默认执行器，排队请求由公共ForkJoinPool发起
+     */
+    public AsyncHttpClient(Duration connectTimeout, Duration requestTimeout, int maxRequestsPerHost,
+                           int maxQueuedRequestsPerHost, Executor executor) {
+        if (connectTimeout == null || requestTimeout == null) {
+            throw new IllegalArgumentException("超时时间不能为空");
+        }
+        if (maxRequestsPerHost <= 0) {
+            throw new IllegalArgumentException("每个主机的最大并发请求数必须大于0");
+        }
+        if (maxQueuedRequestsPerHost < 0) {
+            throw new IllegalArgumentException("每个主机的最大排队请求数不能为负数");
+        }
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.httpClient = builder.build();
+        this.requestTimeout = requestTimeout;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.maxQueuedRequestsPerHost = maxQueuedRequestsPerHost;
+        this.dispatchExecutor = executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * 异步发送GET请求
+     *
+     * @param url     请求URL
+     * @param params  请求参数，可为null
+     * @param headers 请求头，可为null
+     * @return 响应内容
+     */
+    public CompletableFuture<String> get(String url, Map<String, String> params, Map<String, String> headers) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
+        if (params != null) {
+            params.forEach(builder::queryParam);
+        }
+        HttpRequest request = newRequest(builder.build().encode().toUri(), headers).GET().build();
+        return exchange(request);
+    }
+
+    /**
+     * 异步发送POST请求（JSON格式）
+     *
+     * @param url     请求URL
+     * @param body    请求体，字符串原样发送，其他对象序列化为JSON
+     * @param headers 请求头，可为null
+     * @return 响应内容
+     */
+    public CompletableFuture<String> postJson(String url, Object body, Map<String, String> headers) {
+        HttpRequest request = newRequest(URI.create(url), headers)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .POST(jsonBody(body))
+                .build();
+        return exchange(request);
+    }
+
+    /**
+     * 异步发送PUT请求（JSON格式）
+     *
+     * @param url     请求URL
+     * @param body    请求体，字符串原样发送，其他对象序列化为JSON
+     * @param headers 请求头，可为null
+     * @return 响应内容
+     */
+    public CompletableFuture<String> putJson(String url, Object body, Map<String, String> headers) {
+        HttpRequest request = newRequest(URI.create(url), headers)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .PUT(jsonBody(body))
+                .build();
+        return exchange(request);
+    }
+
+    /**
+     * 异步发送请求并返回响应内容，非2xx响应以异常结束
+     *
+     * @param request 请求
+     * @return 响应内容
+     */
+    public CompletableFuture<String> exchange(HttpRequest request) {
+        return send(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(AsyncHttpClient::checkStatus)
+                .thenApply(HttpResponse::body);
+    }
+
+    /**
+     * 在主机并发上限内异步发送请求，返回原始响应（不检查状态码）
+     *
+     * <p>网络异常以ResourceAccessException结束，主机排队请求数已达上限时以RejectedExecutionException结束</p>
+     *
+     * @param request     请求
+     * @param bodyHandler 响应体处理器
+     * @param <T>         响应体类型
+     * @return 响应
+     */
+    public <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        CompletableFuture<HttpResponse<T>> result = new CompletableFuture<>();
+        HostPermits permits = hostPermits.computeIfAbsent(authority(request.uri()),
+                key -> new HostPermits(maxRequestsPerHost, maxQueuedRequestsPerHost, dispatchExecutor));
+        Runnable task = () -> {
+            if (result.isDone()) {
+                // 排队期间已被调用方取消
+                permits.release();
+                return;
+            }
+            CompletableFuture<HttpResponse<T>> response;
+            try {
+                response = httpClient.sendAsync(request, bodyHandler);
+            } catch (RuntimeException e) {
+                permits.release();
+                result.completeExceptionally(e);
+                return;
+            }
+            response.whenComplete((value, error) -> {
+                permits.release();
+                if (error != null) {
+                    result.completeExceptionally(translate(request, error));
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        try {
+            if (permits.acquireOrEnqueue(task)) {
+                task.run();
+            }
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * 获取底层JDK HttpClient，供同步调用共享同一连接池
+     *
+     * @return JDK HttpClient
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * 获取请求超时
+     *
+     * @return 请求超时
+     */
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * 获取指定主机当前正在进行的请求数
+     *
+     * @param uri 主机上的任意地址
+     * @return 正在进行的请求数
+     */
+    public int getActiveRequests(URI uri) {
+        HostPermits permits = hostPermits.get(authority(uri));
+        return permits == null ? 0 : permits.active();
+    }
+
+    /**
+     * 创建带默认请求头和请求超时的请求构建器
+     *
+     * @param uri     请求地址
+     * @param headers 自定义请求头，可为null
+     * @return 请求构建器
+     */
+    HttpRequest.Builder newRequest(URI uri, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_CHARSET, StandardCharsets.UTF_8.name().toLowerCase(Locale.ROOT));
+        if (headers != null) {
+            headers.forEach((name, value) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    builder.setHeader(name, value);
+                }
+            });
+        }
+        return builder;
+    }
+
+    private static HttpRequest.BodyPublisher jsonBody(Object body) {
+        String requestBody = body instanceof String ? (String) body : JsonUtils.toJson(body);
+        return HttpRequest.BodyPublishers.ofString(requestBody == null ? "" : requestBody, StandardCharsets.UTF_8);
+    }
+
+    private static <T> HttpResponse<T> checkStatus(HttpResponse<T> response) {
+        if (response.statusCode() < 400) {
+            return response;
+        }
+        Object body = response.body();
+        byte[] bytes = body instanceof String ? ((String) body).getBytes(StandardCharsets.UTF_8) : new byte[0];
+        throw statusException(response.statusCode(), response.headers(), bytes);
+    }
+
+    /**
+     * 将错误状态码转换为与RestTemplate一致的异常
+     *
+     * @param status  状态码
+     * @param headers 响应头
+     * @param body    响应体
+     * @return 对应的异常
+     */
+    static RestClientResponseException statusException(int status, java.net.http.HttpHeaders headers, byte[] body) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        headers.map().forEach(httpHeaders::addAll);
+        if (status >= 400 && status < 500) {
+            return HttpClientErrorException.create(HttpStatusCode.valueOf(status), "", httpHeaders, body, StandardCharsets.UTF_8);
+        }
+        if (status >= 500 && status < 600) {
+            return HttpServerErrorException.create(HttpStatusCode.valueOf(status), "", httpHeaders, body, StandardCharsets.UTF_8);
+        }
+        return new UnknownHttpStatusCodeException(status, "", httpHeaders, body, StandardCharsets.UTF_8);
+    }
+
+    private static Throwable translate(HttpRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException) {
+            return new ResourceAccessException("I/O error on " + request.method() + " request for \""
+                    + request.uri() + "\": " + cause.getMessage(), (IOException) cause);
+        }
+        return cause;
+    }
+
+    private static String authority(URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    /**
+     * 单个主机的并发许可，超出上限的请求进入有界等待队列，由完成的请求依次唤起
+     */
+    private static final class HostPermits {
+
+        private final int limit;
+
+        private final int queueCapacity;
+
+        private final Executor executor;
+
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+
+        private int active;
+
+        private HostPermits(int limit, int queueCapacity, Executor executor) {
+            this.limit = limit;
+            this.queueCapacity = queueCapacity;
+            this.executor = executor;
+        }
+
+        /**
+         * 尝试获取许可，获取失败时将任务放入等待队列
+         *
+         * @return 获取成功返回true，调用方应立即执行任务
+         * @throws RejectedExecutionException 等待队列已满时
+         */
+        private synchronized boolean acquireOrEnqueue(Runnable task) {
+            if (active < limit) {
+                active++;
+                return true;
+            }
+            if (waiting.size() >= queueCapacity) {
+                throw new RejectedExecutionException("主机排队请求数已达上限" + queueCapacity);
+            }
+            waiting.addLast(task);
+            return false;
+        }
+
+        /**
+         * 释放许可：有等待任务时将许可直接转交给队首任务，由执行器发起，避免在完成回调中层层递归
+         */
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.pollFirst();
+                if (next == null) {
+                    active--;
+                }
+            }
+            if (next != null) {
+                try {
+                    executor.execute(next);
+                } catch (RejectedExecutionException e) {
+                    // 执行器已关闭或饱和时在当前线程发起，保证许可不丢失
+                    next.run();
+                }
+            }
+        }
+
+        private synchronized int active() {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.lovemp.common.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bean属性复制器
+ *
+ * 为每个(源类型, 目标类型, 复制方式, 忽略属性集合)组合生成一次专用复制器并缓存，后续复制不再逐次查找字段、
+ * 判断忽略列表和反射调用，是BeanUtils中copyProperties、copyPropertiesByGetterSetter等方法的底层实现。
+ *
+ * 生成方式：
+ * 1. 字段复制：通过MethodHandle直接读写字段，复制计划（源字段到目标字段的配对）在生成时一次性计算
+ * 2. Getter/Setter复制：通过LambdaMetafactory将getter/setter生成为Function/BiConsumer，调用开销接近手写代码
+ * 3. 对象创建：公共无参构造器通过LambdaMetafactory生成为Supplier
+ * 生成失败（如跨类加载器或模块不可访问）的属性自动退回反射调用，行为与原实现保持一致。
+ *
+ * 使用示例：
+ * BeanCopier copier = BeanCopier.forFields(UserDO.class, UserDTO.class, "password");
+ * for (UserDO user : users) {
+ *     UserDTO dto = BeanCopier.newInstance(UserDTO.class);
+ *     copier.copy(user, dto);
+ * }
+ *
+ * 注意：
+ * 1. 复制器按忽略属性集合区分缓存，忽略属性应为固定常量，不要动态拼接，否则缓存会持续增长
+ * 2. 复制器是无状态的，可在多线程间共享
+ */
+public final class BeanCopier {
+
+    /**
+     * 复制方式
+     */
+    private enum Mode {
+        /**
+         * 直接复制同名字段
+         */
+        FIELD,
+        /**
+         * 通过getter/setter复制，支持类型转换
+         */
+        ACCESSOR
+    }
+
+    private static final Map<CopierKey, BeanCopier> COPIER_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Supplier<?>> INSTANTIATOR_CACHE = new ConcurrentHashMap<>();
+
+    private final PropertyCopier[] properties;
+
+    private BeanCopier(List<PropertyCopier> properties) {
+        this.properties = properties.toArray(new PropertyCopier[0]);
+    }
+
+    /**
+     * 获取基于字段的复制器
+     *
+     * <p>复制源类型中所有非静态字段到目标类型的同名非静态字段，语义与BeanUtils.copyProperties一致</p>
+     *
+     * @param sourceClass      源类型
+     * @param targetClass      目标类型
+     * @param ignoreProperties 要忽略的属性名
+     * @return 缓存的复制器
+     */
+    public static BeanCopier forFields(Class<?> sourceClass, Class<?> targetClass, String... ignoreProperties) {
+        return get(Mode.FIELD, sourceClass, targetClass, ignoreProperties);
+    }
+
+    /**
+     * 获取基于getter/setter的复制器
+     *
+     * <p>语义与BeanUtils.copyPropertiesByGetterSetter一致：类型不兼容时尝试转换，null值写入基本类型时使用默认值，
+     * 单个属性复制失败不影响其他属性</p>
+     *
+     * @param sourceClass      源类型
+     * @param targetClass      目标类型
+     * @param ignoreProperties 要忽略的属性名
+     * @return 缓存的复制器
+     */
+    public static BeanCopier forAccessors(Class<?> sourceClass, Class<?> targetClass, String... ignoreProperties) {
+        return get(Mode.ACCESSOR, sourceClass, targetClass, ignoreProperties);
+    }
+
+    /**
+     * 通过无参构造器创建实例，构造器查找结果会被缓存
+     *
+     * @param clazz 类型
+     * @param <T>   实例类型
+     * @return 新实例
+     * @throws ReflectiveOperationException 类型没有可访问的无参构造器或构造失败时
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T newInstance(Class<T> clazz) throws ReflectiveOperationException {
+        Supplier<?> instantiator = INSTANTIATOR_CACHE.get(clazz);
+        if (instantiator == null) {
+            instantiator = createInstantiator(clazz);
+            INSTANTIATOR_CACHE.putIfAbsent(clazz, instantiator);
+        }
+        try {
+            return (T) instantiator.get();
+        } catch (ReflectiveFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 将源对象属性复制到目标对象
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     */
+    public void copy(Object source, Object target) {
+        if (source == null || target == null) {
+            return;
+        }
+        for (PropertyCopier property : properties) {
+            property.copy(source, target);
+        }
+    }
+
+    /**
+     * 获取参与复制的属性数量
+     *
+     * @return 属性数量
+     */
+    public int getPropertyCount() {
+        return properties.length;
+    }
+
+    private static BeanCopier get(Mode mode, Class<?> sourceClass, Class<?> targetClass, String... ignoreProperties) {
+        if (sourceClass == null || targetClass == null) {
+            throw new IllegalArgumentException("源类型和目标类型不能为空");
+        }
+        Set<String> ignoreSet = (ignoreProperties == null || ignoreProperties.length == 0)
+                ? Collections.emptySet()
+                : new HashSet<>(Arrays.asList(ignoreProperties));
+        CopierKey key = new CopierKey(mode, sourceClass, targetClass, ignoreSet);
+        BeanCopier copier = COPIER_CACHE.get(key);
+        if (copier == null) {
+            copier = mode == Mode.FIELD
+                    ? createFieldCopier(sourceClass, targetClass, ignoreSet)
+                    : createAccessorCopier(sourceClass, targetClass, ignoreSet);
+            BeanCopier existing = COPIER_CACHE.putIfAbsent(key, copier);
+            if (existing != null) {
+                copier = existing;
+            }
+        }
+        return copier;
+    }
+
+    // ===================== 字段复制 =====================
+
+    /**
+     * 按原copyProperties的遍历顺序计算字段配对：源字段按子类到父类的顺序，目标字段取第一个同名字段
+     */
+    private static BeanCopier createFieldCopier(Class<?> sourceClass, Class<?> targetClass, Set<String> ignoreSet) {
+        Map<String, Field> targetFields = BeanUtils.getFieldIndex(targetClass);
+        List<PropertyCopier> properties = new ArrayList<>();
+        for (Field sourceField : BeanUtils.getAllFields(sourceClass)) {
+            if (Modifier.isStatic(sourceField.getModifiers()) || ignoreSet.contains(sourceField.getName())) {
+                continue;
+            }
+            Field targetField = targetFields.get(sourceField.getName());
+            if (targetField == null || Modifier.isStatic(targetField.getModifiers())) {
+                continue;
+            }
+            PropertyCopier property = createFieldProperty(sourceField, targetField);
+            if (property != null) {
+                properties.add(property);
+            }
+        }
+        return new BeanCopier(properties);
+    }
+
+    private static PropertyCopier createFieldProperty(Field sourceField, Field targetField) {
+        try {
+            sourceField.setAccessible(true);
+            targetField.setAccessible(true);
+        } catch (RuntimeException e) {
+            // 模块未开放等原因无法访问的字段，每次复制时报告后继续处理其他属性
+            String propertyName = targetField.getName();
+            return (source, target) -> reportAccessorFailure(propertyName, e);
+        }
+
+        // 目标为基本类型时要求源类型完全一致，避免包装类型的null值绕过Field.set的参数校验
+        Class<?> sourceType = sourceField.getType();
+        Class<?> targetType = targetField.getType();
+        boolean assignable = targetType.isPrimitive() ? sourceType == targetType : isAssignable(sourceType, targetType);
+        if (!assignable || Modifier.isFinal(targetField.getModifiers())) {
+            // 类型不兼容（交由Field.set做基本类型拓宽或抛出异常）或final字段，保留反射写入
+            return (source, target) -> {
+                try {
+                    targetField.set(target, sourceField.get(source));
+                } catch (IllegalAccessException e) {
+                    // 忽略无法访问的字段
+                }
+            };
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflectGetter(sourceField)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle setter = lookup.unreflectSetter(targetField)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (source, target) -> {
+                try {
+                    setter.invokeExact(target, (Object) getter.invokeExact(source));
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException("复制字段 " + targetField.getName() + " 失败", e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    // ===================== Getter/Setter复制 =====================
+
+    private static BeanCopier createAccessorCopier(Class<?> sourceClass, Class<?> targetClass, Set<String> ignoreSet) {
+        Map<String, Method> setters = BeanUtils.getSetterMethods(targetClass);
+        List<PropertyCopier> properties = new ArrayList<>();
+        for (Map.Entry<String, Method> entry : BeanUtils.getGetterMethods(sourceClass).entrySet()) {
+            String propertyName = entry.getKey();
+            Method setter = setters.get(propertyName);
+            if (setter == null || ignoreSet.contains(propertyName)) {
+                continue;
+            }
+            properties.add(createAccessorProperty(propertyName, entry.getValue(), setter));
+        }
+        return new BeanCopier(properties);
+    }
+
+    private static PropertyCopier createAccessorProperty(String propertyName, Method getterMethod, Method setterMethod) {
+        Function<Object, Object> getter = getterFunction(getterMethod);
+        BiConsumer<Object, Object> setter = setterConsumer(setterMethod);
+        Class<?> returnType = getterMethod.getReturnType();
+        Class<?> paramType = setterMethod.getParameterTypes()[0];
+
+        if (isAssignable(returnType, paramType) && !(paramType.isPrimitive() && !returnType.isPrimitive())) {
+            // 静态类型兼容且不会出现null写入基本类型，直接复制
+            return (source, target) -> {
+                try {
+                    setter.accept(target, getter.apply(source));
+                } catch (Exception e) {
+                    reportAccessorFailure(propertyName, e);
+                }
+            };
+        }
+
+        Class<?> boxedParamType = MethodType.methodType(paramType).wrap().returnType();
+        Object defaultValue = BeanUtils.getDefaultValueForPrimitive(paramType);
+        return (source, target) -> {
+            try {
+                Object value = getter.apply(source);
+                if (value == null) {
+                    value = defaultValue;
+                } else if (!boxedParamType.isInstance(value)) {
+                    value = BeanUtils.convertValueIfPossible(value, paramType);
+                }
+                setter.accept(target, value);
+            } catch (Exception e) {
+                reportAccessorFailure(propertyName, e);
+            }
+        };
+    }
+
+    private static void reportAccessorFailure(String propertyName, Exception e) {
+        Throwable cause = e instanceof ReflectiveFailure ? e.getCause() : e;
+        // 记录异常信息但继续处理其他属性
+        System.err.println("复制属性 " + propertyName + " 时出错: " + cause.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getterFunction(Method getter) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(getter.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(getter);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return source -> {
+                try {
+                    return getter.invoke(source);
+                } catch (ReflectiveOperationException ex) {
+                    throw new ReflectiveFailure(ex);
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setterConsumer(Method setter) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(setter.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(setter);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle,
+                    handle.type().wrap().changeReturnType(void.class));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return (target, value) -> {
+                try {
+                    setter.invoke(target, value);
+                } catch (ReflectiveOperationException ex) {
+                    throw new ReflectiveFailure(ex);
+                }
+            };
+        }
+    }
+
+    // ===================== 对象创建 =====================
+
+    private static Supplier<?> createInstantiator(Class<?> clazz) throws ReflectiveOperationException {
+        Constructor<?> constructor = clazz.getDeclaredConstructor();
+        if (Modifier.isPublic(clazz.getModifiers()) && Modifier.isPublic(constructor.getModifiers())
+                && !Modifier.isAbstract(clazz.getModifiers())) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+                MethodHandle handle = lookup.unreflectConstructor(constructor);
+                CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        handle.type());
+                return (Supplier<?>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                // 退回反射构造
+            }
+        }
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new ReflectiveFailure(e);
+            }
+        };
+    }
+
+    // ===================== 内部类型 =====================
+
+    private static boolean isAssignable(Class<?> from, Class<?> to) {
+        if (from.isPrimitive() || to.isPrimitive()) {
+            return MethodType.methodType(from).wrap().returnType() == MethodType.methodType(to).wrap().returnType();
+        }
+        return to.isAssignableFrom(from);
+    }
+
+    /**
+     * 单个属性的复制逻辑
+     */
+    @FunctionalInterface
+    private interface PropertyCopier {
+        void copy(Object source, Object target);
+    }
+
+    /**
+     * 在函数式接口中传递受检反射异常
+     */
+    private static final class ReflectiveFailure extends RuntimeException {
+
+        private ReflectiveFailure(ReflectiveOperationException cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+
+        @Override
+        public synchronized ReflectiveOperationException getCause() {
+            return (ReflectiveOperationException) super.getCause();
+        }
+    }
+
+    /**
+     * 复制器缓存键
+     */
+    private static final class CopierKey {
+
+        private final Mode mode;
+        private final Class<?> sourceClass;
+        private final Class<?> targetClass;
+        private final Set<String> ignoreSet;
+        private final int hash;
+
+        private CopierKey(Mode mode, Class<?> sourceClass, Class<?> targetClass, Set<String> ignoreSet) {
+            this.mode = mode;
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+            this.ignoreSet = ignoreSet;
+            this.hash = Objects.hash(mode, sourceClass, targetClass, ignoreSet);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CopierKey)) {
+                return false;
+            }
+            CopierKey that = (CopierKey) o;
+            return mode == that.mode && sourceClass == that.sourceClass && targetClass == that.targetClass
+                    && ignoreSet.equals(that.ignoreSet);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
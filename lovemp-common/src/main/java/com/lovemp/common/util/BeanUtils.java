@@ -50,7 +50,7 @@ import java.util.stream.Collectors;
  * });
  * 
  * 注意：
- * 1. 提供多种缓存机制提高反射性能
+ * 1. 提供多种缓存机制提高反射性能，属性复制由BeanCopier按类型组合生成专用复制器并缓存
  * 2. 对基本类型提供默认值处理，避免空指针异常
  * 3. 支持复杂类型转换，如字符串与数字、日期等类型的互转
  */
@@ -64,6 +64,7 @@ public final class BeanUtils {
     private static final Map<Class<?>, Map<String, Method>> GETTER_CACHE = new ConcurrentHashMap<>();
     private static final Map<Class<?>, Map<String, Method>> SETTER_CACHE = new ConcurrentHashMap<>();
     private static final Map<Class<?>, List<Field>> FIELDS_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, Field>> FIELD_INDEX_CACHE = new ConcurrentHashMap<>();
 
     /**
      * 复制属性（浅拷贝）
@@ -93,39 +94,7 @@ public final class BeanUtils {
             return;
         }
 
-        List<String> ignoreList = (ignoreProperties != null) ? Arrays.asList(ignoreProperties) : Collections.emptyList();
-
-        // 获取源对象的所有字段
-        List<Field> sourceFields = getAllFields(source.getClass());
-        // 获取目标对象的所有字段
-        List<Field> targetFields = getAllFields(target.getClass());
-
-        // 复制属性
-        for (Field sourceField : sourceFields) {
-            // 忽略静态字段和被忽略的属性
-            if (Modifier.isStatic(sourceField.getModifiers()) || ignoreList.contains(sourceField.getName())) {
-                continue;
-            }
-
-            // 查找目标对象中同名字段
-            Field targetField = targetFields.stream()
-                    .filter(field -> field.getName().equals(sourceField.getName()))
-                    .findFirst()
-                    .orElse(null);
-
-            if (targetField != null && !Modifier.isStatic(targetField.getModifiers())) {
-                try {
-                    sourceField.setAccessible(true);
-                    targetField.setAccessible(true);
-
-                    // 获取源字段的值并设置到目标字段
-                    Object value = sourceField.get(source);
-                    targetField.set(target, value);
-                } catch (IllegalAccessException e) {
-                    // 忽略无法访问的字段
-                }
-            }
-        }
+        BeanCopier.forFields(source.getClass(), target.getClass(), ignoreProperties).copy(source, target);
     }
 
     /**
@@ -155,55 +124,7 @@ public final class BeanUtils {
             return;
         }
 
-        List<String> ignoreList = (ignoreProperties != null) ? Arrays.asList(ignoreProperties) : Collections.emptyList();
-        
-        // 获取源对象的所有getter方法
-        Map<String, Method> sourceGetters = getGetterMethods(source.getClass());
-        // 获取目标对象的所有setter方法
-        Map<String, Method> targetSetters = getSetterMethods(target.getClass());
-        
-        // 对每个getter方法，查找对应的setter方法并复制值
-        for (Map.Entry<String, Method> entry : sourceGetters.entrySet()) {
-            String propertyName = entry.getKey();
-            
-            // 忽略被排除的属性
-            if (ignoreList.contains(propertyName)) {
-                continue;
-            }
-            
-            Method getter = entry.getValue();
-            Method setter = targetSetters.get(propertyName);
-            
-            // 如果目标对象有对应的setter方法
-            if (setter != null) {
-                try {
-                    // 获取getter方法的返回类型和setter方法的参数类型
-                    Class<?> paramType = setter.getParameterTypes()[0];
-                    
-                    // 调用getter获取值
-                    Object value = getter.invoke(source);
-                    
-                    // 类型兼容检查
-                    if (value != null) {
-                        // 如果类型不兼容，尝试进行转换
-                        if (!paramType.isAssignableFrom(value.getClass())) {
-                            value = convertValueIfPossible(value, paramType);
-                        }
-                    } else {
-                        // 如果值为null且目标参数是基本类型，则需要设置默认值
-                        if (paramType.isPrimitive()) {
-                            value = getDefaultValueForPrimitive(paramType);
-                        }
-                    }
-                    
-                    // 调用setter设置值
-                    setter.invoke(target, value);
-                } catch (Exception e) {
-                    // 记录异常信息但继续处理其他属性
-                    System.err.println("复制属性 " + propertyName + " 时出错: " + e.getMessage());
-                }
-            }
-        }
+        BeanCopier.forAccessors(source.getClass(), target.getClass(), ignoreProperties).copy(source, target);
     }
 
     /**
@@ -212,7 +133,7 @@ public final class BeanUtils {
      * @param primitiveType 基本类型的Class
      * @return 对应的默认值
      */
-    private static Object getDefaultValueForPrimitive(Class<?> primitiveType) {
+    static Object getDefaultValueForPrimitive(Class<?> primitiveType) {
         if (primitiveType == int.class) {
             return 0;
         } else if (primitiveType == long.class) {
@@ -363,8 +284,8 @@ public final class BeanUtils {
         
         // 获取源对象的所有字段
         List<Field> sourceFields = getAllFields(source.getClass());
-        // 获取目标对象的所有字段
-        List<Field> targetFields = getAllFields(target.getClass());
+        // 获取目标对象的字段索引
+        Map<String, Field> targetFields = getFieldIndex(target.getClass());
         
         // 复制属性
         for (Field sourceField : sourceFields) {
@@ -374,10 +295,7 @@ public final class BeanUtils {
             }
             
             // 查找目标对象中同名字段
-            Field targetField = targetFields.stream()
-                    .filter(field -> field.getName().equals(sourceField.getName()))
-                    .findFirst()
-                    .orElse(null);
+            Field targetField = targetFields.get(sourceField.getName());
             
             if (targetField != null && !Modifier.isStatic(targetField.getModifiers())) {
                 try {
@@ -421,7 +339,7 @@ public final class BeanUtils {
      * @param targetType 目标类型
      * @return 转换后的值，如果无法转换则返回原值
      */
-    private static Object convertValueIfPossible(Object value, Class<?> targetType) {
+    static Object convertValueIfPossible(Object value, Class<?> targetType) {
         if (value == null) {
             return null;
         }
@@ -533,25 +451,22 @@ public final class BeanUtils {
             return;
         }
 
-        List<String> includeList = Arrays.asList(includeProperties);
+        Set<String> includeSet = new HashSet<>(Arrays.asList(includeProperties));
 
         // 获取源对象的所有字段
         List<Field> sourceFields = getAllFields(source.getClass());
-        // 获取目标对象的所有字段
-        List<Field> targetFields = getAllFields(target.getClass());
+        // 获取目标对象的字段索引
+        Map<String, Field> targetFields = getFieldIndex(target.getClass());
 
         // 复制指定属性
         for (Field sourceField : sourceFields) {
             // 只复制指定的属性
-            if (!includeList.contains(sourceField.getName())) {
+            if (!includeSet.contains(sourceField.getName())) {
                 continue;
             }
 
             // 查找目标对象中同名字段
-            Field targetField = targetFields.stream()
-                    .filter(field -> field.getName().equals(sourceField.getName()))
-                    .findFirst()
-                    .orElse(null);
+            Field targetField = targetFields.get(sourceField.getName());
 
             if (targetField != null) {
                 try {
@@ -584,8 +499,8 @@ public final class BeanUtils {
         }
 
         try {
-            T target = targetClass.getDeclaredConstructor().newInstance();
-            copyProperties(source, target);
+            T target = BeanCopier.newInstance(targetClass);
+            BeanCopier.forFields(source.getClass(), targetClass).copy(source, target);
             return target;
         } catch (Exception e) {
             throw new RuntimeException("创建对象并复制属性失败", e);
@@ -607,9 +522,28 @@ public final class BeanUtils {
             return new ArrayList<>();
         }
 
-        return sourceList.stream()
-                .map(source -> copyProperties(source, targetClass))
-                .collect(Collectors.toList());
+        // 同一列表的元素通常类型相同，复用上一个元素的复制器，避免逐个查询缓存
+        List<T> result = new ArrayList<>(sourceList.size());
+        Class<?> copierSourceClass = null;
+        BeanCopier copier = null;
+        for (S source : sourceList) {
+            if (source == null) {
+                result.add(null);
+                continue;
+            }
+            if (source.getClass() != copierSourceClass) {
+                copierSourceClass = source.getClass();
+                copier = BeanCopier.forFields(copierSourceClass, targetClass);
+            }
+            try {
+                T target = BeanCopier.newInstance(targetClass);
+                copier.copy(source, target);
+                result.add(target);
+            } catch (Exception e) {
+                throw new RuntimeException("创建对象并复制属性失败", e);
+            }
+        }
+        return result;
     }
 
     /**
@@ -654,7 +588,7 @@ public final class BeanUtils {
 
         try {
             // 创建目标类的实例
-            T target = targetClass.getDeclaredConstructor().newInstance();
+            T target = BeanCopier.newInstance(targetClass);
             
             // 使用支持类型转换的方法进行基本属性复制
             copyPropertiesByGetterSetter(source, target);
@@ -742,20 +676,16 @@ public final class BeanUtils {
     }
 
     /**
-     * 对象深拷贝（通过JSON序列化和反序列化实现）
+     * 对象深拷贝
+     * 按对象图结构复制，值对象与不可变类型共享引用，支持循环引用，复制规则见DeepCopier。
+     * 复制每个普通对象时都会调用其无参构造器，构造器有副作用的类型不宜使用
      *
      * @param source 源对象
      * @param <T>    对象类型
      * @return 深拷贝后的对象
      */
-    @SuppressWarnings("unchecked")
     public static <T> T deepCopy(T source) {
-        if (source == null) {
-            return null;
-        }
-
-        String json = JsonUtils.toJson(source);
-        return (T) JsonUtils.fromJson(json, source.getClass());
+        return DeepCopier.copy(source);
     }
 
     // 工具方法
@@ -763,7 +693,7 @@ public final class BeanUtils {
     /**
      * 获取类的所有字段，使用缓存提高性能
      */
-    private static List<Field> getAllFields(Class<?> clazz) {
+    static List<Field> getAllFields(Class<?> clazz) {
         return FIELDS_CACHE.computeIfAbsent(clazz, key -> {
             List<Field> fields = new ArrayList<>();
             Class<?> currentClass = key;
@@ -777,21 +707,30 @@ public final class BeanUtils {
         });
     }
 
+    /**
+     * 获取类的字段名索引，同名字段（子类隐藏父类字段）保留子类字段，使用缓存提高性能
+     */
+    static Map<String, Field> getFieldIndex(Class<?> clazz) {
+        return FIELD_INDEX_CACHE.computeIfAbsent(clazz, key -> {
+            Map<String, Field> index = new HashMap<>();
+            for (Field field : getAllFields(key)) {
+                index.putIfAbsent(field.getName(), field);
+            }
+            return index;
+        });
+    }
+
     /**
      * 获取字段对象
      */
     private static Field getField(Class<?> clazz, String fieldName) {
-        List<Field> fields = getAllFields(clazz);
-        return fields.stream()
-                .filter(field -> field.getName().equals(fieldName))
-                .findFirst()
-                .orElse(null);
+        return getFieldIndex(clazz).get(fieldName);
     }
 
     /**
      * 获取类的所有getter方法，使用缓存提高性能
      */
-    private static Map<String, Method> getGetterMethods(Class<?> clazz) {
+    static Map<String, Method> getGetterMethods(Class<?> clazz) {
         return GETTER_CACHE.computeIfAbsent(clazz, key -> {
             Map<String, Method> getters = new HashMap<>();
             Class<?> currentClass = key;
@@ -828,7 +767,7 @@ public final class BeanUtils {
     /**
      * 获取类的所有setter方法，使用缓存提高性能
      */
-    private static Map<String, Method> getSetterMethods(Class<?> clazz) {
+    static Map<String, Method> getSetterMethods(Class<?> clazz) {
         return SETTER_CACHE.computeIfAbsent(clazz, key -> {
             Map<String, Method> setters = new HashMap<>();
             Class<?> currentClass = key;
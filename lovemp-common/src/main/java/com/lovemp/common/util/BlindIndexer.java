@@ -0,0 +1,280 @@
+package com.lovemp.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 盲索引生成器
+ *
+ * 为加密存储的字段（证件号码、手机号、邮箱等）生成确定性的HMAC索引，写入时与密文一起保存到带B-tree索引的列，
+ * 查询时对查询值计算同样的索引做等值匹配，无需全表扫描解密。
+ *
+ * 主要特性：
+ * 1. 基于EncryptionUtils.hmacSha256，输入为"字段名 + 分隔符 + 规范化后的值"，不同字段的相同值索引不同
+ * 2. 索引截断为指定字节数（默认8字节），截断带来的少量碰撞由调用方解密比对排除，同时降低索引被反查的风险
+ * 3. 索引格式为"密钥版本.十六进制摘要"，支持多版本密钥并存：写入使用当前版本，查询时生成所有版本的候选索引
+ * 4. 实例不可变，轮换密钥通过withKey/withoutKey生成新实例后整体替换
+ *
+ * 使用示例：
+ * BlindIndexer indexer = new BlindIndexer(1, secret);
+ * String index = indexer.index(MOBILE, "13800138000");
+ * List&lt;String&gt; candidates = indexer.candidates(MOBILE, "138 0013 8000");
+ * // 轮换：新数据用版本2写入，旧数据在读取或后台任务中按isCurrent判断后重建索引，全部重建后移除版本1
+ * BlindIndexer rotated = indexer.withKey(2, newSecret);
+ *
+ * 注意：
+ * 1. 盲索引只支持等值查询，不支持模糊和范围查询
+ * 2. 索引密钥必须与数据加密密钥不同，且至少16个字符
+ * 3. 查询结果可能包含索引碰撞的记录，必须在解密后按规范化的值再比对一次
+ */
+public final class BlindIndexer {
+
+    /**
+     * 默认索引字节数：8字节（16个十六进制字符）
+     */
+    public static final int DEFAULT_INDEX_BYTES = 8;
+
+    /**
+     * 密钥最小长度
+     */
+    private static final int MIN_SECRET_LENGTH = 16;
+
+    /**
+     * 字段名与字段值之间的分隔符，使用不会出现在业务数据中的单元分隔符
+     */
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private static final char VERSION_SEPARATOR = '.';
+
+    private final NavigableMap<Integer, String> keys;
+
+    private final int currentVersion;
+
+    private final int indexBytes;
+
+    /**
+     * 使用单个密钥和默认索引长度创建实例
+     *
+     * @param version 密钥版本
+     * @param secret 索引密钥
+     */
+    public BlindIndexer(int version, String secret) {
+        this(Collections.singletonMap(version, secret), version, DEFAULT_INDEX_BYTES);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param keys 密钥版本到密钥的映射
+     * @param currentVersion 写入使用的密钥版本
+     * @param indexBytes 索引字节数，4-32
+     */
+    public BlindIndexer(Map<Integer, String> keys, int currentVersion, int indexBytes) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("索引密钥不能为空");
+        }
+        if (!keys.containsKey(currentVersion)) {
+            throw new IllegalArgumentException("当前密钥版本不存在: " + currentVersion);
+        }
+        if (indexBytes < 4 || indexBytes > 32) {
+            throw new IllegalArgumentException("索引字节数必须在4到32之间");
+        }
+        for (Map.Entry<Integer, String> entry : keys.entrySet()) {
+            if (entry.getKey() < 0) {
+                throw new IllegalArgumentException("密钥版本不能为负数");
+            }
+            if (entry.getValue() == null || entry.getValue().length() < MIN_SECRET_LENGTH) {
+                throw new IllegalArgumentException("索引密钥长度不能少于" + MIN_SECRET_LENGTH + "个字符");
+            }
+        }
+        this.keys = Collections.unmodifiableNavigableMap(new TreeMap<>(keys));
+        this.currentVersion = currentVersion;
+        this.indexBytes = indexBytes;
+    }
+
+    /**
+     * 使用当前密钥计算盲索引，用于写入
+     *
+     * @param field 索引字段
+     * @param value 字段明文
+     * @return 盲索引，值为空或规范化后为空时返回null
+     */
+    public String index(Field field, String value) {
+        String normalized = field.normalize(value);
+        if (StringUtils.isEmpty(normalized)) {
+            return null;
+        }
+        return compute(currentVersion, field, normalized);
+    }
+
+    /**
+     * 使用所有密钥计算候选盲索引，用于查询，当前版本排在最前
+     *
+     * @param field 索引字段
+     * @param value 查询值
+     * @return 候选盲索引，值为空时返回空列表
+     */
+    public List<String> candidates(Field field, String value) {
+        String normalized = field.normalize(value);
+        if (StringUtils.isEmpty(normalized)) {
+            return Collections.emptyList();
+        }
+        List<String> candidates = new ArrayList<>(keys.size());
+        candidates.add(compute(currentVersion, field, normalized));
+        for (Integer version : keys.descendingKeySet()) {
+            if (version != currentVersion) {
+                candidates.add(compute(version, field, normalized));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 判断已保存的盲索引是否由当前密钥生成，不是则应在下次写入时重建
+     *
+     * @param storedIndex 已保存的盲索引
+     * @return 是否为当前版本
+     */
+    public boolean isCurrent(String storedIndex) {
+        return storedIndex != null && versionOf(storedIndex) == currentVersion;
+    }
+
+    /**
+     * 判断两个值规范化后是否相等，用于排除索引碰撞
+     *
+     * @param field 索引字段
+     * @param value 查询值
+     * @param stored 解密后的字段值
+     * @return 是否相等
+     */
+    public static boolean matches(Field field, String value, String stored) {
+        String normalized = field.normalize(value);
+        return normalized != null && normalized.equals(field.normalize(stored));
+    }
+
+    /**
+     * 解析盲索引的密钥版本
+     *
+     * @param storedIndex 已保存的盲索引
+     * @return 密钥版本
+     */
+    public static int versionOf(String storedIndex) {
+        int separator = storedIndex.indexOf(VERSION_SEPARATOR);
+        if (separator <= 0) {
+            throw new IllegalArgumentException("盲索引格式错误: " + storedIndex);
+        }
+        return Integer.parseInt(storedIndex, 0, separator, 10);
+    }
+
+    /**
+     * 增加密钥并设为当前版本，返回新实例
+     *
+     * @param version 新密钥版本
+     * @param secret 新密钥
+     * @return 新实例
+     */
+    public BlindIndexer withKey(int version, String secret) {
+        Map<Integer, String> next = new TreeMap<>(keys);
+        next.put(version, secret);
+        return new BlindIndexer(next, version, indexBytes);
+    }
+
+    /**
+     * 移除旧版本密钥，返回新实例，不能移除当前版本
+     *
+     * @param version 密钥版本
+     * @return 新实例
+     */
+    public BlindIndexer withoutKey(int version) {
+        if (version == currentVersion) {
+            throw new IllegalArgumentException("不能移除当前密钥版本");
+        }
+        Map<Integer, String> next = new TreeMap<>(keys);
+        next.remove(version);
+        return new BlindIndexer(next, currentVersion, indexBytes);
+    }
+
+    public int getCurrentVersion() {
+        return currentVersion;
+    }
+
+    private String compute(int version, Field field, String normalized) {
+        String digest = EncryptionUtils.hmacSha256(field.getName() + FIELD_SEPARATOR + normalized, keys.get(version));
+        return version + String.valueOf(VERSION_SEPARATOR) + digest.substring(0, indexBytes * 2);
+    }
+
+    /**
+     * 盲索引字段：字段名参与HMAC计算，规范化函数保证同一值的不同写法得到相同索引
+     */
+    public static final class Field {
+
+        private final String name;
+
+        private final UnaryOperator<String> normalizer;
+
+        private Field(String name, UnaryOperator<String> normalizer) {
+            if (StringUtils.isEmpty(name)) {
+                throw new IllegalArgumentException("字段名不能为空");
+            }
+            this.name = name;
+            this.normalizer = Objects.requireNonNull(normalizer, "规范化函数不能为空");
+        }
+
+        /**
+         * 创建使用自定义规范化函数的字段
+         *
+         * @param name 字段名
+         * @param normalizer 规范化函数，输入已去除首尾空白且不为null
+         * @return 索引字段
+         */
+        public static Field of(String name, UnaryOperator<String> normalizer) {
+            return new Field(name, normalizer);
+        }
+
+        /**
+         * 创建只去除首尾空白的字段
+         *
+         * @param name 字段名
+         * @return 索引字段
+         */
+        public static Field exact(String name) {
+            return new Field(name, UnaryOperator.identity());
+        }
+
+        /**
+         * 创建忽略大小写的字段，如邮箱
+         *
+         * @param name 字段名
+         * @return 索引字段
+         */
+        public static Field caseInsensitive(String name) {
+            return new Field(name, value -> value.toLowerCase(Locale.ROOT));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 规范化字段值
+         *
+         * @param value 字段值
+         * @return 规范化后的值，value为null时返回null
+         */
+        public String normalize(String value) {
+            return value == null ? null : normalizer.apply(value.trim());
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
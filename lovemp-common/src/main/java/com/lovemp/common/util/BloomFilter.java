@@ -0,0 +1,262 @@
+package com.lovemp.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 可扩容布隆过滤器
+ *
+ * 判断字符串"一定不存在"或"可能存在"，用于在查询数据库之前排除绝大多数不存在的值。
+ *
+ * 主要特性：
+ * 1. 无假阴性：put过的值mightContain一定返回true
+ * 2. 可扩容：当前分段写满后追加一个容量翻倍、误判率减半的新分段，写入量超过预期时总体误判率仍不超过设定值
+ * 3. 无锁读写：位数组为AtomicLongArray，只有追加分段时加锁
+ * 4. 对字符直接计算64位哈希并做双重哈希，查询时不分配内存
+ *
+ * 使用示例：
+ * BloomFilter filter = new BloomFilter(100_000, 0.01);
+ * filter.put("zhangsan");
+ * filter.mightContain("zhangsan"); // true
+ * filter.mightContain("lisi");     // 大概率false
+ *
+ * 注意：
+ * 1. 不支持删除，已删除的值仍会返回"可能存在"，需定期重建
+ * 2. 调用方负责值的规范化（如忽略大小写），过滤器按字符精确比较
+ */
+public final class BloomFilter {
+
+    /**
+     * 新分段的容量倍数
+     */
+    private static final int GROWTH_FACTOR = 2;
+
+    /**
+     * 新分段的误判率系数，各分段误判率之和收敛于首段误判率 / (1 - 系数)
+     */
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    /**
+     * 单个分段位数组的最大long数量
+     */
+    private static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final double fpp;
+
+    private volatile Stage[] stages;
+
+    /**
+     * 构造函数
+     *
+     * @param expectedInsertions 预期写入数量，即首段容量
+     * @param fpp 总体误判率，取值(0, 1)
+     * @throws IllegalArgumentException 参数超出范围时
+     */
+    public BloomFilter(int expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("预期写入数量必须大于0");
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("误判率必须在0和1之间");
+        }
+        this.fpp = fpp;
+        this.stages = new Stage[]{new Stage(expectedInsertions, fpp * (1 - TIGHTENING_RATIO))};
+    }
+
+    /**
+     * 写入值
+     *
+     * @param value 值，不能为null
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(hash1, hash2)) {
+                return;
+            }
+        }
+        Stage last = current[current.length - 1];
+        if (last.count.get() >= last.capacity) {
+            last = grow(last);
+        }
+        last.put(hash1, hash2);
+    }
+
+    /**
+     * 判断值是否可能存在
+     *
+     * @param value 值，不能为null
+     * @return false表示一定不存在，true表示可能存在
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取写入的不同值的近似数量，哈希碰撞的值只计一次
+     *
+     * @return 近似数量
+     */
+    public long approximateCount() {
+        long count = 0;
+        for (Stage stage : stages) {
+            count += stage.count.get();
+        }
+        return count;
+    }
+
+    /**
+     * 按各分段当前的填充程度估算误判率
+     *
+     * @return 估算的误判率
+     */
+    public double expectedFpp() {
+        double miss = 1;
+        for (Stage stage : stages) {
+            miss *= 1 - stage.expectedFpp();
+        }
+        return 1 - miss;
+    }
+
+    /**
+     * 获取设定的总体误判率
+     *
+     * @return 误判率
+     */
+    public double getFpp() {
+        return fpp;
+    }
+
+    /**
+     * 获取所有分段的位数之和
+     *
+     * @return 位数
+     */
+    public long bitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    /**
+     * 获取分段数量
+     *
+     * @return 分段数量
+     */
+    public int stageCount() {
+        return stages.length;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last != full) {
+            // 其他线程已追加
+            return last;
+        }
+        long capacity = Math.min((long) full.capacity * GROWTH_FACTOR, Integer.MAX_VALUE);
+        Stage next = new Stage((int) capacity, full.fpp * TIGHTENING_RATIO);
+        Stage[] grown = new Stage[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = next;
+        stages = grown;
+        return next;
+    }
+
+    /**
+     * FNV-1a逐字符哈希，再用MurmurHash3的64位终结函数打散
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * 固定容量的分段
+     */
+    private static final class Stage {
+
+        final int capacity;
+
+        final double fpp;
+
+        final long bits;
+
+        final int hashes;
+
+        final AtomicLongArray words;
+
+        final AtomicLong count = new AtomicLong();
+
+        Stage(int capacity, double fpp) {
+            this.capacity = capacity;
+            this.fpp = fpp;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Math.max(1, (optimalBits + 63) >>> 6), MAX_WORDS);
+            this.bits = (long) wordCount << 6;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(combined, bits);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += hash2;
+            }
+            return true;
+        }
+
+        void put(long hash1, long hash2) {
+            boolean changed = false;
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(combined, bits);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current;
+                while (((current = words.get(word)) & mask) == 0) {
+                    if (words.compareAndSet(word, current, current | mask)) {
+                        changed = true;
+                        break;
+                    }
+                }
+                combined += hash2;
+            }
+            if (changed) {
+                count.incrementAndGet();
+            }
+        }
+
+        double expectedFpp() {
+            return Math.pow(1 - Math.exp(-(double) hashes * count.get() / bits), hashes);
+        }
+    }
+}
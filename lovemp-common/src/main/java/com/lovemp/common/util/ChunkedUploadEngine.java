@@ -0,0 +1,648 @@
+package com.lovemp.common.util;
+
+import com.lovemp.common.util.FileUtils.UploadStatus;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 分片上传引擎
+ *
+ * 为FileUtils的分片上传、断点续传提供并发安全、进程重启后可恢复的实现。
+ *
+ * 主要特性：
+ * 1. 分片直接写入预分配的临时文件（日志目录下的文件标识.part）的对应偏移，完成时重命名为目标文件，无需合并分片；
+ *    临时文件按文件标识命名，上传到同一目标路径的多个上传互不影响
+ * 2. 分片状态使用原子位图记录，多个分片可以并发上传，完成判断为O(1)
+ * 3. 每个上传维护一份追加写的日志：分片数据落盘后再追加日志记录，进程重启后按日志恢复上传进度
+ * 4. 超过有效期未活动的上传连同临时文件和日志一起清理
+ *
+ * 日志格式：
+ * 魔数(int) 版本(byte) 文件标识(UTF) 目标路径(UTF) 文件总大小(long) 分片大小(int)，
+ * 之后每个已完成分片一条记录：分片索引(int) 分片长度(int)。末尾不完整的记录在恢复时丢弃。
+ *
+ * 使用示例：
+ * ChunkedUploadEngine engine = new ChunkedUploadEngine(Paths.get("/data/upload-journal"), Duration.ofHours(24));
+ * UploadStatus status = engine.init("file-md5", "/data/files/a.zip", totalSize, 4 * 1024 * 1024);
+ * engine.writeChunk("file-md5", 3, ByteBuffer.wrap(chunk));
+ * if (status.isCompleted()) {
+ *     engine.complete("file-md5");
+ * }
+ *
+ * 注意：
+ * 1. 除最后一个分片外，分片长度必须等于分片大小，避免临时文件中留下空洞；最后一个分片可以短于应有长度，
+ *    此时初始化时的文件总大小视为上限，完成时文件截断到实际写入的长度
+ * 2. 日志目录应位于不会被系统定期清理的位置，才能在重启后恢复上传；与目标目录位于同一文件系统时完成操作为原子重命名
+ * 3. 同一文件标识以相同的目标路径、大小和分片大小重复初始化时返回已有进度，参数不同则重新开始
+ */
+public final class ChunkedUploadEngine {
+
+    /**
+     * 默认上传有效期：24小时
+     */
+    public static final Duration DEFAULT_EXPIRY = Duration.ofHours(24);
+
+    /**
+     * 日志文件魔数："LMUJ"
+     */
+    private static final int MAGIC = 0x4C4D554A;
+
+    /**
+     * 日志文件格式版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 单条分片记录长度：索引(int) + 长度(int)
+     */
+    private static final int RECORD_SIZE = 8;
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * 可直接用作日志文件名的文件标识
+     */
+    private static final Pattern SAFE_FILE_ID = Pattern.compile("[A-Za-z0-9._-]{1,128}");
+
+    private final Path journalDirectory;
+
+    private final long expiryMillis;
+
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPurge = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * 构造函数
+     *
+     * @param journalDirectory 日志目录
+     * @param expiry 上传有效期，超过该时长未活动的上传会被清理
+     */
+    public ChunkedUploadEngine(Path journalDirectory, Duration expiry) {
+        if (journalDirectory == null) {
+            throw new IllegalArgumentException("日志目录不能为空");
+        }
+        if (expiry == null || expiry.isNegative() || expiry.isZero()) {
+            throw new IllegalArgumentException("上传有效期必须大于0");
+        }
+        this.journalDirectory = journalDirectory;
+        this.expiryMillis = expiry.toMillis();
+    }
+
+    /**
+     * 初始化上传，已存在参数相同的上传时返回其进度
+     *
+     * @param fileId 文件唯一标识
+     * @param filePath 目标文件路径
+     * @param totalSize 文件总大小
+     * @param chunkSize 分片大小
+     * @return 上传状态
+     * @throws IOException 创建临时文件或日志失败
+     */
+    public UploadStatus init(String fileId, String filePath, long totalSize, int chunkSize) throws IOException {
+        if (StringUtils.isEmpty(fileId) || StringUtils.isEmpty(filePath) || totalSize <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("参数错误");
+        }
+        if ((totalSize + chunkSize - 1) / chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("分片数量过多，请增大分片大小");
+        }
+        purgeIfDue();
+
+        Upload existing = find(fileId);
+        if (existing != null) {
+            UploadStatus status = existing.status;
+            if (status.getFilePath().equals(filePath) && status.getTotalSize() == totalSize
+                    && status.getChunkSize() == chunkSize) {
+                existing.touch();
+                return status;
+            }
+            discard(existing);
+        }
+
+        UploadStatus status = new UploadStatus(fileId, filePath, totalSize, chunkSize);
+        Upload upload = create(status);
+        Upload previous = uploads.putIfAbsent(fileId, upload);
+        if (previous != null) {
+            // 并发初始化同一文件，保留先完成的一方
+            upload.close();
+            return previous.status;
+        }
+        return status;
+    }
+
+    /**
+     * 获取上传状态，内存中不存在时尝试从日志恢复
+     *
+     * @param fileId 文件唯一标识
+     * @return 上传状态，不存在时返回null
+     * @throws IOException 读取日志失败
+     */
+    public UploadStatus getStatus(String fileId) throws IOException {
+        Upload upload = find(fileId);
+        return upload == null ? null : upload.status;
+    }
+
+    /**
+     * 写入分片，分片已写入时直接返回
+     *
+     * @param fileId 文件唯一标识
+     * @param chunkIndex 分片索引
+     * @param data 分片数据
+     * @return 是否写入成功
+     * @throws IOException 写入失败
+     */
+    public boolean writeChunk(String fileId, int chunkIndex, ByteBuffer data) throws IOException {
+        Upload upload = require(fileId);
+        int length = checkChunk(upload.status, chunkIndex, data.remaining());
+        if (upload.status.isChunkUploaded(chunkIndex)) {
+            return true;
+        }
+        upload.lock.readLock().lock();
+        try {
+            upload.ensureOpen();
+            long position = upload.status.getChunkOffset(chunkIndex);
+            while (data.hasRemaining()) {
+                position += upload.data.write(data, position);
+            }
+            upload.commit(chunkIndex, length);
+        } finally {
+            upload.lock.readLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 写入分片，分片数据来自文件
+     *
+     * @param fileId 文件唯一标识
+     * @param chunkIndex 分片索引
+     * @param chunkFile 分片文件
+     * @return 是否写入成功
+     * @throws IOException 读取分片文件或写入失败
+     */
+    public boolean writeChunk(String fileId, int chunkIndex, Path chunkFile) throws IOException {
+        Upload upload = require(fileId);
+        try (FileChannel source = FileChannel.open(chunkFile, StandardOpenOption.READ)) {
+            long size = source.size();
+            int length = checkChunk(upload.status, chunkIndex, size);
+            if (upload.status.isChunkUploaded(chunkIndex)) {
+                return true;
+            }
+            upload.lock.readLock().lock();
+            try {
+                upload.ensureOpen();
+                long offset = upload.status.getChunkOffset(chunkIndex);
+                long transferred = 0;
+                while (transferred < length) {
+                    long count = upload.data.transferFrom(source.position(transferred), offset + transferred,
+                            length - transferred);
+                    if (count <= 0) {
+                        throw new EOFException("分片文件读取不完整: " + chunkFile);
+                    }
+                    transferred += count;
+                }
+                upload.commit(chunkIndex, length);
+            } finally {
+                upload.lock.readLock().unlock();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 完成上传：校验所有分片已写入，将临时文件原子重命名为目标文件并删除日志
+     *
+     * @param fileId 文件唯一标识
+     * @return 目标文件路径
+     * @throws IOException 重命名失败
+     */
+    public Path complete(String fileId) throws IOException {
+        Upload upload = require(fileId);
+        upload.lock.writeLock().lock();
+        try {
+            upload.ensureOpen();
+            UploadStatus status = upload.status;
+            if (!status.isCompleted()) {
+                throw new IllegalStateException("文件未完成上传，还有" + status.getRemainingChunks() + "个分片未上传");
+            }
+            long actualSize = status.getChunkOffset(status.getTotalChunks() - 1) + upload.lastChunkLength;
+            if (actualSize < status.getTotalSize()) {
+                // 最后一个分片短于应有长度，截掉预分配的多余部分
+                upload.data.truncate(actualSize);
+            }
+            upload.data.force(true);
+            Path target = Paths.get(status.getFilePath());
+            // 重命名成功后再关闭句柄，重命名失败时上传保持可用，可以再次调用完成
+            try {
+                Files.move(upload.partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(upload.partFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            upload.close();
+            Files.deleteIfExists(upload.journalFile);
+            uploads.remove(fileId, upload);
+            return target;
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 取消上传，删除临时文件和日志
+     *
+     * @param fileId 文件唯一标识
+     * @return 上传存在并被取消时返回true
+     * @throws IOException 删除失败
+     */
+    public boolean cancel(String fileId) throws IOException {
+        Upload upload = find(fileId);
+        if (upload == null) {
+            return false;
+        }
+        discard(upload);
+        return true;
+    }
+
+    /**
+     * 从日志目录恢复所有未完成的上传
+     *
+     * @return 恢复的上传数
+     * @throws IOException 读取日志目录失败
+     */
+    public int recoverAll() throws IOException {
+        if (!Files.isDirectory(journalDirectory)) {
+            return 0;
+        }
+        int recovered = 0;
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(journalDirectory, "*" + JOURNAL_SUFFIX)) {
+            for (Path journal : journals) {
+                UploadStatus header = readHeader(journal);
+                if (header != null && find(header.getFileId()) != null) {
+                    recovered++;
+                }
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * 清理超过有效期未活动的上传，包括本进程未加载过的日志
+     *
+     * @return 清理的上传数
+     * @throws IOException 读取日志目录失败
+     */
+    public int purgeExpired() throws IOException {
+        long deadline = System.currentTimeMillis() - expiryMillis;
+        lastPurge.set(System.currentTimeMillis());
+        int purged = 0;
+        for (Upload upload : uploads.values()) {
+            if (upload.lastAccess < deadline) {
+                discard(upload);
+                purged++;
+            }
+        }
+        if (!Files.isDirectory(journalDirectory)) {
+            return purged;
+        }
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(journalDirectory, "*" + JOURNAL_SUFFIX)) {
+            for (Path journal : journals) {
+                if (Files.getLastModifiedTime(journal).toMillis() >= deadline) {
+                    continue;
+                }
+                UploadStatus header = readHeader(journal);
+                if (header != null) {
+                    if (uploads.containsKey(header.getFileId())) {
+                        continue;
+                    }
+                    Files.deleteIfExists(partFileOf(header.getFileId()));
+                }
+                Files.deleteIfExists(journal);
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * 获取内存中活动的上传数
+     *
+     * @return 上传数
+     */
+    public int activeUploads() {
+        return uploads.size();
+    }
+
+    private void purgeIfDue() {
+        long last = lastPurge.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= Math.min(expiryMillis, Duration.ofHours(1).toMillis()) && lastPurge.compareAndSet(last, now)) {
+            try {
+                purgeExpired();
+            } catch (IOException e) {
+                // 清理失败不影响新上传，下次初始化时重试
+            }
+        }
+    }
+
+    private Upload require(String fileId) throws IOException {
+        Upload upload = find(fileId);
+        if (upload == null) {
+            throw new IllegalArgumentException("未找到上传状态: " + fileId);
+        }
+        return upload;
+    }
+
+    private Upload find(String fileId) throws IOException {
+        if (StringUtils.isEmpty(fileId)) {
+            return null;
+        }
+        Upload upload = uploads.get(fileId);
+        if (upload != null) {
+            return upload;
+        }
+        Upload recovered = recover(fileId);
+        if (recovered == null) {
+            return null;
+        }
+        Upload previous = uploads.putIfAbsent(fileId, recovered);
+        if (previous != null) {
+            recovered.close();
+            return previous;
+        }
+        return recovered;
+    }
+
+    private static int checkChunk(UploadStatus status, int chunkIndex, long length) {
+        if (chunkIndex < 0 || chunkIndex >= status.getTotalChunks()) {
+            throw new IllegalArgumentException("分片索引无效: " + chunkIndex);
+        }
+        if (!isValidLength(status, chunkIndex, length)) {
+            throw new IllegalArgumentException("分片长度不正确: " + length + "，应为" + status.getChunkLength(chunkIndex));
+        }
+        return (int) length;
+    }
+
+    /**
+     * 除最后一个分片外长度必须与应有长度一致，最后一个分片允许更短
+     */
+    private static boolean isValidLength(UploadStatus status, int chunkIndex, long length) {
+        int expected = status.getChunkLength(chunkIndex);
+        if (chunkIndex == status.getTotalChunks() - 1) {
+            return length > 0 && length <= expected;
+        }
+        return length == expected;
+    }
+
+    private Upload create(UploadStatus status) throws IOException {
+        Files.createDirectories(journalDirectory);
+        Path partFile = partFileOf(status.getFileId());
+        FileUtils.createParentDirectories(Paths.get(status.getFilePath()));
+        Path journalFile = journalFileOf(status.getFileId());
+
+        try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+            file.setLength(status.getTotalSize());
+        }
+        byte[] fileId = status.getFileId().getBytes(StandardCharsets.UTF_8);
+        byte[] filePath = status.getFilePath().getBytes(StandardCharsets.UTF_8);
+        if (fileId.length > 0xFFFF || filePath.length > 0xFFFF) {
+            throw new IllegalArgumentException("文件标识或目标路径过长");
+        }
+        ByteBuffer header = ByteBuffer.allocate(4 + 1 + 2 + fileId.length + 2 + filePath.length + 8 + 4);
+        header.putInt(MAGIC).put((byte) VERSION)
+                .putShort((short) fileId.length).put(fileId)
+                .putShort((short) filePath.length).put(filePath)
+                .putLong(status.getTotalSize()).putInt(status.getChunkSize())
+                .flip();
+        FileChannel journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            while (header.hasRemaining()) {
+                journal.write(header);
+            }
+            journal.force(true);
+            return new Upload(status, partFile, journalFile, open(partFile), journal);
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    private Upload recover(String fileId) throws IOException {
+        Path journalFile = journalFileOf(fileId);
+        UploadStatus status = readHeader(journalFile);
+        if (status == null || !status.getFileId().equals(fileId)) {
+            return null;
+        }
+        Path partFile = partFileOf(fileId);
+        if (!Files.exists(partFile) || Files.size(partFile) != status.getTotalSize()) {
+            // 临时文件已丢失，进度无法恢复
+            Files.deleteIfExists(journalFile);
+            return null;
+        }
+
+        long validLength;
+        int lastChunkLength = -1;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            validLength = skipHeader(in);
+            while (true) {
+                int chunkIndex;
+                int length;
+                try {
+                    chunkIndex = in.readInt();
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (chunkIndex < 0 || chunkIndex >= status.getTotalChunks()
+                        || !isValidLength(status, chunkIndex, length)) {
+                    break;
+                }
+                status.markChunkUploaded(chunkIndex, length);
+                lastChunkLength = chunkIndex == status.getTotalChunks() - 1 ? length : lastChunkLength;
+                validLength += RECORD_SIZE;
+            }
+        }
+
+        FileChannel journal = FileChannel.open(journalFile, StandardOpenOption.WRITE);
+        try {
+            // 丢弃进程中断时写了一半的记录
+            journal.truncate(validLength);
+            journal.position(validLength);
+            Upload upload = new Upload(status, partFile, journalFile, open(partFile), journal);
+            upload.lastChunkLength = lastChunkLength;
+            upload.lastAccess = Files.getLastModifiedTime(journalFile).toMillis();
+            return upload;
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    private static UploadStatus readHeader(Path journalFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                return null;
+            }
+            String fileId = readString(in);
+            String filePath = readString(in);
+            long totalSize = in.readLong();
+            int chunkSize = in.readInt();
+            if (totalSize <= 0 || chunkSize <= 0) {
+                return null;
+            }
+            return new UploadStatus(fileId, filePath, totalSize, chunkSize);
+        } catch (NoSuchFileException | EOFException e) {
+            return null;
+        }
+    }
+
+    private static long skipHeader(DataInputStream in) throws IOException {
+        in.readInt();
+        in.readUnsignedByte();
+        int fileIdLength = in.readUnsignedShort();
+        in.skipNBytes(fileIdLength);
+        int filePathLength = in.readUnsignedShort();
+        in.skipNBytes(filePathLength + 8 + 4);
+        return 4 + 1 + 2 + fileIdLength + 2 + filePathLength + 8 + 4;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static FileChannel open(Path partFile) throws IOException {
+        return FileChannel.open(partFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private void discard(Upload upload) throws IOException {
+        upload.lock.writeLock().lock();
+        try {
+            upload.close();
+            uploads.remove(upload.status.getFileId(), upload);
+            Files.deleteIfExists(upload.partFile);
+            Files.deleteIfExists(upload.journalFile);
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    private Path journalFileOf(String fileId) {
+        return journalDirectory.resolve(fileNameOf(fileId) + JOURNAL_SUFFIX);
+    }
+
+    private Path partFileOf(String fileId) {
+        return journalDirectory.resolve(fileNameOf(fileId) + PART_SUFFIX);
+    }
+
+    private static String fileNameOf(String fileId) {
+        return SAFE_FILE_ID.matcher(fileId).matches()
+                ? fileId
+                : UUID.nameUUIDFromBytes(fileId.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * 单个上传的文件句柄与日志
+     */
+    private static final class Upload {
+
+        private final UploadStatus status;
+
+        private final Path partFile;
+
+        private final Path journalFile;
+
+        private final FileChannel data;
+
+        private final FileChannel journal;
+
+        /**
+         * 分片写入持有读锁，完成、取消和清理持有写锁
+         */
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        /**
+         * 最后一个分片实际写入的长度，未写入时为-1
+         */
+        private volatile int lastChunkLength = -1;
+
+        private volatile boolean closed;
+
+        private Upload(UploadStatus status, Path partFile, Path journalFile, FileChannel data, FileChannel journal) {
+            this.status = status;
+            this.partFile = partFile;
+            this.journalFile = journalFile;
+            this.data = data;
+            this.journal = journal;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        private void ensureOpen() {
+            if (closed) {
+                throw new IllegalStateException("上传已结束: " + status.getFileId());
+            }
+        }
+
+        /**
+         * 分片数据落盘后再标记并追加日志，保证日志中的分片在重启后一定完整
+         */
+        private void commit(int chunkIndex, int length) throws IOException {
+            data.force(false);
+            if (status.markChunkUploaded(chunkIndex, length)) {
+                if (chunkIndex == status.getTotalChunks() - 1) {
+                    lastChunkLength = length;
+                }
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).putInt(chunkIndex).putInt(length).flip();
+                synchronized (journal) {
+                    while (record.hasRemaining()) {
+                        journal.write(record);
+                    }
+                    journal.force(false);
+                }
+            }
+            touch();
+        }
+
+        private void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                data.close();
+            } finally {
+                journal.close();
+            }
+        }
+    }
+}
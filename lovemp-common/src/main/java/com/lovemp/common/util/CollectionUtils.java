@@ -4,6 +4,7 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 集合工具类
@@ -17,8 +18,9 @@ import java.util.stream.Collectors;
  * 4. 集合转换：集合到Map的转换，元素类型转换
  * 5. 集合分组：按照指定属性对集合元素进行分组
  * 6. 集合合并：多个集合的合并操作
- * 7. 集合运算：交集、差集等集合运算
+ * 7. 集合运算：交集、差集等集合运算，基于哈希索引实现，复杂度O(n+m)
  * 8. 安全操作：提供安全的集合添加、获取方法
+ * 9. 并行处理：大集合的过滤、转换、分组可在超过阈值后自动切换为ForkJoin并行
  * 
  * 适用场景：
  * - 需要对集合进行判空检查
@@ -44,13 +46,27 @@ import java.util.stream.Collectors;
  * // 集合元素转换
  * List<String> userNames = CollectionUtils.map(userList, User::getName);
  * 
+ * // 大集合并行分组（小于PARALLEL_THRESHOLD时自动顺序执行）
+ * Map<String, List<User>> grouped = CollectionUtils.parallelGroupBy(userList, User::getDepartment);
+ * 
  * 注意：
  * 1. 方法设计考虑了null安全，大多数方法在输入为null时会返回空集合而非抛出异常
  * 2. 大部分方法利用Java 8 Stream API实现，提供函数式处理能力
  * 3. 转换和过滤方法会创建新集合，不会修改原集合
+ * 4. 并行方法使用ForkJoin公共池，传入的函数必须线程安全且无副作用，且不适合在其中执行阻塞IO
  */
 public final class CollectionUtils {
 
+    /**
+     * 默认启用并行处理的最小集合大小，低于该值时并行拆分与合并的开销高于收益（见CollectionUtilsBenchmark）
+     */
+    public static final int PARALLEL_THRESHOLD = 10_000;
+
+    /**
+     * 集合运算中参与比较的集合不超过该大小时直接线性查找，不再建立哈希索引
+     */
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
     private CollectionUtils() {
         // 工具类不允许实例化
     }
@@ -257,6 +273,9 @@ public final class CollectionUtils {
     /**
      * 计算两个集合的交集
      *
+     * <p>结果保留collection1中的元素顺序与重复元素（语义与retainAll一致）。集合2为Set时直接使用其contains，
+     * 否则对较小的一侧建立哈希索引，整体复杂度O(n+m)。</p>
+     *
      * @param collection1 集合1
      * @param collection2 集合2
      * @param <T> 元素类型
@@ -266,15 +285,22 @@ public final class CollectionUtils {
         if (isEmpty(collection1) || isEmpty(collection2)) {
             return new ArrayList<>();
         }
-        
-        List<T> result = new ArrayList<>(collection1);
-        result.retainAll(collection2);
+
+        Set<?> index = membershipIndex(collection1, collection2);
+        List<T> result = new ArrayList<>(Math.min(collection1.size(), collection2.size()));
+        for (T element : collection1) {
+            if (index.contains(element)) {
+                result.add(element);
+            }
+        }
         return result;
     }
 
     /**
      * 计算两个集合的差集（collection1中有但collection2中没有的元素）
      *
+     * <p>结果保留collection1中的元素顺序与重复元素（语义与removeAll一致），索引策略同{@link #intersection}。</p>
+     *
      * @param collection1 集合1
      * @param collection2 集合2
      * @param <T> 元素类型
@@ -287,9 +313,182 @@ public final class CollectionUtils {
         if (isEmpty(collection2)) {
             return new ArrayList<>(collection1);
         }
-        
-        List<T> result = new ArrayList<>(collection1);
-        result.removeAll(collection2);
+
+        Set<?> index = membershipIndex(collection1, collection2);
+        List<T> result = new ArrayList<>(collection1.size());
+        for (T element : collection1) {
+            if (!index.contains(element)) {
+                result.add(element);
+            }
+        }
         return result;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 并行过滤集合
+     *
+     * <p>集合大小达到{@link #PARALLEL_THRESHOLD}时使用ForkJoin公共池并行过滤，否则退化为{@link #filter}。
+     * 结果顺序与源集合遍历顺序一致，过滤条件必须是线程安全且无副作用的。</p>
+     *
+     * @param collection 源集合
+     * @param predicate 过滤条件
+     * @param <T> 元素类型
+     * @return 过滤后的新集合
+     */
+    public static <T> List<T> parallelFilter(Collection<T> collection, Predicate<T> predicate) {
+        return parallelFilter(collection, predicate, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 并行过滤集合
+     *
+     * @param collection 源集合
+     * @param predicate 过滤条件
+     * @param threshold 启用并行的最小集合大小
+     * @param <T> 元素类型
+     * @return 过滤后的新集合
+     */
+    public static <T> List<T> parallelFilter(Collection<T> collection, Predicate<T> predicate, int threshold) {
+        if (isEmpty(collection)) {
+            return new ArrayList<>();
+        }
+        return stream(collection, threshold)
+                .filter(predicate)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 并行将集合转换为Map
+     *
+     * <p>集合大小达到{@link #PARALLEL_THRESHOLD}时并行转换，否则退化为{@link #toMap(Collection, Function)}。
+     * 键冲突时与顺序版本一致，保留遍历顺序中的第一个元素。</p>
+     *
+     * @param collection 源集合
+     * @param keyMapper key提取函数
+     * @param <T> 集合元素类型
+     * @param <K> Map键类型
+     * @return 转换后的Map
+     */
+    public static <T, K> Map<K, T> parallelToMap(Collection<T> collection, Function<T, K> keyMapper) {
+        return parallelToMap(collection, keyMapper, Function.identity(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 并行将集合转换为Map
+     *
+     * @param collection 源集合
+     * @param keyMapper key提取函数
+     * @param valueMapper value提取函数
+     * @param threshold 启用并行的最小集合大小
+     * @param <T> 集合元素类型
+     * @param <K> Map键类型
+     * @param <V> Map值类型
+     * @return 转换后的Map
+     */
+    public static <T, K, V> Map<K, V> parallelToMap(Collection<T> collection,
+                                                   Function<T, K> keyMapper,
+                                                   Function<T, V> valueMapper,
+                                                   int threshold) {
+        if (isEmpty(collection)) {
+            return new HashMap<>();
+        }
+        return stream(collection, threshold)
+                .collect(Collectors.toMap(keyMapper, valueMapper, (a, b) -> a));
+    }
+
+    /**
+     * 并行将集合按照指定属性分组
+     *
+     * <p>集合大小达到{@link #PARALLEL_THRESHOLD}时并行分组，否则退化为{@link #groupBy}。
+     * 每个分组内的元素顺序与源集合遍历顺序一致。</p>
+     *
+     * @param collection 源集合
+     * @param classifier 分组依据
+     * @param <T> 集合元素类型
+     * @param <K> 分组键类型
+     * @return 分组后的Map
+     */
+    public static <T, K> Map<K, List<T>> parallelGroupBy(Collection<T> collection, Function<T, K> classifier) {
+        return parallelGroupBy(collection, classifier, PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 并行将集合按照指定属性分组
+     *
+     * @param collection 源集合
+     * @param classifier 分组依据
+     * @param threshold 启用并行的最小集合大小
+     * @param <T> 集合元素类型
+     * @param <K> 分组键类型
+     * @return 分组后的Map
+     */
+    public static <T, K> Map<K, List<T>> parallelGroupBy(Collection<T> collection, Function<T, K> classifier,
+                                                         int threshold) {
+        if (isEmpty(collection)) {
+            return new HashMap<>();
+        }
+        return stream(collection, threshold)
+                .collect(Collectors.groupingBy(classifier));
+    }
+
+    /**
+     * 为集合运算选择成员判定索引
+     *
+     * <p>collection2本身是Set时直接使用（与retainAll/removeAll的判定语义一致）；集合2不大于线性扫描阈值时
+     * 直接在其上线性查找；否则对较小一侧建立HashSet。当collection1较小时，先用它建立索引，再遍历collection2
+     * 收集出现过的元素，得到的结果集只包含两侧共有的元素，内存占用不超过较小一侧。</p>
+     */
+    private static <T> Set<?> membershipIndex(Collection<T> collection1, Collection<T> collection2) {
+        if (collection2 instanceof Set) {
+            return (Set<?>) collection2;
+        }
+        if (collection2.size() <= LINEAR_SCAN_THRESHOLD) {
+            return new LinearScanSet<>(collection2);
+        }
+        if (collection2.size() <= collection1.size()) {
+            return new HashSet<>(collection2);
+        }
+        Set<T> candidates = new HashSet<>(collection1);
+        Set<T> found = new HashSet<>();
+        for (T element : collection2) {
+            if (candidates.contains(element)) {
+                found.add(element);
+                if (found.size() == candidates.size()) {
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static <T> Stream<T> stream(Collection<T> collection, int threshold) {
+        return collection.size() >= threshold ? collection.parallelStream() : collection.stream();
+    }
+
+    /**
+     * 以线性查找作为contains的只读视图，用于小集合避免建立哈希表的开销
+     */
+    private static final class LinearScanSet<T> extends AbstractSet<T> {
+
+        private final Collection<T> delegate;
+
+        private LinearScanSet(Collection<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return delegate.contains(o);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
+}
@@ -5,7 +5,9 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 日期时间工具类
@@ -40,6 +42,11 @@ import java.util.Objects;
  * LocalDate firstDay = DateTimeUtils.firstDayOfMonth(LocalDate.now());
  * LocalDate lastDay = DateTimeUtils.lastDayOfMonth(LocalDate.now());
  * 
+ * 性能说明：
+ * 1. 自定义格式的DateTimeFormatter按格式模式缓存，不再每次调用都重新编译格式；缓存满后新模式只编译不缓存
+ * 2. 默认格式（yyyy-MM-dd、HH:mm:ss、yyyy-MM-dd HH:mm:ss）使用手写的解析和格式化，逐字符处理，
+ *    不创建中间字符串和数组；输入不是规范的合法值时回退到DateTimeFormatter，结果与原实现一致
+ * 
  * 注意：该工具类方法都是线程安全的，LocalDate/LocalDateTime等新日期API对象都是不可变的。
  */
 public final class DateTimeUtils {
@@ -63,6 +70,39 @@ public final class DateTimeUtils {
      */
     public static final String DEFAULT_DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
 
+    /**
+     * 格式化器缓存上限，格式模式通常是代码中的常量，数量很少
+     */
+    private static final int FORMATTER_CACHE_SIZE = 128;
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private static final DateTimeFormatter DEFAULT_DATE_FORMATTER = getFormatter(DEFAULT_DATE_PATTERN);
+
+    private static final DateTimeFormatter DEFAULT_TIME_FORMATTER = getFormatter(DEFAULT_TIME_PATTERN);
+
+    private static final DateTimeFormatter DEFAULT_DATETIME_FORMATTER = getFormatter(DEFAULT_DATETIME_PATTERN);
+
+    /**
+     * 获取格式模式对应的格式化器，同一模式只编译一次
+     *
+     * @param pattern 格式模式
+     * @return 格式化器
+     * @throws IllegalArgumentException 格式模式无效
+     */
+    public static DateTimeFormatter getFormatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter != null) {
+            return formatter;
+        }
+        if (FORMATTERS.size() >= FORMATTER_CACHE_SIZE) {
+            // 代码中的常量模式最先进入缓存；超过上限后的新模式多是拼接或外部传入的一次性模式，
+            // 缓存它们没有命中收益，清空反而会让常量模式反复重新编译，因此直接编译不缓存
+            return DateTimeFormatter.ofPattern(pattern);
+        }
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
     /**
      * 获取当前日期
      *
@@ -136,7 +176,14 @@ public final class DateTimeUtils {
         if (date == null) {
             return null;
         }
-        return date.format(DateTimeFormatter.ofPattern(DEFAULT_DATE_PATTERN));
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            // 超出四位数的年份和公元前的年份交给格式化器处理
+            return date.format(DEFAULT_DATE_FORMATTER);
+        }
+        char[] buf = new char[10];
+        writeDate(buf, date);
+        return new String(buf);
     }
 
     /**
@@ -149,7 +196,9 @@ public final class DateTimeUtils {
         if (time == null) {
             return null;
         }
-        return time.format(DateTimeFormatter.ofPattern(DEFAULT_TIME_PATTERN));
+        char[] buf = new char[8];
+        writeTime(buf, 0, time);
+        return new String(buf);
     }
 
     /**
@@ -162,7 +211,15 @@ public final class DateTimeUtils {
         if (dateTime == null) {
             return null;
         }
-        return dateTime.format(DateTimeFormatter.ofPattern(DEFAULT_DATETIME_PATTERN));
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return dateTime.format(DEFAULT_DATETIME_FORMATTER);
+        }
+        char[] buf = new char[19];
+        writeDate(buf, dateTime.toLocalDate());
+        buf[10] = ' ';
+        writeTime(buf, 11, dateTime.toLocalTime());
+        return new String(buf);
     }
 
     /**
@@ -176,7 +233,10 @@ public final class DateTimeUtils {
         if (date == null) {
             return null;
         }
-        return date.format(DateTimeFormatter.ofPattern(pattern));
+        if (DEFAULT_DATE_PATTERN.equals(pattern)) {
+            return formatDate(date);
+        }
+        return date.format(getFormatter(pattern));
     }
 
     /**
@@ -190,7 +250,10 @@ public final class DateTimeUtils {
         if (time == null) {
             return null;
         }
-        return time.format(DateTimeFormatter.ofPattern(pattern));
+        if (DEFAULT_TIME_PATTERN.equals(pattern)) {
+            return formatTime(time);
+        }
+        return time.format(getFormatter(pattern));
     }
 
     /**
@@ -204,7 +267,10 @@ public final class DateTimeUtils {
         if (dateTime == null) {
             return null;
         }
-        return dateTime.format(DateTimeFormatter.ofPattern(pattern));
+        if (DEFAULT_DATETIME_PATTERN.equals(pattern)) {
+            return formatDateTime(dateTime);
+        }
+        return dateTime.format(getFormatter(pattern));
     }
 
     /**
@@ -217,6 +283,10 @@ public final class DateTimeUtils {
         if (StringUtils.isEmpty(dateStr)) {
             return null;
         }
+        LocalDate date = fastParseDate(dateStr, 0, dateStr.length());
+        if (date != null) {
+            return date;
+        }
         try {
             // 首先对日期格式进行基本验证
             String[] parts = dateStr.split("-");
@@ -248,7 +318,7 @@ public final class DateTimeUtils {
                 }
             }
             
-            return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern(DEFAULT_DATE_PATTERN));
+            return LocalDate.parse(dateStr, DEFAULT_DATE_FORMATTER);
         } catch (Exception e) {
             return null;
         }
@@ -264,8 +334,12 @@ public final class DateTimeUtils {
         if (StringUtils.isEmpty(timeStr)) {
             return null;
         }
+        LocalTime time = fastParseTime(timeStr, 0, timeStr.length());
+        if (time != null) {
+            return time;
+        }
         try {
-            return LocalTime.parse(timeStr, DateTimeFormatter.ofPattern(DEFAULT_TIME_PATTERN));
+            return LocalTime.parse(timeStr, DEFAULT_TIME_FORMATTER);
         } catch (Exception e) {
             return null;
         }
@@ -281,8 +355,12 @@ public final class DateTimeUtils {
         if (StringUtils.isEmpty(dateTimeStr)) {
             return null;
         }
+        LocalDateTime dateTime = fastParseDateTime(dateTimeStr);
+        if (dateTime != null) {
+            return dateTime;
+        }
         try {
-            return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern(DEFAULT_DATETIME_PATTERN));
+            return LocalDateTime.parse(dateTimeStr, DEFAULT_DATETIME_FORMATTER);
         } catch (Exception e) {
             return null;
         }
@@ -306,7 +384,7 @@ public final class DateTimeUtils {
                 return parseDate(dateStr);
             }
             
-            return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern(pattern));
+            return LocalDate.parse(dateStr, getFormatter(pattern));
         } catch (Exception e) {
             return null;
         }
@@ -323,8 +401,11 @@ public final class DateTimeUtils {
         if (StringUtils.isEmpty(timeStr)) {
             return null;
         }
+        if (DEFAULT_TIME_PATTERN.equals(pattern)) {
+            return parseTime(timeStr);
+        }
         try {
-            return LocalTime.parse(timeStr, DateTimeFormatter.ofPattern(pattern));
+            return LocalTime.parse(timeStr, getFormatter(pattern));
         } catch (Exception e) {
             return null;
         }
@@ -341,13 +422,117 @@ public final class DateTimeUtils {
         if (StringUtils.isEmpty(dateTimeStr)) {
             return null;
         }
+        if (DEFAULT_DATETIME_PATTERN.equals(pattern)) {
+            return parseDateTime(dateTimeStr);
+        }
         try {
-            return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern(pattern));
+            return LocalDateTime.parse(dateTimeStr, getFormatter(pattern));
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * 按yyyy-MM-dd快速解析日期，只接受规范且合法的值
+     *
+     * @param text 文本
+     * @param offset 起始位置
+     * @param length 长度，必须为10
+     * @return 日期，格式不规范或日期不合法时返回null，由调用方回退到格式化器
+     */
+    static LocalDate fastParseDate(CharSequence text, int offset, int length) {
+        if (length != 10 || text.charAt(offset + 4) != '-' || text.charAt(offset + 7) != '-') {
+            return null;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * 按HH:mm:ss快速解析时间，只接受规范且合法的值
+     *
+     * @param text 文本
+     * @param offset 起始位置
+     * @param length 长度，必须为8
+     * @return 时间，格式不规范或时间不合法时返回null，由调用方回退到格式化器
+     */
+    static LocalTime fastParseTime(CharSequence text, int offset, int length) {
+        if (length != 8 || text.charAt(offset + 2) != ':' || text.charAt(offset + 5) != ':') {
+            return null;
+        }
+        int hour = digits(text, offset, 2);
+        int minute = digits(text, offset + 3, 2);
+        int second = digits(text, offset + 6, 2);
+        // 24:00:00等需要跨日处理的值交给格式化器
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second);
+    }
+
+    /**
+     * 按yyyy-MM-dd HH:mm:ss快速解析日期时间，只接受规范且合法的值
+     *
+     * @param text 文本
+     * @return 日期时间，格式不规范或值不合法时返回null，由调用方回退到格式化器
+     */
+    static LocalDateTime fastParseDateTime(CharSequence text) {
+        if (text.length() != 19 || text.charAt(10) != ' ') {
+            return null;
+        }
+        LocalDate date = fastParseDate(text, 0, 10);
+        if (date == null) {
+            return null;
+        }
+        LocalTime time = fastParseTime(text, 11, 8);
+        return time == null ? null : LocalDateTime.of(date, time);
+    }
+
+    /**
+     * 解析定长十进制数字，含非数字字符时返回-1
+     */
+    private static int digits(CharSequence text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeDate(char[] buf, LocalDate date) {
+        int year = date.getYear();
+        buf[0] = (char) ('0' + year / 1000);
+        buf[1] = (char) ('0' + year / 100 % 10);
+        writeTwoDigits(buf, 2, year % 100);
+        buf[4] = '-';
+        writeTwoDigits(buf, 5, date.getMonthValue());
+        buf[7] = '-';
+        writeTwoDigits(buf, 8, date.getDayOfMonth());
+    }
+
+    private static void writeTime(char[] buf, int offset, LocalTime time) {
+        writeTwoDigits(buf, offset, time.getHour());
+        buf[offset + 2] = ':';
+        writeTwoDigits(buf, offset + 3, time.getMinute());
+        buf[offset + 5] = ':';
+        writeTwoDigits(buf, offset + 6, time.getSecond());
+    }
+
+    private static void writeTwoDigits(char[] buf, int offset, int value) {
+        buf[offset] = (char) ('0' + value / 10);
+        buf[offset + 1] = (char) ('0' + value % 10);
+    }
+
     /**
      * LocalDate转换为Date
      *
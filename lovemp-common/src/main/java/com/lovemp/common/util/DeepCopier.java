@@ -0,0 +1,682 @@
+package com.lovemp.common.util;
+
+import com.lovemp.common.domain.ValueObject;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * 结构化深拷贝引擎
+ *
+ * 按对象图逐层复制，替代原先BeanUtils.deepCopy中"序列化为JSON字符串再解析"的实现，不再产生中间字符串，
+ * 也不会丢失多态字段的实际类型。每个类型的复制策略（共享、数组、集合、记录、字段计划）只计算一次并缓存。
+ *
+ * 复制规则：
+ * 1. 共享不复制：基本类型包装类、String、枚举、BigDecimal/BigInteger、java.time包下的时间类型等不可变类型，
+ *    以及实现了ValueObject的值对象（值对象按约定不可变）
+ * 2. 数组：基本类型数组直接clone，对象数组逐个元素深拷贝
+ * 3. 集合与Map：保留具体类型与比较器。常用实现按源集合大小预设容量；Collections.synchronizedXxx
+ *    复制后重新包装为同步集合，JDK不可变集合复制为等价的不可修改集合，Arrays.asList保持定长；
+ *    其它公共实现（如Vector、ConcurrentSkipListSet）通过(Comparator)或无参公共构造器创建
+ * 4. 记录类型：通过规范构造器以深拷贝后的组件重新构造
+ * 5. 普通对象：优先调用无参构造器创建实例（没有时通过Objenesis跳过构造器分配），再按缓存的字段计划逐字段覆盖
+ * 6. lambda等隐藏类按引用共享
+ * 7. 循环引用与共享引用：同一次拷贝中同一个对象只复制一次，副本保持原对象图的引用结构
+ * 8. 对象图中含有无法按原类型重建的JDK集合（如Collections.checkedList、Map.keySet视图）时，
+ *    整个对象退回原先的JSON往返复制
+ *
+ * 使用示例：
+ * Enterprise snapshot = DeepCopier.copy(enterprise);
+ *
+ * 注意：
+ * 1. 每复制一个普通对象（含嵌套对象）就调用一次其无参构造器，构造器中的副作用（计数、注册、日志等）会随之执行，
+ *    构造器中赋的字段值随后被源对象的字段覆盖。原JSON实现反序列化时同样调用无参构造器，但只写入有setter或公共的属性；
+ *    这里按字段复制，私有字段同样被复制。没有无参构造器的类型不执行任何构造器，原JSON实现对这类类型会失败
+ * 2. 值对象以引用共享，若某个实现了ValueObject的类实际可变，修改会同时影响副本
+ * 3. 其它JDK内部类型：实现Cloneable且有公共clone方法的调用clone，否则按引用共享
+ * 4. 对象图过深（如超长链表结构）可能导致栈溢出，聚合快照等场景不受影响
+ */
+public final class DeepCopier {
+
+    /**
+     * 已知不可变、可直接共享的JDK类型
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class, Class.class,
+            Locale.class, Currency.class, URI.class, Pattern.class);
+
+    /**
+     * 共享策略：直接返回源对象
+     */
+    private static final CopyStrategy SHARE = (source, context) -> source;
+
+    /**
+     * 无法按原类型重建的JDK集合，由copy退回JSON往返复制
+     */
+    private static final CopyStrategy UNSUPPORTED = (source, context) -> {
+        throw new UnsupportedTypeException(source.getClass());
+    };
+
+    /**
+     * Arrays.asList返回的定长列表类型
+     */
+    private static final Class<?> FIXED_SIZE_LIST_TYPE = Arrays.asList().getClass();
+
+    private static final Map<Class<?>, CopyStrategy> STRATEGY_CACHE = new ConcurrentHashMap<>();
+
+    private static final SpringObjenesis OBJENESIS = new SpringObjenesis();
+
+    private static final Map<Class<?>, IntFunction<Collection<Object>>> COLLECTION_FACTORIES = new HashMap<>();
+    private static final Map<Class<?>, IntFunction<Map<Object, Object>>> MAP_FACTORIES = new HashMap<>();
+
+    static {
+        COLLECTION_FACTORIES.put(ArrayList.class, ArrayList::new);
+        COLLECTION_FACTORIES.put(LinkedList.class, size -> new LinkedList<>());
+        COLLECTION_FACTORIES.put(HashSet.class, size -> new HashSet<>(mapCapacity(size)));
+        COLLECTION_FACTORIES.put(LinkedHashSet.class, size -> new LinkedHashSet<>(mapCapacity(size)));
+        COLLECTION_FACTORIES.put(ArrayDeque.class, ArrayDeque::new);
+        COLLECTION_FACTORIES.put(CopyOnWriteArrayList.class, size -> new CopyOnWriteArrayList<>());
+        MAP_FACTORIES.put(HashMap.class, size -> new HashMap<>(mapCapacity(size)));
+        MAP_FACTORIES.put(LinkedHashMap.class, size -> new LinkedHashMap<>(mapCapacity(size)));
+        MAP_FACTORIES.put(ConcurrentHashMap.class, size -> new ConcurrentHashMap<>(mapCapacity(size)));
+    }
+
+    private DeepCopier() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 深拷贝对象
+     *
+     * @param source 源对象
+     * @param <T>    对象类型
+     * @return 深拷贝后的对象，源对象为null时返回null
+     * @throws IllegalStateException 对象无法实例化或字段无法访问时
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T source) {
+        if (source == null) {
+            return null;
+        }
+        try {
+            return (T) new CopyContext().copy(source);
+        } catch (UnsupportedTypeException e) {
+            // 对象图中含有无法按原类型重建的JDK集合（如Collections.checkedList），退回原先的JSON往返复制
+            return (T) JsonUtils.fromJson(JsonUtils.toJson(source), source.getClass());
+        }
+    }
+
+    /**
+     * 判断类型的实例是否可在副本间直接共享
+     *
+     * @param type 类型
+     * @return 不可变类型或值对象返回true
+     */
+    public static boolean isShared(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type)
+                || ValueObject.class.isAssignableFrom(type)
+                || (isJdkType(type) && type.getPackageName().startsWith("java.time"));
+    }
+
+    private static CopyStrategy strategyOf(Class<?> type) {
+        CopyStrategy strategy = STRATEGY_CACHE.get(type);
+        if (strategy == null) {
+            strategy = createStrategy(type);
+            CopyStrategy existing = STRATEGY_CACHE.putIfAbsent(type, strategy);
+            if (existing != null) {
+                strategy = existing;
+            }
+        }
+        return strategy;
+    }
+
+    private static CopyStrategy createStrategy(Class<?> type) {
+        // lambda等隐藏类没有可复制的状态语义，捕获的变量不可重新赋值，按引用共享
+        if (isShared(type) || Enum.class.isAssignableFrom(type) || type == Object.class
+                || type.isHidden() || type.isSynthetic()) {
+            return SHARE;
+        }
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? DeepCopier::clonePrimitiveArray : DeepCopier::copyObjectArray;
+        }
+        if (type.isRecord()) {
+            return new RecordStrategy(type);
+        }
+        if (isJdkType(type)) {
+            return jdkStrategy(type);
+        }
+        return new FieldStrategy(type);
+    }
+
+    /**
+     * JDK类型无法反射访问内部字段，集合按接口重建，其它类型clone或共享
+     */
+    private static CopyStrategy jdkStrategy(Class<?> type) {
+        if (EnumSet.class.isAssignableFrom(type)) {
+            return (source, context) -> ((EnumSet<?>) source).clone();
+        }
+        if (EnumMap.class.isAssignableFrom(type)) {
+            return (source, context) -> {
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                EnumMap<?, Object> copy = new EnumMap((EnumMap) source);
+                context.register(source, copy);
+                copy.replaceAll((key, value) -> context.copy(value));
+                return copy;
+            };
+        }
+        if (Optional.class == type) {
+            return (source, context) -> ((Optional<?>) source).map(context::copy);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return collectionStrategy(type);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return mapStrategy(type);
+        }
+        if (Cloneable.class.isAssignableFrom(type)) {
+            try {
+                Method clone = type.getMethod("clone");
+                return (source, context) -> {
+                    try {
+                        return clone.invoke(source);
+                    } catch (ReflectiveOperationException e) {
+                        throw new IllegalStateException("克隆对象失败: " + type.getName(), e);
+                    }
+                };
+            } catch (NoSuchMethodException e) {
+                // 没有公共clone方法，按引用共享
+            }
+        }
+        return SHARE;
+    }
+
+    /**
+     * 集合保留具体类型：已知实现按容量创建，不可修改与同步包装按原包装重新包装，
+     * 其它公共实现通过(Comparator)或无参公共构造器创建，均不支持时交由JSON往返复制
+     */
+    private static CopyStrategy collectionStrategy(Class<?> type) {
+        IntFunction<Collection<Object>> factory = COLLECTION_FACTORIES.get(type);
+        if (factory != null) {
+            return collectionCopy(source -> factory.apply(source.size()), UnaryOperator.identity());
+        }
+        if (isUnmodifiableView(type)) {
+            return collectionCopy(backingCollection(type), unmodifiableView(type));
+        }
+        if (isSynchronizedView(type)) {
+            return collectionCopy(backingCollection(type), synchronizedView(type));
+        }
+        if (type == FIXED_SIZE_LIST_TYPE) {
+            return DeepCopier::copyFixedSizeList;
+        }
+        Function<Object, Object> constructor = emptyInstanceFactory(type);
+        if (constructor == null) {
+            return UNSUPPORTED;
+        }
+        return collectionCopy(source -> castCollection(constructor.apply(source)), UnaryOperator.identity());
+    }
+
+    private static CopyStrategy collectionCopy(Function<Collection<?>, Collection<Object>> factory,
+                                               UnaryOperator<Collection<Object>> view) {
+        return (source, context) -> {
+            Collection<?> collection = (Collection<?>) source;
+            Collection<Object> copy = factory.apply(collection);
+            Collection<Object> result = view.apply(copy);
+            context.register(source, result);
+            for (Object element : collection) {
+                copy.add(context.copy(element));
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Arrays.asList返回的定长列表：复制元素数组后重新包装，保持定长
+     */
+    private static Object copyFixedSizeList(Object source, CopyContext context) {
+        Object[] elements = ((List<?>) source).toArray();
+        List<Object> copy = Arrays.asList(elements);
+        context.register(source, copy);
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = context.copy(elements[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * 包装集合的底层集合：排序集合保留比较器，非随机访问列表使用LinkedList
+     */
+    private static Function<Collection<?>, Collection<Object>> backingCollection(Class<?> type) {
+        if (SortedSet.class.isAssignableFrom(type)) {
+            return source -> {
+                @SuppressWarnings("unchecked")
+                Comparator<Object> comparator = (Comparator<Object>) ((SortedSet<?>) source).comparator();
+                return new TreeSet<>(comparator);
+            };
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return source -> new LinkedHashSet<>(mapCapacity(source.size()));
+        }
+        if (List.class.isAssignableFrom(type) && !RandomAccess.class.isAssignableFrom(type)) {
+            return source -> new LinkedList<>();
+        }
+        return source -> new ArrayList<>(source.size());
+    }
+
+    private static UnaryOperator<Collection<Object>> unmodifiableView(Class<?> type) {
+        if (List.class.isAssignableFrom(type)) {
+            return copy -> Collections.unmodifiableList((List<Object>) copy);
+        }
+        if (NavigableSet.class.isAssignableFrom(type)) {
+            return copy -> Collections.unmodifiableNavigableSet((NavigableSet<Object>) copy);
+        }
+        if (SortedSet.class.isAssignableFrom(type)) {
+            return copy -> Collections.unmodifiableSortedSet((SortedSet<Object>) copy);
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return copy -> Collections.unmodifiableSet((Set<Object>) copy);
+        }
+        return Collections::unmodifiableCollection;
+    }
+
+    private static UnaryOperator<Collection<Object>> synchronizedView(Class<?> type) {
+        if (List.class.isAssignableFrom(type)) {
+            return copy -> Collections.synchronizedList((List<Object>) copy);
+        }
+        if (NavigableSet.class.isAssignableFrom(type)) {
+            return copy -> Collections.synchronizedNavigableSet((NavigableSet<Object>) copy);
+        }
+        if (SortedSet.class.isAssignableFrom(type)) {
+            return copy -> Collections.synchronizedSortedSet((SortedSet<Object>) copy);
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return copy -> Collections.synchronizedSet((Set<Object>) copy);
+        }
+        return Collections::synchronizedCollection;
+    }
+
+    /**
+     * Map保留具体类型，规则同集合
+     */
+    private static CopyStrategy mapStrategy(Class<?> type) {
+        IntFunction<Map<Object, Object>> factory = MAP_FACTORIES.get(type);
+        if (factory != null) {
+            return mapCopy(source -> factory.apply(source.size()), UnaryOperator.identity());
+        }
+        if (isUnmodifiableView(type)) {
+            return mapCopy(backingMap(type), unmodifiableMapView(type));
+        }
+        if (isSynchronizedView(type)) {
+            return mapCopy(backingMap(type), synchronizedMapView(type));
+        }
+        Function<Object, Object> constructor = emptyInstanceFactory(type);
+        if (constructor == null) {
+            return UNSUPPORTED;
+        }
+        return mapCopy(source -> castMap(constructor.apply(source)), UnaryOperator.identity());
+    }
+
+    private static CopyStrategy mapCopy(Function<Map<?, ?>, Map<Object, Object>> factory,
+                                        UnaryOperator<Map<Object, Object>> view) {
+        return (source, context) -> {
+            Map<?, ?> map = (Map<?, ?>) source;
+            Map<Object, Object> copy = factory.apply(map);
+            Map<Object, Object> result = view.apply(copy);
+            context.register(source, result);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(context.copy(entry.getKey()), context.copy(entry.getValue()));
+            }
+            return result;
+        };
+    }
+
+    private static Function<Map<?, ?>, Map<Object, Object>> backingMap(Class<?> type) {
+        if (SortedMap.class.isAssignableFrom(type)) {
+            return source -> {
+                @SuppressWarnings("unchecked")
+                Comparator<Object> comparator = (Comparator<Object>) ((SortedMap<?, ?>) source).comparator();
+                return new TreeMap<>(comparator);
+            };
+        }
+        return source -> new LinkedHashMap<>(mapCapacity(source.size()));
+    }
+
+    private static UnaryOperator<Map<Object, Object>> unmodifiableMapView(Class<?> type) {
+        if (NavigableMap.class.isAssignableFrom(type)) {
+            return copy -> Collections.unmodifiableNavigableMap((NavigableMap<Object, Object>) copy);
+        }
+        if (SortedMap.class.isAssignableFrom(type)) {
+            return copy -> Collections.unmodifiableSortedMap((SortedMap<Object, Object>) copy);
+        }
+        return Collections::unmodifiableMap;
+    }
+
+    private static UnaryOperator<Map<Object, Object>> synchronizedMapView(Class<?> type) {
+        if (NavigableMap.class.isAssignableFrom(type)) {
+            return copy -> Collections.synchronizedNavigableMap((NavigableMap<Object, Object>) copy);
+        }
+        if (SortedMap.class.isAssignableFrom(type)) {
+            return copy -> Collections.synchronizedSortedMap((SortedMap<Object, Object>) copy);
+        }
+        return Collections::synchronizedMap;
+    }
+
+    /**
+     * 通过公共构造器创建同类型的空实例：源对象带比较器时使用(Comparator)或(int, Comparator)构造器，否则使用无参构造器
+     *
+     * @return 实例工厂，类型不是公共类或没有可用构造器时返回null
+     */
+    private static Function<Object, Object> emptyInstanceFactory(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        Method comparatorAccessor = publicMethod(type, "comparator");
+        Constructor<?> noArg = publicConstructor(type);
+        Constructor<?> withComparator = publicConstructor(type, Comparator.class);
+        Constructor<?> sizedWithComparator = publicConstructor(type, int.class, Comparator.class);
+        if (noArg == null && withComparator == null && sizedWithComparator == null) {
+            return null;
+        }
+        return source -> {
+            try {
+                Object comparator = comparatorAccessor != null ? comparatorAccessor.invoke(source) : null;
+                if (comparator == null && noArg != null) {
+                    return noArg.newInstance();
+                }
+                if (withComparator != null) {
+                    return withComparator.newInstance(comparator);
+                }
+                if (sizedWithComparator != null) {
+                    return sizedWithComparator.newInstance(Math.max(1, sizeOf(source)), comparator);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("创建集合失败: " + type.getName(), e);
+            }
+            throw new UnsupportedTypeException(type);
+        };
+    }
+
+    private static int sizeOf(Object source) {
+        return source instanceof Collection ? ((Collection<?>) source).size() : ((Map<?, ?>) source).size();
+    }
+
+    private static Method publicMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Constructor<?> publicConstructor(Class<?> type, Class<?>... parameterTypes) {
+        try {
+            return type.getConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> castCollection(Object collection) {
+        return (Collection<Object>) collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> castMap(Object map) {
+        return (Map<Object, Object>) map;
+    }
+
+    private static Object clonePrimitiveArray(Object source, CopyContext context) {
+        int length = Array.getLength(source);
+        Object copy = Array.newInstance(source.getClass().getComponentType(), length);
+        System.arraycopy(source, 0, copy, 0, length);
+        return copy;
+    }
+
+    private static Object copyObjectArray(Object source, CopyContext context) {
+        Object[] array = (Object[]) source;
+        Object[] copy = (Object[]) Array.newInstance(array.getClass().getComponentType(), array.length);
+        context.register(source, copy);
+        for (int i = 0; i < array.length; i++) {
+            copy[i] = context.copy(array[i]);
+        }
+        return copy;
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    /**
+     * List.of、Collections.unmodifiableXxx、Collections.emptyXxx、Collections.singletonXxx等不可修改集合
+     */
+    private static boolean isUnmodifiableView(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.util.ImmutableCollections")
+                || name.startsWith("java.util.Collections$Unmodifiable")
+                || name.startsWith("java.util.Collections$Empty")
+                || name.startsWith("java.util.Collections$Singleton");
+    }
+
+    /**
+     * Collections.synchronizedXxx返回的同步包装
+     */
+    private static boolean isSynchronizedView(Class<?> type) {
+        return type.getName().startsWith("java.util.Collections$Synchronized");
+    }
+
+    private static int mapCapacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    /**
+     * 单个类型的复制策略
+     */
+    @FunctionalInterface
+    private interface CopyStrategy {
+        Object copy(Object source, CopyContext context);
+    }
+
+    /**
+     * 一次深拷贝的上下文，记录已复制的对象以处理循环引用和共享引用
+     */
+    private static final class CopyContext {
+
+        private final IdentityHashMap<Object, Object> copies = new IdentityHashMap<>();
+
+        Object copy(Object source) {
+            if (source == null) {
+                return null;
+            }
+            CopyStrategy strategy = strategyOf(source.getClass());
+            if (strategy == SHARE) {
+                return source;
+            }
+            Object existing = copies.get(source);
+            if (existing != null) {
+                return existing;
+            }
+            return strategy.copy(source, this);
+        }
+
+        void register(Object source, Object copy) {
+            copies.put(source, copy);
+        }
+    }
+
+    /**
+     * 遇到无法按原类型重建的JDK集合时抛出，由copy捕获后退回JSON往返复制
+     */
+    private static final class UnsupportedTypeException extends RuntimeException {
+
+        private UnsupportedTypeException(Class<?> type) {
+            super("无法按原类型复制: " + type.getName(), null, false, false);
+        }
+    }
+
+    /**
+     * 记录类型：以深拷贝后的组件调用规范构造器
+     */
+    private static final class RecordStrategy implements CopyStrategy {
+
+        private final Method[] accessors;
+        private final Constructor<?> constructor;
+
+        private RecordStrategy(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            this.accessors = new Method[components.length];
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = components[i].getAccessor();
+                accessors[i].setAccessible(true);
+                parameterTypes[i] = components[i].getType();
+            }
+            try {
+                this.constructor = type.getDeclaredConstructor(parameterTypes);
+                this.constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("记录类型缺少规范构造器: " + type.getName(), e);
+            }
+        }
+
+        @Override
+        public Object copy(Object source, CopyContext context) {
+            try {
+                Object[] arguments = new Object[accessors.length];
+                for (int i = 0; i < accessors.length; i++) {
+                    arguments[i] = context.copy(accessors[i].invoke(source));
+                }
+                Object copy = constructor.newInstance(arguments);
+                context.register(source, copy);
+                return copy;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("复制记录失败: " + source.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 普通对象：实例化后按字段计划逐个复制
+     *
+     * <p>声明类型为基本类型或不可变类型的字段直接复制引用，其余字段按运行时类型递归复制</p>
+     */
+    private static final class FieldStrategy implements CopyStrategy {
+
+        private final Class<?> type;
+        private final Supplier<Object> instantiator;
+        private final Field[] sharedFields;
+        private final Field[] copiedFields;
+
+        private FieldStrategy(Class<?> type) {
+            this.type = type;
+            this.instantiator = instantiator(type);
+            List<Field> shared = new ArrayList<>();
+            List<Field> copied = new ArrayList<>();
+            for (Field field : BeanUtils.getAllFields(type)) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("无法访问字段 " + type.getName() + "." + field.getName(), e);
+                }
+                // 声明类型已能确定运行时值可共享（子类无法改变这一点）时，跳过逐值的策略查找
+                Class<?> fieldType = field.getType();
+                boolean sharedType = fieldType.isPrimitive() || fieldType.isEnum()
+                        || ValueObject.class.isAssignableFrom(fieldType)
+                        || (Modifier.isFinal(fieldType.getModifiers()) && isShared(fieldType));
+                (sharedType ? shared : copied).add(field);
+            }
+            this.sharedFields = shared.toArray(new Field[0]);
+            this.copiedFields = copied.toArray(new Field[0]);
+        }
+
+        @Override
+        public Object copy(Object source, CopyContext context) {
+            Object copy = instantiator.get();
+            context.register(source, copy);
+            try {
+                for (Field field : sharedFields) {
+                    field.set(copy, field.get(source));
+                }
+                for (Field field : copiedFields) {
+                    field.set(copy, context.copy(field.get(source)));
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("复制对象失败: " + type.getName(), e);
+            }
+            return copy;
+        }
+
+        /**
+         * 优先使用无参构造器；没有无参构造器时通过Objenesis跳过构造器分配实例，字段随后全部被覆盖
+         */
+        private static Supplier<Object> instantiator(Class<?> type) {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                throw new IllegalStateException("无法实例化抽象类型: " + type.getName());
+            }
+            Constructor<?> constructor;
+            try {
+                constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException | RuntimeException e) {
+                ObjectInstantiator<?> objectInstantiator = OBJENESIS.getInstantiatorOf(type);
+                return objectInstantiator::newInstance;
+            }
+            Constructor<?> resolved = constructor;
+            return () -> {
+                try {
+                    return resolved.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("实例化对象失败: " + type.getName(), e);
+                }
+            };
+        }
+    }
+}
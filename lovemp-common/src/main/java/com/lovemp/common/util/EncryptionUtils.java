@@ -11,7 +11,12 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 加密工具类
@@ -21,7 +26,7 @@ import java.util.Base64;
  * <h2>功能分类</h2>
  * <ol>
  *   <li>哈希计算：MD5、SHA-256、SHA-512等不可逆哈希算法</li>
- *   <li>对称加密：AES-CBC加密与解密</li>
+ *   <li>对称加密：AES-CBC加密与解密，AES-GCM认证加密与批量加解密</li>
  *   <li>编码转换：Base64编码解码、十六进制转换</li>
  *   <li>密码安全：PBKDF2密码加密、盐值生成</li>
  *   <li>消息认证：HMAC-SHA256</li>
@@ -53,6 +58,9 @@ import java.util.Base64;
  * String encrypted = EncryptionUtils.aesEncrypt("敏感数据", key, iv);
  * String decrypted = EncryptionUtils.aesDecrypt(encrypted, key, iv);
  * 
+ * // AES-GCM批量加密PII字段示例
+ * List&lt;String&gt; fields = EncryptionUtils.aesGcmEncryptAll(Arrays.asList(documentNumber, mobile), key);
+ * 
  * // API签名示例
  * String signature = EncryptionUtils.hmacSha256(requestData, secretKey);
  * </pre>
@@ -62,7 +70,7 @@ import java.util.Base64;
  *   <li>对于密码存储，应使用PBKDF2等慢哈希算法而非简单MD5/SHA，并务必使用随机盐值</li>
  *   <li>对称加密(AES)的密钥和IV务必安全保存，且不可重复使用相同IV</li>
  *   <li>MD5和SHA系列算法仅适用于数据完整性校验，不应用于敏感数据保护</li>
- *   <li>密钥生成和加密解密可能会出现性能开销，避免在高频调用场景中使用</li>
+ *   <li>摘要、HMAC和Cipher实例按线程复用，相同密钥的HMAC和AES轮密钥只计算一次，可用于高频调用场景</li>
  *   <li>所有方法对null输入均返回null，使用前应检查输入</li>
  *   <li>加密相关服务推荐使用领域层服务实现，而非直接调用工具类</li>
  *   <li>特定安全合规场景(等保、金融等)应考虑使用符合标准的加密算法和密钥长度</li>
@@ -74,6 +82,84 @@ public final class EncryptionUtils {
         // 工具类不允许实例化
     }
 
+    /**
+     * 十六进制字符表
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 十六进制字符到数值的映射，非十六进制字符为-1
+     */
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    /**
+     * 每个线程缓存的HMAC密钥数上限
+     */
+    private static final int MAC_CACHE_SIZE = 16;
+
+    /**
+     * AES-GCM加密器缓存的密钥数上限
+     */
+    private static final int GCM_CACHE_SIZE = 64;
+
+    private static final ThreadLocal<MessageDigest> MD5 = digestOf("MD5");
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = digestOf("SHA-256");
+
+    private static final ThreadLocal<MessageDigest> SHA_512 = digestOf("SHA-512");
+
+    /**
+     * 每个线程按密钥缓存已初始化的HMAC实例，doFinal后实例回到初始化状态，内外填充块无需重新计算
+     */
+    private static final ThreadLocal<Map<String, Mac>> HMAC_SHA256 = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<>(MAC_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Mac> eldest) {
+                    return size() > MAC_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * 每个线程复用的AES-CBC实例，以相同密钥重新初始化时JDK不会重复展开轮密钥
+     */
+    private static final ThreadLocal<Cipher> AES_CBC = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/CBC/PKCS5Padding");
+        } catch (Exception e) {
+            throw new IllegalStateException("当前JDK不支持AES/CBC/PKCS5Padding", e);
+        }
+    });
+
+    private static final Map<String, AesGcmCipher> AES_GCM = new ConcurrentHashMap<>();
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private static ThreadLocal<MessageDigest> digestOf(String algorithm) {
+        return ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("当前JDK不支持" + algorithm, e);
+            }
+        });
+    }
+
+    private static String digestHex(ThreadLocal<MessageDigest> digest, String text) {
+        // digest()完成后实例自动重置，可直接复用
+        return bytesToHex(digest.get().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
     /**
      * MD5加密
      *
@@ -85,13 +171,7 @@ public final class EncryptionUtils {
             return null;
         }
         
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] digest = md.digest(text.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(digest);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5加密失败", e);
-        }
+        return digestHex(MD5, text);
     }
 
     /**
@@ -105,13 +185,7 @@ public final class EncryptionUtils {
             return null;
         }
         
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(text.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(digest);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256加密失败", e);
-        }
+        return digestHex(SHA_256, text);
     }
 
     /**
@@ -125,13 +199,7 @@ public final class EncryptionUtils {
             return null;
         }
         
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-512");
-            byte[] digest = md.digest(text.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(digest);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-512加密失败", e);
-        }
+        return digestHex(SHA_512, text);
     }
 
     /**
@@ -204,9 +272,13 @@ public final class EncryptionUtils {
         }
         
         try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            mac.init(secretKeySpec);
+            Map<String, Mac> macs = HMAC_SHA256.get();
+            Mac mac = macs.get(key);
+            if (mac == null) {
+                mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+                macs.put(key, mac);
+            }
             byte[] digest = mac.doFinal(text.getBytes(StandardCharsets.UTF_8));
             return bytesToHex(digest);
         } catch (Exception e) {
@@ -228,7 +300,7 @@ public final class EncryptionUtils {
         }
         
         try {
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            Cipher cipher = AES_CBC.get();
             SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
             IvParameterSpec ivSpec = new IvParameterSpec(iv.getBytes(StandardCharsets.UTF_8));
             
@@ -254,7 +326,7 @@ public final class EncryptionUtils {
         }
         
         try {
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            Cipher cipher = AES_CBC.get();
             SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES");
             IvParameterSpec ivSpec = new IvParameterSpec(iv.getBytes(StandardCharsets.UTF_8));
             
@@ -266,6 +338,80 @@ public final class EncryptionUtils {
         }
     }
 
+    /**
+     * AES-GCM认证加密
+     *
+     * <p>每次加密使用随机IV，IV和认证标签随密文一起编码，无需单独保存。</p>
+     *
+     * @param text 待加密文本
+     * @param key  密钥（长度必须是16、24或32字节）
+     * @return Base64编码的加密结果
+     */
+    public static String aesGcmEncrypt(String text, String key) {
+        if (StringUtils.isEmpty(text) || StringUtils.isEmpty(key)) {
+            return null;
+        }
+        
+        return aesGcm(key).encrypt(text);
+    }
+
+    /**
+     * AES-GCM认证解密，密文被篡改或密钥错误时抛出异常
+     *
+     * @param encryptedText Base64编码的加密文本
+     * @param key           密钥（长度必须是16、24或32字节）
+     * @return 解密后的文本
+     */
+    public static String aesGcmDecrypt(String encryptedText, String key) {
+        if (StringUtils.isEmpty(encryptedText) || StringUtils.isEmpty(key)) {
+            return null;
+        }
+        
+        return aesGcm(key).decrypt(encryptedText);
+    }
+
+    /**
+     * AES-GCM批量加密，同一批字段复用同一个Cipher实例
+     *
+     * @param texts 待加密文本，null元素原样保留
+     * @param key   密钥（长度必须是16、24或32字节）
+     * @return 与传入顺序一致的Base64编码加密结果
+     */
+    public static List<String> aesGcmEncryptAll(List<String> texts, String key) {
+        if (texts == null || StringUtils.isEmpty(key)) {
+            return null;
+        }
+        
+        return aesGcm(key).encryptAll(texts);
+    }
+
+    /**
+     * AES-GCM批量解密，任一字段认证失败时抛出异常
+     *
+     * @param encryptedTexts Base64编码的加密文本，null元素原样保留
+     * @param key            密钥（长度必须是16、24或32字节）
+     * @return 与传入顺序一致的解密结果
+     */
+    public static List<String> aesGcmDecryptAll(List<String> encryptedTexts, String key) {
+        if (encryptedTexts == null || StringUtils.isEmpty(key)) {
+            return null;
+        }
+        
+        return aesGcm(key).decryptAll(encryptedTexts);
+    }
+
+    private static AesGcmCipher aesGcm(String key) {
+        AesGcmCipher cipher = AES_GCM.get(key);
+        if (cipher == null) {
+            if (AES_GCM.size() >= GCM_CACHE_SIZE) {
+                // 密钥通常来自配置，数量很少，超过上限说明密钥在频繁变化，直接清空即可
+                AES_GCM.clear();
+            }
+            cipher = AES_GCM.computeIfAbsent(key, k -> new AesGcmCipher(k.getBytes(StandardCharsets.UTF_8)));
+        }
+        return cipher;
+    }
+
     /**
      * 生成随机盐值
      *
@@ -277,9 +423,8 @@ public final class EncryptionUtils {
             return "";
         }
         
-        SecureRandom random = new SecureRandom();
         byte[] salt = new byte[length];
-        random.nextBytes(salt);
+        SECURE_RANDOM.nextBytes(salt);
         
         return bytesToHex(salt);
     }
@@ -370,12 +515,14 @@ public final class EncryptionUtils {
             return "";
         }
         
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xFF;
+            chars[j++] = HEX_DIGITS[b >>> 4];
+            chars[j++] = HEX_DIGITS[b & 0x0F];
         }
         
-        return sb.toString();
+        return new String(chars);
     }
 
     /**
@@ -402,21 +549,21 @@ public final class EncryptionUtils {
         
         byte[] data = new byte[len / 2];
         
-        try {
-            for (int i = 0; i < len; i += 2) {
-                int high = Character.digit(hex.charAt(i), 16);
-                int low = Character.digit(hex.charAt(i + 1), 16);
-                
-                // 检查是否为有效的十六进制字符
-                if (high == -1 || low == -1) {
-                    throw new IllegalArgumentException("包含非十六进制字符");
-                }
-                
-                data[i / 2] = (byte) ((high << 4) + low);
+        for (int i = 0; i < len; i += 2) {
+            int high = hexValue(hex.charAt(i));
+            int low = hexValue(hex.charAt(i + 1));
+            
+            // 检查是否为有效的十六进制字符
+            if (high == -1 || low == -1) {
+                throw new IllegalArgumentException("包含非十六进制字符");
             }
-            return data;
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new IllegalArgumentException("十六进制字符串格式错误", e);
+            
+            data[i / 2] = (byte) ((high << 4) + low);
         }
+        return data;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,321 @@
+package com.lovemp.common.util;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * 存在性过滤器
+ *
+ * 为唯一性字段（用户名、邮箱、编码等）的existsBy查询提供否定结果快速路径：过滤器判定一定不存在时直接返回false，
+ * 只有可能存在时才执行真正的查询。
+ *
+ * 主要特性：
+ * 1. 基于可扩容的BloomFilter，无假阴性，写入量超出预期时自动扩容
+ * 2. 预热前所有查询都直接执行，预热完成后才启用快速路径
+ * 3. 可在线重建：重建期间新写入的值同时进入新旧过滤器，并回放最近写入的值，
+ *    覆盖扫描开始时尚未提交的事务；重建完成后整体替换，清除已删除值残留的误判
+ * 4. 统计查询次数、直接否定次数和误判次数，可观测实际误判率
+ *
+ * 使用示例：
+ * ExistenceFilter usernames = new ExistenceFilter("account.username", 100_000, 0.01);
+ * usernames.rebuild(accounts.map(Account::getUsername));
+ * boolean exists = usernames.exists(username, delegate::existsByUsername);
+ * // 保存成功后
+ * usernames.add(account.getUsername());
+ *
+ * 注意：
+ * 1. 规范化函数必须把存储层认为相等的值映射为同一个键，否则会产生假阴性；默认忽略大小写和首尾空白
+ * 2. 删除记录不会从过滤器移除，残留的值只会增加误判，需要定期重建
+ */
+public final class ExistenceFilter {
+
+    /**
+     * 默认规范化：去除首尾空白并转为小写，兼容大小写不敏感的数据库排序规则
+     */
+    public static final UnaryOperator<String> CASE_INSENSITIVE = value -> value.trim().toLowerCase(Locale.ROOT);
+
+    /**
+     * 默认误判率
+     */
+    public static final double DEFAULT_FPP = 0.01;
+
+    /**
+     * 重建时回放的最近写入数量
+     */
+    private static final int RECENT_SIZE = 4096;
+
+    private final String name;
+
+    private final int expectedInsertions;
+
+    private final double fpp;
+
+    private final UnaryOperator<String> normalizer;
+
+    private final AtomicReferenceArray<String> recent = new AtomicReferenceArray<>(RECENT_SIZE);
+
+    private final AtomicLong recentCursor = new AtomicLong();
+
+    private final LongAdder lookupCount = new LongAdder();
+
+    private final LongAdder filteredCount = new LongAdder();
+
+    private final LongAdder falsePositiveCount = new LongAdder();
+
+    private volatile BloomFilter filter;
+
+    private volatile BloomFilter building;
+
+    /**
+     * 使用默认规范化函数创建过滤器
+     *
+     * @param name 名称，用于指标
+     * @param expectedInsertions 预期值数量
+     * @param fpp 误判率
+     */
+    public ExistenceFilter(String name, int expectedInsertions, double fpp) {
+        this(name, expectedInsertions, fpp, CASE_INSENSITIVE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param name 名称，用于指标
+     * @param expectedInsertions 预期值数量
+     * @param fpp 误判率
+     * @param normalizer 规范化函数，输入不为null
+     */
+    public ExistenceFilter(String name, int expectedInsertions, double fpp, UnaryOperator<String> normalizer) {
+        this.name = Objects.requireNonNull(name, "名称不能为空");
+        this.normalizer = Objects.requireNonNull(normalizer, "规范化函数不能为空");
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("预期值数量必须大于0");
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("误判率必须在0和1之间");
+        }
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+    }
+
+    /**
+     * 判断值是否存在
+     *
+     * @param value 待查询的值
+     * @param lookup 真正的查询，过滤器无法排除时执行
+     * @return 是否存在
+     */
+    public boolean exists(String value, Predicate<String> lookup) {
+        BloomFilter current = filter;
+        if (value == null || current == null) {
+            return lookup.test(value);
+        }
+        lookupCount.increment();
+        if (!current.mightContain(normalizer.apply(value))) {
+            filteredCount.increment();
+            return false;
+        }
+        boolean exists = lookup.test(value);
+        if (!exists) {
+            falsePositiveCount.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * 记录新写入的值，应在保存后调用
+     *
+     * @param value 值，为null时忽略
+     */
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        String key = normalizer.apply(value);
+        recent.set((int) (recentCursor.getAndIncrement() % RECENT_SIZE), key);
+        // 先读building再读filter：重建完成时先替换filter再清空building，两者至少有一个是新过滤器
+        BloomFilter next = building;
+        BloomFilter current = filter;
+        if (next != null) {
+            next.put(key);
+        }
+        if (current != null && current != next) {
+            current.put(key);
+        }
+    }
+
+    /**
+     * 用全部现有值重建过滤器，完成后启用快速路径；流在方法结束时关闭
+     *
+     * @param values 全部现有值的流
+     * @return 扫描的值数量
+     */
+    public long rebuild(Stream<String> values) {
+        Rebuild rebuild = beginRebuild();
+        long count = 0;
+        try (Stream<String> source = values) {
+            Iterator<String> iterator = source.iterator();
+            while (iterator.hasNext()) {
+                rebuild.put(iterator.next());
+                count++;
+            }
+        } catch (RuntimeException e) {
+            rebuild.abort();
+            throw e;
+        }
+        rebuild.complete();
+        return count;
+    }
+
+    /**
+     * 开始重建，适用于一次扫描同时重建多个过滤器；必须以{@link Rebuild#complete()}或{@link Rebuild#abort()}结束
+     *
+     * @return 重建句柄
+     */
+    public synchronized Rebuild beginRebuild() {
+        if (building != null) {
+            throw new IllegalStateException("过滤器正在重建: " + name);
+        }
+        BloomFilter current = filter;
+        long size = current == null ? expectedInsertions : Math.max(expectedInsertions, current.approximateCount());
+        BloomFilter next = new BloomFilter((int) Math.min(size, Integer.MAX_VALUE), fpp);
+        building = next;
+        return new Rebuild(next);
+    }
+
+    private synchronized void finish(BloomFilter next, boolean replace) {
+        if (building != next) {
+            return;
+        }
+        if (replace) {
+            for (int i = 0; i < RECENT_SIZE; i++) {
+                String key = recent.get(i);
+                if (key != null) {
+                    next.put(key);
+                }
+            }
+            filter = next;
+        }
+        building = null;
+    }
+
+    /**
+     * 过滤器是否已启用
+     *
+     * @return 预热完成后返回true
+     */
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * 获取名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取经过滤器的查询次数（预热前的查询不计入）
+     *
+     * @return 查询次数
+     */
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    /**
+     * 获取被过滤器直接否定、没有执行查询的次数
+     *
+     * @return 直接否定次数
+     */
+    public long getFilteredCount() {
+        return filteredCount.sum();
+    }
+
+    /**
+     * 获取过滤器判定可能存在、查询结果却不存在的次数
+     *
+     * @return 误判次数
+     */
+    public long getFalsePositiveCount() {
+        return falsePositiveCount.sum();
+    }
+
+    /**
+     * 获取实际误判率：不存在的值中被判定为可能存在的比例
+     *
+     * @return 实际误判率，没有查询过不存在的值时返回0
+     */
+    public double getObservedFalsePositiveRate() {
+        long falsePositives = falsePositiveCount.sum();
+        long negatives = falsePositives + filteredCount.sum();
+        return negatives == 0 ? 0 : (double) falsePositives / negatives;
+    }
+
+    /**
+     * 按当前填充程度估算的误判率
+     *
+     * @return 估算误判率，未预热时返回1
+     */
+    public double getExpectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 1 : current.expectedFpp();
+    }
+
+    /**
+     * 获取过滤器中值的近似数量
+     *
+     * @return 近似数量，未预热时返回0
+     */
+    public long getApproximateCount() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.approximateCount();
+    }
+
+    /**
+     * 重建句柄
+     */
+    public final class Rebuild {
+
+        private final BloomFilter next;
+
+        private Rebuild(BloomFilter next) {
+            this.next = next;
+        }
+
+        /**
+         * 写入一个现有值
+         *
+         * @param value 值，为null时忽略
+         */
+        public void put(String value) {
+            if (value != null) {
+                next.put(normalizer.apply(value));
+            }
+        }
+
+        /**
+         * 完成重建并替换过滤器
+         */
+        public void complete() {
+            finish(next, true);
+        }
+
+        /**
+         * 放弃重建，保留原过滤器
+         */
+        public void abort() {
+            finish(next, false);
+        }
+    }
+}
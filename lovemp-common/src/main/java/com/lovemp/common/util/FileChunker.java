@@ -0,0 +1,332 @@
+package com.lovemp.common.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 文件分片器
+ *
+ * 为FileUtils的文件分割与合并提供基于FileChannel定位读写的并发实现。
+ *
+ * 主要特性：
+ * 1. 分割时每个分片由源文件通道按显式偏移transferTo到分片文件，不经过堆内缓冲区
+ * 2. 合并时按各分片大小计算目标偏移，预分配目标文件后各分片并发transferFrom到各自位置
+ * 3. 可只生成分片描述（索引、偏移、长度、哈希）而不落地分片文件，大文件分片无需任何堆拷贝
+ * 4. 分片之间并发处理，线程数默认等于CPU核数，空闲线程自动回收
+ *
+ * 使用示例：
+ * FileChunker chunker = new FileChunker(4);
+ * List&lt;FileChunker.ChunkDescriptor&gt; chunks = chunker.describe(Paths.get("/data/a.zip"), 4 * 1024 * 1024, FileHashService.MD5);
+ * List&lt;Path&gt; chunkFiles = chunker.split(Paths.get("/data/a.zip"), 4 * 1024 * 1024, Paths.get("/tmp/chunks/a"));
+ * chunker.merge(chunkFiles, Paths.get("/data/b.zip"));
+ *
+ * 注意：
+ * 1. 合并先写入目标路径.part临时文件，全部分片写完后原子重命名，失败时删除临时文件
+ * 2. 分割失败时删除已写出的分片文件
+ * 3. 实例持有线程池，应长期复用
+ */
+public final class FileChunker {
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 使用CPU核数个线程创建实例
+     */
+    public FileChunker() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param parallelism 并发处理分片的线程数
+     */
+    public FileChunker(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("并发线程数必须大于0");
+        }
+        this.executor = ThreadPoolUtils.newDaemonPool("file-chunker", parallelism);
+    }
+
+    /**
+     * 生成文件的分片描述，不创建分片文件
+     *
+     * @param file 源文件
+     * @param chunkSize 分片大小
+     * @param algorithm 分片摘要算法，如MD5、SHA-256；为null时不计算哈希
+     * @return 按索引排序的分片描述，空文件返回空列表
+     * @throws IOException 文件不存在或读取失败
+     */
+    public List<ChunkDescriptor> describe(Path file, int chunkSize, String algorithm) throws IOException {
+        List<ChunkDescriptor> layout = layout(file, chunkSize);
+        if (algorithm == null || layout.isEmpty()) {
+            return layout;
+        }
+        checkAlgorithm(algorithm);
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            return runAll(layout, chunk -> new ChunkDescriptor(chunk.index, chunk.offset, chunk.length,
+                    HexFormat.of().formatHex(FileHashService.digest(source, chunk.offset, chunk.length, algorithm))));
+        }
+    }
+
+    /**
+     * 将文件分割为分片文件，分片文件以分片索引命名
+     *
+     * @param file 源文件
+     * @param chunkSize 分片大小
+     * @param chunkDirectory 分片文件目录，不存在时自动创建
+     * @return 按索引排序的分片文件路径，空文件返回空列表
+     * @throws IOException 文件不存在或读写失败
+     */
+    public List<Path> split(Path file, int chunkSize, Path chunkDirectory) throws IOException {
+        List<ChunkDescriptor> layout = layout(file, chunkSize);
+        if (layout.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Files.createDirectories(chunkDirectory);
+        Queue<Path> written = new ConcurrentLinkedQueue<>();
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            return runAll(layout, chunk -> {
+                Path chunkFile = chunkDirectory.resolve(String.valueOf(chunk.index));
+                try (FileChannel target = FileChannel.open(chunkFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    written.add(chunkFile);
+                    long transferred = 0;
+                    while (transferred < chunk.length) {
+                        long count = source.transferTo(chunk.offset + transferred, chunk.length - transferred, target);
+                        if (count <= 0) {
+                            throw new IOException("源文件在分割过程中被截断: " + file);
+                        }
+                        transferred += count;
+                    }
+                }
+                return chunkFile;
+            });
+        } catch (IOException | RuntimeException e) {
+            // runAll返回前所有分片任务均已结束，删除已写出的分片，不留下不完整的分片集合
+            for (Path chunkFile : written) {
+                try {
+                    Files.deleteIfExists(chunkFile);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 按顺序将分片文件合并为目标文件，各分片并发写入各自的偏移
+     *
+     * @param chunks 按顺序排列的分片文件
+     * @param target 目标文件，已存在时被覆盖
+     * @throws IOException 分片不存在或读写失败
+     */
+    public void merge(List<Path> chunks, Path target) throws IOException {
+        List<ChunkDescriptor> layout = new ArrayList<>(chunks.size());
+        long offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            Path chunk = chunks.get(i);
+            if (!Files.isRegularFile(chunk)) {
+                throw new FileNotFoundException("分片文件不存在: " + chunk);
+            }
+            long length = Files.size(chunk);
+            layout.add(new ChunkDescriptor(i, offset, length, null));
+            offset += length;
+        }
+        long totalSize = offset;
+
+        FileUtils.createParentDirectories(target);
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        boolean completed = false;
+        try {
+            try (FileChannel output = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                if (totalSize > 0) {
+                    // 预分配到最终大小，各分片的定位写入互不影响
+                    output.write(ByteBuffer.wrap(new byte[1]), totalSize - 1);
+                }
+                runAll(layout, chunk -> {
+                    try (FileChannel source = FileChannel.open(chunks.get(chunk.index), StandardOpenOption.READ)) {
+                        long transferred = 0;
+                        while (transferred < chunk.length) {
+                            long count = output.transferFrom(source.position(transferred),
+                                    chunk.offset + transferred, chunk.length - transferred);
+                            if (count <= 0) {
+                                throw new IOException("分片文件在合并过程中被截断: " + chunks.get(chunk.index));
+                            }
+                            transferred += count;
+                        }
+                    }
+                    return chunk;
+                });
+            }
+            try {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private static List<ChunkDescriptor> layout(Path file, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分片大小必须大于0");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new FileNotFoundException("文件不存在: " + file);
+        }
+        long fileSize = Files.size(file);
+        long totalChunks = (fileSize + chunkSize - 1) / chunkSize;
+        if (totalChunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("分片数超出上限，请增大分片大小");
+        }
+        List<ChunkDescriptor> layout = new ArrayList<>((int) totalChunks);
+        for (int i = 0; i < totalChunks; i++) {
+            long offset = (long) i * chunkSize;
+            layout.add(new ChunkDescriptor(i, offset, Math.min(chunkSize, fileSize - offset), null));
+        }
+        return layout;
+    }
+
+    private static void checkAlgorithm(String algorithm) throws IOException {
+        try {
+            MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("不支持的摘要算法: " + algorithm, e);
+        }
+    }
+
+    private <T> List<T> runAll(List<ChunkDescriptor> chunks, ChunkTask<T> task) throws IOException {
+        List<CompletableFuture<T>> futures = new ArrayList<>(chunks.size());
+        for (ChunkDescriptor chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run(chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        List<T> results = new ArrayList<>(chunks.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            // 等待已开始的分片结束，避免调用方关闭通道或删除文件时仍有写入
+            for (CompletableFuture<T> future : futures) {
+                try {
+                    future.join();
+                } catch (RuntimeException ignored) {
+                    // 已按第一个异常失败
+                }
+            }
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask<T> {
+
+        T run(ChunkDescriptor chunk) throws IOException;
+    }
+
+    /**
+     * 分片描述：分片在源文件中的位置和内容哈希
+     */
+    public static final class ChunkDescriptor {
+
+        private final int index;
+
+        private final long offset;
+
+        private final long length;
+
+        private final String hash;
+
+        public ChunkDescriptor(int index, long offset, long length, String hash) {
+            this.index = index;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * 获取分片的小写十六进制哈希值，未计算哈希时为null
+         *
+         * @return 哈希值
+         */
+        public String getHash() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChunkDescriptor)) {
+                return false;
+            }
+            ChunkDescriptor other = (ChunkDescriptor) o;
+            return index == other.index && offset == other.offset && length == other.length
+                    && Objects.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(index, offset, length, hash);
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkDescriptor{index=" + index + ", offset=" + offset + ", length=" + length
+                    + ", hash=" + hash + "}";
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.lovemp.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件内容索引
+ *
+ * 以内容哈希为键记录已上传的文件，为秒传提供O(1)的查找。
+ *
+ * 主要特性：
+ * 1. 登记时同时记录文件大小和修改时间，查找时校验文件仍存在且未被修改，失效记录自动剔除，
+ *    避免把已被改写的文件当作相同内容秒传
+ * 2. 索引文件为紧凑的二进制格式：十六进制哈希按原始字节存储，路径按UTF-8存储，
+ *    保存时先写临时文件再原子替换，进程中途退出不会损坏已有索引
+ * 3. 兼容读取旧版"哈希,路径"文本格式的记录文件
+ *
+ * 注意：
+ * 1. 同一哈希只保留最后登记的文件
+ * 2. 旧版文本记录没有大小和修改时间，查找时只校验文件是否存在
+ */
+public final class FileContentIndex {
+
+    /**
+     * 索引文件魔数："LMFI"
+     */
+    private static final int MAGIC = 0x4C4D4649;
+
+    /**
+     * 索引文件格式版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 未知的大小或修改时间（旧版文本记录）
+     */
+    private static final long UNKNOWN = -1L;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 登记文件
+     *
+     * @param hash 文件内容哈希（十六进制）
+     * @param file 文件路径
+     * @throws IOException 读取文件属性失败
+     */
+    public void register(String hash, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        entries.put(normalize(hash), new Entry(file.toString(), attributes.size(),
+                attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS)));
+    }
+
+    /**
+     * 查找内容哈希对应的文件，文件已删除或被修改时剔除该记录
+     *
+     * @param hash 文件内容哈希
+     * @return 文件路径，不存在有效记录时返回null
+     */
+    public Path lookup(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        String key = normalize(hash);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Path path = Paths.get(entry.path);
+        if (isValid(entry, path)) {
+            return path;
+        }
+        entries.remove(key, entry);
+        return null;
+    }
+
+    /**
+     * 移除记录
+     *
+     * @param hash 文件内容哈希
+     */
+    public void remove(String hash) {
+        if (hash != null) {
+            entries.remove(normalize(hash));
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取记录数
+     *
+     * @return 记录数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 保存索引到文件
+     *
+     * @param file 索引文件路径
+     * @throws IOException 写入失败
+     */
+    public void save(Path file) throws IOException {
+        FileUtils.createParentDirectories(file);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Entry> snapshot = Map.copyOf(entries);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> item : snapshot.entrySet()) {
+                writeHash(out, item.getKey());
+                byte[] path = item.getValue().path.getBytes(StandardCharsets.UTF_8);
+                if (path.length > 0xFFFF) {
+                    throw new IOException("文件路径过长: " + item.getValue().path);
+                }
+                out.writeShort(path.length);
+                out.write(path);
+                out.writeLong(item.getValue().size);
+                out.writeLong(item.getValue().modifiedMicros);
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 从文件加载索引，与现有记录合并
+     *
+     * @param file 索引文件路径
+     * @throws IOException 读取失败或格式错误
+     */
+    public void load(Path file) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            raw.mark(4);
+            DataInputStream in = new DataInputStream(raw);
+            if (Files.size(file) < 4 || in.readInt() != MAGIC) {
+                raw.reset();
+                loadLegacy(raw);
+                return;
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("不支持的索引文件版本: " + version);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String hash = readHash(in);
+                byte[] path = new byte[in.readUnsignedShort()];
+                in.readFully(path);
+                entries.put(hash, new Entry(new String(path, StandardCharsets.UTF_8), in.readLong(), in.readLong()));
+            }
+        } catch (NoSuchFileException e) {
+            // 索引文件不存在时视为空索引
+        }
+    }
+
+    private void loadLegacy(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split(",", 2);
+            if (parts.length == 2) {
+                entries.put(normalize(parts[0]), new Entry(parts[1], UNKNOWN, UNKNOWN));
+            }
+        }
+    }
+
+    private static boolean isValid(Entry entry, Path path) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return false;
+        }
+        if (entry.size == UNKNOWN) {
+            return attributes.isRegularFile();
+        }
+        return attributes.size() == entry.size
+                && attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS) == entry.modifiedMicros;
+    }
+
+    /**
+     * 十六进制哈希按原始字节写入，非十六进制的键按原样写入
+     */
+    private static void writeHash(DataOutputStream out, String hash) throws IOException {
+        if (hash.length() % 2 == 0 && hash.length() <= 254 && isHex(hash)) {
+            byte[] bytes = HexFormat.of().parseHex(hash);
+            out.writeByte(bytes.length);
+            out.write(bytes);
+        } else {
+            out.writeByte(0xFF);
+            out.writeUTF(hash);
+        }
+    }
+
+    private static String readHash(DataInputStream in) throws IOException {
+        int length = in.readUnsignedByte();
+        if (length == 0xFF) {
+            return in.readUTF();
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String hash) {
+        return isHex(hash) ? hash.toLowerCase(Locale.ROOT) : hash;
+    }
+
+    private static final class Entry {
+
+        private final String path;
+
+        private final long size;
+
+        private final long modifiedMicros;
+
+        private Entry(String path, long size, long modifiedMicros) {
+            this.path = path;
+            this.size = size;
+            this.modifiedMicros = modifiedMicros;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.lovemp.common.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件哈希服务
+ *
+ * 为FileUtils的文件哈希、秒传功能提供高吞吐的哈希计算和结果缓存。
+ *
+ * 主要特性：
+ * 1. 大文件按64MB窗口内存映射后计算摘要，小文件使用直接缓冲区读取，避免逐8KB拷贝到堆
+ * 2. 批量计算时多个文件并发哈希，线程数默认等于CPU核数，空闲线程自动回收
+ * 3. 结果按（绝对路径, 文件大小, 修改时间, 算法）缓存，文件被修改后自然失效
+ * 4. 缓存有容量上限，超过后淘汰最久未使用的条目
+ *
+ * 使用示例：
+ * FileHashService service = new FileHashService(10000, 4);
+ * String md5 = service.hash(Paths.get("/data/a.zip"), FileHashService.MD5);
+ * Map&lt;Path, String&gt; hashes = service.hashAll(paths, FileHashService.SHA_256);
+ *
+ * 注意：
+ * 1. 修改时间精度取决于文件系统，同一时间刻度内大小不变的改写无法被察觉
+ * 2. 实例持有线程池和缓存，应长期复用
+ */
+public final class FileHashService {
+
+    /**
+     * MD5算法名
+     */
+    public static final String MD5 = "MD5";
+
+    /**
+     * SHA-256算法名
+     */
+    public static final String SHA_256 = "SHA-256";
+
+    /**
+     * 默认缓存容量
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 10_000;
+
+    /**
+     * 使用内存映射的最小文件大小：1MB
+     */
+    private static final long MMAP_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 内存映射窗口大小：64MB
+     */
+    private static final long MMAP_WINDOW = 64L * 1024 * 1024;
+
+    /**
+     * 小文件读取缓冲区大小：256KB
+     */
+    private static final int READ_BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(READ_BUFFER_SIZE));
+
+    private final Map<HashKey, String> cache;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 使用默认缓存容量和CPU核数个哈希线程创建服务
+     */
+    public FileHashService() {
+        this(DEFAULT_CACHE_CAPACITY, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param cacheCapacity 缓存容量，0表示不缓存
+     * @param parallelism 批量计算时的并发线程数
+     */
+    public FileHashService(int cacheCapacity, int parallelism) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("缓存容量不能小于0");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("并发线程数必须大于0");
+        }
+        this.cache = new LinkedHashMap<>(Math.min(cacheCapacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<HashKey, String> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+        this.executor = ThreadPoolUtils.newDaemonPool("file-hash", parallelism);
+    }
+
+    /**
+     * 计算文件哈希值，文件未变化时直接返回缓存结果
+     *
+     * @param file 文件路径
+     * @param algorithm 摘要算法，如MD5、SHA-256
+     * @return 小写十六进制哈希值
+     * @throws IOException 文件不存在或读取失败
+     */
+    public String hash(Path file, String algorithm) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) {
+            throw new IOException("不是普通文件: " + path);
+        }
+        HashKey key = new HashKey(path.toString(), attributes.size(),
+                attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS), algorithm);
+        String cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        String hash = HexFormat.of().formatHex(digest(path, attributes.size(), algorithm));
+        synchronized (cache) {
+            cache.put(key, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * 并发计算多个文件的哈希值
+     *
+     * @param files 文件路径
+     * @param algorithm 摘要算法
+     * @return 文件路径到哈希值的映射，顺序与传入顺序一致
+     * @throws IOException 任一文件读取失败
+     */
+    public Map<Path, String> hashAll(Collection<Path> files, String algorithm) throws IOException {
+        List<Path> paths = new ArrayList<>(files);
+        List<CompletableFuture<String>> futures = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return hash(path, algorithm);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        Map<Path, String> result = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                result.put(paths.get(i), futures.get(i).join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 移除指定文件的所有缓存结果
+     *
+     * @param file 文件路径
+     */
+    public void invalidate(Path file) {
+        String path = file.toAbsolutePath().normalize().toString();
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> key.path.equals(path));
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取当前缓存条目数
+     *
+     * @return 缓存条目数
+     */
+    public int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static byte[] digest(Path path, long size, String algorithm) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return digest(channel, 0, size, algorithm);
+        }
+    }
+
+    /**
+     * 计算文件通道中一段区域的摘要
+     *
+     * <p>区域不小于1MB时按窗口内存映射，否则通过线程内复用的直接缓冲区定位读取，不改变通道位置，可被多个线程并发调用。</p>
+     *
+     * @param channel 文件通道
+     * @param offset 起始偏移
+     * @param length 区域长度
+     * @param algorithm 摘要算法
+     * @return 摘要
+     * @throws IOException 算法不支持、读取失败或文件被截断
+     */
+    static byte[] digest(FileChannel channel, long offset, long length, String algorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("不支持的摘要算法: " + algorithm, e);
+        }
+        if (length >= MMAP_THRESHOLD) {
+            for (long position = 0; position < length; position += MMAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset + position,
+                        Math.min(MMAP_WINDOW, length - position));
+                digest.update(window);
+            }
+        } else {
+            ByteBuffer buffer = READ_BUFFER.get();
+            long position = 0;
+            while (position < length) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), length - position));
+                int read = channel.read(buffer, offset + position);
+                if (read < 0) {
+                    throw new IOException("文件在读取过程中被截断");
+                }
+                buffer.flip();
+                digest.update(buffer);
+                position += read;
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * 缓存键：文件内容未变的判断依据为路径、大小和修改时间均未变化
+     */
+    private static final class HashKey {
+
+        private final String path;
+
+        private final long size;
+
+        private final long modifiedMicros;
+
+        private final String algorithm;
+
+        private HashKey(String path, long size, long modifiedMicros, String algorithm) {
+            this.path = path;
+            this.size = size;
+            this.modifiedMicros = modifiedMicros;
+            this.algorithm = Objects.requireNonNull(algorithm, "摘要算法不能为空");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HashKey)) {
+                return false;
+            }
+            HashKey other = (HashKey) o;
+            return size == other.size && modifiedMicros == other.modifiedMicros
+                    && path.equals(other.path) && algorithm.equals(other.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, modifiedMicros, algorithm);
+        }
+    }
+}
@@ -1,23 +1,20 @@
 package com.lovemp.common.util;
 
 import java.io.*;
-import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * 文件工具类
@@ -31,9 +28,9 @@ import java.util.zip.ZipOutputStream;
  * 4. 目录操作：创建目录、列出文件、获取目录大小等
  * 5. 文件信息：获取文件扩展名、基本名称、大小、修改时间等
  * 6. 文件格式转换：Base64编码与解码
- * 7. 压缩与解压：ZIP文件的压缩和解压缩
- * 8. 文件哈希：计算文件MD5、SHA256值
- * 9. 大文件处理：文件分片上传、断点续传、秒传功能
+ * 7. 压缩与解压：ZIP文件的多线程压缩和安全的流式解压缩
+ * 8. 文件哈希：计算文件MD5、SHA256值，大文件内存映射计算，支持多文件并发计算和结果缓存
+ * 9. 大文件处理：文件并发分割与合并、分片并发上传、进程重启后可恢复的断点续传、秒传功能
  * 10. 资源文件读取：从classpath读取资源文件
  * 
  * 适用场景：
@@ -80,14 +77,24 @@ public final class FileUtils {
     private static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
     
     /**
-     * 文件哈希值缓存，用于秒传功能
+     * 文件哈希计算服务，结果按文件路径、大小和修改时间缓存
      */
-    private static final Map<String, String> FILE_HASH_CACHE = new ConcurrentHashMap<>();
+    private static final FileHashService HASH_SERVICE = new FileHashService();
     
     /**
-     * 已上传文件记录，用于秒传功能，键为文件哈希值，值为文件路径
+     * 已上传文件索引，用于秒传功能，键为文件哈希值
      */
-    private static final Map<String, String> UPLOADED_FILES = new ConcurrentHashMap<>();
+    private static final FileContentIndex UPLOADED_FILES = new FileContentIndex();
+
+    /**
+     * ZIP压缩与解压
+     */
+    private static final ZipArchiver ZIP_ARCHIVER = new ZipArchiver();
+
+    /**
+     * 文件分片器，用于文件分割与合并
+     */
+    private static final FileChunker FILE_CHUNKER = new FileChunker();
 
     /**
      * 默认分片大小：2MB
@@ -95,29 +102,43 @@ public final class FileUtils {
     private static final int DEFAULT_CHUNK_SIZE = 2 * 1024 * 1024;
     
     /**
-     * 上传状态记录，用于断点续传功能
-     * 键为文件的唯一标识，值为该文件的上传状态信息
+     * 分片上传日志目录的系统属性名
      */
-    private static final Map<String, UploadStatus> UPLOAD_STATUS_MAP = new ConcurrentHashMap<>();
+    public static final String UPLOAD_JOURNAL_DIR_PROPERTY = "lovemp.upload.journal-dir";
+
+    /**
+     * 分片上传引擎，用于断点续传功能，进度记录在日志中，进程重启后可恢复
+     *
+     * <p>日志目录由系统属性{@value #UPLOAD_JOURNAL_DIR_PROPERTY}指定，未指定时使用用户目录下的.lovemp/upload-journal，
+     * 不放在会被系统定期清理的临时目录。</p>
+     */
+    private static final ChunkedUploadEngine UPLOAD_ENGINE = new ChunkedUploadEngine(
+            uploadJournalDirectory(), ChunkedUploadEngine.DEFAULT_EXPIRY);
     
     /**
      * 文件上传状态类，记录断点续传的状态信息
+     *
+     * <p>分片状态使用原子位图记录，可被多个线程并发更新。</p>
      */
     public static class UploadStatus {
         private final String fileId;         // 文件唯一标识
         private final String filePath;       // 目标文件路径
         private final long totalSize;        // 文件总大小
+        private final int chunkSize;         // 分片大小
         private final int totalChunks;       // 总分片数
-        private final boolean[] uploadedChunks; // 已上传分片标记
-        private long uploadedSize;           // 已上传大小
+        private final AtomicLongArray uploadedChunks; // 已上传分片位图
+        private final AtomicInteger remainingChunks;  // 未上传分片数
+        private final AtomicLong uploadedSize;        // 已上传大小
         
-        private UploadStatus(String fileId, String filePath, long totalSize, int totalChunks) {
+        UploadStatus(String fileId, String filePath, long totalSize, int chunkSize) {
             this.fileId = fileId;
             this.filePath = filePath;
             this.totalSize = totalSize;
-            this.totalChunks = totalChunks;
-            this.uploadedChunks = new boolean[totalChunks];
-            this.uploadedSize = 0;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.uploadedChunks = new AtomicLongArray((totalChunks + 63) >>> 6);
+            this.remainingChunks = new AtomicInteger(totalChunks);
+            this.uploadedSize = new AtomicLong();
         }
         
         /**
@@ -141,6 +162,13 @@ public final class FileUtils {
             return totalSize;
         }
         
+        /**
+         * 获取分片大小
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+        
         /**
          * 获取总分片数
          */
@@ -148,60 +176,90 @@ public final class FileUtils {
             return totalChunks;
         }
         
+        /**
+         * 获取分片在目标文件中的偏移
+         */
+        public long getChunkOffset(int chunkIndex) {
+            return (long) chunkIndex * chunkSize;
+        }
+        
+        /**
+         * 获取分片应有的长度，最后一个分片可能不足分片大小
+         */
+        public int getChunkLength(int chunkIndex) {
+            return (int) Math.min(chunkSize, totalSize - getChunkOffset(chunkIndex));
+        }
+        
         /**
          * 获取已上传大小
          */
         public long getUploadedSize() {
-            return uploadedSize;
+            return uploadedSize.get();
         }
         
         /**
          * 设置已上传大小
          */
         public void setUploadedSize(long uploadedSize) {
-            this.uploadedSize = uploadedSize;
+            this.uploadedSize.set(uploadedSize);
         }
         
         /**
          * 标记分片为已上传
+         *
+         * @return 分片此前未上传时返回true，重复标记返回false
          */
-        public void markChunkUploaded(int chunkIndex, long chunkSize) {
-            if (chunkIndex >= 0 && chunkIndex < totalChunks) {
-                uploadedChunks[chunkIndex] = true;
-                uploadedSize += chunkSize;
+        public boolean markChunkUploaded(int chunkIndex, long chunkSize) {
+            if (chunkIndex < 0 || chunkIndex >= totalChunks) {
+                return false;
             }
+            int word = chunkIndex >>> 6;
+            long mask = 1L << chunkIndex;
+            long current;
+            do {
+                current = uploadedChunks.get(word);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+            } while (!uploadedChunks.compareAndSet(word, current, current | mask));
+            uploadedSize.addAndGet(chunkSize);
+            remainingChunks.decrementAndGet();
+            return true;
         }
         
         /**
          * 检查分片是否已上传
          */
         public boolean isChunkUploaded(int chunkIndex) {
-            return chunkIndex >= 0 && chunkIndex < totalChunks && uploadedChunks[chunkIndex];
+            return chunkIndex >= 0 && chunkIndex < totalChunks
+                    && (uploadedChunks.get(chunkIndex >>> 6) & (1L << chunkIndex)) != 0;
         }
         
         /**
          * 获取未上传的分片索引
          */
         public List<Integer> getNotUploadedChunks() {
-            List<Integer> notUploaded = new ArrayList<>();
+            List<Integer> notUploaded = new ArrayList<>(remainingChunks.get());
             for (int i = 0; i < totalChunks; i++) {
-                if (!uploadedChunks[i]) {
+                if (!isChunkUploaded(i)) {
                     notUploaded.add(i);
                 }
             }
             return notUploaded;
         }
         
+        /**
+         * 获取未上传的分片数
+         */
+        public int getRemainingChunks() {
+            return remainingChunks.get();
+        }
+        
         /**
          * 检查是否所有分片都已上传
          */
         public boolean isCompleted() {
-            for (boolean uploaded : uploadedChunks) {
-                if (!uploaded) {
-                    return false;
-                }
-            }
-            return true;
+            return remainingChunks.get() == 0;
         }
         
         /**
@@ -211,7 +269,7 @@ public final class FileUtils {
             if (totalSize == 0) {
                 return 0;
             }
-            return (int) (uploadedSize * 100 / totalSize);
+            return (int) (uploadedSize.get() * 100 / totalSize);
         }
     }
 
@@ -768,96 +826,57 @@ public final class FileUtils {
     }
 
     /**
-     * 压缩文件或目录
+     * 压缩文件或目录，多线程压缩，图片、压缩包等已压缩格式直接存储
      *
      * @param sourcePath 源文件或目录路径
      * @param zipPath    ZIP文件路径
      * @throws IOException IO异常
      */
     public static void zip(String sourcePath, String zipPath) throws IOException {
-        if (StringUtils.isEmpty(sourcePath) || StringUtils.isEmpty(zipPath)) {
-            return;
-        }
-        
-        Path source = Paths.get(sourcePath);
-        Path zipFile = Paths.get(zipPath);
-        
-        createParentDirectories(zipFile);
-        
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipPath))) {
-            if (Files.isDirectory(source)) {
-                zipDirectory(source, source.getFileName().toString(), zos);
-            } else {
-                zipFile(source, source.getFileName().toString(), zos);
-            }
-        }
+        zip(sourcePath, zipPath, ZipArchiver.CompressionMode.AUTO);
     }
 
     /**
-     * 压缩目录
+     * 压缩文件或目录，可指定压缩模式
+     *
+     * @param sourcePath 源文件或目录路径
+     * @param zipPath    ZIP文件路径
+     * @param mode       压缩模式
+     * @throws IOException IO异常
      */
-    private static void zipDirectory(Path directory, String baseName, ZipOutputStream zos) throws IOException {
-        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                String entryName = baseName + "/" + directory.relativize(file).toString().replace('\\', '/');
-                zipFile(file, entryName, zos);
-                return FileVisitResult.CONTINUE;
-            }
-            
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                if (!dir.equals(directory)) {
-                    String entryName = baseName + "/" + directory.relativize(dir).toString().replace('\\', '/') + "/";
-                    zos.putNextEntry(new ZipEntry(entryName));
-                    zos.closeEntry();
-                }
-                return FileVisitResult.CONTINUE;
-            }
-        });
+    public static void zip(String sourcePath, String zipPath, ZipArchiver.CompressionMode mode) throws IOException {
+        if (StringUtils.isEmpty(sourcePath) || StringUtils.isEmpty(zipPath)) {
+            return;
+        }
+        
+        ZIP_ARCHIVER.zip(Paths.get(sourcePath), Paths.get(zipPath), mode);
     }
 
     /**
-     * 压缩文件
+     * 解压文件，拒绝越出解压目录的条目，按默认限制防御压缩炸弹
+     *
+     * @param zipPath        ZIP文件路径
+     * @param extractPath    解压目标路径
+     * @throws IOException IO异常，条目不安全时抛出ZipException
      */
-    private static void zipFile(Path file, String entryName, ZipOutputStream zos) throws IOException {
-        if (Files.isRegularFile(file)) {
-            zos.putNextEntry(new ZipEntry(entryName));
-            Files.copy(file, zos);
-            zos.closeEntry();
-        }
+    public static void unzip(String zipPath, String extractPath) throws IOException {
+        unzip(zipPath, extractPath, ZipArchiver.Limits.defaults());
     }
 
     /**
-     * 解压文件
+     * 解压文件，可指定解压限制
      *
      * @param zipPath        ZIP文件路径
      * @param extractPath    解压目标路径
-     * @throws IOException IO异常
+     * @param limits         解压限制
+     * @throws IOException IO异常，条目不安全或超出限制时抛出ZipException
      */
-    public static void unzip(String zipPath, String extractPath) throws IOException {
+    public static void unzip(String zipPath, String extractPath, ZipArchiver.Limits limits) throws IOException {
         if (StringUtils.isEmpty(zipPath) || StringUtils.isEmpty(extractPath)) {
             return;
         }
         
-        Path targetDir = Paths.get(extractPath);
-        createDirectories(extractPath);
-        
-        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(zipPath))) {
-            ZipEntry entry;
-            while ((entry = zis.getNextEntry()) != null) {
-                Path path = targetDir.resolve(entry.getName());
-                
-                if (entry.isDirectory()) {
-                    Files.createDirectories(path);
-                } else {
-                    createParentDirectories(path);
-                    Files.copy(zis, path, StandardCopyOption.REPLACE_EXISTING);
-                }
-                
-                zis.closeEntry();
-            }
-        }
+        ZIP_ARCHIVER.unzip(Paths.get(zipPath), Paths.get(extractPath), limits);
     }
 
     /**
@@ -924,6 +943,8 @@ public final class FileUtils {
     /**
      * 计算文件的MD5哈希值
      *
+     * <p>结果按文件路径、大小和修改时间缓存，文件被修改后重新计算。</p>
+     *
      * @param filePath 文件路径
      * @return MD5哈希值
      * @throws IOException IO异常
@@ -932,38 +953,14 @@ public final class FileUtils {
         if (StringUtils.isEmpty(filePath)) {
             return null;
         }
-        
-        // 首先检查缓存中是否已有该文件的哈希值
-        if (FILE_HASH_CACHE.containsKey(filePath)) {
-            return FILE_HASH_CACHE.get(filePath);
-        }
-        
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            try (InputStream is = Files.newInputStream(Paths.get(filePath));
-                 DigestInputStream dis = new DigestInputStream(is, md)) {
-                
-                byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-                while (dis.read(buffer) != -1) {
-                    // 读取文件内容，自动更新MessageDigest
-                }
-                
-                byte[] digest = md.digest();
-                String md5Hex = bytesToHex(digest);
-                
-                // 将结果存入缓存
-                FILE_HASH_CACHE.put(filePath, md5Hex);
-                
-                return md5Hex;
-            }
-        } catch (NoSuchAlgorithmException e) {
-            throw new IOException("计算MD5哈希值失败", e);
-        }
+        return HASH_SERVICE.hash(Paths.get(filePath), FileHashService.MD5);
     }
     
     /**
      * 计算文件的SHA-256哈希值
      *
+     * <p>结果按文件路径、大小和修改时间缓存，文件被修改后重新计算。</p>
+     *
      * @param filePath 文件路径
      * @return SHA-256哈希值
      * @throws IOException IO异常
@@ -972,34 +969,31 @@ public final class FileUtils {
         if (StringUtils.isEmpty(filePath)) {
             return null;
         }
-        
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            try (InputStream is = Files.newInputStream(Paths.get(filePath));
-                 DigestInputStream dis = new DigestInputStream(is, md)) {
-                
-                byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-                while (dis.read(buffer) != -1) {
-                    // 读取文件内容，自动更新MessageDigest
-                }
-                
-                byte[] digest = md.digest();
-                return bytesToHex(digest);
-            }
-        } catch (NoSuchAlgorithmException e) {
-            throw new IOException("计算SHA-256哈希值失败", e);
-        }
+        return HASH_SERVICE.hash(Paths.get(filePath), FileHashService.SHA_256);
     }
-    
+
     /**
-     * 字节数组转十六进制字符串
+     * 并发计算多个文件的哈希值
+     *
+     * @param filePaths 文件路径列表
+     * @param algorithm 摘要算法，如MD5、SHA-256
+     * @return 文件路径到哈希值的映射，顺序与传入顺序一致
+     * @throws IOException 任一文件读取失败
      */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    public static Map<String, String> calculateFileHashes(List<String> filePaths, String algorithm) throws IOException {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (filePaths == null || filePaths.isEmpty()) {
+            return result;
         }
-        return sb.toString();
+        List<Path> paths = new ArrayList<>(filePaths.size());
+        for (String filePath : filePaths) {
+            paths.add(Paths.get(filePath));
+        }
+        Map<Path, String> hashes = HASH_SERVICE.hashAll(paths, algorithm);
+        for (int i = 0; i < filePaths.size(); i++) {
+            result.put(filePaths.get(i), hashes.get(paths.get(i)));
+        }
+        return result;
     }
     
     /**
@@ -1015,28 +1009,31 @@ public final class FileUtils {
         }
         
         String fileHash = calculateFileMD5(filePath);
-        UPLOADED_FILES.put(fileHash, filePath);
+        UPLOADED_FILES.register(fileHash, Paths.get(filePath));
         return fileHash;
     }
     
     /**
      * 检查文件是否可以秒传
      *
+     * <p>已登记的文件被删除或修改后不再可秒传，对应记录同时被移除。</p>
+     *
      * @param fileHash 文件哈希值
      * @return 如果文件可以秒传则返回true，否则返回false
      */
     public static boolean canFastUpload(String fileHash) {
-        return fileHash != null && UPLOADED_FILES.containsKey(fileHash);
+        return UPLOADED_FILES.lookup(fileHash) != null;
     }
     
     /**
      * 获取已上传文件的路径
      *
      * @param fileHash 文件哈希值
-     * @return 文件路径，如果文件不存在则返回null
+     * @return 文件路径，如果文件不存在或已被修改则返回null
      */
     public static String getUploadedFilePath(String fileHash) {
-        return UPLOADED_FILES.get(fileHash);
+        Path path = UPLOADED_FILES.lookup(fileHash);
+        return path == null ? null : path.toString();
     }
     
     /**
@@ -1048,14 +1045,8 @@ public final class FileUtils {
      * @throws IOException IO异常
      */
     public static boolean fastUpload(String fileHash, String targetPath) throws IOException {
-        if (!canFastUpload(fileHash)) {
-            return false;
-        }
-        
         String sourcePath = getUploadedFilePath(fileHash);
-        if (sourcePath == null || !Files.exists(Paths.get(sourcePath))) {
-            // 源文件不存在，移除无效记录
-            UPLOADED_FILES.remove(fileHash);
+        if (sourcePath == null) {
             return false;
         }
         
@@ -1068,7 +1059,7 @@ public final class FileUtils {
      * 清除文件哈希缓存
      */
     public static void clearFileHashCache() {
-        FILE_HASH_CACHE.clear();
+        HASH_SERVICE.clear();
     }
     
     /**
@@ -1078,13 +1069,15 @@ public final class FileUtils {
      */
     public static void removeFileHashCache(String filePath) {
         if (StringUtils.isNotEmpty(filePath)) {
-            FILE_HASH_CACHE.remove(filePath);
+            HASH_SERVICE.invalidate(Paths.get(filePath));
         }
     }
     
     /**
      * 保存文件哈希记录到文件
      *
+     * <p>使用紧凑的二进制格式，先写临时文件再原子替换。</p>
+     *
      * @param filePath 保存路径
      * @throws IOException IO异常
      */
@@ -1092,17 +1085,11 @@ public final class FileUtils {
         if (StringUtils.isEmpty(filePath)) {
             return;
         }
-        
-        List<String> lines = new ArrayList<>();
-        for (Map.Entry<String, String> entry : UPLOADED_FILES.entrySet()) {
-            lines.add(entry.getKey() + "," + entry.getValue());
-        }
-        
-        writeLines(filePath, lines, false);
+        UPLOADED_FILES.save(Paths.get(filePath));
     }
     
     /**
-     * 从文件加载文件哈希记录
+     * 从文件加载文件哈希记录，兼容旧版"哈希,路径"文本格式
      *
      * @param filePath 文件路径
      * @throws IOException IO异常
@@ -1111,14 +1098,7 @@ public final class FileUtils {
         if (StringUtils.isEmpty(filePath) || !Files.exists(Paths.get(filePath))) {
             return;
         }
-        
-        List<String> lines = readLines(filePath);
-        for (String line : lines) {
-            String[] parts = line.split(",", 2);
-            if (parts.length == 2) {
-                UPLOADED_FILES.put(parts[0], parts[1]);
-            }
-        }
+        UPLOADED_FILES.load(Paths.get(filePath));
     }
 
     /**
@@ -1136,6 +1116,8 @@ public final class FileUtils {
     /**
      * 初始化文件上传，准备断点续传
      *
+     * <p>同一文件标识以相同参数再次初始化时返回已有进度，包括进程重启前的进度。</p>
+     *
      * @param fileId 文件唯一标识（可以是文件名、MD5等）
      * @param filePath 目标文件路径
      * @param totalSize 文件总大小
@@ -1143,23 +1125,11 @@ public final class FileUtils {
      * @return 上传状态对象
      */
     public static UploadStatus initUpload(String fileId, String filePath, long totalSize, int chunkSize) {
-        if (StringUtils.isEmpty(fileId) || StringUtils.isEmpty(filePath) || totalSize <= 0) {
-            throw new IllegalArgumentException("参数错误");
-        }
-        
-        int totalChunks = (int) Math.ceil((double) totalSize / chunkSize);
-        UploadStatus status = new UploadStatus(fileId, filePath, totalSize, totalChunks);
-        UPLOAD_STATUS_MAP.put(fileId, status);
-        
-        // 创建临时目录用于存放分片
-        String chunkDir = getChunkDirectory(fileId);
         try {
-            createDirectories(chunkDir);
+            return UPLOAD_ENGINE.init(fileId, filePath, totalSize, chunkSize);
         } catch (IOException e) {
-            throw new RuntimeException("创建分片目录失败", e);
+            throw new UncheckedIOException("初始化上传失败: " + fileId, e);
         }
-        
-        return status;
     }
     
     /**
@@ -1169,11 +1139,15 @@ public final class FileUtils {
      * @return 上传状态对象，如果不存在则返回null
      */
     public static UploadStatus getUploadStatus(String fileId) {
-        return UPLOAD_STATUS_MAP.get(fileId);
+        try {
+            return UPLOAD_ENGINE.getStatus(fileId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取上传状态失败: " + fileId, e);
+        }
     }
     
     /**
-     * 上传文件分片
+     * 上传文件分片，分片直接写入目标临时文件的对应位置，可并发上传不同分片
      *
      * @param fileId 文件唯一标识
      * @param chunkIndex 分片索引
@@ -1182,28 +1156,11 @@ public final class FileUtils {
      * @throws IOException IO异常
      */
     public static boolean uploadChunk(String fileId, int chunkIndex, byte[] chunkData) throws IOException {
-        UploadStatus status = getUploadStatus(fileId);
-        if (status == null) {
-            throw new IllegalArgumentException("未找到上传状态: " + fileId);
-        }
-        
-        if (chunkIndex < 0 || chunkIndex >= status.getTotalChunks()) {
-            throw new IllegalArgumentException("分片索引无效: " + chunkIndex);
-        }
-        
-        if (status.isChunkUploaded(chunkIndex)) {
-            return true; // 分片已上传，直接返回成功
-        }
-        
-        String chunkPath = getChunkPath(fileId, chunkIndex);
-        writeByteArrayToFile(chunkPath, chunkData, false);
-        
-        status.markChunkUploaded(chunkIndex, chunkData.length);
-        return true;
+        return UPLOAD_ENGINE.writeChunk(fileId, chunkIndex, ByteBuffer.wrap(chunkData));
     }
     
     /**
-     * 上传文件分片
+     * 上传文件分片，分片直接写入目标临时文件的对应位置，可并发上传不同分片
      *
      * @param fileId 文件唯一标识
      * @param chunkIndex 分片索引
@@ -1216,117 +1173,70 @@ public final class FileUtils {
             throw new FileNotFoundException("分片文件不存在: " + chunkFile.getPath());
         }
         
-        UploadStatus status = getUploadStatus(fileId);
-        if (status == null) {
-            throw new IllegalArgumentException("未找到上传状态: " + fileId);
-        }
-        
-        if (chunkIndex < 0 || chunkIndex >= status.getTotalChunks()) {
-            throw new IllegalArgumentException("分片索引无效: " + chunkIndex);
-        }
-        
-        if (status.isChunkUploaded(chunkIndex)) {
-            return true; // 分片已上传，直接返回成功
-        }
-        
-        String chunkPath = getChunkPath(fileId, chunkIndex);
-        copyFile(chunkFile.getPath(), chunkPath);
-        
-        status.markChunkUploaded(chunkIndex, chunkFile.length());
-        return true;
+        return UPLOAD_ENGINE.writeChunk(fileId, chunkIndex, chunkFile.toPath());
     }
     
     /**
-     * 完成文件上传，合并所有分片
+     * 完成文件上传，分片已写入目标位置，只需将临时文件重命名为目标文件
      *
      * @param fileId 文件唯一标识
      * @return 是否成功
      * @throws IOException IO异常
      */
     public static boolean completeUpload(String fileId) throws IOException {
-        UploadStatus status = getUploadStatus(fileId);
-        if (status == null) {
-            throw new IllegalArgumentException("未找到上传状态: " + fileId);
-        }
-        
-        if (!status.isCompleted()) {
-            List<Integer> notUploaded = status.getNotUploadedChunks();
-            throw new IllegalStateException("文件未完成上传，还有" + notUploaded.size() + "个分片未上传");
-        }
-        
-        // 创建目标文件的父目录
-        Path targetPath = Paths.get(status.getFilePath());
-        createParentDirectories(targetPath);
-        
-        // 合并分片
-        try (FileChannel targetChannel = FileChannel.open(targetPath, 
-                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            
-            for (int i = 0; i < status.getTotalChunks(); i++) {
-                String chunkPath = getChunkPath(fileId, i);
-                Path chunkFilePath = Paths.get(chunkPath);
-                
-                try (FileChannel sourceChannel = FileChannel.open(chunkFilePath, StandardOpenOption.READ)) {
-                    long position = targetChannel.position();
-                    sourceChannel.transferTo(0, sourceChannel.size(), targetChannel);
-                    targetChannel.position(position + sourceChannel.size());
-                }
-            }
-        }
-        
-        // 删除分片目录
-        deleteDirectory(getChunkDirectory(fileId));
-        
-        // 移除上传状态
-        UPLOAD_STATUS_MAP.remove(fileId);
-        
+        UPLOAD_ENGINE.complete(fileId);
         return true;
     }
     
     /**
-     * 取消文件上传，删除所有分片
+     * 取消文件上传，删除临时文件和上传日志
      *
      * @param fileId 文件唯一标识
      * @return 是否成功
      */
     public static boolean cancelUpload(String fileId) {
-        UploadStatus status = getUploadStatus(fileId);
-        if (status == null) {
+        try {
+            return UPLOAD_ENGINE.cancel(fileId);
+        } catch (IOException e) {
             return false;
         }
-        
-        // 删除分片目录
-        deleteDirectory(getChunkDirectory(fileId));
-        
-        // 移除上传状态
-        UPLOAD_STATUS_MAP.remove(fileId);
-        
-        return true;
     }
     
     /**
-     * 获取分片目录路径
+     * 清理超过有效期未活动的上传
      *
-     * @param fileId 文件唯一标识
-     * @return 分片目录路径
+     * @return 清理的上传数
+     * @throws IOException IO异常
      */
-    private static String getChunkDirectory(String fileId) {
-        return System.getProperty("java.io.tmpdir") + File.separator + "chunks" + File.separator + fileId;
+    public static int purgeExpiredUploads() throws IOException {
+        return UPLOAD_ENGINE.purgeExpired();
     }
     
     /**
-     * 获取分片文件路径
+     * 获取分片上传日志目录
+     *
+     * @return 系统属性指定的目录，未指定时为用户目录下的.lovemp/upload-journal
+     */
+    private static Path uploadJournalDirectory() {
+        String configured = System.getProperty(UPLOAD_JOURNAL_DIR_PROPERTY);
+        if (StringUtils.isNotBlank(configured)) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".lovemp", "upload-journal");
+    }
+
+    /**
+     * 获取分片目录路径
      *
      * @param fileId 文件唯一标识
-     * @param chunkIndex 分片索引
-     * @return 分片文件路径
+     * @return 分片目录路径
      */
-    private static String getChunkPath(String fileId, int chunkIndex) {
-        return getChunkDirectory(fileId) + File.separator + chunkIndex;
+    private static String getChunkDirectory(String fileId) {
+        return System.getProperty("java.io.tmpdir") + File.separator + "chunks" + File.separator + fileId;
     }
     
     /**
-     * 将文件分割成多个分片
+     * 将文件分割成多个分片，各分片由源文件通道按偏移并发传输到分片文件
      *
      * @param filePath 文件路径
      * @param chunkSize 分片大小（字节）
@@ -1343,44 +1253,40 @@ public final class FileUtils {
             throw new FileNotFoundException("文件不存在: " + filePath);
         }
         
-        long fileSize = Files.size(path);
-        if (fileSize == 0) {
+        String fileId = UUID.randomUUID().toString();
+        List<Path> chunks = FILE_CHUNKER.split(path, chunkSize, Paths.get(getChunkDirectory(fileId)));
+        List<String> chunkPaths = new ArrayList<>(chunks.size());
+        for (Path chunk : chunks) {
+            chunkPaths.add(chunk.toString());
+        }
+        return chunkPaths;
+    }
+    
+    /**
+     * 生成文件的分片描述（索引、偏移、长度、哈希），不创建分片文件
+     *
+     * @param filePath 文件路径
+     * @param chunkSize 分片大小（字节）
+     * @param algorithm 分片摘要算法，如MD5、SHA-256；为null时不计算哈希
+     * @return 分片描述列表
+     * @throws IOException IO异常
+     */
+    public static List<FileChunker.ChunkDescriptor> describeChunks(String filePath, int chunkSize, String algorithm)
+            throws IOException {
+        if (StringUtils.isEmpty(filePath)) {
             return new ArrayList<>();
         }
         
-        String fileId = UUID.randomUUID().toString();
-        String chunkDir = getChunkDirectory(fileId);
-        createDirectories(chunkDir);
-        
-        int totalChunks = (int) Math.ceil((double) fileSize / chunkSize);
-        List<String> chunkPaths = new ArrayList<>(totalChunks);
-        
-        try (FileInputStream fis = new FileInputStream(filePath)) {
-            byte[] buffer = new byte[chunkSize];
-            int bytesRead;
-            int chunkIndex = 0;
-            
-            while ((bytesRead = fis.read(buffer)) > 0) {
-                String chunkPath = getChunkPath(fileId, chunkIndex);
-                if (bytesRead < chunkSize) {
-                    // 最后一个分片可能不足chunkSize
-                    byte[] lastChunk = new byte[bytesRead];
-                    System.arraycopy(buffer, 0, lastChunk, 0, bytesRead);
-                    writeByteArrayToFile(chunkPath, lastChunk, false);
-                } else {
-                    writeByteArrayToFile(chunkPath, buffer, false);
-                }
-                
-                chunkPaths.add(chunkPath);
-                chunkIndex++;
-            }
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException("文件不存在: " + filePath);
         }
         
-        return chunkPaths;
+        return FILE_CHUNKER.describe(path, chunkSize, algorithm);
     }
     
     /**
-     * 将多个分片合并成一个文件
+     * 将多个分片合并成一个文件，各分片并发写入目标文件的对应偏移
      *
      * @param chunkPaths 分片文件路径列表
      * @param targetFilePath 目标文件路径
@@ -1391,24 +1297,10 @@ public final class FileUtils {
             return;
         }
         
-        Path targetPath = Paths.get(targetFilePath);
-        createParentDirectories(targetPath);
-        
-        try (FileChannel targetChannel = FileChannel.open(targetPath, 
-                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            
-            for (String chunkPath : chunkPaths) {
-                Path chunkFilePath = Paths.get(chunkPath);
-                if (!Files.exists(chunkFilePath)) {
-                    throw new FileNotFoundException("分片文件不存在: " + chunkPath);
-                }
-                
-                try (FileChannel sourceChannel = FileChannel.open(chunkFilePath, StandardOpenOption.READ)) {
-                    long position = targetChannel.position();
-                    sourceChannel.transferTo(0, sourceChannel.size(), targetChannel);
-                    targetChannel.position(position + sourceChannel.size());
-                }
-            }
+        List<Path> chunks = new ArrayList<>(chunkPaths.size());
+        for (String chunkPath : chunkPaths) {
+            chunks.add(Paths.get(chunkPath));
         }
+        FILE_CHUNKER.merge(chunks, Paths.get(targetFilePath));
     }
 } 
\ No newline at end of file
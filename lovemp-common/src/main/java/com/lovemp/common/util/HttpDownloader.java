@@ -0,0 +1,453 @@
+package com.lovemp.common.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * HTTP文件下载器
+ *
+ * 基于{@link AsyncHttpClient}的流式下载实现，响应体到达后直接按偏移量写入FileChannel，不在堆内缓存整个文件。
+ *
+ * 主要功能：
+ * 1. 流式下载：内存占用与文件大小无关，只与网络缓冲区大小相关
+ * 2. 原子替换：先写入同目录的"文件名.part"，下载和校验全部成功后再原子移动到目标路径，失败时不影响已有文件
+ * 3. 断点续传：本地已有部分文件时发送Range请求，服务端返回206则从已下载位置继续写入，返回200则重新下载；
+ *    返回416时只有Content-Range声明的总长度与本地一致才视为已完整，否则重新下载
+ * 4. 分段并行下载：对支持Range的服务端，将大文件拆分为多个区间并发下载，各区间写入文件的不同位置
+ * 5. 完整性校验：下载过程中同步计算摘要（MD5、SHA-256等），与期望值不一致时删除临时文件并抛出异常
+ *
+ * 使用示例：
+ * HttpDownloader downloader = new HttpDownloader(new AsyncHttpClient());
+ * long size = downloader.download("https://files.example.com/archive.zip", Paths.get("/data/archive.zip"),
+ *         null, true, "SHA-256", expectedSha256);
+ *
+ * 注意：
+ * 1. 分段下载要求服务端返回Content-Length并声明Accept-Ranges: bytes，否则自动退化为单连接下载
+ * 2. 分段下载的摘要在所有区间写完后顺序读取文件计算；断点续传会先读取已下载部分计算摘要
+ * 3. 续传时未完成的部分保存在.part文件中，下次续传从该文件继续；没有.part文件时以目标文件的现有内容作为已下载部分
+ * 4. 分段请求受AsyncHttpClient每个主机并发上限约束
+ * 5. 状态码错误抛出HttpClientErrorException/HttpServerErrorException，网络异常抛出ResourceAccessException，
+ *    本地文件读写异常抛出IOException
+ */
+public final class HttpDownloader {
+
+    /**
+     * 默认分段下载的最小分段大小（4MB），小于两个分段的文件不做分段
+     */
+    public static final long DEFAULT_MIN_SEGMENT_SIZE = 4L * 1024 * 1024;
+
+    /**
+     * 计算已有文件摘要时的读取缓冲区大小
+     */
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 下载中临时文件的后缀
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * 续传响应表示本地部分文件不可用、需要从头下载
+     */
+    private static final long RESTART = -1L;
+
+    private final AsyncHttpClient client;
+
+    private final long minSegmentSize;
+
+    /**
+     * 使用默认最小分段大小创建下载器
+     *
+     * @param client 异步HTTP客户端
+     */
+    public HttpDownloader(AsyncHttpClient client) {
+        this(client, DEFAULT_MIN_SEGMENT_SIZE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param client         异步HTTP客户端
+     * @param minSegmentSize 最小分段大小（字节）
+     */
+    public HttpDownloader(AsyncHttpClient client, long minSegmentSize) {
+        if (client == null) {
+            throw new IllegalArgumentException("HTTP客户端不能为空");
+        }
+        if (minSegmentSize <= 0) {
+            throw new IllegalArgumentException("最小分段大小必须大于0");
+        }
+        this.client = client;
+        this.minSegmentSize = minSegmentSize;
+    }
+
+    /**
+     * 流式下载文件
+     *
+     * @param url               文件URL
+     * @param target            保存路径
+     * @param headers           请求头，可为null
+     * @param resume            是否从已存在的部分文件续传，为false时下载成功后覆盖已有文件
+     * @param checksumAlgorithm 摘要算法（如MD5、SHA-256），为null时不校验
+     * @param expectedChecksum  期望的十六进制摘要值，为null时不校验
+     * @return 文件总字节数
+     * @throws IOException 本地文件读写失败
+     * @throws IllegalStateException 摘要校验失败
+     */
+    public long download(String url, Path target, Map<String, String> headers, boolean resume,
+                         String checksumAlgorithm, String expectedChecksum) throws IOException {
+        FileUtils.createParentDirectories(target);
+        MessageDigest digest = newDigest(checksumAlgorithm, expectedChecksum);
+        Path part = partFileOf(target);
+        boolean completed = false;
+        long total;
+        try {
+            if (!resume) {
+                Files.deleteIfExists(part);
+            } else if (Files.notExists(part) && Files.isRegularFile(target)) {
+                Files.copy(target, part);
+            }
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ)) {
+                long existing = channel.size();
+                if (digest != null && existing > 0) {
+                    updateDigest(digest, channel, existing);
+                }
+                total = fetch(url, headers, channel, existing, digest);
+                if (total == RESTART) {
+                    channel.truncate(0);
+                    if (digest != null) {
+                        digest.reset();
+                    }
+                    total = fetch(url, headers, channel, 0L, digest);
+                }
+                channel.truncate(total);
+            }
+            verify(part, digest, expectedChecksum);
+            moveIntoPlace(part, target);
+            completed = true;
+        } finally {
+            // 续传模式保留.part供下次继续，否则失败时清理
+            if (!completed && !resume) {
+                deleteQuietly(part);
+            }
+        }
+        return total;
+    }
+
+    private long fetch(String url, Map<String, String> headers, FileChannel channel, long existing,
+                       MessageDigest digest) throws IOException {
+        HttpRequest.Builder builder = client.newRequest(URI.create(url), headers).GET();
+        if (existing > 0) {
+            builder.setHeader("Range", "bytes=" + existing + "-");
+        }
+        return await(client.send(builder.build(), info -> resumeSubscriber(info, channel, existing, digest))
+                .thenApply(HttpResponse::body));
+    }
+
+    /**
+     * 分段并行下载文件
+     *
+     * <p>服务端不支持Range、文件长度未知或文件小于两个最小分段时，退化为单连接流式下载。</p>
+     *
+     * @param url               文件URL
+     * @param target            保存路径，已存在时在下载成功后被覆盖
+     * @param segments          最大分段数
+     * @param headers           请求头，可为null
+     * @param checksumAlgorithm 摘要算法，为null时不校验
+     * @param expectedChecksum  期望的十六进制摘要值，为null时不校验
+     * @return 文件总字节数
+     * @throws IOException 本地文件读写失败
+     * @throws IllegalStateException 摘要校验失败或服务端未按区间响应
+     */
+    public long downloadSegmented(String url, Path target, int segments, Map<String, String> headers,
+                                  String checksumAlgorithm, String expectedChecksum) throws IOException {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("分段数必须大于0");
+        }
+        URI uri = URI.create(url);
+        HttpResponse<Void> head = await(client.send(
+                client.newRequest(uri, headers).method("HEAD", HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding()));
+        long length = head.headers().firstValueAsLong("Content-Length").orElse(-1L);
+        boolean rangeSupported = head.statusCode() == 200
+                && head.headers().firstValue("Accept-Ranges").map("bytes"::equalsIgnoreCase).orElse(false);
+        int count = (int) Math.min(segments, length / minSegmentSize);
+        if (!rangeSupported || count < 2) {
+            return download(url, target, headers, false, checksumAlgorithm, expectedChecksum);
+        }
+
+        MessageDigest digest = newDigest(checksumAlgorithm, expectedChecksum);
+        FileUtils.createParentDirectories(target);
+        Path part = partFileOf(target);
+        boolean completed = false;
+        try {
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long segmentSize = (length + count - 1) / count;
+                List<CompletableFuture<Long>> futures = new ArrayList<>(count);
+                for (long start = 0; start < length; start += segmentSize) {
+                    long end = Math.min(start + segmentSize, length) - 1;
+                    long offset = start;
+                    HttpRequest request = client.newRequest(uri, headers)
+                            .setHeader("Range", "bytes=" + start + "-" + end)
+                            .GET()
+                            .build();
+                    futures.add(client.send(request, info -> segmentSubscriber(info, channel, offset, end))
+                            .thenApply(HttpResponse::body));
+                }
+                await(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])));
+                if (channel.size() != length) {
+                    throw new IllegalStateException("分段下载的文件长度不一致: 期望" + length + "，实际" + channel.size());
+                }
+                if (digest != null) {
+                    updateDigest(digest, channel, length);
+                }
+            }
+            verify(part, digest, expectedChecksum);
+            moveIntoPlace(part, target);
+            completed = true;
+        } finally {
+            if (!completed) {
+                deleteQuietly(part);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 续传响应的处理：206从已有位置追加，416且声明的总长度与本地一致表示文件已完整，其他成功状态从头写入
+     */
+    private static HttpResponse.BodySubscriber<Long> resumeSubscriber(HttpResponse.ResponseInfo info, FileChannel channel,
+                                                                      long existing, MessageDigest digest) {
+        int status = info.statusCode();
+        if (existing > 0 && status == 206) {
+            return new FileChannelSubscriber(channel, existing, digest);
+        }
+        if (existing > 0 && status == 416) {
+            long length = info.headers().firstValue("Content-Range").map(HttpDownloader::unsatisfiedRangeLength)
+                    .orElse(RESTART);
+            return HttpResponse.BodySubscribers.replacing(length == existing ? existing : RESTART);
+        }
+        if (status >= 400) {
+            return errorSubscriber(info);
+        }
+        if (digest != null) {
+            digest.reset();
+        }
+        return new FileChannelSubscriber(channel, 0L, digest);
+    }
+
+    /**
+     * 分段响应的处理：只接受206，服务端忽略Range返回整个文件时视为失败
+     */
+    private static HttpResponse.BodySubscriber<Long> segmentSubscriber(HttpResponse.ResponseInfo info, FileChannel channel,
+                                                                       long offset, long end) {
+        if (info.statusCode() >= 400) {
+            return errorSubscriber(info);
+        }
+        if (info.statusCode() != 206) {
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.discarding(), ignored -> {
+                throw new IllegalStateException("服务端未按区间响应，状态码: " + info.statusCode());
+            });
+        }
+        return HttpResponse.BodySubscribers.mapping(new FileChannelSubscriber(channel, offset, null), written -> {
+            if (written != end + 1) {
+                throw new IllegalStateException("分段数据不完整: 期望写到" + (end + 1) + "，实际写到" + written);
+            }
+            return written;
+        });
+    }
+
+    private static HttpResponse.BodySubscriber<Long> errorSubscriber(HttpResponse.ResponseInfo info) {
+        HttpHeaders headers = info.headers();
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), body -> {
+            throw AsyncHttpClient.statusException(info.statusCode(), headers, body);
+        });
+    }
+
+    /**
+     * 解析416响应的Content-Range（bytes *&#47;总长度）
+     *
+     * @return 总长度，格式无效时返回RESTART
+     */
+    private static long unsatisfiedRangeLength(String contentRange) {
+        String prefix = "bytes */";
+        if (!contentRange.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return RESTART;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(prefix.length()).trim());
+        } catch (NumberFormatException e) {
+            return RESTART;
+        }
+    }
+
+    private static Path partFileOf(Path target) {
+        return target.resolveSibling(target.getFileName() + PART_SUFFIX);
+    }
+
+    private static void moveIntoPlace(Path part, Path target) throws IOException {
+        try {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // 清理失败不影响原始异常
+        }
+    }
+
+    private static MessageDigest newDigest(String algorithm, String expected) {
+        if (algorithm == null || expected == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("不支持的摘要算法: " + algorithm, e);
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, FileChannel channel, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+        long position = 0;
+        while (position < length) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), length - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+    }
+
+    private static void verify(Path part, MessageDigest digest, String expected) throws IOException {
+        if (digest == null) {
+            return;
+        }
+        String actual = HexFormat.of().formatHex(digest.digest());
+        if (!actual.equalsIgnoreCase(expected)) {
+            Files.deleteIfExists(part);
+            throw new IllegalStateException("文件校验失败: 期望" + expected + "，实际" + actual);
+        }
+    }
+
+    /**
+     * 等待异步结果，将包装异常还原为原始异常
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("下载被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("下载失败", cause);
+        }
+    }
+
+    /**
+     * 将响应体按到达顺序写入文件指定偏移量，同时更新摘要，结果为写入结束时的文件位置
+     */
+    private static final class FileChannelSubscriber implements HttpResponse.BodySubscriber<Long> {
+
+        private final FileChannel channel;
+
+        private final MessageDigest digest;
+
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private Flow.Subscription subscription;
+
+        private long position;
+
+        private FileChannelSubscriber(FileChannel channel, long position, MessageDigest digest) {
+            this.channel = channel;
+            this.position = position;
+            this.digest = digest;
+        }
+
+        @Override
+        public CompletionStage<Long> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    if (digest != null) {
+                        digest.update(buffer.duplicate());
+                    }
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                }
+                subscription.request(1);
+            } catch (IOException e) {
+                subscription.cancel();
+                result.completeExceptionally(new UncheckedIOException(e));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(position);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.lovemp.common.util;
 
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
@@ -11,25 +12,30 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * HTTP工具类
  * 
- * <p>基于Spring RestTemplate提供常用的HTTP请求方法，支持各种请求方式、参数传递、文件上传下载和重试机制。</p>
+ * <p>基于Spring RestTemplate提供常用的HTTP请求方法，支持各种请求方式、参数传递、文件上传下载和重试机制。
+ * RestTemplate与异步方法共享同一个{@link AsyncHttpClient}连接池（JDK HttpClient，支持HTTP/2与连接保活）。</p>
  * 
  * <h2>功能分类</h2>
  * <ol>
  *   <li>基础请求：GET、POST、PUT、DELETE等HTTP方法支持</li>
  *   <li>参数处理：URL参数、表单参数和JSON格式请求体</li>
- *   <li>文件传输：文件上传与下载</li>
+ *   <li>文件传输：文件上传，流式下载、断点续传、分段并行下载与摘要校验</li>
  *   <li>请求头管理：自定义和默认请求头设置</li>
  *   <li>请求增强：超时设置、重试机制</li>
+ *   <li>异步请求：返回CompletableFuture的GET、POST、PUT请求及批量并发执行</li>
  *   <li>URL构建：带参数的URL构建</li>
  * </ol>
  * 
@@ -41,6 +47,7 @@ import java.util.concurrent.TimeUnit;
  *   <li>文件上传与下载服务</li>
  *   <li>WebHook事件通知</li>
  *   <li>需要重试机制的不稳定网络环境</li>
+ *   <li>并发调用多个第三方核验服务</li>
  * </ol>
  * 
  * <h2>代码示例</h2>
@@ -76,24 +83,32 @@ import java.util.concurrent.TimeUnit;
  *     "/downloads/report.pdf"
  * );
  * 
- * // 带重试的请求
- * String response = HttpUtils.requestWithRetry(
- *     () -&gt; HttpUtils.get("https://api.example.com/users"),
- *     3,
- *     1000
- * );
+ * // 带重试和熔断的请求（见OutboundCallExecutor）
+ * String url = "https://api.example.com/users";
+ * String response = outboundCallExecutor.execute(OutboundPolicy.DEFAULT_POLICY,
+ *     OutboundCallExecutor.endpointOf(url), () -&gt; HttpUtils.get(url));
+ * 
+ * // 异步请求与批量并发执行
+ * CompletableFuture&lt;String&gt; future = HttpUtils.getAsync("https://api.example.com/users");
+ * CompletableFuture&lt;List&lt;String&gt;&gt; all = HttpUtils.executeAll(List.of(
+ *     () -&gt; HttpUtils.getAsync("https://api.example.com/idcard/verify", idCardParams),
+ *     () -&gt; HttpUtils.getAsync("https://api.example.com/mobile/verify", mobileParams)
+ * ));
  * </pre>
  * 
  * <h2>使用注意事项</h2>
  * <ol>
  *   <li>所有请求默认10秒超时时间，长耗时操作应考虑调整超时设置</li>
- *   <li>文件上传下载操作可能耗费大量网络资源，建议异步处理大文件</li>
+ *   <li>文件上传下载操作可能耗费大量网络资源，建议异步处理大文件；大文件下载优先使用分段下载或断点续传</li>
  *   <li>敏感信息（如密码、令牌）不应明文传输，使用HTTPS并考虑加密</li>
  *   <li>请求重试应用于幂等操作，非幂等操作（如资源创建）慎用重试机制</li>
  *   <li>错误处理：工具类会将网络异常转换为RuntimeException，调用方需妥善处理</li>
- *   <li>大批量请求应考虑限流和熔断机制，避免压垮目标服务</li>
+ *   <li>大批量请求应考虑限流和熔断机制，避免压垮目标服务；重试与熔断统一通过OutboundCallExecutor按策略配置</li>
  *   <li>在领域层使用时，建议封装为专用的基础设施服务，而非直接调用工具类</li>
  *   <li>默认使用UTF-8编码和JSON格式响应，特殊格式需自定义请求头</li>
+ *   <li>异步请求每个主机最多同时进行{@value AsyncHttpClient#DEFAULT_MAX_REQUESTS_PER_HOST}个，超出的请求排队等待；
+ *       需要不同超时或并发上限时自行创建AsyncHttpClient实例（JDK 21及以上可传入虚拟线程执行器）</li>
+ *   <li>异步方法的4xx/5xx响应以HttpClientErrorException/HttpServerErrorException异常结束，与同步方法一致</li>
  * </ol>
  */
 public final class HttpUtils {
@@ -103,14 +118,29 @@ public final class HttpUtils {
     }
 
     /**
-     * 默认的RestTemplate实例
+     * 默认请求超时时间（毫秒）
      */
-    private static final RestTemplate REST_TEMPLATE = createRestTemplate();
+    private static final int DEFAULT_TIMEOUT = 10000;
 
     /**
-     * 默认请求超时时间（毫秒）
+     * 默认的异步HTTP客户端，持有同步与异步请求共享的连接池
      */
-    private static final int DEFAULT_TIMEOUT = 10000;
+    private static final AsyncHttpClient ASYNC_CLIENT = new AsyncHttpClient(
+            Duration.ofMillis(DEFAULT_TIMEOUT),
+            Duration.ofMillis(DEFAULT_TIMEOUT),
+            AsyncHttpClient.DEFAULT_MAX_REQUESTS_PER_HOST,
+            null
+    );
+
+    /**
+     * 默认的文件下载器
+     */
+    private static final HttpDownloader DOWNLOADER = new HttpDownloader(ASYNC_CLIENT);
+
+    /**
+     * 默认的RestTemplate实例
+     */
+    private static final RestTemplate REST_TEMPLATE = createRestTemplate();
 
     /**
      * 创建带有超时设置的RestTemplate实例
@@ -120,12 +150,8 @@ public final class HttpUtils {
     private static RestTemplate createRestTemplate() {
         RestTemplate restTemplate = new RestTemplate();
         
-        // 使用SimpleClientHttpRequestFactory设置超时
-        org.springframework.http.client.SimpleClientHttpRequestFactory factory = 
-            new org.springframework.http.client.SimpleClientHttpRequestFactory();
-        
-        // 设置连接超时和读取超时
-        factory.setConnectTimeout(DEFAULT_TIMEOUT);
+        // 使用JDK HttpClient作为底层连接，复用连接池并支持HTTP/2，连接超时由HttpClient设置
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(ASYNC_CLIENT.getHttpClient());
         factory.setReadTimeout(DEFAULT_TIMEOUT);
         
         restTemplate.setRequestFactory(factory);
@@ -320,6 +346,8 @@ public final class HttpUtils {
     /**
      * 下载文件（带请求头）
      *
+     * <p>响应体以流的方式直接写入文件，不在内存中缓存整个文件。</p>
+     *
      * @param url 文件URL
      * @param savePath 保存路径
      * @param headers 请求头
@@ -327,38 +355,72 @@ public final class HttpUtils {
      */
     public static boolean downloadFile(String url, String savePath, Map<String, String> headers) {
         try {
-            // 设置请求头
-            HttpHeaders httpHeaders = buildHeaders(headers);
-            HttpEntity<String> requestEntity = new HttpEntity<>(null, httpHeaders);
-
-            // 发送请求获取文件字节
-            ResponseEntity<byte[]> response = REST_TEMPLATE.exchange(
-                    url,
-                    HttpMethod.GET,
-                    requestEntity,
-                    byte[].class
-            );
-
-            // 检查响应状态
-            if (response.getStatusCode() != HttpStatus.OK) {
-                return false;
-            }
+            DOWNLOADER.download(url, Paths.get(savePath), headers, false, null, null);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 
-            // 保存文件
-            byte[] fileBytes = response.getBody();
-            if (fileBytes == null) {
-                return false;
-            }
-            
-            Path path = Paths.get(savePath);
-            FileUtils.createParentDirectories(path);
-            Files.write(path, fileBytes);
+    /**
+     * 断点续传下载文件
+     *
+     * <p>保存路径已存在部分文件时，通过Range请求从已下载的位置继续下载；服务端不支持Range时重新下载。</p>
+     *
+     * @param url 文件URL
+     * @param savePath 保存路径
+     * @param headers 请求头
+     * @return 是否下载成功
+     */
+    public static boolean resumeDownloadFile(String url, String savePath, Map<String, String> headers) {
+        try {
+            DOWNLOADER.download(url, Paths.get(savePath), headers, true, null, null);
             return true;
         } catch (IOException e) {
             return false;
         }
     }
 
+    /**
+     * 下载文件并校验摘要
+     *
+     * <p>摘要在写入文件的同时计算，校验失败时删除已下载的文件。</p>
+     *
+     * @param url 文件URL
+     * @param savePath 保存路径
+     * @param algorithm 摘要算法，如MD5、SHA-256
+     * @param expectedChecksum 期望的十六进制摘要值
+     * @return 下载成功且校验通过返回true
+     */
+    public static boolean downloadFileWithChecksum(String url, String savePath, String algorithm, String expectedChecksum) {
+        try {
+            DOWNLOADER.download(url, Paths.get(savePath), null, false, algorithm, expectedChecksum);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 分段并行下载大文件
+     *
+     * <p>服务端支持Range时将文件拆分为多个区间并发下载，否则退化为单连接流式下载。</p>
+     *
+     * @param url 文件URL
+     * @param savePath 保存路径
+     * @param segments 最大分段数
+     * @param headers 请求头
+     * @return 是否下载成功
+     */
+    public static boolean downloadFileSegmented(String url, String savePath, int segments, Map<String, String> headers) {
+        try {
+            DOWNLOADER.downloadSegmented(url, Paths.get(savePath), segments, headers, null, null);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
     /**
      * 发送PUT请求（JSON格式）
      *
@@ -431,6 +493,113 @@ public final class HttpUtils {
         return response.getBody();
     }
 
+    /**
+     * 异步发送GET请求
+     *
+     * @param url 请求URL
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> getAsync(String url) {
+        return getAsync(url, null, null);
+    }
+
+    /**
+     * 异步发送带参数的GET请求
+     *
+     * @param url 请求URL
+     * @param params 请求参数
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> getAsync(String url, Map<String, String> params) {
+        return getAsync(url, params, null);
+    }
+
+    /**
+     * 异步发送带参数和请求头的GET请求
+     *
+     * @param url 请求URL
+     * @param params 请求参数
+     * @param headers 请求头
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> getAsync(String url, Map<String, String> params, Map<String, String> headers) {
+        return ASYNC_CLIENT.get(url, params, headers);
+    }
+
+    /**
+     * 异步发送POST请求（JSON格式）
+     *
+     * @param url 请求URL
+     * @param body 请求体
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> postJsonAsync(String url, Object body) {
+        return postJsonAsync(url, body, null);
+    }
+
+    /**
+     * 异步发送带请求头的POST请求（JSON格式）
+     *
+     * @param url 请求URL
+     * @param body 请求体
+     * @param headers 请求头
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> postJsonAsync(String url, Object body, Map<String, String> headers) {
+        return ASYNC_CLIENT.postJson(url, body, headers);
+    }
+
+    /**
+     * 异步发送PUT请求（JSON格式）
+     *
+     * @param url 请求URL
+     * @param body 请求体
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> putJsonAsync(String url, Object body) {
+        return putJsonAsync(url, body, null);
+    }
+
+    /**
+     * 异步发送带请求头的PUT请求（JSON格式）
+     *
+     * @param url 请求URL
+     * @param body 请求体
+     * @param headers 请求头
+     * @return 响应内容
+     */
+    public static CompletableFuture<String> putJsonAsync(String url, Object body, Map<String, String> headers) {
+        return ASYNC_CLIENT.putJson(url, body, headers);
+    }
+
+    /**
+     * 并发执行一批异步请求
+     *
+     * <p>所有请求同时发出（受每个主机的并发上限约束），结果按传入顺序返回。
+     * 任一请求失败时返回的Future以该异常结束，其余请求不会被取消。</p>
+     *
+     * @param requests 异步请求提供者列表
+     * @param <T> 响应类型
+     * @return 按顺序排列的响应结果
+     */
+    public static <T> CompletableFuture<List<T>> executeAll(List<? extends Supplier<CompletableFuture<T>>> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(requests.size());
+        for (Supplier<CompletableFuture<T>> request : requests) {
+            futures.add(request.get());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<T> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<T> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+    }
+
     /**
      * 构建请求头
      *
@@ -455,13 +624,17 @@ public final class HttpUtils {
     /**
      * 发送请求并重试（当请求失败时）
      *
+     * <p>固定间隔、在调用线程中休眠，对任何异常都重试且没有熔断，下游故障时会放大请求量。</p>
+     *
      * @param supplier 请求提供者函数
      * @param retryCount 重试次数
      * @param retryInterval 重试间隔（毫秒）
      * @param <T> 响应类型
      * @return 响应结果
+     * @deprecated 使用{@link com.lovemp.common.resilience.OutboundCallExecutor}，按策略进行退避重试、端点熔断和并发隔离
      */
-    public static <T> T requestWithRetry(java.util.function.Supplier<T> supplier, int retryCount, long retryInterval) {
+    @Deprecated
+    public static <T> T requestWithRetry(Supplier<T> supplier, int retryCount, long retryInterval) {
         int attempts = 0;
         Throwable lastException = null;
 
@@ -4,7 +4,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ID生成工具类
@@ -13,7 +12,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 
  * 主要功能包括：
  * 1. UUID生成：提供标准UUID和无连字符UUID生成
- * 2. 雪花算法ID：基于时间戳的分布式ID生成算法实现
+ * 2. 雪花算法ID：基于时间戳的分布式ID生成算法实现（参见SnowflakeIdGenerator）
  * 3. 业务编号：生成订单号、流水号等带时间戳的业务编号
  * 4. 随机字符串：生成指定长度的随机数字、字母或混合字符串
  * 5. 前缀编码：支持生成带自定义前缀的唯一编码
@@ -43,7 +42,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * String verifyCode = IdGenerator.randomNumeric(6);
  * 
  * 注意：
- * 1. 简化版雪花算法不适用于高并发分布式环境，生产环境应考虑专用ID生成服务
+ * 1. 雪花算法ID在多节点部署时必须通过setSnowflakeGenerator为每个节点配置唯一的数据中心ID和机器ID
  * 2. UUID较长，存储和索引效率较低，但使用简便
  * 3. 业务编号生成方法在极端并发情况下可能存在重复风险
  * 4. 随机字符串方法使用ThreadLocalRandom提高多线程性能
@@ -54,10 +53,13 @@ public final class IdGenerator {
         // 工具类不允许实例化
     }
 
-    private static final AtomicInteger SEQUENCE = new AtomicInteger(0);
-    private static final int MAX_SEQUENCE = 999999;
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
+    /**
+     * 全局雪花ID生成器，未配置时数据中心ID和机器ID默认为1
+     */
+    private static volatile SnowflakeIdGenerator snowflakeGenerator = SnowflakeIdGenerator.of(1L, 1L);
+
     /**
      * 生成32位UUID（无连字符）
      *
@@ -77,31 +79,35 @@ public final class IdGenerator {
     }
 
     /**
-     * 雪花算法ID（基础实现，非严格分布式）
-     * 注意：这里只是一个简化实现，生产环境中应该使用专业的ID生成服务
+     * 雪花算法ID
+     * 委托给全局的无锁SnowflakeIdGenerator，数据中心ID和机器ID通过setSnowflakeGenerator在启动时配置
      *
      * @return 雪花算法生成的ID
      */
-    public static synchronized long snowflakeId() {
-        // 起始时间戳：2024-01-01 00:00:00
-        long epochMillis = 1704038400000L;
-        long currentTimeMillis = System.currentTimeMillis();
-        long timestamp = currentTimeMillis - epochMillis;
-
-        // 获取自增序列（这个简化实现仅用于示例，不适用于高并发分布式环境）
-        int sequence = SEQUENCE.incrementAndGet();
-        if (sequence > MAX_SEQUENCE) {
-            SEQUENCE.set(0);
-            sequence = 0;
-        }
+    public static long snowflakeId() {
+        return snowflakeGenerator.nextId();
+    }
 
-        // 机器ID和数据中心ID（示例中固定为1）
-        long machineId = 1L;
-        long dataCenterId = 1L;
+    /**
+     * 替换全局雪花ID生成器
+     * 应在应用启动阶段调用一次，为当前节点设置唯一的数据中心ID和机器ID
+     *
+     * @param generator 雪花ID生成器
+     */
+    public static void setSnowflakeGenerator(SnowflakeIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("雪花ID生成器不能为空");
+        }
+        snowflakeGenerator = generator;
+    }
 
-        // 组装雪花ID：
-        // 符号位(1bit) + 时间戳(41bit) + 数据中心ID(5bit) + 机器ID(5bit) + 序列号(12bit)
-        return ((timestamp << 22) | (dataCenterId << 17) | (machineId << 12) | sequence);
+    /**
+     * 获取全局雪花ID生成器
+     *
+     * @return 雪花ID生成器
+     */
+    public static SnowflakeIdGenerator getSnowflakeGenerator() {
+        return snowflakeGenerator;
     }
 
     /**
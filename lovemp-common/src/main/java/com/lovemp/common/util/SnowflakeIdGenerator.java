@@ -0,0 +1,293 @@
+package com.lovemp.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 雪花算法ID生成器
+ *
+ * 无锁的分布式雪花ID生成器，通过CAS维护"时间戳+序列号"组合状态，替代原先基于类锁的简化实现。
+ *
+ * ID结构（默认位宽）：
+ * 符号位(1bit) + 时间戳(41bit) + 数据中心ID(5bit) + 机器ID(5bit) + 序列号(12bit)
+ * 其中数据中心ID、机器ID、序列号的位宽均可配置，剩余位全部用于时间戳。
+ *
+ * 主要特性：
+ * 1. 无锁生成：时间戳与序列号打包为一个long，通过一次CAS完成分配，线程间不再串行化
+ * 2. 序列号借位：同一毫秒内序列号耗尽时自动借用下一毫秒，最多领先系统时钟maxBorrowMillis毫秒
+ * 3. 时钟回拨处理：回拨后在上次分配的位置之后继续分配，领先时钟超过maxBorrowMillis时自旋等待时钟追上；
+ *    已分配的最新时间戳领先时钟超过maxBackwardMillis+maxBorrowMillis时直接拒绝生成，
+ *    因此单次等待最多持续maxBackwardMillis+maxBorrowMillis毫秒（按注入的时钟计算）
+ * 4. 线程块预留：可选为每个线程一次性预留一段连续序列，进一步降低CAS竞争
+ *
+ * 使用示例：
+ * // 数据中心3、机器7，默认位宽
+ * SnowflakeIdGenerator generator = SnowflakeIdGenerator.of(3, 7);
+ * long id = generator.nextId();
+ *
+ * // 自定义位宽：数据中心3位、机器7位、序列号12位，每个线程预留64个序列
+ * SnowflakeIdGenerator custom = new SnowflakeIdGenerator(
+ *         SnowflakeIdGenerator.DEFAULT_EPOCH, 3, 7, 3, 7, 12, 100, 5, 64);
+ *
+ * 注意：
+ * 1. 同一集群内每个节点的(数据中心ID, 机器ID)组合必须唯一，否则会产生重复ID
+ * 2. 开启线程块预留后，不同线程生成的ID只保证唯一，不保证全局单调递增
+ * 3. 时钟回拨超过容忍阈值时抛出IllegalStateException，调用方应报警而非重试
+ */
+public final class SnowflakeIdGenerator {
+
+    /**
+     * 默认起始时间戳：2024-01-01 00:00:00（与原IdGenerator保持一致）
+     */
+    public static final long DEFAULT_EPOCH = 1704038400000L;
+
+    /**
+     * 默认数据中心ID位数
+     */
+    public static final int DEFAULT_DATACENTER_ID_BITS = 5;
+
+    /**
+     * 默认机器ID位数
+     */
+    public static final int DEFAULT_WORKER_ID_BITS = 5;
+
+    /**
+     * 默认序列号位数
+     */
+    public static final int DEFAULT_SEQUENCE_BITS = 12;
+
+    /**
+     * 默认允许借用的未来毫秒数
+     */
+    public static final long DEFAULT_MAX_BORROW_MILLIS = 100L;
+
+    /**
+     * 默认可容忍的时钟回拨毫秒数
+     */
+    public static final long DEFAULT_MAX_BACKWARD_MILLIS = 5L;
+
+    /**
+     * 时间戳至少保留的位数（38位约可使用8.7年）
+     */
+    private static final int MIN_TIMESTAMP_BITS = 38;
+
+    private final long epoch;
+    private final long datacenterId;
+    private final long workerId;
+    private final int datacenterIdBits;
+    private final int workerIdBits;
+    private final int sequenceBits;
+    private final int timestampShift;
+    private final long nodeBits;
+    private final long maxTimestamp;
+    private final long maxBorrowMillis;
+    private final long maxBackwardMillis;
+    private final int blockSize;
+    private final LongSupplier clock;
+
+    /**
+     * 打包状态：(相对时间戳 << sequenceBits) | 序列号，即最近一次分配出去的位置
+     */
+    private final AtomicLong state = new AtomicLong(0L);
+
+    /**
+     * 线程预留块，仅在blockSize大于1时使用
+     */
+    private final ThreadLocal<Block> localBlock;
+
+    /**
+     * 使用默认位宽创建生成器
+     *
+     * @param datacenterId 数据中心ID
+     * @param workerId 机器ID
+     * @return 雪花ID生成器
+     */
+    public static SnowflakeIdGenerator of(long datacenterId, long workerId) {
+        return new SnowflakeIdGenerator(DEFAULT_EPOCH, datacenterId, workerId,
+                DEFAULT_DATACENTER_ID_BITS, DEFAULT_WORKER_ID_BITS, DEFAULT_SEQUENCE_BITS,
+                DEFAULT_MAX_BORROW_MILLIS, DEFAULT_MAX_BACKWARD_MILLIS, 1);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param epoch 起始时间戳（毫秒）
+     * @param datacenterId 数据中心ID
+     * @param workerId 机器ID
+     * @param datacenterIdBits 数据中心ID位数
+     * @param workerIdBits 机器ID位数
+     * @param sequenceBits 序列号位数
+     * @param maxBorrowMillis 序列号耗尽时允许领先系统时钟的最大毫秒数
+     * @param maxBackwardMillis 可容忍的时钟回拨毫秒数
+     * @param blockSize 每个线程一次预留的序列数量，小于等于1表示不启用线程块预留
+     */
+    public SnowflakeIdGenerator(long epoch, long datacenterId, long workerId,
+                                int datacenterIdBits, int workerIdBits, int sequenceBits,
+                                long maxBorrowMillis, long maxBackwardMillis, int blockSize) {
+        this(epoch, datacenterId, workerId, datacenterIdBits, workerIdBits, sequenceBits,
+                maxBorrowMillis, maxBackwardMillis, blockSize, System::currentTimeMillis);
+    }
+
+    /**
+     * 构造函数（可注入时钟，便于测试时钟回拨）
+     */
+    SnowflakeIdGenerator(long epoch, long datacenterId, long workerId,
+                         int datacenterIdBits, int workerIdBits, int sequenceBits,
+                         long maxBorrowMillis, long maxBackwardMillis, int blockSize,
+                         LongSupplier clock) {
+        if (datacenterIdBits < 0 || workerIdBits < 0 || sequenceBits < 1) {
+            throw new IllegalArgumentException("位数配置无效");
+        }
+        if (63 - datacenterIdBits - workerIdBits - sequenceBits < MIN_TIMESTAMP_BITS) {
+            throw new IllegalArgumentException("数据中心、机器和序列号位数之和过大，时间戳至少需要保留"
+                    + MIN_TIMESTAMP_BITS + "位");
+        }
+        long maxDatacenterId = ~(-1L << datacenterIdBits);
+        long maxWorkerId = ~(-1L << workerIdBits);
+        if (datacenterId < 0 || datacenterId > maxDatacenterId) {
+            throw new IllegalArgumentException("数据中心ID必须在0到" + maxDatacenterId + "之间");
+        }
+        if (workerId < 0 || workerId > maxWorkerId) {
+            throw new IllegalArgumentException("机器ID必须在0到" + maxWorkerId + "之间");
+        }
+        if (maxBorrowMillis < 0 || maxBackwardMillis < 0) {
+            throw new IllegalArgumentException("借用和回拨容忍毫秒数不能为负数");
+        }
+        if (blockSize > (1 << sequenceBits)) {
+            throw new IllegalArgumentException("线程预留块大小不能超过单毫秒序列容量" + (1 << sequenceBits));
+        }
+
+        this.epoch = epoch;
+        this.datacenterId = datacenterId;
+        this.workerId = workerId;
+        this.datacenterIdBits = datacenterIdBits;
+        this.workerIdBits = workerIdBits;
+        this.sequenceBits = sequenceBits;
+        this.nodeBits = (datacenterId << workerIdBits) | workerId;
+        this.timestampShift = datacenterIdBits + workerIdBits;
+        this.maxTimestamp = ~(-1L << (63 - datacenterIdBits - workerIdBits - sequenceBits));
+        this.maxBorrowMillis = maxBorrowMillis;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.blockSize = Math.max(blockSize, 1);
+        this.clock = clock;
+        this.localBlock = this.blockSize > 1 ? ThreadLocal.withInitial(Block::new) : null;
+    }
+
+    /**
+     * 生成下一个ID
+     *
+     * @return 雪花ID
+     * @throws IllegalStateException 时钟回拨超过容忍阈值或时间戳位耗尽时
+     */
+    public long nextId() {
+        if (localBlock == null) {
+            return compose(reserve(1));
+        }
+        Block block = localBlock.get();
+        if (block.remaining == 0) {
+            block.next = reserve(blockSize) - blockSize + 1;
+            block.remaining = blockSize;
+        }
+        block.remaining--;
+        return compose(block.next++);
+    }
+
+    /**
+     * 从ID中解析出生成时间戳（毫秒）
+     *
+     * @param id 雪花ID
+     * @return 生成时的毫秒时间戳
+     */
+    public long extractTimestamp(long id) {
+        return (id >>> (timestampShift + sequenceBits)) + epoch;
+    }
+
+    /**
+     * 从ID中解析出数据中心ID
+     *
+     * @param id 雪花ID
+     * @return 数据中心ID
+     */
+    public long extractDatacenterId(long id) {
+        return (id >>> (sequenceBits + workerIdBits)) & ~(-1L << datacenterIdBits);
+    }
+
+    /**
+     * 从ID中解析出机器ID
+     *
+     * @param id 雪花ID
+     * @return 机器ID
+     */
+    public long extractWorkerId(long id) {
+        return (id >>> sequenceBits) & ~(-1L << workerIdBits);
+    }
+
+    /**
+     * 获取数据中心ID
+     *
+     * @return 数据中心ID
+     */
+    public long getDatacenterId() {
+        return datacenterId;
+    }
+
+    /**
+     * 获取机器ID
+     *
+     * @return 机器ID
+     */
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * 通过CAS预留count个连续位置，返回预留区间的最后一个打包状态
+     */
+    private long reserve(int count) {
+        while (true) {
+            long current = state.get();
+            long now = clock.getAsLong() - epoch;
+            long lastTimestamp = current >>> sequenceBits;
+            long next;
+            if (now > lastTimestamp) {
+                // 进入新的毫秒，序列号从0开始
+                next = (now << sequenceBits) + count - 1;
+            } else {
+                if (lastTimestamp - now > maxBackwardMillis + maxBorrowMillis) {
+                    throw new IllegalStateException("检测到时钟回拨" + (lastTimestamp - now)
+                            + "毫秒，超过容忍阈值，拒绝生成ID");
+                }
+                // 同一毫秒、小幅回拨或已借用未来时间：在上次位置之后继续分配，溢出的序列号自然进位到下一毫秒
+                next = current + count;
+                if ((next >>> sequenceBits) - now > maxBorrowMillis) {
+                    // 借用已达上限，等待时钟追上；等待期间时钟继续回拨超过阈值时由上面的检查拒绝
+                    Thread.onSpinWait();
+                    continue;
+                }
+            }
+            if ((next >>> sequenceBits) > maxTimestamp) {
+                throw new IllegalStateException("时间戳位已耗尽，请调整起始时间戳");
+            }
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 将打包状态组装为最终ID
+     */
+    private long compose(long packed) {
+        long timestamp = packed >>> sequenceBits;
+        long sequence = packed & ~(-1L << sequenceBits);
+        return (timestamp << (timestampShift + sequenceBits)) | (nodeBits << sequenceBits) | sequence;
+    }
+
+    /**
+     * 线程预留块
+     */
+    private static final class Block {
+        private long next;
+        private int remaining;
+    }
+}
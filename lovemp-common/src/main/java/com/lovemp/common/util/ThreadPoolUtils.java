@@ -0,0 +1,92 @@
+package com.lovemp.common.util;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程池工具类
+ *
+ * 为文件哈希、压缩、分片、密码哈希以及发件箱、限流等后台组件创建统一形式的线程池和定时调度器。
+ *
+ * 创建的线程池：
+ * 1. 核心线程数与最大线程数相同，空闲30秒后核心线程也会回收，长期空闲时不占用线程
+ * 2. 线程为守护线程，按"前缀-序号"命名，不阻止JVM退出
+ * 3. 队列满时抛出RejectedExecutionException，由调用方决定如何处理
+ *
+ * 使用示例：
+ * ThreadPoolExecutor executor = ThreadPoolUtils.newDaemonPool("file-hash", 4);
+ * ThreadPoolExecutor bounded = ThreadPoolUtils.newDaemonPool("password-hash", 4, new ArrayBlockingQueue&lt;&gt;(256));
+ * ScheduledExecutorService scheduler = ThreadPoolUtils.newDaemonScheduler("outbox-dispatcher");
+ */
+public final class ThreadPoolUtils {
+
+    /**
+     * 空闲线程存活时间：30秒
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private ThreadPoolUtils() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 创建使用无界队列的守护线程池
+     *
+     * @param namePrefix 线程名前缀
+     * @param threads 线程数
+     * @return 线程池
+     */
+    public static ThreadPoolExecutor newDaemonPool(String namePrefix, int threads) {
+        return newDaemonPool(namePrefix, threads, new LinkedBlockingQueue<>());
+    }
+
+    /**
+     * 创建守护线程池
+     *
+     * @param namePrefix 线程名前缀
+     * @param threads 线程数
+     * @param queue 任务队列，有界队列满时拒绝新任务
+     * @return 线程池
+     */
+    public static ThreadPoolExecutor newDaemonPool(String namePrefix, int threads, BlockingQueue<Runnable> queue) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("线程数必须大于0");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                queue, daemonThreadFactory(namePrefix), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 创建单线程的守护定时调度器
+     *
+     * <p>调度线程常驻，取消的任务立即从队列移除</p>
+     *
+     * @param namePrefix 线程名前缀
+     * @return 定时调度器
+     */
+    public static ScheduledExecutorService newDaemonScheduler(String namePrefix) {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory(namePrefix));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        if (StringUtils.isEmpty(namePrefix)) {
+            throw new IllegalArgumentException("线程名前缀不能为空");
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
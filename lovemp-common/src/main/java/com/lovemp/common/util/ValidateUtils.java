@@ -3,7 +3,6 @@ package com.lovemp.common.util;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Collection;
 import java.util.Map;
@@ -363,9 +362,12 @@ public final class ValidateUtils {
             return false;
         }
         
+        if (DateTimeUtils.DEFAULT_DATE_PATTERN.equals(pattern)
+                && DateTimeUtils.fastParseDate(dateStr, 0, dateStr.length()) != null) {
+            return true;
+        }
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            LocalDate.parse(dateStr, formatter);
+            LocalDate.parse(dateStr, DateTimeUtils.getFormatter(pattern));
             return true;
         } catch (DateTimeParseException e) {
             return false;
@@ -384,9 +386,12 @@ public final class ValidateUtils {
             return false;
         }
         
+        if (DateTimeUtils.DEFAULT_DATETIME_PATTERN.equals(pattern)
+                && DateTimeUtils.fastParseDateTime(dateTimeStr) != null) {
+            return true;
+        }
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-            LocalDateTime.parse(dateTimeStr, formatter);
+            LocalDateTime.parse(dateTimeStr, DateTimeUtils.getFormatter(pattern));
             return true;
         } catch (DateTimeParseException e) {
             return false;
@@ -0,0 +1,804 @@
+package com.lovemp.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * ZIP压缩与解压
+ *
+ * 为FileUtils的zip、unzip提供多线程压缩和安全的流式解压。
+ *
+ * 主要特性：
+ * 1. 多个文件并发压缩，按遍历顺序写入归档，生成的ZIP与顺序压缩的结果结构一致
+ * 2. 支持STORED模式；AUTO模式下图片、视频、压缩包等已压缩格式直接存储，压缩后不变小的文件也改为存储
+ * 3. 正在压缩的条目数有上限，单个条目超过1MB时压缩结果暂存到临时文件，内存占用与目录大小无关
+ * 4. 支持ZIP64，单个文件或归档超过4GB、条目数超过65535时自动启用
+ * 5. 流式解压，拒绝越出目标目录的条目路径（zip slip），按条目数、解压总大小和压缩比识别压缩炸弹
+ *
+ * 使用示例：
+ * ZipArchiver archiver = new ZipArchiver();
+ * archiver.zip(Paths.get("/data/archives"), Paths.get("/data/export.zip"), ZipArchiver.CompressionMode.AUTO);
+ * archiver.unzip(Paths.get("/data/upload.zip"), Paths.get("/data/extract"), ZipArchiver.Limits.defaults());
+ *
+ * 注意：
+ * 1. 压缩过程中被修改的文件可能导致压缩失败
+ * 2. 压缩失败时删除不完整的ZIP文件；解压失败时已解压的条目保留，当前条目的不完整文件会被删除
+ * 3. 实例持有线程池，应长期复用
+ */
+public final class ZipArchiver {
+
+    /**
+     * 压缩模式
+     */
+    public enum CompressionMode {
+        /**
+         * 全部使用DEFLATE压缩
+         */
+        DEFLATED,
+        /**
+         * 全部直接存储，不压缩
+         */
+        STORED,
+        /**
+         * 已压缩格式直接存储，其余文件压缩
+         */
+        AUTO
+    }
+
+    /**
+     * 解压限制，用于防御压缩炸弹
+     */
+    public static final class Limits {
+
+        /**
+         * 默认最大条目数
+         */
+        public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+        /**
+         * 默认最大解压总大小：16GB
+         */
+        public static final long DEFAULT_MAX_TOTAL_SIZE = 16L * 1024 * 1024 * 1024;
+
+        /**
+         * 默认最大压缩比
+         */
+        public static final int DEFAULT_MAX_COMPRESSION_RATIO = 100;
+
+        private static final Limits DEFAULTS = new Limits(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TOTAL_SIZE,
+                DEFAULT_MAX_COMPRESSION_RATIO);
+
+        private final int maxEntries;
+
+        private final long maxTotalSize;
+
+        private final int maxCompressionRatio;
+
+        private Limits(int maxEntries, long maxTotalSize, int maxCompressionRatio) {
+            if (maxEntries <= 0 || maxTotalSize <= 0 || maxCompressionRatio <= 0) {
+                throw new IllegalArgumentException("解压限制必须大于0");
+            }
+            this.maxEntries = maxEntries;
+            this.maxTotalSize = maxTotalSize;
+            this.maxCompressionRatio = maxCompressionRatio;
+        }
+
+        /**
+         * 默认限制：最多10万个条目，解压后总计不超过16GB，压缩比不超过100
+         *
+         * @return 默认限制
+         */
+        public static Limits defaults() {
+            return DEFAULTS;
+        }
+
+        /**
+         * 创建解压限制
+         *
+         * @param maxEntries 最大条目数
+         * @param maxTotalSize 最大解压总大小（字节）
+         * @param maxCompressionRatio 最大压缩比（解压后大小/压缩数据大小）
+         * @return 解压限制
+         */
+        public static Limits of(int maxEntries, long maxTotalSize, int maxCompressionRatio) {
+            return new Limits(maxEntries, maxTotalSize, maxCompressionRatio);
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public long getMaxTotalSize() {
+            return maxTotalSize;
+        }
+
+        public int getMaxCompressionRatio() {
+            return maxCompressionRatio;
+        }
+    }
+
+    /**
+     * 已压缩格式的扩展名，AUTO模式下直接存储
+     */
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "heif", "mp3", "mp4", "mov", "avi", "mkv",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "jar", "docx", "xlsx", "pptx", "ofd");
+
+    /**
+     * 压缩结果在内存中暂存的上限，超过后写入临时文件：1MB
+     */
+    private static final int SPILL_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 解压时开始检查压缩比的最小解压大小：1MB，避免小文件的误判
+     */
+    private static final long RATIO_CHECK_THRESHOLD = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int parallelism;
+
+    private final int level;
+
+    /**
+     * 使用CPU核数个压缩线程和默认压缩级别创建实例
+     */
+    public ZipArchiver() {
+        this(Runtime.getRuntime().availableProcessors(), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param parallelism 并发压缩线程数
+     * @param level 压缩级别，0-9或-1（默认级别）
+     */
+    public ZipArchiver(int parallelism, int level) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("并发线程数必须大于0");
+        }
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("压缩级别无效: " + level);
+        }
+        this.parallelism = parallelism;
+        this.level = level;
+        this.executor = ThreadPoolUtils.newDaemonPool("zip-archiver", parallelism);
+    }
+
+    /**
+     * 压缩文件或目录
+     *
+     * <p>目录下的条目以目录名为前缀，单个文件的条目名为文件名。</p>
+     *
+     * @param source 源文件或目录
+     * @param zipFile ZIP文件路径
+     * @param mode 压缩模式
+     * @throws IOException 读取源文件或写入归档失败
+     */
+    public void zip(Path source, Path zipFile, CompressionMode mode) throws IOException {
+        List<Source> sources = collect(source);
+        FileUtils.createParentDirectories(zipFile);
+        int window = parallelism * 2;
+        List<CompletableFuture<Entry>> pending = new ArrayList<>(sources.size());
+        boolean completed = false;
+        try (FileChannel channel = FileChannel.open(zipFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ZipWriter writer = new ZipWriter(channel);
+            try {
+                for (int i = 0; i < sources.size(); i++) {
+                    // 滑动窗口：最多提前window个条目压缩，按顺序写入
+                    for (int next = pending.size(); next < Math.min(sources.size(), i + window); next++) {
+                        pending.add(prepare(sources.get(next), mode));
+                    }
+                    Entry entry = join(pending.get(i));
+                    pending.set(i, null);
+                    try {
+                        writer.write(entry);
+                    } finally {
+                        entry.release();
+                    }
+                }
+                writer.finish();
+                completed = true;
+            } catch (IOException | RuntimeException e) {
+                for (CompletableFuture<Entry> future : pending) {
+                    if (future != null) {
+                        future.thenAccept(Entry::release);
+                    }
+                }
+                throw e;
+            }
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(zipFile);
+            }
+        }
+    }
+
+    /**
+     * 使用默认限制解压
+     *
+     * @param zipFile ZIP文件路径
+     * @param targetDir 解压目标目录
+     * @throws IOException 读取归档或写入失败，条目不安全时抛出ZipException
+     */
+    public void unzip(Path zipFile, Path targetDir) throws IOException {
+        unzip(zipFile, targetDir, Limits.defaults());
+    }
+
+    /**
+     * 流式解压
+     *
+     * @param zipFile ZIP文件路径
+     * @param targetDir 解压目标目录
+     * @param limits 解压限制
+     * @throws IOException 读取归档或写入失败，条目路径越界或超出解压限制时抛出ZipException
+     */
+    public void unzip(Path zipFile, Path targetDir, Limits limits) throws IOException {
+        Files.createDirectories(targetDir);
+        Path root = targetDir.toAbsolutePath().normalize();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int entries = 0;
+        long total = 0;
+        try (CountingInputStream counting = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(zipFile), BUFFER_SIZE));
+             ZipInputStream in = new ZipInputStream(counting, StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (++entries > limits.maxEntries) {
+                    throw new ZipException("压缩包条目数超过限制: " + limits.maxEntries);
+                }
+                Path path = resolve(root, entry.getName());
+                if (entry.isDirectory()) {
+                    Files.createDirectories(path);
+                    continue;
+                }
+                FileUtils.createParentDirectories(path);
+                boolean completed = false;
+                try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, LinkOption.NOFOLLOW_LINKS)) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        total += read;
+                        if (total > limits.maxTotalSize) {
+                            throw new ZipException("解压后大小超过限制: " + limits.maxTotalSize);
+                        }
+                        if (total > RATIO_CHECK_THRESHOLD
+                                && total > (long) limits.maxCompressionRatio * Math.max(1, counting.count)) {
+                            throw new ZipException("压缩比超过限制，疑似压缩炸弹: " + entry.getName());
+                        }
+                        out.write(buffer, 0, read);
+                    }
+                    completed = true;
+                } finally {
+                    if (!completed) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析条目在目标目录中的路径，拒绝绝对路径和越出目标目录的路径
+     */
+    static Path resolve(Path root, String name) throws ZipException {
+        if (name.isEmpty() || name.indexOf('\0') >= 0) {
+            throw new ZipException("非法的压缩条目名: " + name);
+        }
+        Path path = root.resolve(name.replace('\\', '/')).normalize();
+        if (!path.startsWith(root)) {
+            throw new ZipException("压缩条目路径越出目标目录: " + name);
+        }
+        return path;
+    }
+
+    private static List<Source> collect(Path source) throws IOException {
+        BasicFileAttributes rootAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+        String baseName = source.getFileName().toString();
+        List<Source> sources = new ArrayList<>();
+        if (!rootAttributes.isDirectory()) {
+            sources.add(new Source(source, baseName, false, rootAttributes));
+            return sources;
+        }
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(source)) {
+                    sources.add(new Source(dir, entryName(dir) + "/", true, attrs));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    sources.add(new Source(file, entryName(file), false, attrs));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            private String entryName(Path path) {
+                return baseName + "/" + source.relativize(path).toString().replace('\\', '/');
+            }
+        });
+        return sources;
+    }
+
+    private CompletableFuture<Entry> prepare(Source source, CompressionMode mode) {
+        if (source.directory || source.size == 0 || !shouldDeflate(source, mode)) {
+            return CompletableFuture.completedFuture(Entry.stored(source));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return deflate(source);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private static boolean shouldDeflate(Source source, CompressionMode mode) {
+        if (mode == CompressionMode.STORED) {
+            return false;
+        }
+        if (mode == CompressionMode.DEFLATED) {
+            return true;
+        }
+        String name = source.name;
+        int dot = name.lastIndexOf('.');
+        return dot < 0 || !COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private Entry deflate(Source source) throws IOException {
+        CRC32 crc = new CRC32();
+        Deflater deflater = new Deflater(level, true);
+        SpillOutputStream spill = new SpillOutputStream();
+        long size = 0;
+        try (InputStream in = Files.newInputStream(source.path);
+             DeflaterOutputStream out = new DeflaterOutputStream(spill, deflater, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException | RuntimeException e) {
+            spill.release();
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        if (size != source.size) {
+            spill.release();
+            throw new IOException("文件在压缩过程中被修改: " + source.path);
+        }
+        if (spill.size >= size) {
+            // 压缩后没有变小，改为直接存储
+            spill.release();
+            return Entry.stored(source);
+        }
+        return new Entry(source, ZipEntry.DEFLATED, crc.getValue(), spill.size, spill);
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 待压缩的文件或目录
+     */
+    private static final class Source {
+
+        private final Path path;
+
+        private final String name;
+
+        private final boolean directory;
+
+        private final long size;
+
+        private final long modifiedMillis;
+
+        private Source(Path path, String name, boolean directory, BasicFileAttributes attributes) {
+            this.path = path;
+            this.name = name;
+            this.directory = directory;
+            this.size = directory ? 0 : attributes.size();
+            this.modifiedMillis = attributes.lastModifiedTime().toMillis();
+        }
+    }
+
+    /**
+     * 待写入的条目；STORED条目在写入时直接从源文件复制并计算CRC
+     */
+    private static final class Entry {
+
+        private final Source source;
+
+        private final int method;
+
+        private final long crc;
+
+        private final long compressedSize;
+
+        private final SpillOutputStream data;
+
+        private Entry(Source source, int method, long crc, long compressedSize, SpillOutputStream data) {
+            this.source = source;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.data = data;
+        }
+
+        private static Entry stored(Source source) {
+            return new Entry(source, ZipEntry.STORED, 0, source.size, null);
+        }
+
+        private void release() {
+            if (data != null) {
+                data.release();
+            }
+        }
+    }
+
+    /**
+     * 先写内存，超过阈值后转写临时文件的输出流
+     */
+    private static final class SpillOutputStream extends OutputStream {
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream(8192);
+
+        private OutputStream file;
+
+        private Path spillFile;
+
+        private long size;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (file == null && memory.size() + len > SPILL_THRESHOLD) {
+                spillFile = Files.createTempFile("zip-entry-", ".tmp");
+                file = Files.newOutputStream(spillFile);
+                memory.writeTo(file);
+                memory = null;
+            }
+            if (file != null) {
+                file.write(b, off, len);
+            } else {
+                memory.write(b, off, len);
+            }
+            size += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (file != null) {
+                file.close();
+            }
+        }
+
+        private void transferTo(FileChannel target) throws IOException {
+            if (spillFile == null) {
+                ByteBuffer buffer = ByteBuffer.wrap(memory.toByteArray());
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                return;
+            }
+            try (FileChannel source = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                long position = 0;
+                long length = source.size();
+                while (position < length) {
+                    position += source.transferTo(position, length - position, target);
+                }
+            }
+        }
+
+        private void release() {
+            memory = null;
+            if (spillFile != null) {
+                try {
+                    if (file != null) {
+                        file.close();
+                    }
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    // 临时文件删除失败不影响压缩结果
+                }
+            }
+        }
+    }
+
+    /**
+     * 统计已读取压缩数据字节数的输入流
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * ZIP格式写入器，直接写入已压缩的数据，支持ZIP64
+     */
+    private static final class ZipWriter {
+
+        private static final int LOCAL_HEADER = 0x04034b50;
+
+        private static final int CENTRAL_HEADER = 0x02014b50;
+
+        private static final int END_OF_CENTRAL = 0x06054b50;
+
+        private static final int ZIP64_END_OF_CENTRAL = 0x06064b50;
+
+        private static final int ZIP64_LOCATOR = 0x07064b50;
+
+        private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+        /**
+         * 通用标记位11：条目名使用UTF-8编码
+         */
+        private static final int FLAG_UTF8 = 0x0800;
+
+        private static final int VERSION_DEFAULT = 20;
+
+        private static final int VERSION_ZIP64 = 45;
+
+        private final FileChannel channel;
+
+        private final ByteBuffer central = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private final List<ByteBuffer> centralRecords = new ArrayList<>();
+
+        private final ByteBuffer copyBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private int count;
+
+        private ZipWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void write(Entry entry) throws IOException {
+            Source source = entry.source;
+            byte[] name = source.name.getBytes(StandardCharsets.UTF_8);
+            long offset = channel.position();
+            long size = source.size;
+            long compressedSize = entry.compressedSize;
+            boolean zip64 = size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+            long dosTime = dosTime(source.modifiedMillis);
+
+            ByteBuffer header = ByteBuffer.allocate(30 + name.length + (zip64 ? 20 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(LOCAL_HEADER)
+                    .putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT))
+                    .putShort((short) FLAG_UTF8)
+                    .putShort((short) entry.method)
+                    .putInt((int) dosTime)
+                    .putInt((int) entry.crc)
+                    .putInt((int) (zip64 ? ZIP64_MAGIC : compressedSize))
+                    .putInt((int) (zip64 ? ZIP64_MAGIC : size))
+                    .putShort((short) name.length)
+                    .putShort((short) (zip64 ? 20 : 0))
+                    .put(name);
+            if (zip64) {
+                header.putShort((short) 0x0001).putShort((short) 16).putLong(size).putLong(compressedSize);
+            }
+            writeFully(header.flip());
+
+            long crc = entry.crc;
+            if (entry.data != null) {
+                entry.data.transferTo(channel);
+            } else if (!source.directory && size > 0) {
+                crc = copyStored(source);
+                // 回填本地文件头中的CRC
+                ByteBuffer crcBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) crc).flip();
+                long end = channel.position();
+                while (crcBuffer.hasRemaining()) {
+                    channel.write(crcBuffer, offset + 14 + crcBuffer.position());
+                }
+                channel.position(end);
+            }
+
+            boolean offset64 = offset >= ZIP64_MAGIC;
+            int extraLength = zip64 || offset64 ? 4 + (zip64 ? 16 : 0) + (offset64 ? 8 : 0) : 0;
+            ByteBuffer record = ByteBuffer.allocate(46 + name.length + extraLength).order(ByteOrder.LITTLE_ENDIAN);
+            record.putInt(CENTRAL_HEADER)
+                    .putShort((short) (extraLength > 0 ? VERSION_ZIP64 : VERSION_DEFAULT))
+                    .putShort((short) (extraLength > 0 ? VERSION_ZIP64 : VERSION_DEFAULT))
+                    .putShort((short) FLAG_UTF8)
+                    .putShort((short) entry.method)
+                    .putInt((int) dosTime)
+                    .putInt((int) crc)
+                    .putInt((int) (zip64 ? ZIP64_MAGIC : compressedSize))
+                    .putInt((int) (zip64 ? ZIP64_MAGIC : size))
+                    .putShort((short) name.length)
+                    .putShort((short) extraLength)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putInt(source.directory ? 0x10 : 0)
+                    .putInt((int) (offset64 ? ZIP64_MAGIC : offset))
+                    .put(name);
+            if (extraLength > 0) {
+                record.putShort((short) 0x0001).putShort((short) (extraLength - 4));
+                if (zip64) {
+                    record.putLong(size).putLong(compressedSize);
+                }
+                if (offset64) {
+                    record.putLong(offset);
+                }
+            }
+            addCentralRecord(record.flip());
+            count++;
+        }
+
+        private long copyStored(Source source) throws IOException {
+            CRC32 crc = new CRC32();
+            long copied = 0;
+            try (FileChannel in = FileChannel.open(source.path, StandardOpenOption.READ)) {
+                copyBuffer.clear();
+                while (copied < source.size && in.read(copyBuffer) != -1) {
+                    copyBuffer.flip();
+                    int limit = (int) Math.min(copyBuffer.remaining(), source.size - copied);
+                    copyBuffer.limit(limit);
+                    crc.update(copyBuffer.duplicate());
+                    copied += limit;
+                    writeFully(copyBuffer);
+                    copyBuffer.clear();
+                }
+            }
+            if (copied != source.size) {
+                throw new IOException("文件在压缩过程中被修改: " + source.path);
+            }
+            return crc.getValue();
+        }
+
+        private void addCentralRecord(ByteBuffer record) {
+            if (central.remaining() < record.remaining()) {
+                centralRecords.add(ByteBuffer.allocate(central.position()).put(central.flip()).flip());
+                central.clear();
+            }
+            if (record.remaining() > central.capacity()) {
+                centralRecords.add(record);
+            } else {
+                central.put(record);
+            }
+        }
+
+        private void finish() throws IOException {
+            long centralOffset = channel.position();
+            for (ByteBuffer record : centralRecords) {
+                writeFully(record);
+            }
+            writeFully(central.flip());
+            long centralSize = channel.position() - centralOffset;
+
+            boolean zip64 = count >= 0xFFFF || centralOffset >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC;
+            ByteBuffer end = ByteBuffer.allocate(56 + 20 + 22).order(ByteOrder.LITTLE_ENDIAN);
+            if (zip64) {
+                long zip64EndOffset = channel.position();
+                end.putInt(ZIP64_END_OF_CENTRAL)
+                        .putLong(44)
+                        .putShort((short) VERSION_ZIP64)
+                        .putShort((short) VERSION_ZIP64)
+                        .putInt(0)
+                        .putInt(0)
+                        .putLong(count)
+                        .putLong(count)
+                        .putLong(centralSize)
+                        .putLong(centralOffset);
+                end.putInt(ZIP64_LOCATOR)
+                        .putInt(0)
+                        .putLong(zip64EndOffset)
+                        .putInt(1);
+            }
+            end.putInt(END_OF_CENTRAL)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) (zip64 ? 0xFFFF : count))
+                    .putShort((short) (zip64 ? 0xFFFF : count))
+                    .putInt((int) (zip64 ? ZIP64_MAGIC : centralSize))
+                    .putInt((int) (zip64 ? ZIP64_MAGIC : centralOffset))
+                    .putShort((short) 0);
+            writeFully(end.flip());
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        /**
+         * 转换为MS-DOS格式的日期时间，早于1980年的时间按1980-01-01处理
+         */
+        private static long dosTime(long millis) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            if (time.getYear() < 1980) {
+                return (1 << 21) | (1 << 16);
+            }
+            return ((long) (time.getYear() - 1980) << 25)
+                    | ((long) time.getMonthValue() << 21)
+                    | ((long) time.getDayOfMonth() << 16)
+                    | ((long) time.getHour() << 11)
+                    | ((long) time.getMinute() << 5)
+                    | (time.getSecond() >> 1);
+        }
+    }
+}
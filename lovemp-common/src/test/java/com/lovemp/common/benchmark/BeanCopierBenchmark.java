@@ -0,0 +1,254 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.BeanUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean属性复制基准测试
+ *
+ * <p>对比原先逐次反射的copyProperties/copyPropertiesByGetterSetter实现、BeanCopier生成的复制器以及手写复制代码，
+ * 包括单对象复制和列表接口常见的1000条DTO映射。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanCopierBenchmark {
+
+    private UserDO source;
+
+    private List<UserDO> sources;
+
+    private List<Field> legacySourceFields;
+
+    private List<Field> legacyTargetFields;
+
+    private Map<String, Method> legacyGetters;
+
+    private Map<String, Method> legacySetters;
+
+    @Setup
+    public void setUp() {
+        source = newUser(1);
+        sources = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            sources.add(newUser(i));
+        }
+        legacySourceFields = allFields(UserDO.class);
+        legacyTargetFields = allFields(UserDTO.class);
+        legacyGetters = accessors(UserDO.class, "get");
+        legacySetters = accessors(UserDTO.class, "set");
+    }
+
+    @Benchmark
+    public UserDTO handWritten() {
+        UserDTO target = new UserDTO();
+        target.setId(source.getId());
+        target.setUsername(source.getUsername());
+        target.setNickname(source.getNickname());
+        target.setEmail(source.getEmail());
+        target.setMobile(source.getMobile());
+        target.setAge(source.getAge());
+        target.setStatus(source.getStatus());
+        target.setCreateTime(source.getCreateTime());
+        return target;
+    }
+
+    @Benchmark
+    public UserDTO legacyFieldCopy() throws Exception {
+        UserDTO target = new UserDTO();
+        for (Field sourceField : legacySourceFields) {
+            if (Modifier.isStatic(sourceField.getModifiers())) {
+                continue;
+            }
+            Field targetField = legacyTargetFields.stream()
+                    .filter(field -> field.getName().equals(sourceField.getName()))
+                    .findFirst()
+                    .orElse(null);
+            if (targetField != null) {
+                sourceField.setAccessible(true);
+                targetField.setAccessible(true);
+                targetField.set(target, sourceField.get(source));
+            }
+        }
+        return target;
+    }
+
+    @Benchmark
+    public UserDTO fieldCopier() {
+        return BeanUtils.copyProperties(source, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO legacyAccessorCopy() throws Exception {
+        UserDTO target = new UserDTO();
+        for (Map.Entry<String, Method> entry : legacyGetters.entrySet()) {
+            Method setter = legacySetters.get(entry.getKey());
+            if (setter != null) {
+                setter.invoke(target, entry.getValue().invoke(source));
+            }
+        }
+        return target;
+    }
+
+    @Benchmark
+    public UserDTO accessorCopier() {
+        UserDTO target = new UserDTO();
+        BeanUtils.copyPropertiesByGetterSetter(source, target);
+        return target;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<UserDTO> legacyCopyList() throws Exception {
+        List<UserDTO> result = new ArrayList<>(sources.size());
+        for (UserDO user : sources) {
+            UserDTO target = UserDTO.class.getDeclaredConstructor().newInstance();
+            for (Field sourceField : legacySourceFields) {
+                Field targetField = legacyTargetFields.stream()
+                        .filter(field -> field.getName().equals(sourceField.getName()))
+                        .findFirst()
+                        .orElse(null);
+                if (targetField != null) {
+                    sourceField.setAccessible(true);
+                    targetField.setAccessible(true);
+                    targetField.set(target, sourceField.get(user));
+                }
+            }
+            result.add(target);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<UserDTO> copierCopyList() {
+        return BeanUtils.copyPropertiesList(sources, UserDTO.class);
+    }
+
+    private static UserDO newUser(int i) {
+        UserDO user = new UserDO();
+        user.setId((long) i);
+        user.setUsername("user" + i);
+        user.setNickname("昵称" + i);
+        user.setEmail("user" + i + "@lovemp.com");
+        user.setMobile("1380000" + String.format("%04d", i % 10000));
+        user.setAge(20 + i % 50);
+        user.setStatus(i % 3);
+        user.setCreateTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        user.setPassword("secret");
+        return user;
+    }
+
+    private static List<Field> allFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static Map<String, Method> accessors(Class<?> clazz, String prefix) {
+        Map<String, Method> methods = new HashMap<>();
+        for (Method method : clazz.getMethods()) {
+            String name = method.getName();
+            if (name.startsWith(prefix) && name.length() > 3 && method.getDeclaringClass() != Object.class) {
+                methods.put(Character.toLowerCase(name.charAt(3)) + name.substring(4), method);
+            }
+        }
+        return methods;
+    }
+
+    public static class UserDO {
+        private Long id;
+        private String username;
+        private String nickname;
+        private String email;
+        private String mobile;
+        private int age;
+        private Integer status;
+        private LocalDateTime createTime;
+        private String password;
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getMobile() { return mobile; }
+        public void setMobile(String mobile) { this.mobile = mobile; }
+        public int getAge() { return age; }
+        public void setAge(int age) { this.age = age; }
+        public Integer getStatus() { return status; }
+        public void setStatus(Integer status) { this.status = status; }
+        public LocalDateTime getCreateTime() { return createTime; }
+        public void setCreateTime(LocalDateTime createTime) { this.createTime = createTime; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+
+    public static class UserDTO {
+        private Long id;
+        private String username;
+        private String nickname;
+        private String email;
+        private String mobile;
+        private int age;
+        private Integer status;
+        private LocalDateTime createTime;
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getNickname() { return nickname; }
+        public void setNickname(String nickname) { this.nickname = nickname; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getMobile() { return mobile; }
+        public void setMobile(String mobile) { this.mobile = mobile; }
+        public int getAge() { return age; }
+        public void setAge(int age) { this.age = age; }
+        public Integer getStatus() { return status; }
+        public void setStatus(Integer status) { this.status = status; }
+        public LocalDateTime getCreateTime() { return createTime; }
+        public void setCreateTime(LocalDateTime createTime) { this.createTime = createTime; }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BeanCopierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
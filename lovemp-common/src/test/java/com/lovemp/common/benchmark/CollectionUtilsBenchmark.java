@@ -0,0 +1,132 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.CollectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 集合工具基准测试
+ *
+ * <p>对比原先基于retainAll/removeAll的交集、差集实现与哈希索引实现，以及filter/groupBy/toMap
+ * 顺序与并行版本在不同集合大小下的耗时，用于确定线性查找阈值与PARALLEL_THRESHOLD的交叉点。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CollectionUtilsBenchmark {
+
+    @Param({"8", "100", "1000", "10000", "100000"})
+    private int size;
+
+    private List<String> left;
+
+    private List<String> right;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        left = new ArrayList<>(size);
+        right = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            left.add("key-" + random.nextInt(size * 2));
+            right.add("key-" + random.nextInt(size * 2));
+        }
+    }
+
+    @Benchmark
+    public List<String> legacyIntersection() {
+        // 10万规模下O(n·m)的retainAll需要数十秒，只作为小规模对比基线
+        if (size > 10_000) {
+            return left;
+        }
+        List<String> result = new ArrayList<>(left);
+        result.retainAll(right);
+        return result;
+    }
+
+    @Benchmark
+    public List<String> hashIntersection() {
+        return CollectionUtils.intersection(left, right);
+    }
+
+    @Benchmark
+    public List<String> legacyDifference() {
+        if (size > 10_000) {
+            return left;
+        }
+        List<String> result = new ArrayList<>(left);
+        result.removeAll(right);
+        return result;
+    }
+
+    @Benchmark
+    public List<String> hashDifference() {
+        return CollectionUtils.difference(left, right);
+    }
+
+    @Benchmark
+    public List<String> sequentialFilter() {
+        return CollectionUtils.filter(left, CollectionUtilsBenchmark::expensivePredicate);
+    }
+
+    @Benchmark
+    public List<String> parallelFilter() {
+        return CollectionUtils.parallelFilter(left, CollectionUtilsBenchmark::expensivePredicate, 0);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> sequentialGroupBy() {
+        return CollectionUtils.groupBy(left, String::length);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> parallelGroupBy() {
+        return CollectionUtils.parallelGroupBy(left, String::length, 0);
+    }
+
+    @Benchmark
+    public Map<String, String> sequentialToMap() {
+        return CollectionUtils.toMap(left, String::toUpperCase);
+    }
+
+    @Benchmark
+    public Map<String, String> parallelToMap() {
+        return CollectionUtils.parallelToMap(left, String::toUpperCase, s -> s, 0);
+    }
+
+    /**
+     * 模拟带少量计算的过滤条件（如格式校验），使并行收益可观测
+     */
+    private static boolean expensivePredicate(String value) {
+        return value.hashCode() % 3 == 0 && value.chars().sum() % 2 == 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CollectionUtilsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
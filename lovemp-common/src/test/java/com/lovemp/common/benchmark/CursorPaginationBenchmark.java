@@ -0,0 +1,125 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.domain.Cursor;
+import com.lovemp.common.domain.CursorPage;
+import com.lovemp.common.domain.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 偏移分页与键集分页基准测试
+ *
+ * <p>在H2内存库中构造与person表结构相近的数据（默认50万行，带(name, id)索引），
+ * 对比读取第1000页（每页20条）时两种模型的延迟：
+ * <ul>
+ *   <li>offsetPage1000：LIMIT/OFFSET跳过前19980行，并执行一次COUNT，对应现有{@link Page}</li>
+ *   <li>keysetPage1000：由第999页末行游标直接沿索引定位，不统计总数，对应{@link CursorPage}</li>
+ * </ul>
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CursorPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGE_INDEX = 999;
+    private static final String NAME_PREFIX = "张";
+
+    private static final RowMapper<String[]> ROW_MAPPER = (rs, rowNum) ->
+            new String[]{rs.getString("id"), rs.getString("name")};
+
+    @Param({"500000"})
+    private int rows;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private String page1000Token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE person (id VARCHAR(36) PRIMARY KEY, name VARCHAR(50) NOT NULL, "
+                + "status TINYINT NOT NULL)");
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{String.format("%08d", i), NAME_PREFIX + (i % 5000), i % 3});
+            if (batch.size() == 10_000) {
+                jdbcTemplate.batchUpdate("INSERT INTO person (id, name, status) VALUES (?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO person (id, name, status) VALUES (?, ?, ?)", batch);
+        }
+        jdbcTemplate.execute("CREATE INDEX idx_person_name_id ON person (name, id)");
+
+        // 预先定位第999页末行作为第1000页的游标，模拟客户端逐页翻到此处
+        List<String[]> previous = jdbcTemplate.query("SELECT id, name FROM person WHERE name LIKE ? "
+                + "ORDER BY name, id LIMIT ? OFFSET ?", ROW_MAPPER, NAME_PREFIX + "%", PAGE_SIZE, (PAGE_INDEX - 1) * PAGE_SIZE);
+        String[] last = previous.get(previous.size() - 1);
+        page1000Token = Cursor.of(last[1], last[0]).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public Page<String[]> offsetPage1000() {
+        List<String[]> content = jdbcTemplate.query("SELECT id, name FROM person WHERE name LIKE ? "
+                + "ORDER BY name, id LIMIT ? OFFSET ?", ROW_MAPPER, NAME_PREFIX + "%", PAGE_SIZE, PAGE_INDEX * PAGE_SIZE);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM person WHERE name LIKE ?",
+                Long.class, NAME_PREFIX + "%");
+        return new Page<>(content, total == null ? 0 : total, PAGE_INDEX, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<String[]> keysetPage1000() {
+        Cursor cursor = Cursor.decode(page1000Token);
+        String name = cursor.getKey(0);
+        String id = cursor.getKey(1);
+        List<String[]> fetched = jdbcTemplate.query("SELECT id, name FROM person WHERE name LIKE ? "
+                + "AND (name > ? OR (name = ? AND id > ?)) ORDER BY name, id LIMIT ?",
+                ROW_MAPPER, NAME_PREFIX + "%", name, name, id, PAGE_SIZE + 1);
+        return CursorPage.fromOverFetch(fetched, PAGE_SIZE, row -> Cursor.of(row[1], row[0]));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CursorPaginationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.DateTimeUtils;
+import com.lovemp.common.util.ValidateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期时间工具基准测试
+ *
+ * <p>对比原先每次调用DateTimeFormatter.ofPattern的实现与缓存格式化器、默认格式手写解析的实现，
+ * 覆盖批量导入人员和雇佣关系时逐行调用的日期、日期时间解析与格式化，以及自定义格式和格式校验。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class DateTimeUtilsBenchmark {
+
+    private static final String DATE = "2024-02-29";
+
+    private static final String DATE_TIME = "2024-02-29 13:45:30";
+
+    private static final String CUSTOM_PATTERN = "yyyy/MM/dd";
+
+    private static final String CUSTOM_DATE = "2024/02/29";
+
+    private final LocalDate date = LocalDate.of(2024, 2, 29);
+
+    private final LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 13, 45, 30);
+
+    @Benchmark
+    public LocalDate legacyParseDate() {
+        return LocalDate.parse(DATE, DateTimeFormatter.ofPattern(DateTimeUtils.DEFAULT_DATE_PATTERN));
+    }
+
+    @Benchmark
+    public LocalDate parseDate() {
+        return DateTimeUtils.parseDate(DATE);
+    }
+
+    @Benchmark
+    public LocalDateTime legacyParseDateTime() {
+        return LocalDateTime.parse(DATE_TIME, DateTimeFormatter.ofPattern(DateTimeUtils.DEFAULT_DATETIME_PATTERN));
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return DateTimeUtils.parseDateTime(DATE_TIME);
+    }
+
+    @Benchmark
+    public String legacyFormatDateTime() {
+        return dateTime.format(DateTimeFormatter.ofPattern(DateTimeUtils.DEFAULT_DATETIME_PATTERN));
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return DateTimeUtils.formatDateTime(dateTime);
+    }
+
+    @Benchmark
+    public String legacyFormatCustom() {
+        return date.format(DateTimeFormatter.ofPattern(CUSTOM_PATTERN));
+    }
+
+    @Benchmark
+    public String formatCustom() {
+        return DateTimeUtils.formatDate(date, CUSTOM_PATTERN);
+    }
+
+    @Benchmark
+    public LocalDate legacyParseCustom() {
+        return LocalDate.parse(CUSTOM_DATE, DateTimeFormatter.ofPattern(CUSTOM_PATTERN));
+    }
+
+    @Benchmark
+    public LocalDate parseCustom() {
+        return DateTimeUtils.parseDate(CUSTOM_DATE, CUSTOM_PATTERN);
+    }
+
+    @Benchmark
+    public boolean isDateTime() {
+        return ValidateUtils.isDateTime(DATE_TIME, DateTimeUtils.DEFAULT_DATETIME_PATTERN);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DateTimeUtilsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,153 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.AesGcmCipher;
+import com.lovemp.common.util.EncryptionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加密工具基准测试
+ *
+ * <p>对比原先每次调用getInstance并重新构建密钥的实现与线程复用实例的实现，覆盖SHA-256、HMAC-SHA256、
+ * AES-CBC加解密、AES-GCM逐字段与批量加密，以及String.format与查表的十六进制编码。
+ * 字段取值模拟人员读写时加密的身份证号、手机号和邮箱。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EncryptionUtilsBenchmark {
+
+    private static final String KEY = "0123456789abcdef";
+
+    private static final String IV = "fedcba9876543210";
+
+    private static final String DOCUMENT_NUMBER = "110101199001011234";
+
+    private final List<String> fields = Arrays.asList(DOCUMENT_NUMBER, "13800138000", "zhangsan@example.com");
+
+    private final AesGcmCipher gcm = new AesGcmCipher(KEY.getBytes(StandardCharsets.UTF_8));
+
+    private byte[] digest;
+
+    private String cbcEncrypted;
+
+    @Setup
+    public void setUp() {
+        digest = EncryptionUtils.hexToBytes(EncryptionUtils.sha256(DOCUMENT_NUMBER));
+        cbcEncrypted = EncryptionUtils.aesEncrypt(DOCUMENT_NUMBER, KEY, IV);
+    }
+
+    @Benchmark
+    public String legacySha256() throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        return legacyBytesToHex(md.digest(DOCUMENT_NUMBER.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String sha256() {
+        return EncryptionUtils.sha256(DOCUMENT_NUMBER);
+    }
+
+    @Benchmark
+    public String legacyHmacSha256() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return legacyBytesToHex(mac.doFinal(DOCUMENT_NUMBER.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String hmacSha256() {
+        return EncryptionUtils.hmacSha256(DOCUMENT_NUMBER, KEY);
+    }
+
+    @Benchmark
+    public String legacyAesEncrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"),
+                new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8)));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(DOCUMENT_NUMBER.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String aesEncrypt() {
+        return EncryptionUtils.aesEncrypt(DOCUMENT_NUMBER, KEY, IV);
+    }
+
+    @Benchmark
+    public String aesDecrypt() {
+        return EncryptionUtils.aesDecrypt(cbcEncrypted, KEY, IV);
+    }
+
+    @Benchmark
+    public String aesGcmEncrypt() {
+        return gcm.encrypt(DOCUMENT_NUMBER);
+    }
+
+    @Benchmark
+    public List<String> aesGcmEncryptFieldByField() {
+        return Arrays.asList(EncryptionUtils.aesGcmEncrypt(fields.get(0), KEY),
+                EncryptionUtils.aesGcmEncrypt(fields.get(1), KEY),
+                EncryptionUtils.aesGcmEncrypt(fields.get(2), KEY));
+    }
+
+    @Benchmark
+    public List<String> aesGcmEncryptBatch() {
+        return EncryptionUtils.aesGcmEncryptAll(fields, KEY);
+    }
+
+    @Benchmark
+    public String legacyHex() {
+        return legacyBytesToHex(digest);
+    }
+
+    @Benchmark
+    public String tableHex() {
+        return EncryptionUtils.bytesToHex(digest);
+    }
+
+    /**
+     * 原EncryptionUtils.bytesToHex实现，作为对比基线
+     */
+    private static String legacyBytesToHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EncryptionUtilsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
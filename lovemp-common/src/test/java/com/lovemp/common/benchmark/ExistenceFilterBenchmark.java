@@ -0,0 +1,93 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.ExistenceFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * 存在性过滤器基准测试
+ *
+ * <p>模拟注册时的用户名唯一性校验：绝大多数待注册用户名不存在。对比直接查询与先经过过滤器的实现，
+ * 查询用自旋模拟一次数据库往返的开销，过滤器判定不存在时跳过查询。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ExistenceFilterBenchmark {
+
+    private static final int ACCOUNTS = 100_000;
+
+    /**
+     * 模拟一次数据库查询的耗时
+     */
+    private static final long LOOKUP_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Set<String> usernames = ConcurrentHashMap.newKeySet();
+
+    private final ExistenceFilter filter = new ExistenceFilter("account.username", ACCOUNTS, 0.01);
+
+    private final Predicate<String> lookup = username -> {
+        long deadline = System.nanoTime() + LOOKUP_NANOS;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return usernames.contains(username.toLowerCase(Locale.ROOT));
+    };
+
+    @Setup
+    public void setUp() {
+        IntStream.range(0, ACCOUNTS).forEach(i -> usernames.add("user" + i));
+        filter.rebuild(usernames.stream());
+    }
+
+    @Benchmark
+    public boolean directLookup() {
+        return lookup.test(nextUsername());
+    }
+
+    @Benchmark
+    public boolean filteredLookup() {
+        return filter.exists(nextUsername(), lookup);
+    }
+
+    /**
+     * 95%为新用户名，5%与已有用户名重复
+     */
+    private static String nextUsername() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(ACCOUNTS);
+        return random.nextInt(100) < 5 ? "user" + i : "new" + i;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExistenceFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 雪花ID生成基准测试
+ *
+ * <p>对比原先基于类锁的snowflakeId实现、CAS实现以及线程块预留模式在多线程下的吞吐量。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SnowflakeIdGeneratorBenchmark {
+
+    private final SnowflakeIdGenerator casGenerator = SnowflakeIdGenerator.of(1, 1);
+
+    private final SnowflakeIdGenerator blockGenerator = new SnowflakeIdGenerator(
+            SnowflakeIdGenerator.DEFAULT_EPOCH, 1, 1, 5, 5, 12, 100, 5, 64);
+
+    private static final AtomicInteger LEGACY_SEQUENCE = new AtomicInteger(0);
+
+    @Benchmark
+    public long legacySynchronized() {
+        return legacySnowflakeId();
+    }
+
+    @Benchmark
+    public long cas() {
+        return casGenerator.nextId();
+    }
+
+    @Benchmark
+    public long threadBlock() {
+        return blockGenerator.nextId();
+    }
+
+    /**
+     * 原IdGenerator.snowflakeId()实现，作为对比基线
+     */
+    private static synchronized long legacySnowflakeId() {
+        long timestamp = System.currentTimeMillis() - SnowflakeIdGenerator.DEFAULT_EPOCH;
+        int sequence = LEGACY_SEQUENCE.incrementAndGet();
+        if (sequence > 999999) {
+            LEGACY_SEQUENCE.set(0);
+            sequence = 0;
+        }
+        return (timestamp << 22) | (1L << 17) | (1L << 12) | sequence;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SnowflakeIdGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
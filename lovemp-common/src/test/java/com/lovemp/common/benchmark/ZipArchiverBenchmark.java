@@ -0,0 +1,168 @@
+package com.lovemp.common.benchmark;
+
+import com.lovemp.common.util.FileUtils;
+import com.lovemp.common.util.ZipArchiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP压缩与解压基准测试
+ *
+ * <p>模拟劳动档案批量导出的目录：一半是可压缩的文本类文件，一半是随机内容的证件扫描图片（.jpg）。
+ * 对比原先单线程ZipOutputStream逐个压缩的实现、ZipArchiver的DEFLATED与AUTO模式，以及解压。
+ *
+ * <p>目录总大小由totalMb参数控制，2048即多GB目录的场景，需预留约3倍的磁盘空间。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipArchiverBenchmark {
+
+    private static final int FILE_SIZE = 4 * 1024 * 1024;
+
+    @Param({"256", "2048"})
+    private int totalMb;
+
+    private Path workDir;
+
+    private Path source;
+
+    private Path zipFile;
+
+    private Path autoZipFile;
+
+    private ZipArchiver archiver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("zip-benchmark");
+        source = workDir.resolve("archives");
+        Files.createDirectories(source);
+        Random random = new Random(1);
+        byte[] image = new byte[FILE_SIZE];
+        StringBuilder line = new StringBuilder();
+        int files = Math.max(2, totalMb * 1024 * 1024 / FILE_SIZE);
+        for (int i = 0; i < files; i++) {
+            Path dir = source.resolve("person-" + (i / 16));
+            Files.createDirectories(dir);
+            if (i % 2 == 0) {
+                random.nextBytes(image);
+                Files.write(dir.resolve("certificate-" + i + ".jpg"), image);
+            } else {
+                try (OutputStream out = Files.newOutputStream(dir.resolve("contract-" + i + ".txt"))) {
+                    long written = 0;
+                    while (written < FILE_SIZE) {
+                        line.setLength(0);
+                        line.append("员工编号").append(random.nextInt(100_000))
+                                .append(",劳动合同期限").append(random.nextInt(10))
+                                .append("年,岗位").append(random.nextInt(500)).append('\n');
+                        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                        out.write(bytes);
+                        written += bytes.length;
+                    }
+                }
+            }
+        }
+        zipFile = workDir.resolve("out.zip");
+        autoZipFile = workDir.resolve("auto.zip");
+        archiver = new ZipArchiver();
+        archiver.zip(source, autoZipFile, ZipArchiver.CompressionMode.AUTO);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteDirectory(workDir.toString());
+    }
+
+    @Benchmark
+    public long legacySequentialZip() throws IOException {
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    zos.putNextEntry(new ZipEntry("archives/" + source.relativize(file).toString().replace('\\', '/')));
+                    Files.copy(file, zos);
+                    zos.closeEntry();
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        return Files.size(zipFile);
+    }
+
+    @Benchmark
+    public long parallelDeflatedZip() throws IOException {
+        archiver.zip(source, zipFile, ZipArchiver.CompressionMode.DEFLATED);
+        return Files.size(zipFile);
+    }
+
+    @Benchmark
+    public long parallelAutoZip() throws IOException {
+        archiver.zip(source, zipFile, ZipArchiver.CompressionMode.AUTO);
+        return Files.size(zipFile);
+    }
+
+    @Benchmark
+    public long legacySequentialUnzip() throws IOException {
+        Path target = workDir.resolve("legacy-extract");
+        long total = 0;
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(autoZipFile))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                Path path = target.resolve(entry.getName());
+                if (entry.isDirectory()) {
+                    Files.createDirectories(path);
+                } else {
+                    Files.createDirectories(path.getParent());
+                    total += Files.copy(zis, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void streamingUnzip() throws IOException {
+        archiver.unzip(autoZipFile, workDir.resolve("extract"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ZipArchiverBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+package com.lovemp.common.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AggregateStreams的单元测试
+ *
+ * @see com.lovemp.common.domain.AggregateStreams
+ */
+class AggregateStreamsTest {
+
+    private static final List<Integer> ROWS = IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toList());
+
+    @Test
+    void keysetReadsAllRowsInBatches() {
+        AtomicInteger loads = new AtomicInteger();
+
+        try (Stream<Integer> stream = AggregateStreams.keyset(10, (cursor, size) -> {
+            loads.incrementAndGet();
+            return load(cursor, size);
+        }, AggregateStreamsTest::cursorOf)) {
+            assertEquals(ROWS, stream.collect(Collectors.toList()));
+        }
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void keysetLoadsLazily() {
+        AtomicInteger loads = new AtomicInteger();
+
+        try (Stream<Integer> stream = AggregateStreams.keyset(10, (cursor, size) -> {
+            loads.incrementAndGet();
+            return load(cursor, size);
+        }, AggregateStreamsTest::cursorOf)) {
+            assertEquals(0, loads.get());
+            assertEquals(List.of(1, 2, 3, 4, 5), stream.limit(5).collect(Collectors.toList()));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void keysetIssuesExtraQueryOnlyWhenLastBatchIsFull() {
+        AtomicInteger loads = new AtomicInteger();
+
+        try (Stream<Integer> stream = AggregateStreams.keyset(5, (cursor, size) -> {
+            loads.incrementAndGet();
+            return load(cursor, size);
+        }, AggregateStreamsTest::cursorOf)) {
+            assertEquals(25, stream.count());
+        }
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    void keysetRejectsOversizedBatchAndInvalidFetchSize() {
+        Stream<Integer> stream = AggregateStreams.keyset(2, (cursor, size) -> ROWS, AggregateStreamsTest::cursorOf);
+
+        assertThrows(IllegalStateException.class, () -> stream.findFirst());
+        assertThrows(IllegalArgumentException.class, () -> AggregateStreams.keyset(0,
+                (cursor, size) -> ROWS, AggregateStreamsTest::cursorOf));
+        assertThrows(IllegalArgumentException.class, () -> AggregateStreams.keyset(AggregateStreams.MAX_FETCH_SIZE + 1,
+                (cursor, size) -> ROWS, AggregateStreamsTest::cursorOf));
+    }
+
+    @Test
+    void fromIteratorRunsCloseCallback() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Iterator<Integer> iterator = ROWS.iterator();
+
+        try (Stream<Integer> stream = AggregateStreams.fromIterator(iterator, () -> closed.set(true))) {
+            assertEquals(25, stream.count());
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void forEachBatchClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        long total = AggregateStreams.forEachBatch(
+                AggregateStreams.fromIterator(ROWS.iterator(), () -> closed.set(true)), 10,
+                batch -> batchSizes.add(batch.size()));
+
+        assertEquals(25, total);
+        assertEquals(List.of(10, 10, 5), batchSizes);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void forEachBatchClosesStreamOnFailure() {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        assertThrows(IllegalStateException.class, () -> AggregateStreams.forEachBatch(
+                AggregateStreams.fromIterator(ROWS.iterator(), () -> closed.set(true)), 10, batch -> {
+                    throw new IllegalStateException("写入失败");
+                }));
+        assertTrue(closed.get());
+    }
+
+    private static List<Integer> load(Cursor cursor, int size) {
+        long after = cursor == null ? 0 : cursor.getLongKey(0);
+        return ROWS.stream().filter(value -> value > after).limit(size).collect(Collectors.toList());
+    }
+
+    private static Cursor cursorOf(Integer value) {
+        return Cursor.of(String.valueOf(value));
+    }
+}
@@ -0,0 +1,120 @@
+package com.lovemp.common.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cursor、CursorRequest与CursorPage的单元测试
+ *
+ * @see com.lovemp.common.domain.CursorPage
+ */
+class CursorPageTest {
+
+    @Test
+    void cursorRoundTrip() {
+        Cursor cursor = Cursor.of("张三", "00000042");
+
+        String token = cursor.encode();
+        Cursor decoded = Cursor.decode(token);
+
+        assertEquals(cursor, decoded);
+        assertEquals("张三", decoded.getKey(0));
+        assertEquals(42L, decoded.getLongKey(1));
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void cursorRejectsInvalidToken() {
+        String token = Cursor.of("a", "1").encode();
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(tampered));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("AAAA"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.of());
+        assertThrows(IllegalArgumentException.class, () -> Cursor.of("a", null));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(Cursor.of("x").encode()).getLongKey(0));
+    }
+
+    @Test
+    void cursorRejectsKeysTooLongToDecode() {
+        String longestKey = "a".repeat(1536 - 6 - 2);
+        String token = Cursor.of(longestKey).encode();
+
+        assertEquals(2048, token.length());
+        assertEquals(Cursor.of(longestKey), Cursor.decode(token));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.of(longestKey + "a"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.of("中".repeat(600)));
+    }
+
+    @Test
+    void requestFromToken() {
+        String token = Cursor.of("7").encode();
+
+        CursorRequest first = CursorRequest.of(null, 20);
+        CursorRequest next = CursorRequest.of(token, 20).withTotal(CursorRequest.TotalMode.EXACT);
+
+        assertTrue(first.isFirst());
+        assertEquals(CursorRequest.TotalMode.NONE, first.getTotalMode());
+        assertFalse(next.isFirst());
+        assertEquals(7L, next.getCursor().getLongKey(0));
+        assertEquals(21, next.getFetchSize());
+        assertEquals(CursorRequest.TotalMode.EXACT, next.getTotalMode());
+        assertThrows(IllegalArgumentException.class, () -> CursorRequest.first(0));
+        assertThrows(IllegalArgumentException.class, () -> CursorRequest.first(CursorRequest.MAX_SIZE + 1));
+    }
+
+    @Test
+    void fromOverFetchWithNextPage() {
+        List<Integer> rows = Arrays.asList(1, 2, 3, 4);
+
+        CursorPage<Integer> page = CursorPage.fromOverFetch(rows, 3, value -> Cursor.of(String.valueOf(value)));
+
+        assertEquals(Arrays.asList(1, 2, 3), page.getContent());
+        assertTrue(page.hasNext());
+        assertEquals(3L, Cursor.decode(page.getNextCursor()).getLongKey(0));
+        assertFalse(page.hasTotal());
+        assertFalse(page.getTotalElements().isPresent());
+    }
+
+    @Test
+    void fromOverFetchOnLastPage() {
+        CursorPage<Integer> page = CursorPage.fromOverFetch(Arrays.asList(1, 2), 3,
+                value -> Cursor.of(String.valueOf(value)));
+
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(2, page.getContent().size());
+        assertFalse(CursorPage.fromOverFetch(Collections.emptyList(), 3, value -> Cursor.of("x")).hasContent());
+    }
+
+    @Test
+    void totals() {
+        CursorPage<Integer> page = CursorPage.of(Arrays.asList(1, 2), 2, null);
+        AtomicInteger counted = new AtomicInteger();
+
+        CursorPage<Integer> lazy = page.withLazyTotal(() -> {
+            counted.incrementAndGet();
+            return 100L;
+        });
+
+        assertEquals(0, counted.get());
+        assertEquals(100L, lazy.getTotalElements().getAsLong());
+        assertEquals(100L, lazy.getTotalElements().getAsLong());
+        assertEquals(1, counted.get());
+        assertFalse(lazy.isTotalEstimated());
+
+        CursorPage<Integer> estimated = page.withEstimatedTotal(98L);
+        assertTrue(estimated.isTotalEstimated());
+        assertEquals(98L, estimated.getTotalElements().getAsLong());
+        assertEquals(5L, page.withTotal(5L).getTotalElements().getAsLong());
+    }
+}
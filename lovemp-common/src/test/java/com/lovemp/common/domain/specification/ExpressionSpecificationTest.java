@@ -0,0 +1,142 @@
+package com.lovemp.common.domain.specification;
+
+import com.lovemp.common.domain.Specification;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExpressionSpecification与SqlPredicateTranslator的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>表达式树的内存求值（比较、区间、集合、模式匹配、空值）</li>
+ *   <li>AND部分下推、OR/NOT整体下推或整体留在内存</li>
+ *   <li>SQL条件参数化与列名校验</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.domain.specification.ExpressionSpecification
+ */
+class ExpressionSpecificationTest {
+
+    static final class Product {
+        private final String name;
+        private final Integer price;
+        private final String category;
+
+        Product(String name, Integer price, String category) {
+            this.name = name;
+            this.price = price;
+            this.category = category;
+        }
+    }
+
+    private static final Attribute<Product, String> NAME = Attribute.of("name", p -> p.name);
+    private static final Attribute<Product, Integer> PRICE = Attribute.of("price", p -> p.price);
+    private static final Attribute<Product, String> CATEGORY = Attribute.of("category", p -> p.category);
+
+    private final SqlPredicateTranslator<Product> translator = new SqlPredicateTranslator<Product>()
+            .map("price", "p.price")
+            .map("category", "category");
+
+    @Test
+    void comparisons() {
+        Product product = new Product("Face 50% Cream", 120, "skin");
+
+        assertTrue(PRICE.eq(120).isSatisfiedBy(product));
+        assertTrue(PRICE.gt(100).and(PRICE.le(120)).isSatisfiedBy(product));
+        assertFalse(PRICE.lt(120).isSatisfiedBy(product));
+        assertTrue(PRICE.between(120, 130).isSatisfiedBy(product));
+        assertTrue(CATEGORY.in(Arrays.asList("hair", "skin")).isSatisfiedBy(product));
+        assertTrue(NAME.startsWith("Face").isSatisfiedBy(product));
+        assertTrue(NAME.contains("50%").isSatisfiedBy(product));
+        assertFalse(NAME.contains("50%%").isSatisfiedBy(product));
+        assertTrue(NAME.like("F_ce%").isSatisfiedBy(product));
+        assertTrue(PRICE.gt(200).or(CATEGORY.eq("skin")).isSatisfiedBy(product));
+        assertTrue(PRICE.gt(200).not().isSatisfiedBy(product));
+    }
+
+    @Test
+    void nullValues() {
+        Product product = new Product("Unknown", null, null);
+
+        assertTrue(PRICE.isNull().isSatisfiedBy(product));
+        assertFalse(PRICE.isNotNull().isSatisfiedBy(product));
+        assertFalse(PRICE.gt(0).isSatisfiedBy(product));
+        assertFalse(CATEGORY.ne("skin").isSatisfiedBy(product));
+        assertThrows(IllegalArgumentException.class, () -> PRICE.eq(null));
+        assertThrows(IllegalArgumentException.class, () -> CATEGORY.in(List.of()));
+    }
+
+    @Test
+    void andChainsAreFlattened() {
+        ExpressionSpecification<Product> spec = PRICE.gt(1).and(PRICE.lt(9)).and(CATEGORY.eq("skin"));
+
+        assertTrue(spec instanceof ExpressionSpecification.And);
+        assertEquals(3, ((ExpressionSpecification.And<Product>) spec).getChildren().size());
+        ExpressionSpecification<Product> positive = PRICE.gt(1);
+        assertSame(positive, positive.not().not());
+    }
+
+    @Test
+    void fullyPushedConjunction() {
+        Pushdown<Product, SqlPredicate> pushdown = translator.translate(
+                CATEGORY.eq("skin").and(PRICE.between(100, 200)).and(CATEGORY.in(Arrays.asList("a", "b")).not()));
+
+        assertTrue(pushdown.isFullyPushed());
+        assertEquals("(category = ? AND p.price BETWEEN ? AND ? AND NOT (category IN (?, ?)))",
+                pushdown.getPredicate().getSql());
+        assertEquals(Arrays.asList("skin", 100, 200, "a", "b"), pushdown.getPredicate().getParameters());
+    }
+
+    @Test
+    void partialPushdownKeepsResidual() {
+        Specification<Product> lambda = product -> product.name.length() > 3;
+        ExpressionSpecification<Product> spec = CATEGORY.eq("skin").and(NAME.startsWith("Fa")).and(lambda);
+
+        Pushdown<Product, SqlPredicate> pushdown = translator.translate(spec);
+
+        assertEquals("category = ?", pushdown.getPredicate().getSql());
+        assertFalse(pushdown.isFullyPushed());
+        List<Product> filtered = pushdown.filterResidual(Arrays.asList(
+                new Product("Face", 1, "skin"), new Product("Fa", 1, "skin"), new Product("Hair", 1, "skin")));
+        assertEquals(1, filtered.size());
+        assertEquals("Face", filtered.get(0).name);
+    }
+
+    @Test
+    void disjunctionWithUnmappedBranchStaysInMemory() {
+        ExpressionSpecification<Product> spec = CATEGORY.eq("skin").and(PRICE.gt(100).or(NAME.eq("x")));
+
+        Pushdown<Product, SqlPredicate> pushdown = translator.translate(spec);
+
+        assertEquals("category = ?", pushdown.getPredicate().getSql());
+        assertTrue(pushdown.getResidual() instanceof ExpressionSpecification.Or);
+    }
+
+    @Test
+    void nothingPushable() {
+        Pushdown<Product, SqlPredicate> pushdown = translator.translate(NAME.eq("x"));
+
+        assertFalse(pushdown.hasPredicate());
+        assertFalse(pushdown.isFullyPushed());
+    }
+
+    @Test
+    void likeIsParameterizedWithEscape() {
+        Pushdown<Product, SqlPredicate> pushdown = new SqlPredicateTranslator<Product>()
+                .map("name", "name").translate(NAME.contains("50%"));
+
+        assertEquals("name LIKE ? ESCAPE '\\'", pushdown.getPredicate().getSql());
+        assertEquals(List.of("%50\\%%"), pushdown.getPredicate().getParameters());
+    }
+
+    @Test
+    void rejectsUnsafeColumnNames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SqlPredicateTranslator<Product>().map("name", "name; DROP TABLE product"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.lovemp.common.exception;
+
+import com.lovemp.common.api.ApiResponse;
+import com.lovemp.common.api.ApiResponseCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求过多异常测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>异常的错误码、消息和原因</li>
+ *   <li>全局异常处理器将其转换为HTTP 429响应</li>
+ * </ul>
+ */
+@DisplayName("请求过多异常测试")
+class TooManyRequestsExceptionTest {
+
+    private static final String DEFAULT_ERROR_CODE = "TOO_MANY_REQUESTS";
+    private static final String ERROR_MESSAGE = "登录请求过多，请稍后再试";
+
+    @Test
+    @DisplayName("测试创建请求过多异常-简单消息")
+    void testCreateWithSimpleMessage() {
+        // Arrange & Act
+        TooManyRequestsException exception = new TooManyRequestsException(ERROR_MESSAGE);
+
+        // Assert
+        assertEquals(DEFAULT_ERROR_CODE, exception.getErrorCode());
+        assertEquals(ERROR_MESSAGE, exception.getMessage());
+        assertNull(exception.getCause());
+        assertTrue(exception instanceof BusinessException);
+    }
+
+    @Test
+    @DisplayName("测试创建请求过多异常-带原因")
+    void testCreateWithCause() {
+        // Arrange
+        Throwable cause = new RuntimeException("原始错误");
+
+        // Act
+        TooManyRequestsException exception = new TooManyRequestsException(ERROR_MESSAGE, cause);
+
+        // Assert
+        assertEquals(DEFAULT_ERROR_CODE, exception.getErrorCode());
+        assertEquals(ERROR_MESSAGE, exception.getMessage());
+        assertSame(cause, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("测试全局异常处理器返回HTTP 429")
+    void testHandledByGlobalExceptionHandler() {
+        // Arrange
+        TooManyRequestsException exception = new TooManyRequestsException(ERROR_MESSAGE);
+
+        // Act
+        ResponseEntity<ApiResponse<Void>> response = new GlobalExceptionHandler().handleTooManyRequestsException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+
+        ApiResponse<Void> body = response.getBody();
+        assertNotNull(body);
+        assertEquals(ERROR_MESSAGE, body.getMessage());
+        assertEquals(ApiResponseCode.TOO_MANY_REQUESTS.getCode(), body.getCode());
+        assertFalse(body.isSuccess());
+    }
+}
@@ -0,0 +1,96 @@
+package com.lovemp.common.outbox;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 测试用的内存发件箱存储，语义与JdbcOutboxStore保持一致
+ */
+class InMemoryOutboxStore implements OutboxStore {
+
+    static final class Row {
+        OutboxMessage message;
+        String status = "PENDING";
+        String lastError;
+
+        Row(OutboxMessage message) {
+            this.message = message;
+        }
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+    private long nextId = 1;
+
+    @Override
+    public synchronized void append(List<OutboxMessage> messages) {
+        for (OutboxMessage m : messages) {
+            rows.add(new Row(new OutboxMessage(nextId++, m.getEventId(), m.getAggregateType(), m.getAggregateId(),
+                    m.getEventType(), m.getPayload(), m.getOccurredOn(), 0, m.getNextAttemptAt())));
+        }
+    }
+
+    @Override
+    public synchronized List<OutboxMessage> fetchDispatchable(int limit, Instant now) {
+        Set<String> blocked = new HashSet<>();
+        List<OutboxMessage> result = new ArrayList<>();
+        for (Row row : rows) {
+            if (!"PENDING".equals(row.status)) {
+                continue;
+            }
+            OutboxMessage message = row.message;
+            if (message.getNextAttemptAt().isAfter(now)) {
+                blocked.add(message.getOrderingKey());
+                continue;
+            }
+            if (blocked.contains(message.getOrderingKey())) {
+                continue;
+            }
+            result.add(message);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void markDispatched(List<Long> ids) {
+        for (Long id : ids) {
+            find(id).status = "DISPATCHED";
+        }
+    }
+
+    @Override
+    public synchronized void markRetry(long id, int attempts, Instant nextAttemptAt, String error) {
+        Row row = find(id);
+        OutboxMessage m = row.message;
+        row.message = new OutboxMessage(m.getId(), m.getEventId(), m.getAggregateType(), m.getAggregateId(),
+                m.getEventType(), m.getPayload(), m.getOccurredOn(), attempts, nextAttemptAt);
+        row.lastError = error;
+    }
+
+    @Override
+    public synchronized void markDead(long id, int attempts, String error) {
+        Row row = find(id);
+        row.status = "DEAD";
+        row.lastError = error;
+    }
+
+    @Override
+    public synchronized int purgeDispatched(Instant before) {
+        int size = rows.size();
+        rows.removeIf(row -> "DISPATCHED".equals(row.status));
+        return size - rows.size();
+    }
+
+    synchronized List<Row> rows() {
+        return new ArrayList<>(rows);
+    }
+
+    private Row find(long id) {
+        return rows.stream().filter(row -> row.message.getId() == id).findFirst().orElseThrow();
+    }
+}
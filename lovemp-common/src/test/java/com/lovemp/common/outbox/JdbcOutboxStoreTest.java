@@ -0,0 +1,137 @@
+package com.lovemp.common.outbox;
+
+import com.lovemp.common.outbox.OutboxTestFixtures.MutableClock;
+import com.lovemp.common.outbox.OutboxTestFixtures.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JdbcOutboxStore的集成测试（H2内存数据库）
+ *
+ * @see com.lovemp.common.outbox.JdbcOutboxStore
+ */
+class JdbcOutboxStoreTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcOutboxStore store;
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE domain_event_outbox ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "event_id VARCHAR(36) NOT NULL UNIQUE, "
+                + "aggregate_type VARCHAR(100), "
+                + "aggregate_id VARCHAR(64), "
+                + "ordering_key VARCHAR(200) NOT NULL, "
+                + "event_type VARCHAR(255) NOT NULL, "
+                + "payload CLOB NOT NULL, "
+                + "occurred_on TIMESTAMP(3) NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, "
+                + "attempts INT DEFAULT 0 NOT NULL, "
+                + "next_attempt_at TIMESTAMP(3) NOT NULL, "
+                + "last_error VARCHAR(1000), "
+                + "dispatched_at TIMESTAMP(3))");
+        store = new JdbcOutboxStore(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void appendAndFetchInInsertionOrder() {
+        record("order-1", 3);
+        record("order-2", 2);
+
+        List<OutboxMessage> messages = store.fetchDispatchable(10, clock.instant());
+
+        assertEquals(5, messages.size());
+        assertEquals(List.of("order-1", "order-1", "order-1", "order-2", "order-2"),
+                messages.stream().map(OutboxMessage::getAggregateId).collect(Collectors.toList()));
+        assertEquals(3, store.fetchDispatchable(3, clock.instant()).size());
+    }
+
+    @Test
+    void skipsMessagesBehindBackingOffHead() {
+        record("order-1", 3);
+        record("order-2", 1);
+        OutboxMessage head = store.fetchDispatchable(1, clock.instant()).get(0);
+
+        store.markRetry(head.getId(), 1, clock.instant().plusSeconds(10), "boom");
+
+        List<OutboxMessage> messages = store.fetchDispatchable(10, clock.instant());
+        assertEquals(1, messages.size());
+        assertEquals("order-2", messages.get(0).getAggregateId());
+
+        clock.advance(Duration.ofSeconds(10));
+        messages = store.fetchDispatchable(10, clock.instant());
+        assertEquals(4, messages.size());
+        assertEquals(List.of("order-1", "order-1", "order-1", "order-2"),
+                messages.stream().map(OutboxMessage::getAggregateId).collect(Collectors.toList()));
+        assertEquals(head.getId(), messages.get(0).getId());
+        assertEquals(1, messages.get(0).getAttempts());
+    }
+
+    @Test
+    void dispatchedAndDeadMessagesAreNotFetched() {
+        record("order-1", 3);
+        List<OutboxMessage> messages = store.fetchDispatchable(10, clock.instant());
+
+        store.markDispatched(List.of(messages.get(0).getId()));
+        store.markDead(messages.get(1).getId(), 3, "poison");
+
+        List<OutboxMessage> remaining = store.fetchDispatchable(10, clock.instant());
+        assertEquals(1, remaining.size());
+        assertEquals(messages.get(2).getId(), remaining.get(0).getId());
+        assertEquals(1, store.purgeDispatched(Instant.now().plusSeconds(1)));
+    }
+
+    @Test
+    void dispatcherDeliversThroughJdbcStore() {
+        record("order-1", 4);
+        List<String> published = new ArrayList<>();
+        OutboxDispatcher dispatcher = new OutboxDispatcher(store, message -> published.add(message.getEventId()),
+                2, Duration.ofMillis(10), 3, Duration.ofSeconds(1), Duration.ofMinutes(1), 1, clock);
+
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+
+        assertEquals(4, published.size());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM domain_event_outbox WHERE status = 'DISPATCHED'", Integer.class));
+    }
+
+    @Test
+    void rejectsInvalidTableName() {
+        assertThrows(IllegalArgumentException.class, () -> new JdbcOutboxStore(jdbcTemplate, "outbox; DROP TABLE x"));
+    }
+
+    private void record(String orderId, int count) {
+        Order order = new Order(orderId);
+        for (int i = 1; i <= count; i++) {
+            order.place(i);
+        }
+        new TransactionalOutbox(store, clock).record(order);
+    }
+}
@@ -0,0 +1,172 @@
+package com.lovemp.common.outbox;
+
+import com.lovemp.common.outbox.OutboxTestFixtures.MutableClock;
+import com.lovemp.common.outbox.OutboxTestFixtures.Order;
+import com.lovemp.common.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OutboxDispatcher的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>按批量拉取并投递</li>
+ *   <li>同一聚合按写入顺序投递，失败时阻塞该聚合后续消息</li>
+ *   <li>指数退避重试与死信</li>
+ *   <li>后台调度清空积压</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.outbox.OutboxDispatcher
+ */
+class OutboxDispatcherTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final InMemoryOutboxStore store = new InMemoryOutboxStore();
+    private final TransactionalOutbox outbox = new TransactionalOutbox(store, clock);
+
+    @Test
+    void dispatchesInBatches() {
+        List<String> published = new ArrayList<>();
+        OutboxDispatcher dispatcher = dispatcher(message -> published.add(message.getEventId()), 3, 1);
+        recordEvents("order-1", 5);
+
+        assertEquals(3, dispatcher.dispatchBatch());
+        assertEquals(3, published.size());
+        assertEquals(2, dispatcher.dispatchBatch());
+        assertEquals(0, dispatcher.dispatchBatch());
+        assertEquals(5, published.size());
+        assertTrue(store.rows().stream().allMatch(row -> "DISPATCHED".equals(row.status)));
+    }
+
+    @Test
+    void failureBlocksLaterMessagesOfSameAggregateOnly() {
+        Set<Integer> failing = new HashSet<>(Collections.singletonList(2));
+        List<String> published = new ArrayList<>();
+        OutboxDispatcher dispatcher = dispatcher(message -> {
+            int sequence = sequenceOf(message);
+            if (message.getAggregateId().equals("order-1") && failing.contains(sequence)) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            published.add(message.getAggregateId() + "#" + sequence);
+        }, 100, 5);
+        recordEvents("order-1", 3);
+        recordEvents("order-2", 2);
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(List.of("order-1#1", "order-2#1", "order-2#2"), published);
+        // 退避期内order-1的第2、3条都不可投递
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        failing.clear();
+        clock.advance(Duration.ofSeconds(1));
+        dispatcher.dispatchBatch();
+
+        assertEquals(List.of("order-1#1", "order-2#1", "order-2#2", "order-1#2", "order-1#3"), published);
+    }
+
+    @Test
+    void retriesWithExponentialBackoffThenDeadLetters() {
+        List<String> published = new ArrayList<>();
+        OutboxDispatcher dispatcher = dispatcher(message -> {
+            if (sequenceOf(message) == 1) {
+                throw new IllegalStateException("poison");
+            }
+            published.add(message.getEventId());
+        }, 100, 3);
+        recordEvents("order-1", 2);
+
+        dispatcher.dispatchBatch();
+        assertEquals(1, store.rows().get(0).message.getAttempts());
+        assertEquals(clock.instant().plusSeconds(1), store.rows().get(0).message.getNextAttemptAt());
+
+        clock.advance(Duration.ofSeconds(1));
+        dispatcher.dispatchBatch();
+        assertEquals(clock.instant().plusSeconds(2), store.rows().get(0).message.getNextAttemptAt());
+
+        clock.advance(Duration.ofSeconds(2));
+        dispatcher.dispatchBatch();
+        assertEquals("DEAD", store.rows().get(0).status);
+        assertTrue(store.rows().get(0).lastError.contains("poison"));
+
+        // 死信不再阻塞后续消息
+        dispatcher.dispatchBatch();
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    void backoffIsCapped() {
+        OutboxDispatcher dispatcher = dispatcher(message -> { }, 100, 3);
+
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(8), dispatcher.backoff(4));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(20));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(100));
+    }
+
+    @Test
+    void backgroundDispatchDrainsBacklogInOrderPerAggregate() throws Exception {
+        ConcurrentHashMap<String, List<Integer>> published = new ConcurrentHashMap<>();
+        OutboxDispatcher dispatcher = new OutboxDispatcher(store, message -> published
+                .computeIfAbsent(message.getAggregateId(), key -> Collections.synchronizedList(new ArrayList<>()))
+                .add(sequenceOf(message)),
+                16, Duration.ofMillis(10), 3, Duration.ofSeconds(1), Duration.ofMinutes(5), 4, clock);
+        for (int i = 0; i < 10; i++) {
+            recordEvents("order-" + i, 20);
+        }
+
+        dispatcher.start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (store.rows().stream().anyMatch(row -> "PENDING".equals(row.status))
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            dispatcher.stop();
+        }
+
+        assertEquals(10, published.size());
+        for (List<Integer> sequences : published.values()) {
+            assertEquals(20, sequences.size());
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(i + 1, sequences.get(i));
+            }
+        }
+    }
+
+    @Test
+    void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> dispatcher(message -> { }, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher(message -> { }, 1, 0));
+    }
+
+    private OutboxDispatcher dispatcher(OutboxMessagePublisher publisher, int batchSize, int maxAttempts) {
+        return new OutboxDispatcher(store, publisher, batchSize, Duration.ofMillis(10), maxAttempts,
+                Duration.ofSeconds(1), Duration.ofMinutes(5), 1, clock);
+    }
+
+    private void recordEvents(String orderId, int count) {
+        Order order = new Order(orderId);
+        for (int i = 1; i <= count; i++) {
+            order.place(i);
+        }
+        outbox.record(order);
+    }
+
+    private static int sequenceOf(OutboxMessage message) {
+        return JsonUtils.parseJsonNode(message.getPayload()).get("sequence").asInt();
+    }
+}
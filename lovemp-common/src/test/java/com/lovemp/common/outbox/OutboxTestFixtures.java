@@ -0,0 +1,78 @@
+package com.lovemp.common.outbox;
+
+import com.lovemp.common.domain.AggregateRoot;
+import com.lovemp.common.domain.DomainEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 发件箱测试用的聚合与事件
+ */
+final class OutboxTestFixtures {
+
+    private OutboxTestFixtures() {
+    }
+
+    static class OrderPlaced extends DomainEvent {
+        private final String orderId;
+        private final int sequence;
+
+        OrderPlaced(String orderId, int sequence) {
+            this.orderId = orderId;
+            this.sequence = sequence;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+    }
+
+    static class Order extends AggregateRoot<String> {
+
+        Order(String id) {
+            this.id = id;
+        }
+
+        void place(int sequence) {
+            registerEvent(new OrderPlaced(id, sequence));
+        }
+    }
+
+    /**
+     * 可手动推进的时钟
+     */
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.lovemp.common.outbox;
+
+import com.lovemp.common.outbox.OutboxTestFixtures.Order;
+import com.lovemp.common.outbox.OutboxTestFixtures.OrderPlaced;
+import com.lovemp.common.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TransactionalOutbox的单元测试
+ *
+ * @see com.lovemp.common.outbox.TransactionalOutbox
+ */
+class TransactionalOutboxTest {
+
+    private final InMemoryOutboxStore store = new InMemoryOutboxStore();
+    private final TransactionalOutbox outbox = new TransactionalOutbox(store);
+
+    @Test
+    void recordAppendsAggregateEventsAndClearsThem() {
+        Order order = new Order("order-1");
+        order.place(1);
+        order.place(2);
+
+        outbox.record(order);
+
+        assertTrue(order.getUnmodifiableDomainEvents().isEmpty());
+        List<InMemoryOutboxStore.Row> rows = store.rows();
+        assertEquals(2, rows.size());
+        OutboxMessage first = rows.get(0).message;
+        assertEquals("Order", first.getAggregateType());
+        assertEquals("order-1", first.getAggregateId());
+        assertEquals("Order:order-1", first.getOrderingKey());
+        assertEquals(OrderPlaced.class.getName(), first.getEventType());
+        assertEquals(1, JsonUtils.parseJsonNode(first.getPayload()).get("sequence").asInt());
+        assertEquals(2, JsonUtils.parseJsonNode(rows.get(1).message.getPayload()).get("sequence").asInt());
+    }
+
+    @Test
+    void recordMultipleAggregatesInOneAppend() {
+        Order first = new Order("order-1");
+        Order second = new Order("order-2");
+        first.place(1);
+        second.place(1);
+
+        outbox.record(Arrays.asList(first, second));
+
+        assertEquals(2, store.rows().size());
+        assertEquals("order-2", store.rows().get(1).message.getAggregateId());
+    }
+
+    @Test
+    void recordWithoutEventsIsNoop() {
+        outbox.record(new Order("order-1"));
+        outbox.record((Order) null);
+
+        assertTrue(store.rows().isEmpty());
+    }
+
+    @Test
+    void publishStandaloneEvent() {
+        OrderPlaced event = new OrderPlaced("order-1", 1);
+
+        outbox.publish(event);
+
+        OutboxMessage message = store.rows().get(0).message;
+        assertNull(message.getAggregateId());
+        assertEquals(event.getEventId(), message.getOrderingKey());
+    }
+}
@@ -0,0 +1,183 @@
+package com.lovemp.common.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.core.IntervalFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OutboundCallExecutor的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>瞬时故障按策略重试，调用方错误不重试</li>
+ *   <li>熔断按端点隔离，打开后快速失败且不再调用下游</li>
+ *   <li>舱壁满时立即拒绝</li>
+ *   <li>随机退避不超过上限</li>
+ *   <li>策略指标与端点标识</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.resilience.OutboundCallExecutor
+ */
+class OutboundCallExecutorTest {
+
+    private static final String ENDPOINT_A = "https://a.example.com:443";
+    private static final String ENDPOINT_B = "https://b.example.com:443";
+
+    private OutboundCallExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new OutboundCallExecutor();
+        executor.registerPolicy(OutboundPolicy.builder()
+                .name("retry")
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(10))
+                .build());
+        executor.registerPolicy(OutboundPolicy.builder()
+                .name("breaker")
+                .maxAttempts(1)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .openStateWait(Duration.ofMinutes(1))
+                .build());
+        executor.registerPolicy(OutboundPolicy.builder()
+                .name("bulkhead")
+                .maxAttempts(1)
+                .maxConcurrentCalls(1)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void retriesTransientFailuresAsynchronously() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.executeAsync("retry", ENDPOINT_A, () -> attempts.incrementAndGet() < 3
+                ? CompletableFuture.<String>failedFuture(new ResourceAccessException("timeout"))
+                : CompletableFuture.completedFuture("ok")).join();
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(1, executor.getMetrics("retry").getSuccessfulCallsWithRetry());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> future = executor.executeAsync("retry", ENDPOINT_A, () -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(HttpClientErrorException.create(HttpStatus.BAD_REQUEST,
+                    "", null, null, null));
+        });
+
+        assertTrue(failureOf(future) instanceof HttpClientErrorException);
+        assertEquals(1, attempts.get());
+        assertEquals(1, executor.getMetrics("retry").getFailedCallsWithoutRetry());
+
+        // 同步调用同样只重试瞬时故障
+        AtomicInteger syncAttempts = new AtomicInteger();
+        assertThrows(HttpServerErrorException.class, () -> executor.execute("retry", ENDPOINT_A, () -> {
+            syncAttempts.incrementAndGet();
+            throw HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "", null, null, null);
+        }));
+        assertEquals(3, syncAttempts.get());
+    }
+
+    @Test
+    void opensCircuitPerEndpoint() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            failureOf(executor.executeAsync("breaker", ENDPOINT_A, () -> {
+                calls.incrementAndGet();
+                return CompletableFuture.failedFuture(new ResourceAccessException("connect refused"));
+            }));
+        }
+
+        Throwable rejected = failureOf(executor.executeAsync("breaker", ENDPOINT_A, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("unreachable");
+        }));
+        String other = executor.executeAsync("breaker", ENDPOINT_B,
+                () -> CompletableFuture.completedFuture("ok")).join();
+
+        assertTrue(rejected instanceof CallNotPermittedException);
+        assertEquals(4, calls.get());
+        assertEquals("ok", other);
+        OutboundPolicyMetrics metrics = executor.getMetrics("breaker");
+        assertEquals("OPEN", metrics.getEndpoints().get(ENDPOINT_A).getCircuitState());
+        assertEquals(1, metrics.getEndpoints().get(ENDPOINT_A).getNotPermittedCalls());
+        assertEquals("CLOSED", metrics.getEndpoints().get(ENDPOINT_B).getCircuitState());
+    }
+
+    @Test
+    void bulkheadRejectsWhenFull() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = executor.executeAsync("bulkhead", ENDPOINT_A, () -> pending);
+
+        Throwable rejected = failureOf(executor.executeAsync("bulkhead", ENDPOINT_A,
+                () -> CompletableFuture.completedFuture("second")));
+        assertEquals(0, executor.getMetrics("bulkhead").getEndpoints().get(ENDPOINT_A).getAvailableConcurrentCalls());
+        pending.complete("first");
+
+        assertTrue(rejected instanceof BulkheadFullException);
+        assertEquals("first", first.join());
+        assertEquals("third", executor.executeAsync("bulkhead", ENDPOINT_A,
+                () -> CompletableFuture.completedFuture("third")).join());
+    }
+
+    @Test
+    void validatesPoliciesAndEndpoints() {
+        assertEquals("https://api.example.com:443", OutboundCallExecutor.endpointOf("https://api.example.com/v1/verify"));
+        assertEquals("http://127.0.0.1:8080", OutboundCallExecutor.endpointOf("http://127.0.0.1:8080/a?b=c"));
+        assertThrows(IllegalArgumentException.class, () -> OutboundCallExecutor.endpointOf("/relative"));
+        assertThrows(IllegalStateException.class, () -> executor.registerPolicy(OutboundPolicy.defaults()));
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.registerPolicy(OutboundPolicy.builder().name("bad").jitterFactor(1.5).build()));
+        assertThrows(IllegalArgumentException.class, () -> executor.execute("missing", ENDPOINT_A, () -> "x"));
+        assertTrue(OutboundPolicy.isTransientFailure(new CompletionException(
+                HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))));
+        assertFalse(OutboundPolicy.isTransientFailure(new IllegalStateException()));
+    }
+
+    @Test
+    void capsRandomizedBackoff() {
+        OutboundPolicy policy = OutboundPolicy.builder()
+                .name("capped")
+                .initialBackoff(Duration.ofMillis(100))
+                .backoffMultiplier(3.0)
+                .jitterFactor(0.9)
+                .maxBackoff(Duration.ofMillis(500))
+                .build();
+        IntervalFunction backoff = OutboundCallExecutor.backoff(policy);
+        for (int attempt = 1; attempt <= 20; attempt++) {
+            long interval = backoff.apply(attempt);
+            assertTrue(interval > 0 && interval <= 500, "interval " + interval + " at attempt " + attempt);
+        }
+        assertThrows(IllegalArgumentException.class, () -> executor.registerPolicy(
+                policy.toBuilder().maxBackoff(Duration.ofMillis(50)).build()));
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        return OutboundPolicy.unwrap(exception);
+    }
+}
@@ -0,0 +1,109 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AesGcmCipher的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>加密结果包含IV和认证标签，可被同一密钥解密</li>
+ *   <li>密文被篡改或附加认证数据不一致时解密失败</li>
+ *   <li>批量加解密保持顺序并保留null元素</li>
+ *   <li>多线程共用同一实例时结果正确</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.AesGcmCipher
+ */
+class AesGcmCipherTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final AesGcmCipher cipher = new AesGcmCipher(KEY);
+
+    @Test
+    void encryptsAndDecrypts() {
+        String encrypted = cipher.encrypt("110101199001011234");
+
+        byte[] raw = Base64.getDecoder().decode(encrypted);
+        assertEquals(AesGcmCipher.IV_LENGTH + 18 + AesGcmCipher.TAG_LENGTH, raw.length);
+        assertEquals("110101199001011234", cipher.decrypt(encrypted));
+        assertEquals("110101199001011234", new AesGcmCipher(KEY).decrypt(encrypted));
+        assertNull(cipher.encrypt(null));
+        assertNull(cipher.decrypt(null));
+    }
+
+    @Test
+    void rejectsTamperedCiphertext() {
+        byte[] raw = Base64.getDecoder().decode(cipher.encrypt("13800138000"));
+        raw[AesGcmCipher.IV_LENGTH] ^= 1;
+        String tampered = Base64.getEncoder().encodeToString(raw);
+
+        assertThrows(RuntimeException.class, () -> cipher.decrypt(tampered));
+        assertThrows(IllegalArgumentException.class, () -> cipher.decrypt(new byte[AesGcmCipher.IV_LENGTH], null));
+    }
+
+    @Test
+    void bindsAssociatedData() {
+        byte[] mobile = "mobile".getBytes(StandardCharsets.UTF_8);
+        byte[] email = "email".getBytes(StandardCharsets.UTF_8);
+        String encrypted = cipher.encrypt("13800138000", mobile);
+
+        assertEquals("13800138000", cipher.decrypt(encrypted, mobile));
+        assertThrows(RuntimeException.class, () -> cipher.decrypt(encrypted, email));
+        assertThrows(RuntimeException.class, () -> cipher.decrypt(encrypted));
+    }
+
+    @Test
+    void encryptsBatch() {
+        List<String> fields = Arrays.asList("110101199001011234", null, "13800138000", "张三");
+
+        List<String> encrypted = cipher.encryptAll(fields);
+
+        assertEquals(fields.size(), encrypted.size());
+        assertNull(encrypted.get(1));
+        assertEquals(fields, cipher.decryptAll(encrypted));
+    }
+
+    @Test
+    void rejectsInvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> new AesGcmCipher(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> new AesGcmCipher(null));
+    }
+
+    @Test
+    void sharedAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        String text = "field-" + thread + "-" + i;
+                        if (!text.equals(cipher.decrypt(cipher.encrypt(text)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.lovemp.common.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncHttpClient及HttpUtils异步方法的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>GET参数、JSON请求体和请求头正确发送</li>
+ *   <li>同一主机的并发请求数不超过上限，超出的请求排队后依次执行，排队已满时拒绝</li>
+ *   <li>4xx/5xx响应和网络异常转换为与RestTemplate一致的异常</li>
+ *   <li>executeAll按传入顺序返回批量结果</li>
+ * </ul>
+ *
+ * <p>使用JDK内置的HttpServer作为桩服务器。
+ *
+ * @see com.lovemp.common.util.AsyncHttpClient
+ * @see com.lovemp.common.util.HttpUtils
+ */
+class AsyncHttpClientTest {
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private String baseUrl;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private volatile CountDownLatch slowGate = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/echo", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String token = exchange.getRequestHeaders().getFirst("X-Token");
+            respond(exchange, 200, exchange.getRequestMethod() + "|" + exchange.getRequestURI().getRawQuery()
+                    + "|" + body + "|" + token);
+        });
+        server.createContext("/slow", exchange -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                slowGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, 200, exchange.getRequestURI().getRawQuery());
+        });
+        server.createContext("/status", exchange -> {
+            int status = Integer.parseInt(exchange.getRequestURI().getRawQuery().substring("code=".length()));
+            respond(exchange, status, "status " + status);
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void sendsParamsBodyAndHeaders() {
+        AsyncHttpClient client = new AsyncHttpClient();
+
+        String get = client.get(baseUrl + "/echo", Map.of("name", "张三"), Map.of("X-Token", "t1")).join();
+        String post = client.postJson(baseUrl + "/echo", Map.of("id", 1), Map.of("Connection", "close")).join();
+        String put = HttpUtils.putJsonAsync(baseUrl + "/echo", "{\"a\":true}").join();
+
+        assertEquals("GET|name=%E5%BC%A0%E4%B8%89||t1", get);
+        assertEquals("POST|null|{\"id\":1}|null", post);
+        assertEquals("PUT|null|{\"a\":true}|null", put);
+    }
+
+    @Test
+    void limitsConcurrentRequestsPerHost() throws Exception {
+        slowGate = new CountDownLatch(1);
+        AsyncHttpClient client = new AsyncHttpClient(Duration.ofSeconds(5), Duration.ofSeconds(10), 2, null);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(client.get(baseUrl + "/slow", Map.of("i", String.valueOf(i)), null));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inFlight.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, client.getActiveRequests(URI.create(baseUrl)));
+        slowGate.countDown();
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals("i=" + i, futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(2, maxInFlight.get());
+        assertEquals(0, client.getActiveRequests(URI.create(baseUrl)));
+    }
+
+    @Test
+    void rejectsRequestsWhenHostQueueIsFull() throws Exception {
+        slowGate = new CountDownLatch(1);
+        AsyncHttpClient client = new AsyncHttpClient(Duration.ofSeconds(5), Duration.ofSeconds(10), 1, 1, null);
+
+        CompletableFuture<String> running = client.get(baseUrl + "/slow", Map.of("i", "0"), null);
+        CompletableFuture<String> queued = client.get(baseUrl + "/slow", Map.of("i", "1"), null);
+        CompletableFuture<String> rejected = client.get(baseUrl + "/slow", Map.of("i", "2"), null);
+
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(error.getCause() instanceof RejectedExecutionException);
+        slowGate.countDown();
+        assertEquals("i=0", running.get(10, TimeUnit.SECONDS));
+        assertEquals("i=1", queued.get(10, TimeUnit.SECONDS));
+        assertEquals(0, client.getActiveRequests(URI.create(baseUrl)));
+    }
+
+    @Test
+    void translatesErrorResponses() {
+        AsyncHttpClient client = new AsyncHttpClient();
+
+        CompletionException notFound = assertThrows(CompletionException.class,
+                () -> client.get(baseUrl + "/status?code=404", null, null).join());
+        CompletionException serverError = assertThrows(CompletionException.class,
+                () -> client.get(baseUrl + "/status?code=503", null, null).join());
+        server.stop(0);
+        CompletionException refused = assertThrows(CompletionException.class,
+                () -> client.get(baseUrl + "/echo", null, null).join());
+
+        assertTrue(notFound.getCause() instanceof HttpClientErrorException);
+        assertEquals(404, ((HttpClientErrorException) notFound.getCause()).getStatusCode().value());
+        assertEquals("status 404", ((HttpClientErrorException) notFound.getCause()).getResponseBodyAsString());
+        assertTrue(serverError.getCause() instanceof HttpServerErrorException);
+        assertTrue(refused.getCause() instanceof ResourceAccessException);
+    }
+
+    @Test
+    void executeAllKeepsRequestOrder() {
+        List<Supplier<CompletableFuture<String>>> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> params = Map.of("i", String.valueOf(i));
+            requests.add(() -> HttpUtils.getAsync(baseUrl + "/slow", params));
+        }
+
+        List<String> results = HttpUtils.executeAll(requests).join();
+
+        assertEquals(10, results.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("i=" + i, results.get(i));
+        }
+        assertTrue(HttpUtils.executeAll(new ArrayList<Supplier<CompletableFuture<String>>>()).join().isEmpty());
+    }
+
+    @Test
+    void syncRequestsShareThePooledClient() {
+        assertEquals("GET|a=1||null", HttpUtils.get(baseUrl + "/echo", Map.of("a", "1")));
+        assertThrows(HttpClientErrorException.class, () -> HttpUtils.get(baseUrl + "/status?code=400"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (InputStream ignored = exchange.getRequestBody(); OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        }
+    }
+}
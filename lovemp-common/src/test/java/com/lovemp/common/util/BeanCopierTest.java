@@ -0,0 +1,248 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BeanCopier的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>复制器按(源类型, 目标类型, 忽略属性)缓存复用</li>
+ *   <li>字段复制：继承字段、忽略属性、final字段与不兼容类型的反射回退、无法访问的字段报告错误</li>
+ *   <li>Getter/Setter复制：类型转换、null写入基本类型的默认值、单属性失败不影响其他属性</li>
+ *   <li>无参构造器实例化</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.BeanCopier
+ */
+class BeanCopierTest {
+
+    static class BaseSource {
+        protected long id;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+    }
+
+    static class Source extends BaseSource {
+        private String name;
+        private Integer count;
+        private Double amount;
+        private int code;
+        private String label;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public Double getAmount() {
+            return amount;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static class Target {
+        private long id;
+        private String name;
+        private int count = -1;
+        private BigDecimal amount;
+        private String code;
+        private final String label = "fixed";
+
+        public Target() {
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            if ("13".equals(code)) {
+                throw new IllegalArgumentException("非法编码");
+            }
+            this.code = code;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    static class SameShape {
+        private long id;
+        private String name;
+    }
+
+    @Test
+    void copiersAreCachedPerTypePairAndIgnoreSet() {
+        BeanCopier copier = BeanCopier.forFields(Source.class, Target.class);
+
+        assertSame(copier, BeanCopier.forFields(Source.class, Target.class));
+        assertSame(copier, BeanCopier.forFields(Source.class, Target.class, (String[]) null));
+        assertSame(BeanCopier.forFields(Source.class, Target.class, "name", "id"),
+                BeanCopier.forFields(Source.class, Target.class, "id", "name"));
+        assertNotSame(copier, BeanCopier.forFields(Source.class, Target.class, "name"));
+        assertNotSame(copier, BeanCopier.forAccessors(Source.class, Target.class));
+        assertThrows(IllegalArgumentException.class, () -> BeanCopier.forFields(null, Target.class));
+    }
+
+    @Test
+    void fieldCopierCopiesInheritedFieldsAndHonoursIgnores() {
+        Source source = new Source();
+        source.setId(7L);
+        source.setName("张三");
+
+        SameShape target = new SameShape();
+        BeanCopier.forFields(Source.class, SameShape.class).copy(source, target);
+        assertEquals(7L, target.id);
+        assertEquals("张三", target.name);
+
+        SameShape ignored = new SameShape();
+        BeanCopier copier = BeanCopier.forFields(Source.class, SameShape.class, "name");
+        copier.copy(source, ignored);
+        assertEquals(7L, ignored.id);
+        assertNull(ignored.name);
+        assertEquals(1, copier.getPropertyCount());
+    }
+
+    @Test
+    void fieldCopierFallsBackToReflectionForIncompatibleTypes() {
+        Source source = new Source();
+        source.code = 5;
+        Target target = new Target();
+
+        // int到String无法赋值，与Field.set一致抛出IllegalArgumentException
+        assertThrows(IllegalArgumentException.class,
+                () -> BeanCopier.forFields(Source.class, Target.class).copy(source, target));
+
+        // null写入引用类型字段与原实现一致
+        Target other = new Target();
+        other.setName("原值");
+        BeanCopier.forFields(Source.class, Target.class, "code", "count").copy(source, other);
+        assertNull(other.getName());
+    }
+
+    @Test
+    void accessorCopierConvertsAndDefaults() {
+        Source source = new Source();
+        source.setId(9L);
+        source.setName("李四");
+        source.amount = 12.5;
+        source.code = 42;
+        Target target = new Target();
+
+        BeanCopier.forAccessors(Source.class, Target.class).copy(source, target);
+
+        assertEquals(9L, target.getId());
+        assertEquals("李四", target.getName());
+        // null写入int使用默认值0
+        assertEquals(0, target.getCount());
+        assertEquals(0, new BigDecimal("12.5").compareTo(target.getAmount()));
+        assertEquals("42", target.getCode());
+        // 没有setter的属性不复制
+        assertEquals("fixed", target.getLabel());
+    }
+
+    @Test
+    void accessorCopierContinuesAfterPropertyFailure() {
+        Source source = new Source();
+        source.setName("王五");
+        source.code = 13;
+        Target target = new Target();
+
+        BeanCopier.forAccessors(Source.class, Target.class).copy(source, target);
+
+        assertNull(target.getCode());
+        assertEquals("王五", target.getName());
+    }
+
+    @Test
+    void fieldCopierReportsInaccessibleFields() {
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            // java.base未向未命名模块开放AtomicInteger的私有字段
+            BeanCopier.forFields(AtomicInteger.class, AtomicInteger.class).copy(new AtomicInteger(5), new AtomicInteger());
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("复制属性 value 时出错"));
+    }
+
+    @Test
+    void copyIgnoresNullArguments() {
+        BeanCopier copier = BeanCopier.forAccessors(Source.class, Target.class);
+
+        assertDoesNotThrow(() -> copier.copy(null, new Target()));
+        assertDoesNotThrow(() -> copier.copy(new Source(), null));
+    }
+
+    @Test
+    void newInstanceUsesNoArgConstructor() throws Exception {
+        assertNotNull(BeanCopier.newInstance(Target.class));
+        assertNotNull(BeanCopier.newInstance(SameShape.class));
+        assertThrows(NoSuchMethodException.class, () -> BeanCopier.newInstance(Integer.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BlindIndexer的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>同一值的不同写法规范化后得到相同索引，不同字段的相同值索引不同</li>
+ *   <li>索引格式为"密钥版本.截断摘要"，与直接计算HMAC的结果一致</li>
+ *   <li>密钥轮换期间候选索引覆盖所有版本且当前版本在前，移除旧密钥后不再生成</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.BlindIndexer
+ */
+class BlindIndexerTest {
+
+    private static final String SECRET_V1 = "blind-index-secret-v1";
+
+    private static final String SECRET_V2 = "blind-index-secret-v2";
+
+    private static final BlindIndexer.Field EMAIL = BlindIndexer.Field.caseInsensitive("test.email");
+
+    private static final BlindIndexer.Field USERNAME = BlindIndexer.Field.exact("test.username");
+
+    @Test
+    void computesTruncatedVersionedIndex() {
+        BlindIndexer indexer = new BlindIndexer(1, SECRET_V1);
+
+        String index = indexer.index(EMAIL, "zhangsan@example.com");
+
+        String expected = EncryptionUtils.hmacSha256("test.email\u001Fzhangsan@example.com", SECRET_V1)
+                .substring(0, BlindIndexer.DEFAULT_INDEX_BYTES * 2);
+        assertEquals("1." + expected, index);
+        assertEquals(1, BlindIndexer.versionOf(index));
+        assertTrue(indexer.isCurrent(index));
+    }
+
+    @Test
+    void normalizesBeforeIndexing() {
+        BlindIndexer indexer = new BlindIndexer(1, SECRET_V1);
+
+        assertEquals(indexer.index(EMAIL, "zhangsan@example.com"), indexer.index(EMAIL, " ZhangSan@Example.com "));
+        assertNotEquals(indexer.index(USERNAME, "zhangsan"), indexer.index(USERNAME, "ZhangSan"));
+        assertNotEquals(indexer.index(EMAIL, "zhangsan"), indexer.index(USERNAME, "zhangsan"));
+        assertTrue(BlindIndexer.matches(EMAIL, "ZHANGSAN@example.com", "zhangsan@example.com"));
+        assertNull(indexer.index(EMAIL, "   "));
+        assertTrue(indexer.candidates(EMAIL, null).isEmpty());
+    }
+
+    @Test
+    void rotatesKeys() {
+        BlindIndexer v1 = new BlindIndexer(1, SECRET_V1);
+        String stored = v1.index(EMAIL, "zhangsan@example.com");
+
+        BlindIndexer v2 = v1.withKey(2, SECRET_V2);
+        List<String> candidates = v2.candidates(EMAIL, "zhangsan@example.com");
+
+        assertEquals(2, candidates.size());
+        assertEquals(v2.index(EMAIL, "zhangsan@example.com"), candidates.get(0));
+        assertEquals(stored, candidates.get(1));
+        assertFalse(v2.isCurrent(stored));
+        assertTrue(v2.isCurrent(candidates.get(0)));
+
+        BlindIndexer retired = v2.withoutKey(1);
+        assertEquals(List.of(candidates.get(0)), retired.candidates(EMAIL, "zhangsan@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> retired.withoutKey(2));
+    }
+
+    @Test
+    void supportsCustomLength() {
+        BlindIndexer indexer = new BlindIndexer(Map.of(3, SECRET_V1), 3, 16);
+
+        assertEquals("3.".length() + 32, indexer.index(EMAIL, "zhangsan@example.com").length());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new BlindIndexer(1, "short"));
+        assertThrows(IllegalArgumentException.class, () -> new BlindIndexer(Map.of(1, SECRET_V1), 2, 8));
+        assertThrows(IllegalArgumentException.class, () -> new BlindIndexer(Map.of(1, SECRET_V1), 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> BlindIndexer.versionOf("abc"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilter的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>写入过的值一定判定为可能存在</li>
+ *   <li>未写入值的误判率接近设定值</li>
+ *   <li>写入量超过预期时追加分段，总体误判率不超过设定值</li>
+ *   <li>多线程并发写入不丢失</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.BloomFilter
+ */
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+        assertEquals(1, filter.stageCount());
+        assertTrue(filter.approximateCount() > 9_900);
+    }
+
+    @Test
+    void falsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_000, "误判次数: " + falsePositives);
+        assertTrue(filter.expectedFpp() < 0.01);
+    }
+
+    @Test
+    void growsBeyondExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+        assertTrue(filter.stageCount() > 1);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_000, "误判次数: " + falsePositives);
+    }
+
+    @Test
+    void concurrentPuts() throws Exception {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        filter.put("t" + thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 5_000; i++) {
+                assertTrue(filter.mightContain("t" + t + "-" + i));
+            }
+        }
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
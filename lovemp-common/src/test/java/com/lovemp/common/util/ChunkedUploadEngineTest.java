@@ -0,0 +1,245 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ChunkedUploadEngine的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>多线程乱序并发上传分片，完成后目标文件内容完整</li>
+ *   <li>新实例（模拟进程重启）按日志恢复进度，丢弃写了一半的日志记录</li>
+ *   <li>分片索引、长度校验（包括截断的分片），未完成时拒绝完成上传</li>
+ *   <li>最后一个分片可以短于应有长度，完成时目标文件截断到实际长度</li>
+ *   <li>上传到同一目标路径的两个上传各自使用临时文件，取消一个不影响另一个</li>
+ *   <li>重命名失败后上传仍可用，可以再次完成</li>
+ *   <li>取消上传和过期清理删除临时文件与日志</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.ChunkedUploadEngine
+ */
+class ChunkedUploadEngineTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private Path tempDir;
+
+    private Path journalDir;
+
+    private ChunkedUploadEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("chunked-upload-test");
+        journalDir = tempDir.resolve("journal");
+        engine = new ChunkedUploadEngine(journalDir, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteDirectory(tempDir.toString());
+    }
+
+    @Test
+    void uploadsChunksConcurrently() throws Exception {
+        byte[] content = randomBytes(CHUNK_SIZE * 37 + 1234);
+        Path target = tempDir.resolve("out/target.bin");
+        FileUtils.UploadStatus status = engine.init("concurrent", target.toString(), content.length, CHUNK_SIZE);
+        assertEquals(38, status.getTotalChunks());
+
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < status.getTotalChunks(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(1));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int index : order) {
+                futures.add(pool.submit(() -> engine.writeChunk("concurrent", index, chunk(content, index))));
+                // 重复上传同一分片不影响进度
+                futures.add(pool.submit(() -> engine.writeChunk("concurrent", index, chunk(content, index))));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(status.isCompleted());
+        assertEquals(content.length, status.getUploadedSize());
+        assertEquals(100, status.getProgress());
+        assertEquals(target, engine.complete("concurrent"));
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertFalse(Files.exists(journalDir.resolve("concurrent.part")));
+        assertNull(engine.getStatus("concurrent"));
+    }
+
+    @Test
+    void resumesAfterRestart() throws Exception {
+        byte[] content = randomBytes(CHUNK_SIZE * 4);
+        Path target = tempDir.resolve("resume.bin");
+        String fileId = "上传/带特殊字符的标识";
+        engine.init(fileId, target.toString(), content.length, CHUNK_SIZE);
+        engine.writeChunk(fileId, 0, chunk(content, 0));
+        engine.writeChunk(fileId, 2, chunk(content, 2));
+
+        // 模拟进程在追加日志记录时中断
+        Path journal;
+        try (var journals = Files.list(journalDir)) {
+            journal = journals.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0}));
+        }
+
+        ChunkedUploadEngine restarted = new ChunkedUploadEngine(journalDir, Duration.ofHours(1));
+        assertEquals(1, restarted.recoverAll());
+        FileUtils.UploadStatus status = restarted.init(fileId, target.toString(), content.length, CHUNK_SIZE);
+        assertEquals(Arrays.asList(1, 3), status.getNotUploadedChunks());
+        assertEquals(2L * CHUNK_SIZE, status.getUploadedSize());
+
+        restarted.writeChunk(fileId, 1, chunk(content, 1));
+        restarted.writeChunk(fileId, 3, chunk(content, 3));
+        restarted.complete(fileId);
+        assertArrayEquals(content, Files.readAllBytes(target));
+        try (var journals = Files.list(journalDir)) {
+            assertEquals(0, journals.count());
+        }
+    }
+
+    @Test
+    void validatesChunks() throws Exception {
+        byte[] content = randomBytes(CHUNK_SIZE + 10);
+        Path target = tempDir.resolve("validate.bin");
+        engine.init("validate", target.toString(), content.length, CHUNK_SIZE);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.writeChunk("validate", 2, ByteBuffer.wrap(new byte[1])));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.writeChunk("validate", 1, ByteBuffer.wrap(new byte[11])));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.writeChunk("missing", 0, ByteBuffer.wrap(new byte[1])));
+        // 截断的分片会在临时文件中留下空洞，必须拒绝
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.writeChunk("validate", 0, ByteBuffer.wrap(content, 0, CHUNK_SIZE - 1)));
+        Path shortChunkFile = Files.write(tempDir.resolve("short0"), Arrays.copyOf(content, 100));
+        assertThrows(IllegalArgumentException.class, () -> engine.writeChunk("validate", 0, shortChunkFile));
+        assertFalse(engine.getStatus("validate").isChunkUploaded(0));
+
+        engine.writeChunk("validate", 1, chunk(content, 1));
+        IllegalStateException incomplete = assertThrows(IllegalStateException.class, () -> engine.complete("validate"));
+        assertTrue(incomplete.getMessage().contains("1个分片"));
+
+        Path chunkFile = Files.write(tempDir.resolve("chunk0"), Arrays.copyOf(content, CHUNK_SIZE));
+        assertTrue(engine.writeChunk("validate", 0, chunkFile));
+        engine.complete("validate");
+        assertArrayEquals(content, Files.readAllBytes(target));
+
+        // 参数不同的重复初始化重新开始
+        engine.init("again", target.toString(), 100, 10);
+        engine.writeChunk("again", 0, ByteBuffer.wrap(new byte[10]));
+        assertEquals(5, engine.init("again", target.toString(), 100, 20).getRemainingChunks());
+    }
+
+    @Test
+    void acceptsShortFinalChunk() throws Exception {
+        byte[] content = randomBytes(CHUNK_SIZE + 10);
+        Path target = tempDir.resolve("short-final.bin");
+        engine.init("short-final", target.toString(), CHUNK_SIZE * 2L, CHUNK_SIZE);
+
+        engine.writeChunk("short-final", 1, chunk(content, 1));
+        engine.writeChunk("short-final", 0, chunk(content, 0));
+
+        // 重启后按日志中的实际长度完成
+        ChunkedUploadEngine restarted = new ChunkedUploadEngine(journalDir, Duration.ofHours(1));
+        assertEquals(target, restarted.complete("short-final"));
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    void uploadsToSameTargetDoNotShareTempFile() throws Exception {
+        byte[] content = randomBytes(CHUNK_SIZE);
+        Path target = tempDir.resolve("shared.bin");
+        engine.init("first", target.toString(), content.length, CHUNK_SIZE);
+        engine.init("second", target.toString(), content.length, CHUNK_SIZE);
+        engine.writeChunk("second", 0, chunk(content, 0));
+
+        assertTrue(engine.cancel("first"));
+        assertTrue(Files.exists(journalDir.resolve("second.part")));
+        assertEquals(target, engine.complete("second"));
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    void completeCanBeRetriedAfterMoveFails() throws Exception {
+        byte[] content = randomBytes(CHUNK_SIZE);
+        Path target = tempDir.resolve("blocked.bin");
+        engine.init("blocked", target.toString(), content.length, CHUNK_SIZE);
+        engine.writeChunk("blocked", 0, chunk(content, 0));
+        // 目标位置是非空目录，重命名失败
+        Files.createDirectories(target.resolve("occupied"));
+
+        assertThrows(IOException.class, () -> engine.complete("blocked"));
+        assertTrue(Files.exists(journalDir.resolve("blocked.part")));
+        assertTrue(engine.getStatus("blocked").isCompleted());
+
+        FileUtils.deleteDirectory(target.toString());
+        assertEquals(target, engine.complete("blocked"));
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertNull(engine.getStatus("blocked"));
+    }
+
+    @Test
+    void cancelsAndPurgesExpiredUploads() throws Exception {
+        Path cancelled = tempDir.resolve("cancelled.bin");
+        engine.init("cancelled", cancelled.toString(), 100, 10);
+        assertTrue(engine.cancel("cancelled"));
+        assertFalse(engine.cancel("cancelled"));
+        assertFalse(Files.exists(journalDir.resolve("cancelled.part")));
+
+        Path expired = tempDir.resolve("expired.bin");
+        engine.init("expired", expired.toString(), 100, 10);
+        Path journal = journalDir.resolve("expired.journal");
+        Files.setLastModifiedTime(journal, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+
+        ChunkedUploadEngine restarted = new ChunkedUploadEngine(journalDir, Duration.ofHours(1));
+        assertEquals(1, restarted.purgeExpired());
+        assertFalse(Files.exists(journal));
+        assertFalse(Files.exists(journalDir.resolve("expired.part")));
+        assertNull(restarted.getStatus("expired"));
+    }
+
+    private static ByteBuffer chunk(byte[] content, int index) {
+        int offset = index * CHUNK_SIZE;
+        return ByteBuffer.wrap(content, offset, Math.min(CHUNK_SIZE, content.length - offset));
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -18,6 +18,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * - groupBy(): 集合分组
  * - filter(): 集合过滤
  * - map(): 集合映射转换
+ * - intersection()/difference(): 哈希索引实现与retainAll/removeAll语义一致
+ * - parallelFilter()/parallelGroupBy()/parallelToMap(): 并行结果与顺序版本一致
  * 
  * 每个测试用例都会验证:
  * 1. 正常情况 - 集合操作的正确性
@@ -329,4 +331,67 @@ class CollectionUtilsTest {
         assertTrue(CollectionUtils.difference(null, list2).isEmpty());
         assertEquals(list1.size(), CollectionUtils.difference(list1, null).size());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void setOperationsMatchRetainAllAndRemoveAll() {
+        // 两侧大小差异明显且均超过线性查找阈值，分别覆盖索引集合1和索引集合2两种路径
+        List<Integer> small = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            small.add(i * 3 % 40);
+        }
+        List<Integer> large = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            large.add(i * 7 % 100);
+        }
+
+        assertEquals(retainAll(small, large), CollectionUtils.intersection(small, large));
+        assertEquals(retainAll(large, small), CollectionUtils.intersection(large, small));
+        assertEquals(removeAll(small, large), CollectionUtils.difference(small, large));
+        assertEquals(removeAll(large, small), CollectionUtils.difference(large, small));
+        assertEquals(retainAll(large, new HashSet<>(small)), CollectionUtils.intersection(large, new HashSet<>(small)));
+    }
+
+    @Test
+    void intersectionKeepsOrderDuplicatesAndNulls() {
+        List<String> list1 = Arrays.asList("d", null, "c", "d", "a");
+        List<String> list2 = Arrays.asList("c", "d", null, "x", "y", "z", "u", "v", "w");
+
+        assertEquals(Arrays.asList("d", null, "c", "d"), CollectionUtils.intersection(list1, list2));
+        assertEquals(Collections.singletonList("a"), CollectionUtils.difference(list1, list2));
+    }
+
+    @Test
+    void parallelVariantsMatchSequentialResults() {
+        List<TestUser> users = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            users.add(new TestUser(String.valueOf(i % 15_000), "user" + i, "role" + (i % 7), i % 2 == 0));
+        }
+
+        assertEquals(CollectionUtils.filter(users, TestUser::isActive),
+                CollectionUtils.parallelFilter(users, TestUser::isActive));
+        assertEquals(CollectionUtils.groupBy(users, TestUser::getRole),
+                CollectionUtils.parallelGroupBy(users, TestUser::getRole));
+        // 键冲突时保留遍历顺序中的第一个元素
+        Map<String, TestUser> byId = CollectionUtils.parallelToMap(users, TestUser::getId);
+        assertEquals(CollectionUtils.toMap(users, TestUser::getId), byId);
+        assertEquals("user0", byId.get("0").getName());
+
+        // 低于阈值时顺序执行，结果一致
+        assertEquals(Collections.singletonList(users.get(1)),
+                CollectionUtils.parallelFilter(users.subList(0, 3), user -> !user.isActive() && user.getName().equals("user1")));
+        assertTrue(CollectionUtils.parallelGroupBy(null, TestUser::getRole).isEmpty());
+        assertTrue(CollectionUtils.parallelToMap(Collections.emptyList(), TestUser::getId).isEmpty());
+    }
+
+    private static <T> List<T> retainAll(Collection<T> collection1, Collection<T> collection2) {
+        List<T> result = new ArrayList<>(collection1);
+        result.retainAll(collection2);
+        return result;
+    }
+
+    private static <T> List<T> removeAll(Collection<T> collection1, Collection<T> collection2) {
+        List<T> result = new ArrayList<>(collection1);
+        result.removeAll(collection2);
+        return result;
+    }
+}
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 
@@ -897,6 +898,49 @@ public class DateTimeUtilsTest {
         assertEquals(LocalDate.of(2023, 1, 1), parsedSpecialDate);
     }
     
+    /**
+     * 测试默认格式的快速解析与格式化和DateTimeFormatter结果一致
+     */
+    @Test
+    public void testDefaultPatternFastPath() {
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(DateTimeUtils.DEFAULT_DATETIME_PATTERN);
+        LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 7, 5, 9);
+        assertEquals(dateTime.format(dateTimeFormatter), DateTimeUtils.formatDateTime(dateTime));
+        assertEquals("0001-01-01", DateTimeUtils.formatDate(LocalDate.of(1, 1, 1)));
+        assertEquals("23:59:59", DateTimeUtils.formatTime(LocalTime.of(23, 59, 59, 999)));
+        assertEquals("+10000-01-01", DateTimeUtils.formatDate(LocalDate.of(10000, 1, 1)));
+        assertEquals(dateTime, DateTimeUtils.parseDateTime("2024-02-29 07:05:09"));
+        assertEquals(dateTime, DateTimeUtils.parseDateTime("2024-02-29 07:05:09", DateTimeUtils.DEFAULT_DATETIME_PATTERN));
+        
+        // 不规范或不合法的值回退到DateTimeFormatter，保持原有的宽松解析结果
+        assertEquals(LocalDateTime.parse("2023-02-30 10:00:00", dateTimeFormatter),
+                DateTimeUtils.parseDateTime("2023-02-30 10:00:00"));
+        assertEquals(LocalTime.MIDNIGHT, DateTimeUtils.parseTime("24:00:00"));
+        assertNull(DateTimeUtils.parseDate("2023-2-28"));
+        assertNull(DateTimeUtils.parseDate("2023-02-2x"));
+        assertNull(DateTimeUtils.parseTime("12:60:00"));
+    }
+    
+    /**
+     * 测试自定义格式的格式化器按模式缓存
+     */
+    @Test
+    public void testFormatterCache() {
+        assertSame(DateTimeUtils.getFormatter("yyyy/MM/dd"), DateTimeUtils.getFormatter("yyyy/MM/dd"));
+        assertEquals("2023/05/01", DateTimeUtils.formatDate(LocalDate.of(2023, 5, 1), "yyyy/MM/dd"));
+        assertEquals(LocalDate.of(2023, 5, 1), DateTimeUtils.parseDate("2023/05/01", "yyyy/MM/dd"));
+        assertThrows(IllegalArgumentException.class, () -> DateTimeUtils.getFormatter("yyyy-MM-dd{"));
+        
+        // 大量一次性模式不会把已缓存的模式挤出缓存
+        DateTimeFormatter cached = DateTimeUtils.getFormatter("yyyy/MM/dd");
+        for (int i = 0; i < 200; i++) {
+            DateTimeUtils.getFormatter("yyyy-MM-dd '" + i + "'");
+        }
+        assertSame(cached, DateTimeUtils.getFormatter("yyyy/MM/dd"));
+        assertEquals("2023-05-01 7",
+                DateTimeUtils.formatDate(LocalDate.of(2023, 5, 1), "yyyy-MM-dd '7'"));
+    }
+    
     /**
      * 测试跨时区日期时间转换
      * 注意：这个测试需要DateTimeUtils提供时区转换方法，如果没有可以忽略
@@ -0,0 +1,256 @@
+package com.lovemp.common.util;
+
+import com.lovemp.common.domain.ValueObject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DeepCopier的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>值对象与不可变类型共享引用，可变对象与集合被复制</li>
+ *   <li>多态字段保留运行时类型</li>
+ *   <li>循环引用与共享引用保持原有结构</li>
+ *   <li>集合保留具体实现、比较器、同步包装与不可修改性，lambda按引用共享</li>
+ *   <li>无法按原类型重建的集合退回JSON往返复制</li>
+ *   <li>没有无参构造器的类型与记录类型</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.DeepCopier
+ */
+class DeepCopierTest {
+
+    enum Level { LOW, HIGH }
+
+    static final class Money implements ValueObject {
+        private final BigDecimal amount;
+
+        Money(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Money && Objects.equals(amount, ((Money) o).amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(amount);
+        }
+    }
+
+    interface Shape {
+    }
+
+    static class Circle implements Shape {
+        double radius;
+    }
+
+    static class Node {
+        String name;
+        Node next;
+        List<Node> children = new ArrayList<>();
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    static class Account {
+        long id;
+        Money balance;
+        LocalDate openDate;
+        Level level;
+        Shape shape;
+        int[] scores;
+        Object[] extras;
+        List<String> tags;
+        Map<Level, List<String>> notes;
+        Set<String> sorted;
+        List<String> readOnly;
+        Account self;
+    }
+
+    record Pair(String key, List<String> values) {
+    }
+
+    @Test
+    void sharesValueObjectsAndImmutablesButCopiesMutableState() {
+        Account source = new Account();
+        source.id = 1L;
+        source.balance = new Money(new BigDecimal("10.50"));
+        source.openDate = LocalDate.of(2024, 1, 1);
+        source.level = Level.HIGH;
+        source.scores = new int[]{1, 2, 3};
+        source.tags = new ArrayList<>(Arrays.asList("a", "b"));
+
+        Account copy = DeepCopier.copy(source);
+
+        assertNotSame(source, copy);
+        assertEquals(1L, copy.id);
+        assertSame(source.balance, copy.balance);
+        assertSame(source.openDate, copy.openDate);
+        assertSame(Level.HIGH, copy.level);
+        assertNotSame(source.scores, copy.scores);
+        assertArrayEquals(source.scores, copy.scores);
+        assertNotSame(source.tags, copy.tags);
+        assertEquals(source.tags, copy.tags);
+
+        source.tags.add("c");
+        source.scores[0] = 9;
+        assertEquals(2, copy.tags.size());
+        assertEquals(1, copy.scores[0]);
+    }
+
+    @Test
+    void keepsRuntimeTypeOfPolymorphicFields() {
+        Circle circle = new Circle();
+        circle.radius = 2.5;
+        Account source = new Account();
+        source.shape = circle;
+        source.extras = new Object[]{circle, "text"};
+
+        Account copy = DeepCopier.copy(source);
+
+        assertTrue(copy.shape instanceof Circle);
+        assertNotSame(circle, copy.shape);
+        assertEquals(2.5, ((Circle) copy.shape).radius);
+        // 同一对象在副本中仍是同一个引用
+        assertSame(copy.shape, copy.extras[0]);
+    }
+
+    @Test
+    void preservesCyclesAndSharedReferences() {
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.next = second;
+        second.next = first;
+        first.children.add(second);
+        Account source = new Account();
+        source.self = source;
+
+        Node copy = DeepCopier.copy(first);
+        Account accountCopy = DeepCopier.copy(source);
+
+        assertNotSame(first, copy);
+        assertSame(copy, copy.next.next);
+        assertSame(copy.next, copy.children.get(0));
+        assertEquals("second", copy.next.name);
+        assertSame(accountCopy, accountCopy.self);
+    }
+
+    @Test
+    void copiesCollectionsKeepingImplementationAndOrdering() {
+        Account source = new Account();
+        source.sorted = new TreeSet<>(Comparator.reverseOrder());
+        source.sorted.addAll(Arrays.asList("a", "c", "b"));
+        source.readOnly = List.of("x", "y");
+        source.notes = new EnumMap<>(Level.class);
+        source.notes.put(Level.LOW, new ArrayList<>(List.of("n1")));
+        Map<String, Object> linked = new LinkedHashMap<>();
+        linked.put("z", 1);
+        linked.put("a", new ArrayList<>(List.of("v")));
+
+        Account copy = DeepCopier.copy(source);
+        Map<String, Object> linkedCopy = DeepCopier.copy(linked);
+
+        assertTrue(copy.sorted instanceof TreeSet);
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(copy.sorted));
+        assertEquals(source.readOnly, copy.readOnly);
+        assertThrows(UnsupportedOperationException.class, () -> copy.readOnly.add("z"));
+        assertTrue(copy.notes instanceof EnumMap);
+        assertNotSame(source.notes.get(Level.LOW), copy.notes.get(Level.LOW));
+        assertTrue(linkedCopy instanceof LinkedHashMap);
+        assertEquals(Arrays.asList("z", "a"), new ArrayList<>(linkedCopy.keySet()));
+        assertNotSame(linked.get("a"), linkedCopy.get("a"));
+    }
+
+    public static class Bag {
+        public List<String> items;
+        public Map<String, Integer> counts;
+        public Set<String> ordered;
+        public Runnable callback;
+    }
+
+    @Test
+    void keepsSynchronizedAndOtherJdkCollectionTypes() {
+        Bag source = new Bag();
+        source.items = Collections.synchronizedList(new ArrayList<>(List.of("a", "b")));
+        source.counts = Collections.synchronizedMap(new HashMap<>(Map.of("a", 1)));
+        source.ordered = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+        source.ordered.addAll(List.of("a", "c", "b"));
+        source.callback = () -> { };
+        List<String> fixed = Arrays.asList("x", "y");
+        Vector<String> vector = new Vector<>(List.of("v"));
+
+        Bag copy = DeepCopier.copy(source);
+
+        assertNotSame(source.items, copy.items);
+        assertSame(source.items.getClass(), copy.items.getClass());
+        assertEquals(source.items, copy.items);
+        assertSame(source.counts.getClass(), copy.counts.getClass());
+        assertEquals(source.counts, copy.counts);
+        assertTrue(copy.ordered instanceof ConcurrentSkipListSet);
+        assertEquals(List.of("c", "b", "a"), new ArrayList<>(copy.ordered));
+        assertSame(source.callback, copy.callback);
+        assertSame(fixed.getClass(), DeepCopier.copy(fixed).getClass());
+        assertThrows(UnsupportedOperationException.class, () -> DeepCopier.copy(fixed).add("z"));
+        assertTrue(DeepCopier.copy(vector) instanceof Vector);
+    }
+
+    @Test
+    void fallsBackToJsonForCollectionsItCannotRebuild() {
+        Bag source = new Bag();
+        source.items = Collections.checkedList(new ArrayList<>(List.of("a")), String.class);
+
+        Bag copy = DeepCopier.copy(source);
+
+        assertNotSame(source.items, copy.items);
+        assertEquals(List.of("a"), copy.items);
+    }
+
+    @Test
+    void copiesTypesWithoutNoArgConstructorAndRecords() {
+        Node node = new Node("root");
+        Pair pair = new Pair("k", new ArrayList<>(List.of("v1")));
+
+        Node nodeCopy = DeepCopier.copy(node);
+        Pair pairCopy = DeepCopier.copy(pair);
+
+        assertEquals("root", nodeCopy.name);
+        assertNotSame(node.children, nodeCopy.children);
+        assertEquals(pair, pairCopy);
+        assertNotSame(pair.values(), pairCopy.values());
+    }
+
+    @Test
+    void handlesNullAndSharedRoots() {
+        assertNull(DeepCopier.copy(null));
+        String text = "text";
+        assertSame(text, DeepCopier.copy(text));
+        Map<String, Integer> empty = new HashMap<>();
+        assertNotSame(empty, DeepCopier.copy(empty));
+        assertTrue(DeepCopier.isShared(Money.class));
+        assertFalse(DeepCopier.isShared(Node.class));
+    }
+}
@@ -5,7 +5,10 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 
 /**
  * EncryptionUtils工具类单元测试
@@ -383,4 +386,78 @@ public class EncryptionUtilsTest {
             // 预期的异常
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 测试十六进制编解码与JDK HexFormat结果一致
+     */
+    @Test
+    public void testHexCodecMatchesHexFormat() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        
+        String hex = EncryptionUtils.bytesToHex(bytes);
+        assertEquals(HexFormat.of().formatHex(bytes), hex);
+        assertArrayEquals(bytes, EncryptionUtils.hexToBytes(hex));
+        assertArrayEquals(bytes, EncryptionUtils.hexToBytes(hex.toUpperCase()));
+        
+        // 非ASCII字符同样视为非法
+        assertThrows(IllegalArgumentException.class, () -> EncryptionUtils.hexToBytes("ab中文"));
+    }
+    
+    /**
+     * 测试同一线程复用HMAC实例时，不同密钥交替计算的结果互不影响
+     */
+    @Test
+    public void testHmacSha256WithAlternatingKeys() {
+        String first = EncryptionUtils.hmacSha256(TEST_TEXT, "key-1");
+        String second = EncryptionUtils.hmacSha256(TEST_TEXT, "key-2");
+        
+        assertNotEquals(first, second);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(first, EncryptionUtils.hmacSha256(TEST_TEXT, "key-1"));
+            assertEquals(second, EncryptionUtils.hmacSha256(TEST_TEXT, "key-2"));
+        }
+        
+        // RFC 4231 测试用例2
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                EncryptionUtils.hmacSha256("what do ya want for nothing?", "Jefe"));
+    }
+    
+    /**
+     * 测试AES-GCM加密与解密
+     */
+    @Test
+    public void testAesGcmEncryptAndDecrypt() {
+        String encrypted = EncryptionUtils.aesGcmEncrypt(TEST_TEXT, TEST_KEY);
+        
+        assertNotNull(encrypted);
+        assertEquals(TEST_TEXT, EncryptionUtils.aesGcmDecrypt(encrypted, TEST_KEY));
+        
+        // 随机IV，相同明文两次加密结果不同
+        assertNotEquals(encrypted, EncryptionUtils.aesGcmEncrypt(TEST_TEXT, TEST_KEY));
+        
+        // 密钥错误时认证失败
+        assertThrows(RuntimeException.class, () -> EncryptionUtils.aesGcmDecrypt(encrypted, "fedcba9876543210"));
+        
+        // 验证空值处理
+        assertNull(EncryptionUtils.aesGcmEncrypt(null, TEST_KEY));
+        assertNull(EncryptionUtils.aesGcmDecrypt("", TEST_KEY));
+    }
+    
+    /**
+     * 测试AES-GCM批量加解密
+     */
+    @Test
+    public void testAesGcmBatch() {
+        List<String> fields = Arrays.asList("110101199001011234", null, "13800138000", "");
+        
+        List<String> encrypted = EncryptionUtils.aesGcmEncryptAll(fields, TEST_KEY);
+        
+        assertEquals(4, encrypted.size());
+        assertNull(encrypted.get(1));
+        assertEquals(fields, EncryptionUtils.aesGcmDecryptAll(encrypted, TEST_KEY));
+        assertEquals(fields.get(0), EncryptionUtils.aesGcmDecrypt(encrypted.get(0), TEST_KEY));
+    }
+}
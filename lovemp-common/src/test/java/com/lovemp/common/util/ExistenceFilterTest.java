@@ -0,0 +1,114 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExistenceFilter的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>预热前所有查询都直接执行</li>
+ *   <li>预热后不存在的值不执行查询，存在的值执行查询</li>
+ *   <li>默认忽略大小写和首尾空白</li>
+ *   <li>重建期间写入的值在重建完成后仍然可见</li>
+ *   <li>误判次数和实际误判率统计</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.ExistenceFilter
+ */
+class ExistenceFilterTest {
+
+    private final Set<String> store = new HashSet<>();
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final Predicate<String> lookup = value -> {
+        lookups.incrementAndGet();
+        return store.contains(value.trim().toLowerCase());
+    };
+
+    @Test
+    void delegatesUntilWarmedUp() {
+        ExistenceFilter filter = new ExistenceFilter("test", 1_000, 0.01);
+        store.add("zhangsan");
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.exists("zhangsan", lookup));
+        assertFalse(filter.exists("lisi", lookup));
+        assertEquals(2, lookups.get());
+        assertEquals(0, filter.getLookupCount());
+    }
+
+    @Test
+    void skipsLookupForAbsentValues() {
+        ExistenceFilter filter = new ExistenceFilter("test", 1_000, 0.01);
+        store.add("zhangsan");
+        assertEquals(1, filter.rebuild(store.stream()));
+
+        assertTrue(filter.exists(" ZhangSan ", lookup));
+        assertEquals(1, lookups.get());
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(filter.exists("absent" + i, lookup));
+        }
+        assertTrue(lookups.get() < 50, "查询次数: " + lookups.get());
+        assertEquals(1_001, filter.getLookupCount());
+        assertEquals(lookups.get() - 1, filter.getFalsePositiveCount());
+        assertEquals(1_000 - filter.getFalsePositiveCount(), filter.getFilteredCount());
+        assertTrue(filter.getObservedFalsePositiveRate() < 0.05);
+    }
+
+    @Test
+    void addMakesValueVisible() {
+        ExistenceFilter filter = new ExistenceFilter("test", 1_000, 0.01);
+        filter.rebuild(Stream.empty());
+
+        store.add("wangwu");
+        filter.add("WangWu");
+        assertTrue(filter.exists("wangwu", lookup));
+        assertEquals(1, filter.getApproximateCount());
+    }
+
+    @Test
+    void keepsValuesAddedDuringRebuild() {
+        ExistenceFilter filter = new ExistenceFilter("test", 1_000, 0.01);
+        filter.rebuild(Stream.of("zhangsan"));
+
+        ExistenceFilter.Rebuild rebuild = filter.beginRebuild();
+        assertThrows(IllegalStateException.class, filter::beginRebuild);
+        rebuild.put("zhangsan");
+        // 扫描开始后提交的写入，扫描结果中没有
+        filter.add("lisi");
+        rebuild.complete();
+
+        store.add("zhangsan");
+        store.add("lisi");
+        assertTrue(filter.exists("zhangsan", lookup));
+        assertTrue(filter.exists("lisi", lookup));
+    }
+
+    @Test
+    void abortKeepsPreviousFilter() {
+        ExistenceFilter filter = new ExistenceFilter("test", 1_000, 0.01);
+        filter.rebuild(Stream.of("zhangsan"));
+
+        assertThrows(IllegalStateException.class, () -> filter.rebuild(IntStream.range(0, 10).mapToObj(i -> {
+            if (i == 5) {
+                throw new IllegalStateException("scan failed");
+            }
+            return "user" + i;
+        })));
+
+        store.add("zhangsan");
+        assertTrue(filter.exists("zhangsan", lookup));
+        assertDoesNotThrow(filter::beginRebuild);
+    }
+}
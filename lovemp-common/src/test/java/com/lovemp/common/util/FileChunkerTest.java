@@ -0,0 +1,162 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileChunker的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>分割后的分片大小、内容与源文件对应区间一致，最后一个分片可以不足分片大小</li>
+ *   <li>合并后的文件与源文件逐字节一致，覆盖已存在的目标文件且不残留临时文件</li>
+ *   <li>分片描述的偏移、长度和哈希与分片内容一致，且不创建分片文件</li>
+ *   <li>分片缺失时合并失败且不产生目标文件</li>
+ *   <li>分割失败时删除已写出的分片</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.FileChunker
+ */
+class FileChunkerTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private Path tempDir;
+
+    private FileChunker chunker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("file-chunker-test");
+        chunker = new FileChunker(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteDirectory(tempDir.toString());
+    }
+
+    @Test
+    void splitsAndMergesFile() throws IOException {
+        byte[] content = randomBytes(CHUNK_SIZE * 10 + 123);
+        Path source = tempDir.resolve("source.dat");
+        Files.write(source, content);
+
+        List<Path> chunks = chunker.split(source, CHUNK_SIZE, tempDir.resolve("chunks"));
+
+        assertEquals(11, chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            int from = i * CHUNK_SIZE;
+            int to = Math.min(content.length, from + CHUNK_SIZE);
+            assertArrayEquals(Arrays.copyOfRange(content, from, to), Files.readAllBytes(chunks.get(i)));
+        }
+        assertEquals(123, Files.size(chunks.get(10)));
+
+        Path target = tempDir.resolve("out/merged.dat");
+        Files.createDirectories(target.getParent());
+        Files.write(target, randomBytes(CHUNK_SIZE * 20));
+        chunker.merge(chunks, target);
+
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertFalse(Files.exists(tempDir.resolve("out/merged.dat.part")));
+    }
+
+    @Test
+    void describesChunksWithoutWritingFiles() throws IOException {
+        // 大于1MB的分片走内存映射，小分片走定位读取
+        int chunkSize = 1536 * 1024;
+        byte[] content = randomBytes(chunkSize * 2 + 1000);
+        Path source = tempDir.resolve("source.dat");
+        Files.write(source, content);
+
+        List<FileChunker.ChunkDescriptor> chunks = chunker.describe(source, chunkSize, FileHashService.MD5);
+
+        assertEquals(3, chunks.size());
+        for (FileChunker.ChunkDescriptor chunk : chunks) {
+            assertEquals((long) chunk.getIndex() * chunkSize, chunk.getOffset());
+            byte[] expected = Arrays.copyOfRange(content, (int) chunk.getOffset(),
+                    (int) (chunk.getOffset() + chunk.getLength()));
+            assertEquals(md5(expected), chunk.getHash());
+        }
+        assertEquals(1000, chunks.get(2).getLength());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void describesWithoutHash() throws IOException {
+        Path source = tempDir.resolve("source.dat");
+        Files.write(source, randomBytes(CHUNK_SIZE + 1));
+
+        List<FileChunker.ChunkDescriptor> chunks = chunker.describe(source, CHUNK_SIZE, null);
+
+        assertEquals(2, chunks.size());
+        assertNull(chunks.get(0).getHash());
+        assertEquals(1, chunks.get(1).getLength());
+    }
+
+    @Test
+    void emptyFileHasNoChunks() throws IOException {
+        Path source = Files.createFile(tempDir.resolve("empty.dat"));
+
+        assertTrue(chunker.split(source, CHUNK_SIZE, tempDir.resolve("chunks")).isEmpty());
+        assertTrue(chunker.describe(source, CHUNK_SIZE, FileHashService.SHA_256).isEmpty());
+    }
+
+    @Test
+    void mergeFailsWhenChunkMissing() throws IOException {
+        Path source = tempDir.resolve("source.dat");
+        Files.write(source, randomBytes(CHUNK_SIZE * 3));
+        List<Path> chunks = chunker.split(source, CHUNK_SIZE, tempDir.resolve("chunks"));
+        Files.delete(chunks.get(1));
+
+        Path target = tempDir.resolve("merged.dat");
+        assertThrows(FileNotFoundException.class, () -> chunker.merge(chunks, target));
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(tempDir.resolve("merged.dat.part")));
+    }
+
+    @Test
+    void splitRemovesWrittenChunksOnFailure() throws IOException {
+        Path source = tempDir.resolve("source.dat");
+        Files.write(source, randomBytes(CHUNK_SIZE * 5));
+        Path chunkDirectory = tempDir.resolve("chunks");
+        // 分片2的位置被非空目录占用，无法写入
+        Files.createDirectories(chunkDirectory.resolve("2/occupied"));
+
+        assertThrows(IOException.class, () -> chunker.split(source, CHUNK_SIZE, chunkDirectory));
+
+        try (var files = Files.list(chunkDirectory)) {
+            assertEquals(List.of(chunkDirectory.resolve("2")), files.toList());
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String md5(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
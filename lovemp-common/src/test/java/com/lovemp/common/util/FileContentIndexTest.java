@@ -0,0 +1,105 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileContentIndex的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>登记后按哈希查找，哈希大小写不敏感</li>
+ *   <li>文件被修改或删除后查找失败并剔除记录</li>
+ *   <li>二进制索引文件保存与加载往返一致</li>
+ *   <li>兼容加载旧版"哈希,路径"文本记录</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.FileContentIndex
+ */
+class FileContentIndexTest {
+
+    private static final String HASH = "0123456789abcdef0123456789abcdef";
+
+    private Path tempDir;
+
+    private FileContentIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("content-index-test");
+        index = new FileContentIndex();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir.toString());
+    }
+
+    @Test
+    void registersAndLooksUp() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "content");
+
+        index.register(HASH, file);
+
+        assertEquals(file, index.lookup(HASH));
+        assertEquals(file, index.lookup(HASH.toUpperCase()));
+        assertNull(index.lookup("ffff"));
+        assertNull(index.lookup(null));
+    }
+
+    @Test
+    void rejectsModifiedOrDeletedFiles() throws IOException {
+        Path modified = Files.writeString(tempDir.resolve("modified.txt"), "content");
+        Path deleted = Files.writeString(tempDir.resolve("deleted.txt"), "content");
+        index.register(HASH, modified);
+        index.register("aa", deleted);
+
+        Files.writeString(modified, "changed");
+        Files.setLastModifiedTime(modified, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        Files.delete(deleted);
+
+        assertNull(index.lookup(HASH));
+        assertNull(index.lookup("aa"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void savesAndLoadsBinaryIndex() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("stored-file.txt"), "content");
+        index.register(HASH, file);
+        index.register("not-a-hex-key", file);
+        Path indexFile = tempDir.resolve("index/hash.idx");
+
+        index.save(indexFile);
+        FileContentIndex loaded = new FileContentIndex();
+        loaded.load(indexFile);
+
+        assertEquals(2, loaded.size());
+        assertEquals(file, loaded.lookup(HASH));
+        assertEquals(file, loaded.lookup("not-a-hex-key"));
+        assertFalse(Files.exists(tempDir.resolve("index/hash.idx.tmp")));
+
+        loaded.load(tempDir.resolve("missing.idx"));
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    void loadsLegacyTextRecords() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("legacy.txt"), "content");
+        Path record = Files.writeString(tempDir.resolve("records.txt"),
+                HASH + "," + file + "\nbroken-line\n");
+
+        index.load(record);
+
+        assertEquals(1, index.size());
+        assertEquals(file, index.lookup(HASH));
+    }
+}
@@ -0,0 +1,121 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FileHashService的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>小文件直接缓冲区读取与大文件内存映射的摘要结果与标准实现一致</li>
+ *   <li>文件修改后缓存失效，重新计算</li>
+ *   <li>缓存超过容量后淘汰最久未使用的条目</li>
+ *   <li>批量并发计算按传入顺序返回，任一文件失败时抛出IOException</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.FileHashService
+ */
+class FileHashServiceTest {
+
+    private Path tempDir;
+
+    private FileHashService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("file-hash-test");
+        service = new FileHashService(2, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        FileUtils.deleteDirectory(tempDir.toString());
+    }
+
+    @Test
+    void hashesSmallAndMappedFiles() throws Exception {
+        byte[] small = "小文件内容".getBytes(StandardCharsets.UTF_8);
+        byte[] large = new byte[3 * 1024 * 1024 + 17];
+        new Random(7).nextBytes(large);
+        Path smallFile = Files.write(tempDir.resolve("small.txt"), small);
+        Path largeFile = Files.write(tempDir.resolve("large.bin"), large);
+
+        assertEquals(expected(small, "MD5"), service.hash(smallFile, FileHashService.MD5));
+        assertEquals(expected(large, "MD5"), service.hash(largeFile, FileHashService.MD5));
+        assertEquals(expected(large, "SHA-256"), service.hash(largeFile, FileHashService.SHA_256));
+        assertEquals(expected(new byte[0], "MD5"),
+                service.hash(Files.createFile(tempDir.resolve("empty")), FileHashService.MD5));
+    }
+
+    @Test
+    void invalidatesOnModification() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "version-1");
+        String first = service.hash(file, FileHashService.MD5);
+
+        Files.writeString(file, "version-2-longer");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+
+        assertNotEquals(first, service.hash(file, FileHashService.MD5));
+        assertEquals(expected("version-2-longer".getBytes(StandardCharsets.UTF_8), "MD5"),
+                service.hash(file, FileHashService.MD5));
+
+        service.invalidate(file);
+        assertEquals(0, service.cacheSize());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws Exception {
+        Path a = Files.writeString(tempDir.resolve("a"), "a");
+        Path b = Files.writeString(tempDir.resolve("b"), "b");
+        Path c = Files.writeString(tempDir.resolve("c"), "c");
+
+        service.hash(a, FileHashService.MD5);
+        service.hash(b, FileHashService.MD5);
+        service.hash(c, FileHashService.MD5);
+
+        assertEquals(2, service.cacheSize());
+        service.clear();
+        assertEquals(0, service.cacheSize());
+    }
+
+    @Test
+    void hashesAllInOrder() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            files.add(Files.writeString(tempDir.resolve("f" + i), "content-" + i));
+        }
+
+        Map<Path, String> hashes = service.hashAll(files, FileHashService.SHA_256);
+
+        assertEquals(files, new ArrayList<>(hashes.keySet()));
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(expected(("content-" + i).getBytes(StandardCharsets.UTF_8), "SHA-256"),
+                    hashes.get(files.get(i)));
+        }
+
+        files.add(tempDir.resolve("missing"));
+        assertThrows(IOException.class, () -> service.hashAll(files, FileHashService.MD5));
+        assertThrows(IOException.class, () -> service.hash(files.get(0), "NO-SUCH-ALGORITHM"));
+        assertThrows(IllegalArgumentException.class, () -> new FileHashService(-1, 1));
+    }
+
+    private static String expected(byte[] content, String algorithm) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+    }
+}
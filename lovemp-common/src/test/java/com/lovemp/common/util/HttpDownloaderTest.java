@@ -0,0 +1,243 @@
+package com.lovemp.common.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HttpDownloader的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>大文件流式下载内容完整，摘要校验通过</li>
+ *   <li>断点续传发送Range请求并从已下载位置继续写入，服务端忽略Range或416声明的长度与本地不一致时重新下载</li>
+ *   <li>下载失败时保留原有文件，不留下临时文件</li>
+ *   <li>分段并行下载按区间请求并拼接出完整文件，不支持Range时退化为单连接下载</li>
+ *   <li>摘要不一致时删除文件并抛出异常，错误状态码转换为HttpClientErrorException</li>
+ * </ul>
+ *
+ * <p>使用JDK内置的HttpServer作为支持Range的桩服务器。
+ *
+ * @see com.lovemp.common.util.HttpDownloader
+ */
+class HttpDownloaderTest {
+
+    private static final int PAYLOAD_SIZE = 24 * 1024 * 1024 + 123;
+
+    private static final byte[] PAYLOAD = new byte[PAYLOAD_SIZE];
+
+    static {
+        new Random(42).nextBytes(PAYLOAD);
+    }
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private String baseUrl;
+
+    private Path tempDir;
+
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+
+    private HttpDownloader downloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("http-downloader");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/ranged", exchange -> serve(exchange, true));
+        server.createContext("/plain", exchange -> serve(exchange, false));
+        server.createContext("/broken-segments", exchange -> {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            if (range != null && !range.startsWith("bytes=0-")) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            serve(exchange, true);
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        downloader = new HttpDownloader(new AsyncHttpClient(), 1024 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        FileUtils.deleteDirectory(tempDir.toString());
+    }
+
+    @Test
+    void streamsLargeFileAndVerifiesChecksum() throws Exception {
+        Path target = tempDir.resolve("nested/full.bin");
+
+        long size = downloader.download(baseUrl + "/ranged", target, null, false, "SHA-256", sha256(PAYLOAD));
+
+        assertEquals(PAYLOAD_SIZE, size);
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    void resumesPartialFileWithRangeRequest() throws Exception {
+        Path target = tempDir.resolve("partial.bin");
+        int existing = 10 * 1024 * 1024;
+        Files.write(target, Arrays.copyOf(PAYLOAD, existing));
+
+        long size = downloader.download(baseUrl + "/ranged", target, null, true, "SHA-256", sha256(PAYLOAD));
+
+        assertEquals(PAYLOAD_SIZE, size);
+        assertEquals(List.of("bytes=" + existing + "-"), ranges);
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+
+        // 文件已完整时服务端返回416，不再重复下载
+        ranges.clear();
+        assertEquals(PAYLOAD_SIZE, downloader.download(baseUrl + "/ranged", target, null, true, null, null));
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+    }
+
+    @Test
+    void restartsWhenUnsatisfiedRangeDoesNotMatchLocalSize() throws Exception {
+        Path target = tempDir.resolve("oversized.bin");
+        byte[] oversized = Arrays.copyOf(PAYLOAD, PAYLOAD_SIZE + 10);
+        Files.write(target, oversized);
+
+        long size = downloader.download(baseUrl + "/ranged", target, null, true, "SHA-256", sha256(PAYLOAD));
+
+        assertEquals(PAYLOAD_SIZE, size);
+        assertEquals(List.of("bytes=" + oversized.length + "-"), ranges);
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+        assertFalse(Files.exists(tempDir.resolve("oversized.bin.part")));
+    }
+
+    @Test
+    void failedDownloadKeepsExistingFile() throws Exception {
+        Path target = tempDir.resolve("existing.bin");
+        byte[] original = {1, 2, 3};
+        Files.write(target, original);
+
+        assertThrows(HttpClientErrorException.class,
+                () -> downloader.download(baseUrl + "/missing", target, null, false, null, null));
+        assertThrows(RuntimeException.class,
+                () -> downloader.downloadSegmented(baseUrl + "/broken-segments", target, 4, null, null, null));
+
+        assertArrayEquals(original, Files.readAllBytes(target));
+        assertFalse(Files.exists(tempDir.resolve("existing.bin.part")));
+    }
+
+    @Test
+    void restartsWhenServerIgnoresRange() throws Exception {
+        Path target = tempDir.resolve("restart.bin");
+        Files.write(target, new byte[]{1, 2, 3});
+
+        long size = downloader.download(baseUrl + "/plain", target, null, true, "SHA-256", sha256(PAYLOAD));
+
+        assertEquals(PAYLOAD_SIZE, size);
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+    }
+
+    @Test
+    void downloadsSegmentsInParallel() throws Exception {
+        Path target = tempDir.resolve("segmented.bin");
+        Files.write(target, new byte[PAYLOAD_SIZE + 100]);
+
+        long size = downloader.downloadSegmented(baseUrl + "/ranged", target, 4, null, "MD5", md5(PAYLOAD));
+
+        assertEquals(PAYLOAD_SIZE, size);
+        assertEquals(4, ranges.size());
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+    }
+
+    @Test
+    void segmentedFallsBackWithoutRangeSupport() throws Exception {
+        Path target = tempDir.resolve("fallback.bin");
+
+        long size = downloader.downloadSegmented(baseUrl + "/plain", target, 4, null, null, null);
+
+        assertEquals(PAYLOAD_SIZE, size);
+        assertTrue(ranges.isEmpty());
+        assertArrayEquals(PAYLOAD, Files.readAllBytes(target));
+    }
+
+    @Test
+    void rejectsChecksumMismatchAndErrorStatus() throws Exception {
+        Path target = tempDir.resolve("bad.bin");
+
+        assertThrows(IllegalStateException.class,
+                () -> downloader.download(baseUrl + "/ranged", target, null, false, "SHA-256", "00"));
+        assertFalse(Files.exists(target));
+        HttpClientErrorException notFound = assertThrows(HttpClientErrorException.class,
+                () -> downloader.download(baseUrl + "/missing", target, null, false, null, null));
+        assertEquals(404, notFound.getStatusCode().value());
+        assertTrue(HttpUtils.downloadFile(baseUrl + "/ranged", tempDir.resolve("utils.bin").toString()));
+        assertFalse(HttpUtils.downloadFileWithChecksum(baseUrl + "/ranged", target.toString(), "MD5", "00"));
+    }
+
+    private void serve(HttpExchange exchange, boolean rangeSupported) throws IOException {
+        String range = rangeSupported ? exchange.getRequestHeaders().getFirst("Range") : null;
+        int start = 0;
+        int end = PAYLOAD_SIZE - 1;
+        int status = 200;
+        if (range != null) {
+            ranges.add(range);
+            String[] bounds = range.substring("bytes=".length()).split("-", -1);
+            start = Integer.parseInt(bounds[0]);
+            if (!bounds[1].isEmpty()) {
+                end = Integer.parseInt(bounds[1]);
+            }
+            if (start >= PAYLOAD_SIZE) {
+                exchange.getResponseHeaders().set("Content-Range", "bytes */" + PAYLOAD_SIZE);
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + PAYLOAD_SIZE);
+        }
+        if (rangeSupported) {
+            exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        }
+        int length = end - start + 1;
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(PAYLOAD, start, length);
+        }
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private static String md5(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+    }
+}
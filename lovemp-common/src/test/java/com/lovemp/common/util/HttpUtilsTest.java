@@ -220,9 +220,10 @@ public class HttpUtilsTest {
     }
     
     /**
-     * 测试请求重试机制
+     * 测试请求重试机制（已废弃的固定间隔重试，保留覆盖直到移除）
      */
     @Test
+    @SuppressWarnings("deprecation")
     public void testRequestWithRetry() {
         // 添加多个响应，第一个失败，第二个成功
         mockWebServer.enqueue(new MockResponse()
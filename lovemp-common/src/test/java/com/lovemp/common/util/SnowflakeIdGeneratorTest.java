@@ -0,0 +1,204 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SnowflakeIdGenerator的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>ID各组成部分的编码与解析</li>
+ *   <li>单线程单调递增</li>
+ *   <li>多线程（含线程块预留模式）下的唯一性</li>
+ *   <li>序列号耗尽时的借位</li>
+ *   <li>时钟回拨的等待与拒绝</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.SnowflakeIdGenerator
+ */
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void nextIdEncodesNodeAndTimestamp() {
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.of(3, 17);
+
+        long before = System.currentTimeMillis();
+        long id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        assertTrue(id > 0);
+        assertEquals(3, generator.extractDatacenterId(id));
+        assertEquals(17, generator.extractWorkerId(id));
+        long timestamp = generator.extractTimestamp(id);
+        assertTrue(timestamp >= before && timestamp <= after + SnowflakeIdGenerator.DEFAULT_MAX_BORROW_MILLIS);
+    }
+
+    @Test
+    void nextIdIsMonotonicInSingleThread() {
+        SnowflakeIdGenerator generator = SnowflakeIdGenerator.of(1, 1);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long current = generator.nextId();
+            assertTrue(current > previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    void customBitLayout() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                5, 900, 3, 10, 10, 100, 5, 1);
+
+        long id = generator.nextId();
+
+        assertEquals(5, generator.extractDatacenterId(id));
+        assertEquals(900, generator.extractWorkerId(id));
+    }
+
+    @Test
+    void invalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.of(32, 1));
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.of(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(
+                SnowflakeIdGenerator.DEFAULT_EPOCH, 0, 0, 10, 10, 10, 100, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(
+                SnowflakeIdGenerator.DEFAULT_EPOCH, 0, 0, 5, 5, 4, 100, 5, 32));
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        assertUniqueAcrossThreads(SnowflakeIdGenerator.of(1, 1));
+    }
+
+    @Test
+    void uniqueAcrossThreadsWithBlockReservation() throws Exception {
+        assertUniqueAcrossThreads(new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                1, 1, 5, 5, 12, 100, 5, 64));
+    }
+
+    @Test
+    void borrowsNextMillisecondWhenSequenceExhausted() {
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.DEFAULT_EPOCH + 1_000);
+        // 序列号仅2位，每毫秒只能分配4个ID
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                0, 0, 5, 5, 2, 10, 5, 1, clock::get);
+
+        long[] ids = new long[8];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.nextId();
+        }
+
+        assertEquals(clock.get(), generator.extractTimestamp(ids[3]));
+        assertEquals(clock.get() + 1, generator.extractTimestamp(ids[4]));
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+    }
+
+    @Test
+    void waitsOutSmallClockRollback() {
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.DEFAULT_EPOCH + 1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                0, 0, 5, 5, 12, 0, 5, 1, () -> {
+                    // 每次读取时钟推进1毫秒，模拟回拨后时钟逐渐追上
+                    return clock.getAndIncrement();
+                });
+
+        long first = generator.nextId();
+        clock.addAndGet(-5);
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void waitsForInjectedClockWhenBorrowLimitReached() {
+        AtomicLong reads = new AtomicLong();
+        long base = SnowflakeIdGenerator.DEFAULT_EPOCH + 1_000;
+        // 每读取100次时钟推进1毫秒，序列号2位、最多借用1毫秒，生成过程中必须等待时钟
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                0, 0, 5, 5, 2, 1, 5, 1, () -> base + reads.getAndIncrement() / 100);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 40; i++) {
+            long current = generator.nextId();
+            long now = base + reads.get() / 100;
+            assertTrue(current > previous);
+            assertTrue(generator.extractTimestamp(current) <= now + 1);
+            previous = current;
+        }
+        assertTrue(reads.get() > 100);
+    }
+
+    @Test
+    void rejectsLargeClockRollback() {
+        AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.DEFAULT_EPOCH + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                0, 0, 5, 5, 12, 100, 5, 1, clock::get);
+
+        generator.nextId();
+        clock.addAndGet(-1_000);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void idGeneratorDelegatesToConfiguredGenerator() {
+        SnowflakeIdGenerator original = IdGenerator.getSnowflakeGenerator();
+        try {
+            SnowflakeIdGenerator configured = SnowflakeIdGenerator.of(7, 9);
+            IdGenerator.setSnowflakeGenerator(configured);
+
+            long id = IdGenerator.snowflakeId();
+
+            assertEquals(7, configured.extractDatacenterId(id));
+            assertEquals(9, configured.extractWorkerId(id));
+            assertThrows(IllegalArgumentException.class, () -> IdGenerator.setSnowflakeGenerator(null));
+        } finally {
+            IdGenerator.setSnowflakeGenerator(original);
+        }
+    }
+
+    private void assertUniqueAcrossThreads(SnowflakeIdGenerator generator) throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet(THREADS * IDS_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+}
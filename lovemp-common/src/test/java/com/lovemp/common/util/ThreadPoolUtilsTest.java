@@ -0,0 +1,76 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ThreadPoolUtils的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>线程为按前缀命名的守护线程，核心线程允许空闲回收</li>
+ *   <li>有界队列满时拒绝新任务</li>
+ *   <li>定时调度器使用守护线程</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.ThreadPoolUtils
+ */
+class ThreadPoolUtilsTest {
+
+    @Test
+    void createsNamedDaemonThreads() throws Exception {
+        ThreadPoolExecutor executor = ThreadPoolUtils.newDaemonPool("test-pool", 2);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isDaemon());
+            assertEquals("test-pool-1", thread.getName());
+            assertTrue(executor.allowsCoreThreadTimeOut());
+            assertEquals(2, executor.getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsWhenBoundedQueueIsFull() throws Exception {
+        ThreadPoolExecutor executor = ThreadPoolUtils.newDaemonPool("bounded", 1, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertThrows(IllegalArgumentException.class, () -> ThreadPoolUtils.newDaemonPool("", 1));
+        assertThrows(IllegalArgumentException.class, () -> ThreadPoolUtils.newDaemonPool("x", 0));
+    }
+
+    @Test
+    void schedulesOnNamedDaemonThread() throws Exception {
+        ScheduledExecutorService scheduler = ThreadPoolUtils.newDaemonScheduler("test-scheduler");
+        try {
+            Thread thread = scheduler.schedule(Thread::currentThread, 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isDaemon());
+            assertEquals("test-scheduler-1", thread.getName());
+        } finally {
+            scheduler.shutdownNow();
+        }
+        assertThrows(IllegalArgumentException.class, () -> ThreadPoolUtils.newDaemonScheduler(null));
+    }
+}
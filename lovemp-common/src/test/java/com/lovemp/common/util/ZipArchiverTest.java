@@ -0,0 +1,189 @@
+package com.lovemp.common.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ZipArchiver的单元测试
+ *
+ * <p>验证内容:
+ * <ul>
+ *   <li>多线程压缩的归档可被JDK ZipFile读取，条目顺序、内容与源目录一致</li>
+ *   <li>AUTO模式下图片直接存储、文本压缩，STORED模式全部直接存储</li>
+ *   <li>解压拒绝越出目标目录的条目</li>
+ *   <li>解压按压缩比、总大小和条目数拒绝压缩炸弹，并删除不完整的文件</li>
+ * </ul>
+ *
+ * @see com.lovemp.common.util.ZipArchiver
+ */
+class ZipArchiverTest {
+
+    private Path tempDir;
+
+    private ZipArchiver archiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("zip-archiver-test");
+        archiver = new ZipArchiver(4, 6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteDirectory(tempDir.toString());
+    }
+
+    @Test
+    void zipsAndUnzipsDirectory() throws IOException {
+        Path source = createSourceTree();
+        Path zipFile = tempDir.resolve("out/archive.zip");
+
+        archiver.zip(source, zipFile, ZipArchiver.CompressionMode.AUTO);
+
+        List<String> names = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(zipFile.toFile(), StandardCharsets.UTF_8)) {
+            Collections.list(zip.entries()).forEach(entry -> names.add(entry.getName()));
+            assertEquals(ZipEntry.STORED, zip.getEntry("source/images/scan.jpg").getMethod());
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("source/docs/contract.txt").getMethod());
+            assertEquals(ZipEntry.STORED, zip.getEntry("source/docs/random.bin").getMethod());
+            assertTrue(zip.getEntry("source/docs/").isDirectory());
+        }
+        assertTrue(names.contains("source/empty.txt"));
+        assertEquals(names.size(), names.stream().distinct().count());
+
+        Path extracted = tempDir.resolve("extracted");
+        archiver.unzip(zipFile, extracted);
+        assertTreeEquals(source, extracted.resolve("source"));
+    }
+
+    @Test
+    void storesEverythingInStoredMode() throws IOException {
+        Path source = createSourceTree();
+        Path zipFile = tempDir.resolve("stored.zip");
+
+        archiver.zip(source, zipFile, ZipArchiver.CompressionMode.STORED);
+
+        try (ZipFile zip = new ZipFile(zipFile.toFile(), StandardCharsets.UTF_8)) {
+            assertTrue(Collections.list(zip.entries()).stream().allMatch(entry -> entry.getMethod() == ZipEntry.STORED));
+        }
+        Path extracted = tempDir.resolve("extracted");
+        archiver.unzip(zipFile, extracted);
+        assertTreeEquals(source, extracted.resolve("source"));
+
+        Path single = source.resolve("docs/contract.txt");
+        archiver.zip(single, zipFile, ZipArchiver.CompressionMode.DEFLATED);
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertEquals(1, zip.size());
+            assertEquals(ZipEntry.DEFLATED, zip.getEntry("contract.txt").getMethod());
+        }
+    }
+
+    @Test
+    void rejectsPathTraversal() throws IOException {
+        Path zipFile = tempDir.resolve("slip.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            out.putNextEntry(new ZipEntry("ok.txt"));
+            out.write("ok".getBytes(StandardCharsets.UTF_8));
+            out.putNextEntry(new ZipEntry("../../evil.txt"));
+            out.write("evil".getBytes(StandardCharsets.UTF_8));
+        }
+        Path extracted = tempDir.resolve("extracted");
+
+        ZipException e = assertThrows(ZipException.class, () -> archiver.unzip(zipFile, extracted));
+
+        assertTrue(e.getMessage().contains("越出"));
+        assertFalse(Files.exists(tempDir.resolve("evil.txt")));
+        assertTrue(Files.exists(extracted.resolve("ok.txt")));
+        assertThrows(ZipException.class, () -> ZipArchiver.resolve(extracted, "/etc/passwd"));
+        assertEquals(extracted.resolve("a/b.txt"), ZipArchiver.resolve(extracted, "a/./c/../b.txt"));
+    }
+
+    @Test
+    void rejectsZipBombs() throws IOException {
+        Path zipFile = tempDir.resolve("bomb.zip");
+        byte[] zeros = new byte[1024 * 1024];
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            out.putNextEntry(new ZipEntry("zeros.bin"));
+            for (int i = 0; i < 64; i++) {
+                out.write(zeros);
+            }
+        }
+        Path extracted = tempDir.resolve("extracted");
+
+        ZipException ratio = assertThrows(ZipException.class, () -> archiver.unzip(zipFile, extracted));
+        assertTrue(ratio.getMessage().contains("压缩比"));
+        assertFalse(Files.exists(extracted.resolve("zeros.bin")));
+
+        ZipException size = assertThrows(ZipException.class, () -> archiver.unzip(zipFile, extracted,
+                ZipArchiver.Limits.of(10, 2 * 1024 * 1024, 10_000)));
+        assertTrue(size.getMessage().contains("大小"));
+
+        Path manyEntries = tempDir.resolve("many.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(manyEntries))) {
+            for (int i = 0; i < 5; i++) {
+                out.putNextEntry(new ZipEntry("f" + i));
+            }
+        }
+        assertThrows(ZipException.class, () -> archiver.unzip(manyEntries, extracted,
+                ZipArchiver.Limits.of(4, 1024, 100)));
+        assertThrows(IllegalArgumentException.class, () -> ZipArchiver.Limits.of(0, 1, 1));
+    }
+
+    private Path createSourceTree() throws IOException {
+        Path source = tempDir.resolve("source");
+        Random random = new Random(3);
+        Files.createDirectories(source.resolve("docs/nested"));
+        Files.createDirectories(source.resolve("images"));
+        Files.createDirectories(source.resolve("emptyDir"));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("劳动合同第").append(i).append("条\n");
+        }
+        Files.writeString(source.resolve("docs/contract.txt"), text);
+        for (int i = 0; i < 20; i++) {
+            Files.writeString(source.resolve("docs/nested/n" + i + ".txt"), "nested-" + i + text.substring(0, i * 100));
+        }
+        byte[] image = new byte[3 * 1024 * 1024 + 5];
+        random.nextBytes(image);
+        Files.write(source.resolve("images/scan.jpg"), image);
+        byte[] noise = new byte[200_000];
+        random.nextBytes(noise);
+        Files.write(source.resolve("docs/random.bin"), noise);
+        try (OutputStream out = Files.newOutputStream(source.resolve("empty.txt"))) {
+            out.flush();
+        }
+        return source;
+    }
+
+    private static void assertTreeEquals(Path expected, Path actual) throws IOException {
+        List<Path> files;
+        try (var walk = Files.walk(expected)) {
+            files = walk.toList();
+        }
+        for (Path file : files) {
+            Path other = actual.resolve(expected.relativize(file).toString());
+            if (Files.isDirectory(file)) {
+                assertTrue(Files.isDirectory(other), other.toString());
+            } else {
+                assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(other));
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.lovemp.common.util.Assert;
 import com.lovemp.domain.auth.domain.event.*;
 import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
 import com.lovemp.domain.auth.domain.model.valueobject.AccountStatus;
+import com.lovemp.domain.auth.domain.model.valueobject.PasswordVerification;
 import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
 import com.lovemp.domain.person.domain.model.valueobject.PersonId;
 
@@ -197,7 +198,54 @@ public class Account extends AggregateRoot<AccountId> {
         Assert.notEmpty(encodedPassword, "加密密码不能为空");
         
         boolean isValid = this.password.equals(encodedPassword);
+        recordLoginAttempt(isValid);
+        return isValid;
+    }
+    
+    /**
+     * 根据密码哈希服务的校验结果记录登录，校验结果带有升级后的哈希时同时替换已保存的哈希
+     * 
+     * @param verification 密码校验结果
+     * @return 如果密码正确返回true，否则返回false
+     */
+    public boolean verifyPassword(PasswordVerification verification) {
+        Assert.notNull(verification, "密码校验结果不能为空");
+        
+        boolean isValid = verification.isMatched();
+        if (isValid && verification.getUpgradedHash() != null) {
+            rehashPassword(verification.getUpgradedHash());
+        }
+        recordLoginAttempt(isValid);
+        return isValid;
+    }
+    
+    /**
+     * 根据密码哈希服务的校验结果确认登录，失败次数由{@code LoginThrottle}在聚合外统计
+     * 
+     * <p>密码错误时不修改聚合，调用方无需保存账号；达到失败阈值时由LoginThrottle锁定账号</p>
+     * 
+     * @param verification 密码校验结果
+     * @return 如果密码正确返回true，否则返回false
+     */
+    public boolean confirmLogin(PasswordVerification verification) {
+        Assert.notNull(verification, "密码校验结果不能为空");
         
+        if (!verification.isMatched()) {
+            return false;
+        }
+        if (verification.getUpgradedHash() != null) {
+            rehashPassword(verification.getUpgradedHash());
+        }
+        recordLoginAttempt(true);
+        return true;
+    }
+    
+    /**
+     * 记录登录结果，成功时重置失败次数，失败达到上限时锁定账号
+     * 
+     * @param isValid 密码是否正确
+     */
+    private void recordLoginAttempt(boolean isValid) {
         if (isValid) {
             // 密码正确，重置失败次数
             this.failedLoginAttempts = 0;
@@ -217,8 +265,6 @@ public class Account extends AggregateRoot<AccountId> {
                 lock();
             }
         }
-        
-        return isValid;
     }
     
     /**
@@ -233,6 +279,17 @@ public class Account extends AggregateRoot<AccountId> {
         this.updatedAt = LocalDateTime.now();
     }
     
+    /**
+     * 以新的成本参数重新哈希密码，密码本身未变，不重置过期时间
+     * 
+     * @param upgradedPassword 升级后的密码哈希
+     */
+    public void rehashPassword(String upgradedPassword) {
+        Assert.notEmpty(upgradedPassword, "密码不能为空");
+        this.password = upgradedPassword;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     /**
      * 设置手机号
      * 
@@ -177,6 +177,13 @@ public class Permission extends Entity<PermissionId> {
     /**
      * 检查权限是否匹配指定的资源和动作
      * 
+     * <p>资源路径按路径段匹配：权限覆盖自身路径及所有下级路径，路径段{@code *}匹配任意一个路径段，
+     * 与{@link com.lovemp.domain.auth.domain.service.PermissionTrie}的规则一致</p>
+     * 
+     * <p>迁移说明：此前按字符串前缀匹配，{@code /api/user}会覆盖{@code /api/users}、{@code /api/user-admin}，
+     * 现在只覆盖{@code /api/user}及{@code /api/user/...}。依赖前缀匹配的权限需要把resource_path改为
+     * 实际的上级路径，或拆分为多条权限</p>
+     * 
      * @param resourcePath 资源路径
      * @param action 操作动作
      * @return 如果匹配返回true，否则返回false
@@ -188,7 +195,7 @@ public class Permission extends Entity<PermissionId> {
         
         boolean resourceMatches = this.resourcePath == null || 
                                  this.resourcePath.equals(resourcePath) ||
-                                 resourcePath.startsWith(this.resourcePath);
+                                 coversPath(this.resourcePath, resourcePath);
         
         boolean actionMatches = this.action == null || 
                                this.action.equals(action) ||
@@ -197,6 +204,47 @@ public class Permission extends Entity<PermissionId> {
         return resourceMatches && actionMatches;
     }
     
+    /**
+     * 判断权限路径是否按路径段覆盖资源路径
+     * 
+     * @param pattern 权限路径
+     * @param path 资源路径
+     * @return 如果覆盖返回true，否则返回false
+     */
+    private static boolean coversPath(String pattern, String path) {
+        if (path == null) {
+            return false;
+        }
+        int p = skipSlashes(pattern, 0);
+        int r = skipSlashes(path, 0);
+        while (p < pattern.length()) {
+            if (r == path.length()) {
+                return false;
+            }
+            int patternEnd = segmentEnd(pattern, p);
+            int pathEnd = segmentEnd(path, r);
+            boolean wildcard = patternEnd - p == 1 && pattern.charAt(p) == '*';
+            if (!wildcard && (patternEnd - p != pathEnd - r || !pattern.regionMatches(p, path, r, pathEnd - r))) {
+                return false;
+            }
+            p = skipSlashes(pattern, patternEnd);
+            r = skipSlashes(path, pathEnd);
+        }
+        return true;
+    }
+    
+    private static int skipSlashes(String path, int pos) {
+        while (pos < path.length() && path.charAt(pos) == '/') {
+            pos++;
+        }
+        return pos;
+    }
+    
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.length() : end;
+    }
+    
     // Getters
     public String getCode() {
         return code;
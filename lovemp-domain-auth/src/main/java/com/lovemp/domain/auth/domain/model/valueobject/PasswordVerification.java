@@ -0,0 +1,79 @@
+package com.lovemp.domain.auth.domain.model.valueobject;
+
+import com.lovemp.common.domain.ValueObject;
+
+import java.util.Objects;
+
+/**
+ * 密码校验结果值对象
+ * 
+ * <p>由密码哈希服务在专用线程池中校验后返回，账号聚合据此判断登录是否成功，并在需要时替换为按当前成本参数计算的新哈希</p>
+ * 
+ * @author lovemp
+ * @since 1.0.0
+ */
+public final class PasswordVerification implements ValueObject {
+    
+    /**
+     * 密码不匹配
+     */
+    public static final PasswordVerification MISMATCHED = new PasswordVerification(false, null);
+    
+    private final boolean matched;
+    
+    private final String upgradedHash;
+    
+    private PasswordVerification(boolean matched, String upgradedHash) {
+        this.matched = matched;
+        this.upgradedHash = upgradedHash;
+    }
+    
+    /**
+     * 创建密码匹配的校验结果
+     * 
+     * @param upgradedHash 按当前成本参数重新计算的哈希，无需升级时为null
+     * @return 校验结果
+     */
+    public static PasswordVerification matched(String upgradedHash) {
+        return new PasswordVerification(true, upgradedHash);
+    }
+    
+    /**
+     * 密码是否匹配
+     * 
+     * @return 是否匹配
+     */
+    public boolean isMatched() {
+        return matched;
+    }
+    
+    /**
+     * 按当前成本参数重新计算的哈希，无需升级时为null
+     * 
+     * @return 新哈希
+     */
+    public String getUpgradedHash() {
+        return upgradedHash;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PasswordVerification that = (PasswordVerification) o;
+        return matched == that.matched && Objects.equals(upgradedHash, that.upgradedHash);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(matched, upgradedHash);
+    }
+    
+    @Override
+    public String toString() {
+        return "PasswordVerification{" +
+                "matched=" + matched +
+                ", upgraded=" + (upgradedHash != null) +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.lovemp.domain.auth.domain.repository;
+
+import com.lovemp.common.util.BlindIndexer;
+
+/**
+ * 账号盲索引字段
+ *
+ * <p>邮箱加密存储，等值查询通过盲索引完成。仓储实现在保存账号时用{@link #EMAIL}计算索引写入account表的
+ * email_bidx列，查询时按候选索引命中该列的B-tree索引。</p>
+ */
+public final class AccountBlindIndexes {
+
+    /**
+     * 邮箱：不区分大小写
+     */
+    public static final BlindIndexer.Field EMAIL = BlindIndexer.Field.caseInsensitive("account.email");
+
+    private AccountBlindIndexes() {
+        // 工具类不允许实例化
+    }
+}
@@ -1,11 +1,15 @@
 package com.lovemp.domain.auth.domain.repository;
 
+import com.lovemp.common.domain.AggregateStreams;
+import com.lovemp.common.util.BlindIndexer;
 import com.lovemp.domain.auth.domain.model.aggregate.Account;
 import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
 import com.lovemp.domain.person.domain.model.valueobject.PersonId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 账号仓储接口
@@ -36,11 +40,42 @@ public interface AccountRepository {
     /**
      * 根据邮箱查找账号
      * 
+     * <p>邮箱加密存储，实现应委托{@link #findByEmail(String, BlindIndexer)}按盲索引查询，而非扫描解密</p>
+     * 
      * @param email 邮箱
      * @return 账号聚合根，如果不存在则返回空
      */
     Optional<Account> findByEmail(String email);
     
+    /**
+     * 根据邮箱查找账号（盲索引）
+     * 
+     * <p>按所有有效密钥版本的候选索引查询，再按邮箱比对排除索引碰撞</p>
+     * 
+     * @param email 邮箱
+     * @param indexer 盲索引生成器
+     * @return 账号聚合根，如果不存在则返回空
+     */
+    default Optional<Account> findByEmail(String email, BlindIndexer indexer) {
+        List<String> candidates = indexer.candidates(AccountBlindIndexes.EMAIL, email);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return findByEmailIndex(candidates).stream()
+                .filter(account -> BlindIndexer.matches(AccountBlindIndexes.EMAIL, email, account.getEmail()))
+                .findFirst();
+    }
+    
+    /**
+     * 根据邮箱盲索引查找账号
+     * 
+     * <p>实现应使用{@code email_bidx IN (?)}条件配合email_bidx列的索引定位，结果可能包含索引碰撞的记录</p>
+     * 
+     * @param blindIndexes 候选盲索引，见{@link BlindIndexer#candidates}
+     * @return 命中索引的账号列表
+     */
+    List<Account> findByEmailIndex(Collection<String> blindIndexes);
+    
     /**
      * 根据自然人ID查找账号
      * 
@@ -56,9 +91,24 @@ public interface AccountRepository {
      */
     List<Account> findAll();
     
+    /**
+     * 流式读取全部账号
+     * 
+     * <p>默认实现一次加载全部账号；实现应按fetchSize分批读取，参考{@link AggregateStreams}。流使用完毕必须关闭</p>
+     * 
+     * @param fetchSize 每批拉取条数
+     * @return 账号流
+     */
+    default Stream<Account> streamAll(int fetchSize) {
+        AggregateStreams.checkFetchSize(fetchSize);
+        return findAll().stream();
+    }
+    
     /**
      * 保存账号
      * 
+     * <p>实现应以当前密钥重新计算email_bidx，旧版本密钥生成的索引随之替换</p>
+     * 
      * @param account 账号聚合根
      */
     void save(Account account);
@@ -81,6 +131,8 @@ public interface AccountRepository {
     /**
      * 检查邮箱是否存在
      * 
+     * <p>与{@link #findByEmail(String)}相同，实现应按盲索引查询</p>
+     * 
      * @param email 邮箱
      * @return 如果存在返回true，否则返回false
      */
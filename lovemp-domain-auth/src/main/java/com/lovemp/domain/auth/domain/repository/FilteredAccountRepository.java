@@ -0,0 +1,211 @@
+package com.lovemp.domain.auth.domain.repository;
+
+import com.lovemp.common.domain.AggregateStreams;
+import com.lovemp.common.util.BlindIndexer;
+import com.lovemp.common.util.ExistenceFilter;
+import com.lovemp.domain.auth.domain.event.AccountCreatedEvent;
+import com.lovemp.domain.auth.domain.model.aggregate.Account;
+import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 带存在性过滤器的账号仓储
+ *
+ * <p>包装任意{@link AccountRepository}实现，{@link #existsByUsername}和{@link #existsByEmail}先查询
+ * {@link ExistenceFilter}，过滤器判定不存在时直接返回false，不访问数据库：
+ * <ul>
+ *   <li>启动时调用{@link #warmUp()}，一次流式扫描同时预热用户名和邮箱过滤器</li>
+ *   <li>调用{@link #attachCreatedEventFeed()}声明已接入账号创建事件后过滤器才参与判定，
+ *       预热完成且接入事件前所有查询直接委托，见{@link #isReady()}</li>
+ *   <li>{@link #save}成功后把用户名和邮箱写入过滤器</li>
+ *   <li>删除账号不会从过滤器移除，残留值只会增加误判，可定期调用{@link #warmUp()}重建</li>
+ *   <li>用户名忽略大小写，邮箱按{@link AccountBlindIndexes#EMAIL}规范化，与盲索引一致</li>
+ * </ul>
+ *
+ * <p>过滤器在进程内维护，判定不存在时必须确实不存在。多实例部署时需把所有节点的{@link AccountCreatedEvent}
+ * 通过消息中间件投递给每个节点的{@link #onAccountCreated}（发件箱默认的进程内发布器只通知投递所在的节点，不满足要求），
+ * 订阅建立后再调用{@link #attachCreatedEventFeed()}；单节点部署时本节点的{@link #save}即为全部来源，可直接调用。
+ * 未接入时过滤器只维护不判定，不会把其他节点新增的账号误判为不存在。无论哪种部署，写入时仍以数据库唯一约束为准。</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class FilteredAccountRepository implements AccountRepository {
+
+    private final AccountRepository delegate;
+
+    private final ExistenceFilter usernames;
+
+    private final ExistenceFilter emails;
+
+    private volatile boolean createdEventFeedAttached;
+
+    /**
+     * 使用默认误判率创建仓储
+     *
+     * @param delegate 底层账号仓储
+     * @param expectedAccounts 预期账号数量
+     */
+    public FilteredAccountRepository(AccountRepository delegate, int expectedAccounts) {
+        this(delegate, expectedAccounts, ExistenceFilter.DEFAULT_FPP);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 底层账号仓储
+     * @param expectedAccounts 预期账号数量
+     * @param fpp 误判率
+     */
+    public FilteredAccountRepository(AccountRepository delegate, int expectedAccounts, double fpp) {
+        this.delegate = delegate;
+        this.usernames = new ExistenceFilter("account.username", expectedAccounts, fpp);
+        this.emails = new ExistenceFilter("account.email", expectedAccounts, fpp, AccountBlindIndexes.EMAIL::normalize);
+    }
+
+    /**
+     * 流式扫描全部账号，重建用户名和邮箱过滤器
+     *
+     * @return 扫描的账号数量
+     */
+    public synchronized long warmUp() {
+        ExistenceFilter.Rebuild usernameRebuild = usernames.beginRebuild();
+        ExistenceFilter.Rebuild emailRebuild = emails.beginRebuild();
+        long count = 0;
+        try (Stream<Account> accounts = delegate.streamAll(AggregateStreams.DEFAULT_FETCH_SIZE)) {
+            Iterator<Account> iterator = accounts.iterator();
+            while (iterator.hasNext()) {
+                Account account = iterator.next();
+                usernameRebuild.put(account.getUsername());
+                emailRebuild.put(account.getEmail());
+                count++;
+            }
+        } catch (RuntimeException e) {
+            usernameRebuild.abort();
+            emailRebuild.abort();
+            throw e;
+        }
+        usernameRebuild.complete();
+        emailRebuild.complete();
+        return count;
+    }
+
+    @Override
+    public Optional<Account> findById(AccountId accountId) {
+        return delegate.findById(accountId);
+    }
+
+    @Override
+    public Optional<Account> findByUsername(String username) {
+        return delegate.findByUsername(username);
+    }
+
+    @Override
+    public Optional<Account> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<Account> findByEmail(String email, BlindIndexer indexer) {
+        return delegate.findByEmail(email, indexer);
+    }
+
+    @Override
+    public List<Account> findByEmailIndex(Collection<String> blindIndexes) {
+        return delegate.findByEmailIndex(blindIndexes);
+    }
+
+    @Override
+    public Optional<Account> findByPersonId(PersonId personId) {
+        return delegate.findByPersonId(personId);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Account> streamAll(int fetchSize) {
+        return delegate.streamAll(fetchSize);
+    }
+
+    @Override
+    public void save(Account account) {
+        delegate.save(account);
+        usernames.add(account.getUsername());
+        emails.add(account.getEmail());
+    }
+
+    /**
+     * 记录其他节点新增的账号
+     *
+     * @param event 账号创建事件
+     */
+    public void onAccountCreated(AccountCreatedEvent event) {
+        usernames.add(event.getUsername());
+        emails.add(event.getEmail());
+    }
+
+    /**
+     * 声明所有节点新增的账号都会通过{@link #onAccountCreated}或本节点的{@link #save}写入过滤器，
+     * 之后过滤器才参与存在性判定
+     */
+    public void attachCreatedEventFeed() {
+        createdEventFeedAttached = true;
+    }
+
+    /**
+     * 过滤器是否参与判定
+     *
+     * @return 已接入账号创建事件且用户名和邮箱过滤器都已预热时返回true
+     */
+    public boolean isReady() {
+        return createdEventFeedAttached && usernames.isReady() && emails.isReady();
+    }
+
+    @Override
+    public void deleteById(AccountId accountId) {
+        delegate.deleteById(accountId);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        if (!isReady()) {
+            return delegate.existsByUsername(username);
+        }
+        return usernames.exists(username, delegate::existsByUsername);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (!isReady()) {
+            return delegate.existsByEmail(email);
+        }
+        return emails.exists(email, delegate::existsByEmail);
+    }
+
+    /**
+     * 获取用户名过滤器，用于观测误判率
+     *
+     * @return 用户名过滤器
+     */
+    public ExistenceFilter getUsernameFilter() {
+        return usernames;
+    }
+
+    /**
+     * 获取邮箱过滤器，用于观测误判率
+     *
+     * @return 邮箱过滤器
+     */
+    public ExistenceFilter getEmailFilter() {
+        return emails;
+    }
+}
@@ -0,0 +1,134 @@
+package com.lovemp.domain.auth.domain.repository;
+
+import com.lovemp.common.util.ExistenceFilter;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 带存在性过滤器的权限仓储
+ *
+ * <p>包装任意{@link PermissionRepository}实现（可与{@link HierarchicalPermissionRepository}叠加），
+ * {@link #existsByCode}先查询{@link ExistenceFilter}，过滤器判定不存在时直接返回false。
+ * 启动时调用{@link #warmUp()}预热，{@link #save}成功后写入过滤器，权限代码忽略大小写。</p>
+ *
+ * <p>过滤器在进程内维护，与{@link FilteredAccountRepository}一样，调用{@link #attachCreatedEventFeed()}后才参与判定：
+ * 多实例部署时需把其他节点新增的权限代码投递给每个节点的{@link #onPermissionCreated}，单节点部署时可直接调用。
+ * 未接入时所有查询直接委托，不会把其他节点新增的权限误判为不存在。</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class FilteredPermissionRepository implements PermissionRepository {
+
+    /**
+     * 预期权限数量
+     */
+    private static final int EXPECTED_PERMISSIONS = 8192;
+
+    private final PermissionRepository delegate;
+
+    private final ExistenceFilter codes = new ExistenceFilter("permission.code", EXPECTED_PERMISSIONS,
+            ExistenceFilter.DEFAULT_FPP);
+
+    private volatile boolean createdEventFeedAttached;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 底层权限仓储
+     */
+    public FilteredPermissionRepository(PermissionRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 加载全部权限，重建权限代码过滤器
+     *
+     * @return 权限数量
+     */
+    public long warmUp() {
+        return codes.rebuild(delegate.findAll().stream().map(Permission::getCode));
+    }
+
+    @Override
+    public Optional<Permission> findById(PermissionId permissionId) {
+        return delegate.findById(permissionId);
+    }
+
+    @Override
+    public Optional<Permission> findByCode(String code) {
+        return delegate.findByCode(code);
+    }
+
+    @Override
+    public List<Permission> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Permission> findAllEnabled() {
+        return delegate.findAllEnabled();
+    }
+
+    @Override
+    public List<Permission> findByType(String type) {
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public void save(Permission permission) {
+        delegate.save(permission);
+        codes.add(permission.getCode());
+    }
+
+    @Override
+    public void deleteById(PermissionId permissionId) {
+        delegate.deleteById(permissionId);
+    }
+
+    /**
+     * 记录其他节点新增的权限
+     *
+     * @param code 权限代码
+     */
+    public void onPermissionCreated(String code) {
+        codes.add(code);
+    }
+
+    /**
+     * 声明所有节点新增的权限都会通过{@link #onPermissionCreated}或本节点的{@link #save}写入过滤器，
+     * 之后过滤器才参与存在性判定
+     */
+    public void attachCreatedEventFeed() {
+        createdEventFeedAttached = true;
+    }
+
+    /**
+     * 过滤器是否参与判定
+     *
+     * @return 已接入权限创建通知且过滤器已预热时返回true
+     */
+    public boolean isReady() {
+        return createdEventFeedAttached && codes.isReady();
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        if (!isReady()) {
+            return delegate.existsByCode(code);
+        }
+        return codes.exists(code, delegate::existsByCode);
+    }
+
+    /**
+     * 获取权限代码过滤器，用于观测误判率
+     *
+     * @return 权限代码过滤器
+     */
+    public ExistenceFilter getCodeFilter() {
+        return codes;
+    }
+}
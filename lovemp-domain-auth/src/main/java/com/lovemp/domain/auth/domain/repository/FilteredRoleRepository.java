@@ -0,0 +1,129 @@
+package com.lovemp.domain.auth.domain.repository;
+
+import com.lovemp.common.util.ExistenceFilter;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 带存在性过滤器的角色仓储
+ *
+ * <p>包装任意{@link RoleRepository}实现，{@link #existsByCode}先查询{@link ExistenceFilter}，
+ * 过滤器判定不存在时直接返回false。启动时调用{@link #warmUp()}预热，{@link #save}成功后写入过滤器，
+ * 角色代码忽略大小写。</p>
+ *
+ * <p>过滤器在进程内维护，与{@link FilteredAccountRepository}一样，调用{@link #attachCreatedEventFeed()}后才参与判定：
+ * 多实例部署时需把其他节点新增的角色代码投递给每个节点的{@link #onRoleCreated}，单节点部署时可直接调用。
+ * 未接入时所有查询直接委托，不会把其他节点新增的角色误判为不存在。</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class FilteredRoleRepository implements RoleRepository {
+
+    /**
+     * 预期角色数量
+     */
+    private static final int EXPECTED_ROLES = 1024;
+
+    private final RoleRepository delegate;
+
+    private final ExistenceFilter codes = new ExistenceFilter("role.code", EXPECTED_ROLES,
+            ExistenceFilter.DEFAULT_FPP);
+
+    private volatile boolean createdEventFeedAttached;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 底层角色仓储
+     */
+    public FilteredRoleRepository(RoleRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 加载全部角色，重建角色代码过滤器
+     *
+     * @return 角色数量
+     */
+    public long warmUp() {
+        return codes.rebuild(delegate.findAll().stream().map(Role::getCode));
+    }
+
+    @Override
+    public Optional<Role> findById(RoleId roleId) {
+        return delegate.findById(roleId);
+    }
+
+    @Override
+    public Optional<Role> findByCode(String code) {
+        return delegate.findByCode(code);
+    }
+
+    @Override
+    public List<Role> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Role> findAllEnabled() {
+        return delegate.findAllEnabled();
+    }
+
+    @Override
+    public void save(Role role) {
+        delegate.save(role);
+        codes.add(role.getCode());
+    }
+
+    @Override
+    public void deleteById(RoleId roleId) {
+        delegate.deleteById(roleId);
+    }
+
+    /**
+     * 记录其他节点新增的角色
+     *
+     * @param code 角色代码
+     */
+    public void onRoleCreated(String code) {
+        codes.add(code);
+    }
+
+    /**
+     * 声明所有节点新增的角色都会通过{@link #onRoleCreated}或本节点的{@link #save}写入过滤器，
+     * 之后过滤器才参与存在性判定
+     */
+    public void attachCreatedEventFeed() {
+        createdEventFeedAttached = true;
+    }
+
+    /**
+     * 过滤器是否参与判定
+     *
+     * @return 已接入角色创建通知且过滤器已预热时返回true
+     */
+    public boolean isReady() {
+        return createdEventFeedAttached && codes.isReady();
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        if (!isReady()) {
+            return delegate.existsByCode(code);
+        }
+        return codes.exists(code, delegate::existsByCode);
+    }
+
+    /**
+     * 获取角色代码过滤器，用于观测误判率
+     *
+     * @return 角色代码过滤器
+     */
+    public ExistenceFilter getCodeFilter() {
+        return codes;
+    }
+}
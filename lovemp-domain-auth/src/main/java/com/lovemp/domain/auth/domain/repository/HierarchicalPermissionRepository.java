@@ -0,0 +1,148 @@
+package com.lovemp.domain.auth.domain.repository;
+
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.service.PermissionHierarchy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 带层级索引的权限仓储
+ *
+ * <p>包装任意{@link PermissionRepository}实现，在{@link #save}和{@link #deleteById}成功后同步维护
+ * {@link PermissionHierarchy}闭包索引，并提供基于索引的层级查询。首次访问时用{@link #findAll()}加载全部权限。
+ * 保存前校验父权限存在且不会形成环，校验失败时不写入底层仓储。校验、写入和索引更新在同一把锁内完成，
+ * 并发保存不会在校验之后、索引更新之前改变层级，从而绕过环检测；权限变更是低频的管理操作，串行写入的代价可以接受。</p>
+ *
+ * <p>索引在进程内维护，多实例部署时其他节点的变更需通过{@link #reload()}同步。</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class HierarchicalPermissionRepository implements PermissionRepository {
+
+    private final PermissionRepository delegate;
+
+    private final PermissionHierarchy hierarchy = new PermissionHierarchy();
+
+    private volatile boolean loaded;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 底层权限仓储
+     */
+    public HierarchicalPermissionRepository(PermissionRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<Permission> findById(PermissionId permissionId) {
+        return delegate.findById(permissionId);
+    }
+
+    @Override
+    public Optional<Permission> findByCode(String code) {
+        return delegate.findByCode(code);
+    }
+
+    @Override
+    public List<Permission> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Permission> findAllEnabled() {
+        return delegate.findAllEnabled();
+    }
+
+    @Override
+    public List<Permission> findByType(String type) {
+        return delegate.findByType(type);
+    }
+
+    @Override
+    public synchronized void save(Permission permission) {
+        PermissionHierarchy index = hierarchy();
+        index.checkParent(permission);
+        delegate.save(permission);
+        index.onSaved(permission);
+    }
+
+    @Override
+    public synchronized void deleteById(PermissionId permissionId) {
+        PermissionHierarchy index = hierarchy();
+        delegate.deleteById(permissionId);
+        index.onDeleted(permissionId);
+    }
+
+    @Override
+    public boolean existsByCode(String code) {
+        return delegate.existsByCode(code);
+    }
+
+    /**
+     * 查找直接子权限，按排序号排序
+     *
+     * @param parentId 父权限ID
+     * @return 子权限列表
+     */
+    public List<Permission> findChildren(PermissionId parentId) {
+        return hierarchy().getChildren(parentId);
+    }
+
+    /**
+     * 查找全部下级权限（不含自身）
+     *
+     * @param permissionId 权限ID
+     * @return 下级权限列表
+     */
+    public List<Permission> findDescendants(PermissionId permissionId) {
+        PermissionHierarchy index = hierarchy();
+        Set<PermissionId> ids = index.getDescendants(permissionId);
+        List<Permission> descendants = new ArrayList<>(ids.size());
+        for (PermissionId id : ids) {
+            descendants.add(index.get(id));
+        }
+        return descendants;
+    }
+
+    /**
+     * 判断权限是否是另一个权限的下级
+     *
+     * @param descendantId 可能的下级权限
+     * @param ancestorId 可能的上级权限
+     * @return 如果是下级返回true，否则返回false
+     */
+    public boolean isDescendantOf(PermissionId descendantId, PermissionId ancestorId) {
+        return hierarchy().isDescendantOf(descendantId, ancestorId);
+    }
+
+    /**
+     * 获取层级索引，首次调用时加载
+     *
+     * @return 层级索引
+     */
+    public PermissionHierarchy hierarchy() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    hierarchy.load(delegate.findAll());
+                    loaded = true;
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    /**
+     * 从底层仓储重新加载层级索引
+     */
+    public synchronized void reload() {
+        hierarchy.load(delegate.findAll());
+        loaded = true;
+    }
+}
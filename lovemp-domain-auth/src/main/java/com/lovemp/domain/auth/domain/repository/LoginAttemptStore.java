@@ -0,0 +1,33 @@
+package com.lovemp.domain.auth.domain.repository;
+
+/**
+ * 登录失败计数存储接口
+ *
+ * <p>保存多个节点共享的滑动窗口计数。窗口被切分为固定长度的时间片，时间片编号为
+ * {@code 当前毫秒数 / 时间片毫秒数}，窗口总数为最近windowSlots个时间片之和</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * 把本地增量累加到指定时间片，并返回窗口内的总数
+     *
+     * <p>实现应保证累加和求和是原子的，这样恰好越过阈值的那次累加能被唯一识别</p>
+     *
+     * @param key 计数键
+     * @param slot 当前时间片编号
+     * @param delta 本地增量，为0时只读取总数
+     * @param windowSlots 窗口包含的时间片数量
+     * @return 累加后窗口内的总数
+     */
+    long addAndCount(String key, long slot, long delta, int windowSlots);
+
+    /**
+     * 清空计数
+     *
+     * @param key 计数键
+     */
+    void reset(String key);
+}
@@ -0,0 +1,637 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.common.util.ThreadPoolUtils;
+import com.lovemp.domain.auth.domain.model.aggregate.Account;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.auth.domain.repository.AccountRepository;
+import com.lovemp.domain.auth.domain.repository.PermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 有效权限缓存
+ *
+ * <p>把账号经由角色获得的权限预先计算为位图，鉴权时不再逐级查询账号、角色和权限：
+ * <ul>
+ *   <li>权限ID被分配稠密的整数下标，角色和账号的权限都保存为按下标编号的位图</li>
+ *   <li>{@link #hasPermission}只做一次哈希查找和一次位图读取，
+ *       {@link #getPermissionCodes}和{@link #getRoleCodes}返回预先生成的不可变列表</li>
+ *   <li>按资源路径和动作鉴权的{@link #isAllowed}用账号缓存的角色查询{@link PermissionMatchingEngine}，
+ *       角色和权限的增量变更同时转发给引擎</li>
+ *   <li>角色增删权限、账号增删角色时只更新受影响的角色和账号，不清空整个缓存</li>
+ *   <li>账号和角色在首次访问时从仓储加载，直到被{@link #evictAccount}、{@link #evictRole}移除或{@link #reload}清空；
+ *       缓存的账号数有上限，达到上限后加载新账号时淘汰任意一个已缓存的账号</li>
+ * </ul>
+ *
+ * <p>增量方法只更新本节点的缓存，其他节点的变更需通过{@link #reload()}同步：{@link #start()}后按重新加载间隔
+ * 定期执行，其他节点的变更最迟在一个间隔后生效；需要立即生效时，由应用服务在变更后通知各节点调用{@link #reload()}。</p>
+ *
+ * <p>读取无锁，缓存条目不可变，变更在锁内生成新条目后替换。
+ * 应用服务在保存角色或账号后调用对应的增量方法，例如：
+ * <pre>
+ * role.addPermission(permissionId);
+ * roleRepository.save(role);
+ * effectivePermissionCache.onPermissionAdded(role.getId(), permissionId);
+ * </pre>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class EffectivePermissionCache {
+
+    /**
+     * 默认缓存的账号数上限
+     */
+    public static final int DEFAULT_MAX_ACCOUNTS = 100_000;
+
+    /**
+     * 默认重新加载间隔
+     */
+    public static final Duration DEFAULT_RELOAD_INTERVAL = Duration.ofMinutes(5);
+
+    private final AccountRepository accountRepository;
+
+    private final RoleRepository roleRepository;
+
+    private final PermissionRepository permissionRepository;
+
+    /**
+     * 权限匹配引擎，未配置时不支持{@link #isAllowed}
+     */
+    private final PermissionMatchingEngine matchingEngine;
+
+    private final int maxAccounts;
+
+    private final long reloadIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+
+    private final Map<PermissionId, Integer> permissionIndexes = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> codeIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * 下标到权限代码的映射，只在锁内追加或修改，读取时使用volatile快照
+     */
+    private volatile String[] codes = new String[0];
+
+    private final BitSet enabledPermissions = new BitSet();
+
+    private final Map<RoleId, RoleEntry> roles = new ConcurrentHashMap<>();
+
+    private final Map<AccountId, AccountEntry> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * 角色到已缓存账号的反向索引，只在锁内访问
+     */
+    private final Map<RoleId, Set<AccountId>> roleMembers = new HashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param accountRepository 账号仓储
+     * @param roleRepository 角色仓储
+     * @param permissionRepository 权限仓储
+     */
+    public EffectivePermissionCache(AccountRepository accountRepository, RoleRepository roleRepository,
+                                    PermissionRepository permissionRepository) {
+        this(accountRepository, roleRepository, permissionRepository, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param accountRepository 账号仓储
+     * @param roleRepository 角色仓储
+     * @param permissionRepository 权限仓储
+     * @param matchingEngine 权限匹配引擎，可以为null
+     */
+    public EffectivePermissionCache(AccountRepository accountRepository, RoleRepository roleRepository,
+                                    PermissionRepository permissionRepository,
+                                    PermissionMatchingEngine matchingEngine) {
+        this(accountRepository, roleRepository, permissionRepository, matchingEngine, DEFAULT_MAX_ACCOUNTS,
+                DEFAULT_RELOAD_INTERVAL);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param accountRepository 账号仓储
+     * @param roleRepository 角色仓储
+     * @param permissionRepository 权限仓储
+     * @param matchingEngine 权限匹配引擎，可以为null
+     * @param maxAccounts 缓存的账号数上限
+     * @param reloadInterval {@link #start()}后定期重新加载的间隔
+     */
+    public EffectivePermissionCache(AccountRepository accountRepository, RoleRepository roleRepository,
+                                    PermissionRepository permissionRepository,
+                                    PermissionMatchingEngine matchingEngine, int maxAccounts,
+                                    Duration reloadInterval) {
+        Assert.notNull(accountRepository, "账号仓储不能为空");
+        Assert.notNull(roleRepository, "角色仓储不能为空");
+        Assert.notNull(permissionRepository, "权限仓储不能为空");
+        Assert.isTrue(maxAccounts > 0, "缓存的账号数上限必须大于0");
+        Assert.isTrue(reloadInterval != null && !reloadInterval.isNegative() && !reloadInterval.isZero(),
+                "重新加载间隔必须大于0");
+        this.accountRepository = accountRepository;
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.matchingEngine = matchingEngine;
+        this.maxAccounts = maxAccounts;
+        this.reloadIntervalMillis = reloadInterval.toMillis();
+    }
+
+    /**
+     * 启动定期重新加载
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = ThreadPoolUtils.newDaemonScheduler("permission-cache-reload");
+        scheduler.scheduleWithFixedDelay(this::reload, reloadIntervalMillis, reloadIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止定期重新加载
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    /**
+     * 重新读取所有权限的代码和启用状态，清空已缓存的角色和账号，并重新加载权限匹配引擎
+     *
+     * <p>已缓存的账号在下次访问时重新加载，用于同步其他节点的变更</p>
+     */
+    public void reload() {
+        Map<PermissionId, Permission> enabled = permissionRepository.findAllEnabled().stream()
+                .collect(Collectors.toMap(Permission::getId, Function.identity(), (a, b) -> a));
+        synchronized (lock) {
+            // 权限下标保持不变，读取方持有的旧下标仍然指向同一个权限
+            String[] next = codes.clone();
+            for (Map.Entry<PermissionId, Integer> entry : permissionIndexes.entrySet()) {
+                int index = entry.getValue();
+                Permission permission = enabled.get(entry.getKey());
+                if (permission != null && !permission.getCode().equals(next[index])) {
+                    codeIndexes.remove(next[index], index);
+                    next[index] = permission.getCode();
+                    codeIndexes.put(next[index], index);
+                }
+                enabledPermissions.set(index, permission != null);
+            }
+            codes = next;
+            roles.clear();
+            roleMembers.clear();
+            accounts.clear();
+        }
+        if (matchingEngine != null) {
+            matchingEngine.reload();
+        }
+    }
+
+    /**
+     * 判断账号是否拥有权限
+     *
+     * @param accountId 账号ID
+     * @param permissionCode 权限代码
+     * @return 如果拥有返回true，否则返回false
+     */
+    public boolean hasPermission(AccountId accountId, String permissionCode) {
+        // 先加载账号，首次访问时权限代码在加载账号的角色时才分配下标
+        AccountEntry account = account(accountId);
+        Integer index = codeIndexes.get(permissionCode);
+        return index != null && account.permissions.get(index);
+    }
+
+    /**
+     * 判断账号是否允许对资源路径执行动作
+     *
+     * @param accountId 账号ID
+     * @param path 资源路径
+     * @param action 操作动作
+     * @return 账号的任一启用角色允许时返回true
+     * @throws com.lovemp.common.exception.DomainRuleViolationException 未配置权限匹配引擎
+     */
+    public boolean isAllowed(AccountId accountId, String path, String action) {
+        Assert.state(matchingEngine != null, "未配置权限匹配引擎");
+        return matchingEngine.isAllowed(account(accountId).roleIds, path, action);
+    }
+
+    /**
+     * 获取账号的有效权限代码
+     *
+     * @param accountId 账号ID
+     * @return 不可变的权限代码列表
+     */
+    public List<String> getPermissionCodes(AccountId accountId) {
+        return account(accountId).permissionCodes;
+    }
+
+    /**
+     * 获取账号的启用角色代码
+     *
+     * @param accountId 账号ID
+     * @return 不可变的角色代码列表
+     */
+    public List<String> getRoleCodes(AccountId accountId) {
+        return account(accountId).roleCodes;
+    }
+
+    /**
+     * 角色新增权限后调用
+     *
+     * @param roleId 角色ID
+     * @param permissionId 权限ID
+     */
+    public void onPermissionAdded(RoleId roleId, PermissionId permissionId) {
+        refreshEngine(roleId);
+        synchronized (lock) {
+            RoleEntry role = roles.get(roleId);
+            if (role == null) {
+                return;
+            }
+            int index = intern(permissionId);
+            if (index < 0 || role.declared.get(index)) {
+                return;
+            }
+            BitSet declared = (BitSet) role.declared.clone();
+            declared.set(index);
+            roles.put(roleId, new RoleEntry(role.code, role.enabled, declared, grant(role.enabled, declared)));
+            if (role.enabled && enabledPermissions.get(index)) {
+                // 新增权限只会扩大有效权限，直接并入即可，无需重算其他角色
+                for (AccountId accountId : members(roleId)) {
+                    AccountEntry account = accounts.get(accountId);
+                    BitSet permissions = (BitSet) account.permissions.clone();
+                    permissions.set(index);
+                    accounts.put(accountId, newAccount(account.roleIds, account.roleCodes, permissions));
+                }
+            }
+        }
+    }
+
+    /**
+     * 角色移除权限后调用
+     *
+     * @param roleId 角色ID
+     * @param permissionId 权限ID
+     */
+    public void onPermissionRemoved(RoleId roleId, PermissionId permissionId) {
+        refreshEngine(roleId);
+        synchronized (lock) {
+            RoleEntry role = roles.get(roleId);
+            Integer index = permissionIndexes.get(permissionId);
+            if (role == null || index == null || !role.declared.get(index)) {
+                return;
+            }
+            BitSet declared = (BitSet) role.declared.clone();
+            declared.clear(index);
+            roles.put(roleId, new RoleEntry(role.code, role.enabled, declared, grant(role.enabled, declared)));
+            // 其他角色可能也授予了该权限，受影响的账号需要按角色重新合并
+            for (AccountId accountId : members(roleId)) {
+                accounts.put(accountId, combine(accounts.get(accountId).roleIds));
+            }
+        }
+    }
+
+    /**
+     * 账号新增角色后调用
+     *
+     * @param accountId 账号ID
+     * @param roleId 角色ID
+     */
+    public void onRoleAdded(AccountId accountId, RoleId roleId) {
+        synchronized (lock) {
+            AccountEntry account = accounts.get(accountId);
+            if (account == null || account.roleIds.contains(roleId)) {
+                return;
+            }
+            Set<RoleId> roleIds = new LinkedHashSet<>(account.roleIds);
+            roleIds.add(roleId);
+            accounts.put(accountId, combine(Collections.unmodifiableSet(roleIds)));
+            roleMembers.computeIfAbsent(roleId, key -> new HashSet<>()).add(accountId);
+        }
+    }
+
+    /**
+     * 账号移除角色后调用
+     *
+     * @param accountId 账号ID
+     * @param roleId 角色ID
+     */
+    public void onRoleRemoved(AccountId accountId, RoleId roleId) {
+        synchronized (lock) {
+            AccountEntry account = accounts.get(accountId);
+            if (account == null || !account.roleIds.contains(roleId)) {
+                return;
+            }
+            Set<RoleId> roleIds = new LinkedHashSet<>(account.roleIds);
+            roleIds.remove(roleId);
+            accounts.put(accountId, combine(Collections.unmodifiableSet(roleIds)));
+            members(roleId).remove(accountId);
+        }
+    }
+
+    /**
+     * 移除账号，下次访问时重新加载，用于批量设置角色、删除账号等场景
+     *
+     * @param accountId 账号ID
+     */
+    public void evictAccount(AccountId accountId) {
+        synchronized (lock) {
+            AccountEntry account = accounts.remove(accountId);
+            if (account != null) {
+                for (RoleId roleId : account.roleIds) {
+                    members(roleId).remove(accountId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 重新加载角色并重算其成员账号，用于角色启用、禁用、批量设置权限或删除等场景
+     *
+     * @param roleId 角色ID
+     */
+    public void evictRole(RoleId roleId) {
+        refreshEngine(roleId);
+        synchronized (lock) {
+            if (roles.remove(roleId) == null) {
+                return;
+            }
+            loadRole(roleId);
+            for (AccountId accountId : members(roleId)) {
+                accounts.put(accountId, combine(accounts.get(accountId).roleIds));
+            }
+        }
+    }
+
+    /**
+     * 重新加载权限的代码和启用状态，并重算受影响的角色和账号
+     *
+     * @param permissionId 权限ID
+     */
+    public void evictPermission(PermissionId permissionId) {
+        if (matchingEngine != null) {
+            // 权限的路径或动作变更可能影响任意角色
+            matchingEngine.reload();
+        }
+        synchronized (lock) {
+            Integer index = permissionIndexes.get(permissionId);
+            if (index == null) {
+                return;
+            }
+            Optional<Permission> permission = permissionRepository.findById(permissionId);
+            String[] next = codes.clone();
+            codeIndexes.remove(next[index], index);
+            if (permission.isPresent()) {
+                next[index] = permission.get().getCode();
+                codeIndexes.put(next[index], index);
+            }
+            codes = next;
+            enabledPermissions.set(index, permission.map(Permission::isEnabled).orElse(false));
+
+            Set<AccountId> affected = new HashSet<>();
+            for (Map.Entry<RoleId, RoleEntry> entry : roles.entrySet()) {
+                RoleEntry role = entry.getValue();
+                if (role.declared.get(index)) {
+                    entry.setValue(new RoleEntry(role.code, role.enabled, role.declared,
+                            grant(role.enabled, role.declared)));
+                    affected.addAll(members(entry.getKey()));
+                }
+            }
+            for (AccountId accountId : affected) {
+                accounts.put(accountId, combine(accounts.get(accountId).roleIds));
+            }
+        }
+    }
+
+    /**
+     * 获取已分配下标的权限数量
+     *
+     * @return 权限数量
+     */
+    public int getInternedPermissionCount() {
+        return permissionIndexes.size();
+    }
+
+    /**
+     * 获取已缓存的账号数量
+     *
+     * @return 账号数量
+     */
+    public int getCachedAccountCount() {
+        return accounts.size();
+    }
+
+    private void refreshEngine(RoleId roleId) {
+        if (matchingEngine != null) {
+            matchingEngine.refresh(roleId);
+        }
+    }
+
+    private AccountEntry account(AccountId accountId) {
+        AccountEntry account = accounts.get(accountId);
+        if (account != null) {
+            return account;
+        }
+        synchronized (lock) {
+            account = accounts.get(accountId);
+            if (account != null) {
+                return account;
+            }
+            Optional<Account> loaded = accountRepository.findById(accountId);
+            if (loaded.isEmpty()) {
+                // 不存在的账号不缓存，避免账号创建后仍命中空条目
+                return AccountEntry.EMPTY;
+            }
+            Set<RoleId> roleIds = Collections.unmodifiableSet(new LinkedHashSet<>(loaded.get().getRoleIds()));
+            account = combine(roleIds);
+            if (accounts.size() >= maxAccounts) {
+                evictAny();
+            }
+            accounts.put(accountId, account);
+            for (RoleId roleId : roleIds) {
+                roleMembers.computeIfAbsent(roleId, key -> new HashSet<>()).add(accountId);
+            }
+            return account;
+        }
+    }
+
+    /**
+     * 淘汰任意一个已缓存的账号，调用方持有锁
+     */
+    private void evictAny() {
+        Iterator<Map.Entry<AccountId, AccountEntry>> iterator = accounts.entrySet().iterator();
+        if (iterator.hasNext()) {
+            Map.Entry<AccountId, AccountEntry> evicted = iterator.next();
+            iterator.remove();
+            for (RoleId roleId : evicted.getValue().roleIds) {
+                members(roleId).remove(evicted.getKey());
+            }
+        }
+    }
+
+    /**
+     * 按角色合并有效权限，调用方持有锁
+     */
+    private AccountEntry combine(Set<RoleId> roleIds) {
+        BitSet permissions = new BitSet();
+        List<String> roleCodes = new ArrayList<>(roleIds.size());
+        for (RoleId roleId : roleIds) {
+            RoleEntry role = roles.get(roleId);
+            if (role == null) {
+                role = loadRole(roleId);
+            }
+            if (role.enabled) {
+                roleCodes.add(role.code);
+                permissions.or(role.granted);
+            }
+        }
+        return newAccount(roleIds, List.copyOf(roleCodes), permissions);
+    }
+
+    /**
+     * 创建账号条目并预先生成权限代码列表，调用方持有锁
+     */
+    private AccountEntry newAccount(Set<RoleId> roleIds, List<String> roleCodes, BitSet permissions) {
+        String[] snapshot = codes;
+        List<String> permissionCodes = new ArrayList<>(permissions.cardinality());
+        for (int i = permissions.nextSetBit(0); i >= 0; i = permissions.nextSetBit(i + 1)) {
+            permissionCodes.add(snapshot[i]);
+        }
+        return new AccountEntry(roleIds, roleCodes, permissions, List.copyOf(permissionCodes));
+    }
+
+    private RoleEntry loadRole(RoleId roleId) {
+        Optional<Role> loaded = roleRepository.findById(roleId);
+        RoleEntry role;
+        if (loaded.isEmpty()) {
+            role = new RoleEntry(null, false, new BitSet(), new BitSet());
+        } else {
+            BitSet declared = new BitSet();
+            for (PermissionId permissionId : loaded.get().getPermissionIds()) {
+                int index = intern(permissionId);
+                if (index >= 0) {
+                    declared.set(index);
+                }
+            }
+            boolean enabled = loaded.get().isEnabled();
+            role = new RoleEntry(loaded.get().getCode(), enabled, declared, grant(enabled, declared));
+        }
+        roles.put(roleId, role);
+        return role;
+    }
+
+    private BitSet grant(boolean roleEnabled, BitSet declared) {
+        BitSet granted = new BitSet();
+        if (roleEnabled) {
+            granted.or(declared);
+            granted.and(enabledPermissions);
+        }
+        return granted;
+    }
+
+    /**
+     * 为权限分配下标，调用方持有锁
+     *
+     * @return 下标，权限不存在时返回-1
+     */
+    private int intern(PermissionId permissionId) {
+        Integer index = permissionIndexes.get(permissionId);
+        if (index != null) {
+            return index;
+        }
+        Optional<Permission> permission = permissionRepository.findById(permissionId);
+        if (permission.isEmpty()) {
+            return -1;
+        }
+        String[] current = codes;
+        String[] next = new String[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        int newIndex = current.length;
+        next[newIndex] = permission.get().getCode();
+        enabledPermissions.set(newIndex, permission.get().isEnabled());
+        codes = next;
+        codeIndexes.put(next[newIndex], newIndex);
+        permissionIndexes.put(permissionId, newIndex);
+        return newIndex;
+    }
+
+    private Set<AccountId> members(RoleId roleId) {
+        return roleMembers.getOrDefault(roleId, Collections.emptySet());
+    }
+
+    private static final class RoleEntry {
+
+        final String code;
+
+        final boolean enabled;
+
+        /**
+         * 角色关联的全部权限，包括已禁用的权限
+         */
+        final BitSet declared;
+
+        /**
+         * 实际授予的权限：角色启用时为关联权限中启用的部分
+         */
+        final BitSet granted;
+
+        RoleEntry(String code, boolean enabled, BitSet declared, BitSet granted) {
+            this.code = code;
+            this.enabled = enabled;
+            this.declared = declared;
+            this.granted = granted;
+        }
+    }
+
+    private static final class AccountEntry {
+
+        static final AccountEntry EMPTY = new AccountEntry(Set.of(), List.of(), new BitSet(), List.of());
+
+        final Set<RoleId> roleIds;
+
+        final List<String> roleCodes;
+
+        final BitSet permissions;
+
+        final List<String> permissionCodes;
+
+        AccountEntry(Set<RoleId> roleIds, List<String> roleCodes, BitSet permissions, List<String> permissionCodes) {
+            this.roleIds = roleIds;
+            this.roleCodes = roleCodes;
+            this.permissions = permissions;
+            this.permissionCodes = permissionCodes;
+        }
+    }
+}
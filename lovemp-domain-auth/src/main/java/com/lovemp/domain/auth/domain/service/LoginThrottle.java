@@ -0,0 +1,439 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.exception.TooManyRequestsException;
+import com.lovemp.common.util.Assert;
+import com.lovemp.common.util.ThreadPoolUtils;
+import com.lovemp.domain.auth.domain.repository.AccountRepository;
+import com.lovemp.domain.auth.domain.repository.LoginAttemptStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 登录限流器
+ *
+ * <p>按用户名和IP统计滑动窗口内的登录失败次数，失败计数不再写入{@code Account}聚合：
+ * <ul>
+ *   <li>失败先累加到本地的{@link LongAdder}（内部分段，高并发下不争用同一个计数器），
+ *       后台线程按syncInterval批量同步到{@link LoginAttemptStore}，并取回所有节点的窗口总数</li>
+ *   <li>本地估计（上次同步的总数加未同步的增量）达到阈值时立即同步一次，不等后台周期</li>
+ *   <li>共享总数达到用户名阈值后，每个节点最多加载一次账号，未锁定时锁定并保存，由聚合发布
+ *       {@code AccountLockedEvent}；未达阈值的失败不产生任何数据库读写</li>
+ *   <li>IP达到阈值时只拒绝该IP的登录请求，不锁定账号</li>
+ *   <li>没有本地增量的键只有在上次取回的总数达到阈值一半时才按时间片刷新共享总数，
+ *       大量只失败一两次的用户名或IP不会给共享存储带来周期性的读</li>
+ *   <li>本地跟踪的键数有上限，键由请求方决定，上限防止用随机用户名或IP撑满内存；达到上限后
+ *       新键的失败直接写入共享存储而不在本地跟踪，用户名越过阈值时照常锁定账号</li>
+ *   <li>共享存储不可用时保留本地增量，按本地估计继续限流，恢复后再累加</li>
+ * </ul>
+ *
+ * <p>使用方式：校验密码前调用{@link #checkAllowed}，校验失败调用{@link #recordFailure}，
+ * 成功调用{@link #recordSuccess}；管理员解锁账号后调用{@link #reset}</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class LoginThrottle {
+
+    /**
+     * 默认用户名失败阈值
+     */
+    public static final int DEFAULT_MAX_FAILURES = 5;
+
+    /**
+     * 默认IP失败阈值
+     */
+    public static final int DEFAULT_MAX_IP_FAILURES = 50;
+
+    /**
+     * 默认窗口长度
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(15);
+
+    /**
+     * 默认窗口时间片数量
+     */
+    public static final int DEFAULT_WINDOW_SLOTS = 15;
+
+    /**
+     * 默认同步间隔
+     */
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * 默认本地跟踪的键数上限
+     */
+    public static final int DEFAULT_MAX_TRACKED_KEYS = 100_000;
+
+    private static final String USERNAME_PREFIX = "u:";
+
+    private static final String IP_PREFIX = "ip:";
+
+    private final LoginAttemptStore store;
+
+    private final AccountRepository accountRepository;
+
+    private final int maxFailures;
+
+    private final int maxIpFailures;
+
+    private final long slotMillis;
+
+    private final int windowSlots;
+
+    private final Duration syncInterval;
+
+    private final int maxTrackedKeys;
+
+    private final Clock clock;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final AtomicLong syncFailureCount = new AtomicLong();
+
+    private final AtomicLong lockedCount = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 使用默认配置创建限流器
+     *
+     * @param store 共享计数存储
+     * @param accountRepository 账号仓储
+     */
+    public LoginThrottle(LoginAttemptStore store, AccountRepository accountRepository) {
+        this(store, accountRepository, DEFAULT_MAX_FAILURES, DEFAULT_MAX_IP_FAILURES, DEFAULT_WINDOW,
+                DEFAULT_WINDOW_SLOTS, DEFAULT_SYNC_INTERVAL, DEFAULT_MAX_TRACKED_KEYS, Clock.systemUTC());
+    }
+
+    /**
+     * 使用默认的跟踪键数上限创建限流器
+     *
+     * @param store 共享计数存储
+     * @param accountRepository 账号仓储
+     * @param maxFailures 窗口内单个用户名的失败阈值，达到后锁定账号
+     * @param maxIpFailures 窗口内单个IP的失败阈值，达到后拒绝该IP登录
+     * @param window 窗口长度
+     * @param windowSlots 窗口切分的时间片数量，越大窗口滑动越平滑
+     * @param syncInterval 后台同步间隔
+     * @param clock 时钟
+     */
+    public LoginThrottle(LoginAttemptStore store, AccountRepository accountRepository, int maxFailures,
+                         int maxIpFailures, Duration window, int windowSlots, Duration syncInterval, Clock clock) {
+        this(store, accountRepository, maxFailures, maxIpFailures, window, windowSlots, syncInterval,
+                DEFAULT_MAX_TRACKED_KEYS, clock);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param store 共享计数存储
+     * @param accountRepository 账号仓储
+     * @param maxFailures 窗口内单个用户名的失败阈值，达到后锁定账号
+     * @param maxIpFailures 窗口内单个IP的失败阈值，达到后拒绝该IP登录
+     * @param window 窗口长度
+     * @param windowSlots 窗口切分的时间片数量，越大窗口滑动越平滑
+     * @param syncInterval 后台同步间隔
+     * @param maxTrackedKeys 本地跟踪的键数上限
+     * @param clock 时钟
+     */
+    public LoginThrottle(LoginAttemptStore store, AccountRepository accountRepository, int maxFailures,
+                         int maxIpFailures, Duration window, int windowSlots, Duration syncInterval,
+                         int maxTrackedKeys, Clock clock) {
+        Assert.notNull(store, "共享计数存储不能为空");
+        Assert.notNull(accountRepository, "账号仓储不能为空");
+        Assert.isTrue(maxFailures > 0, "用户名失败阈值必须大于0");
+        Assert.isTrue(maxIpFailures > 0, "IP失败阈值必须大于0");
+        Assert.notNull(window, "窗口长度不能为空");
+        Assert.isTrue(windowSlots > 0 && window.toMillis() >= windowSlots, "窗口时间片数量必须大于0且不超过窗口毫秒数");
+        Assert.notNull(syncInterval, "同步间隔不能为空");
+        Assert.isTrue(maxTrackedKeys > 0, "跟踪键数上限必须大于0");
+        Assert.notNull(clock, "时钟不能为空");
+        this.store = store;
+        this.accountRepository = accountRepository;
+        this.maxFailures = maxFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.slotMillis = window.toMillis() / windowSlots;
+        this.windowSlots = windowSlots;
+        this.syncInterval = syncInterval;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * 启动后台同步
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = ThreadPoolUtils.newDaemonScheduler("login-throttle-sync");
+        long interval = syncInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reconcile, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止后台同步，并把未同步的增量写入共享存储
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        reconcile();
+    }
+
+    /**
+     * 校验是否允许登录，应在计算密码哈希之前调用
+     *
+     * @param username 用户名
+     * @param ip 客户端IP，为空时不按IP限流
+     * @throws TooManyRequestsException 用户名或IP的失败次数已达阈值
+     */
+    public void checkAllowed(String username, String ip) {
+        Assert.notEmpty(username, "用户名不能为空");
+        long slot = currentSlot();
+        if (estimate(USERNAME_PREFIX + username, slot) >= maxFailures
+                || ip != null && estimate(IP_PREFIX + ip, slot) >= maxIpFailures) {
+            throw new TooManyRequestsException("登录失败次数过多，请稍后再试");
+        }
+    }
+
+    /**
+     * 记录一次登录失败
+     *
+     * @param username 用户名
+     * @param ip 客户端IP，为空时不按IP计数
+     */
+    public void recordFailure(String username, String ip) {
+        Assert.notEmpty(username, "用户名不能为空");
+        long slot = currentSlot();
+        record(USERNAME_PREFIX + username, username, slot);
+        if (ip != null) {
+            record(IP_PREFIX + ip, null, slot);
+        }
+    }
+
+    /**
+     * 记录一次登录成功，清空该用户名的失败计数（IP计数保留）
+     *
+     * @param username 用户名
+     */
+    public void recordSuccess(String username) {
+        reset(username);
+    }
+
+    /**
+     * 清空用户名的失败计数，管理员解锁账号后调用
+     *
+     * @param username 用户名
+     */
+    public void reset(String username) {
+        Assert.notEmpty(username, "用户名不能为空");
+        String key = USERNAME_PREFIX + username;
+        counters.remove(key);
+        try {
+            store.reset(key);
+        } catch (RuntimeException e) {
+            // 登录已成功，共享计数会在窗口滑过后自然清零
+            syncFailureCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 把所有本地增量同步到共享存储，并丢弃整个窗口内没有新失败的计数；由后台线程周期调用
+     *
+     * <p>没有本地增量的键只在接近阈值时刷新，远低于阈值的键即使其他节点在累加，
+     * 本节点下次记录失败时也会取回最新总数</p>
+     */
+    public void reconcile() {
+        long slot = currentSlot();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            try {
+                if (counter.pending.sum() == 0 && slot - counter.lastFailureSlot >= windowSlots) {
+                    counters.remove(entry.getKey(), counter);
+                    // 移除期间并发累加的增量不能丢
+                    if (counter.pending.sum() > 0) {
+                        sync(entry.getKey(), counter, slot);
+                    }
+                } else if (counter.pending.sum() > 0
+                        || counter.syncedSlot < slot && counter.shared * 2 >= counter.threshold) {
+                    // 没有本地增量的键每个时间片最多刷新一次，用于获知其他节点的计数
+                    sync(entry.getKey(), counter, slot);
+                }
+            } catch (RuntimeException e) {
+                syncFailureCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 获取同步或锁定失败的次数
+     *
+     * @return 失败次数
+     */
+    public long getSyncFailureCount() {
+        return syncFailureCount.get();
+    }
+
+    /**
+     * 获取因越过阈值而触发锁定的次数
+     *
+     * @return 锁定次数
+     */
+    public long getLockedCount() {
+        return lockedCount.get();
+    }
+
+    /**
+     * 获取本地跟踪的计数键数量
+     *
+     * @return 计数键数量
+     */
+    public int getTrackedKeyCount() {
+        return counters.size();
+    }
+
+    private void record(String key, String username, long slot) {
+        int threshold = username != null ? maxFailures : maxIpFailures;
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxTrackedKeys) {
+                // 跟踪的键已满，本次失败直接写入共享存储；size只是近似值，并发时可能略超上限
+                Counter untracked = new Counter(username, threshold, slot);
+                untracked.pending.increment();
+                sync(key, untracked, slot);
+                return;
+            }
+            counter = counters.computeIfAbsent(key, k -> new Counter(username, threshold, slot));
+        }
+        counter.lastFailureSlot = slot;
+        counter.pending.increment();
+        if (counter.estimate(slot, windowSlots) >= threshold) {
+            // 本地估计已达阈值，立即对齐共享计数，判断是否由本次越过阈值
+            sync(key, counter, slot);
+        }
+    }
+
+    private long estimate(String key, long slot) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.estimate(slot, windowSlots);
+    }
+
+    private void sync(String key, Counter counter, long slot) {
+        boolean reached;
+        synchronized (counter) {
+            long delta = counter.pending.sumThenReset();
+            long count;
+            try {
+                count = store.addAndCount(key, slot, delta, windowSlots);
+            } catch (RuntimeException e) {
+                counter.pending.add(delta);
+                syncFailureCount.incrementAndGet();
+                return;
+            }
+            counter.shared = count;
+            counter.syncedSlot = slot;
+            if (count < maxFailures) {
+                // 共享计数回落到阈值以下（如管理员在其他节点解锁并清空计数），再次越过阈值时需要重新锁定
+                counter.locked = false;
+            }
+            reached = counter.username != null && !counter.locked && count >= maxFailures;
+        }
+        if (reached) {
+            try {
+                lockAccount(counter.username);
+                counter.locked = true;
+            } catch (RuntimeException e) {
+                // 锁定失败时不设置标记，下次同步重试
+                syncFailureCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 锁定账号，其他节点已经锁定时不再保存，避免重复发布AccountLockedEvent
+     */
+    private void lockAccount(String username) {
+        accountRepository.findByUsername(username)
+                .filter(account -> !account.getStatus().isLocked())
+                .ifPresent(account -> {
+                    account.lock();
+                    accountRepository.save(account);
+                    lockedCount.incrementAndGet();
+                });
+    }
+
+    private long currentSlot() {
+        return clock.millis() / slotMillis;
+    }
+
+    /**
+     * 单个键的本地计数
+     */
+    private static final class Counter {
+
+        /**
+         * 用户名，IP计数为null
+         */
+        final String username;
+
+        /**
+         * 该键的失败阈值
+         */
+        final int threshold;
+
+        /**
+         * 尚未同步的本地增量
+         */
+        final LongAdder pending = new LongAdder();
+
+        /**
+         * 上次同步时取回的窗口总数
+         */
+        volatile long shared;
+
+        /**
+         * 上次同步时所在的时间片
+         */
+        volatile long syncedSlot;
+
+        /**
+         * 本节点最近一次记录失败时所在的时间片
+         */
+        volatile long lastFailureSlot;
+
+        /**
+         * 本节点是否已处理过该用户名的锁定，同步取回的共享计数低于阈值时清除
+         */
+        volatile boolean locked;
+
+        Counter(String username, int threshold, long slot) {
+            this.username = username;
+            this.threshold = threshold;
+            this.syncedSlot = slot;
+            this.lastFailureSlot = slot;
+        }
+
+        long estimate(long slot, int windowSlots) {
+            long base = slot - syncedSlot >= windowSlots ? 0 : shared;
+            return base + pending.sum();
+        }
+    }
+}
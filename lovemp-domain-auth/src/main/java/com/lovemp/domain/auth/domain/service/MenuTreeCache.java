@@ -0,0 +1,194 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.common.util.EncryptionUtils;
+import com.lovemp.common.util.JsonUtils;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.auth.domain.repository.HierarchicalPermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 菜单树缓存
+ *
+ * <p>按角色集合缓存序列化好的菜单树JSON，前端请求时直接返回，不再逐级递归查询权限：
+ * <ul>
+ *   <li>菜单树只包含MENU和BUTTON类型的启用权限；角色只授予了下级权限时，自动补齐其上级菜单，保证树是连通的</li>
+ *   <li>缓存条目记录生成时的代次，代次由{@link PermissionHierarchy}的版本和角色变更次数组成，
+ *       代次变化后在下次访问时重新生成</li>
+ *   <li>版本号是JSON内容的SHA-256，内容相同的菜单树在不同节点、重启前后版本号一致，可直接作为HTTP ETag使用</li>
+ * </ul>
+ *
+ * <p>JSON结构：{@code [{"id","code","name","type","path","sortOrder","children":[...]}]}</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class MenuTreeCache {
+
+    /**
+     * 菜单权限类型
+     */
+    public static final String TYPE_MENU = "MENU";
+
+    /**
+     * 按钮权限类型
+     */
+    public static final String TYPE_BUTTON = "BUTTON";
+
+    /**
+     * 缓存条目上限，角色组合通常很少
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    private final HierarchicalPermissionRepository permissionRepository;
+
+    private final RoleRepository roleRepository;
+
+    private final AtomicLong roleVersion = new AtomicLong();
+
+    private final Map<String, MenuTree> trees = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param permissionRepository 带层级索引的权限仓储
+     * @param roleRepository 角色仓储
+     */
+    public MenuTreeCache(HierarchicalPermissionRepository permissionRepository, RoleRepository roleRepository) {
+        Assert.notNull(permissionRepository, "权限仓储不能为空");
+        Assert.notNull(roleRepository, "角色仓储不能为空");
+        this.permissionRepository = permissionRepository;
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * 获取角色集合的菜单树
+     *
+     * @param roleIds 角色ID集合
+     * @return 菜单树
+     */
+    public MenuTree getMenuTree(Collection<RoleId> roleIds) {
+        Assert.notNull(roleIds, "角色ID集合不能为空");
+        String key = key(roleIds);
+        PermissionHierarchy hierarchy = permissionRepository.hierarchy();
+        // 代次只用于判断本节点的缓存是否过期，各节点的计数不同，不能对外暴露
+        String generation = hierarchy.getVersion() + "." + roleVersion.get();
+        MenuTree tree = trees.get(key);
+        if (tree != null && tree.generation.equals(generation)) {
+            return tree;
+        }
+        String json = JsonUtils.toJson(build(hierarchy, roleIds));
+        tree = new MenuTree(generation, EncryptionUtils.sha256(json), json);
+        if (trees.size() >= CACHE_SIZE) {
+            // 超过上限说明角色组合异常多，直接清空
+            trees.clear();
+        }
+        trees.put(key, tree);
+        return tree;
+    }
+
+    /**
+     * 角色的权限或启用状态变更后调用，所有菜单树在下次访问时重新生成
+     */
+    public void onRoleChanged() {
+        roleVersion.incrementAndGet();
+    }
+
+    private List<Map<String, Object>> build(PermissionHierarchy hierarchy, Collection<RoleId> roleIds) {
+        Set<PermissionId> visible = new HashSet<>();
+        for (RoleId roleId : roleIds) {
+            roleRepository.findById(roleId).filter(Role::isEnabled).ifPresent(role -> {
+                for (PermissionId permissionId : role.getPermissionIds()) {
+                    if (isMenuItem(hierarchy.get(permissionId))) {
+                        visible.add(permissionId);
+                        visible.addAll(hierarchy.getAncestors(permissionId));
+                    }
+                }
+            });
+        }
+        return nodes(hierarchy, hierarchy.getRoots(), visible);
+    }
+
+    private List<Map<String, Object>> nodes(PermissionHierarchy hierarchy, List<Permission> permissions,
+                                            Set<PermissionId> visible) {
+        List<Map<String, Object>> nodes = new ArrayList<>();
+        for (Permission permission : permissions) {
+            if (!visible.contains(permission.getId()) || !isMenuItem(permission)) {
+                continue;
+            }
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("id", permission.getId().getValue());
+            node.put("code", permission.getCode());
+            node.put("name", permission.getName());
+            node.put("type", permission.getType());
+            node.put("path", permission.getResourcePath());
+            node.put("sortOrder", permission.getSortOrder());
+            node.put("children", nodes(hierarchy, hierarchy.getChildren(permission.getId()), visible));
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static boolean isMenuItem(Permission permission) {
+        return permission != null && permission.isEnabled()
+                && (TYPE_MENU.equals(permission.getType()) || TYPE_BUTTON.equals(permission.getType()));
+    }
+
+    private static String key(Collection<RoleId> roleIds) {
+        Set<String> sorted = new TreeSet<>();
+        for (RoleId roleId : roleIds) {
+            sorted.add(roleId.getValue());
+        }
+        return String.join(",", sorted);
+    }
+
+    /**
+     * 带版本号的菜单树
+     */
+    public static final class MenuTree {
+
+        private final String generation;
+
+        private final String version;
+
+        private final String json;
+
+        MenuTree(String generation, String version, String json) {
+            this.generation = generation;
+            this.version = version;
+            this.json = json;
+        }
+
+        /**
+         * 获取版本号，即JSON内容的SHA-256十六进制字符串
+         *
+         * @return 版本号
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * 获取序列化的菜单树
+         *
+         * @return JSON数组
+         */
+        public String getJson() {
+            return json;
+        }
+    }
+}
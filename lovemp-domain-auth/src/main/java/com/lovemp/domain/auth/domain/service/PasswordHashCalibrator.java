@@ -0,0 +1,82 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * 密码哈希成本校准器
+ * 
+ * <p>在当前主机上依次测量候选成本参数（BCrypt强度、PBKDF2迭代次数等）下单次哈希的中位耗时，
+ * 选出耗时不超过目标延迟的最大成本，用于启动时按主机性能确定哈希强度</p>
+ * 
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class PasswordHashCalibrator {
+    
+    private static final String SAMPLE_PASSWORD = "Calibrate#2024";
+    
+    private final IntFunction<PasswordHasher> hasherFactory;
+    
+    private final int samples;
+    
+    /**
+     * 构造函数
+     * 
+     * @param hasherFactory 按成本参数创建哈希算法
+     * @param samples 每个成本参数的采样次数
+     */
+    public PasswordHashCalibrator(IntFunction<PasswordHasher> hasherFactory, int samples) {
+        Assert.notNull(hasherFactory, "哈希算法工厂不能为空");
+        Assert.isTrue(samples > 0, "采样次数必须大于0");
+        this.hasherFactory = hasherFactory;
+        this.samples = samples;
+    }
+    
+    /**
+     * 选出耗时不超过目标延迟的最大成本参数
+     * 
+     * <p>候选成本按升序测量，某个成本超过目标延迟后不再测量更大的成本；
+     * 最小的候选成本也超过目标延迟时返回最小候选成本，不会低于该下限</p>
+     * 
+     * @param targetLatency 目标延迟
+     * @param candidateCosts 升序排列的候选成本参数
+     * @return 选中的成本参数
+     */
+    public int calibrate(Duration targetLatency, int... candidateCosts) {
+        Assert.notNull(targetLatency, "目标延迟不能为空");
+        Assert.isTrue(candidateCosts != null && candidateCosts.length > 0, "候选成本参数不能为空");
+        long targetNanos = targetLatency.toNanos();
+        int chosen = candidateCosts[0];
+        for (int cost : candidateCosts) {
+            if (measure(cost) > targetNanos) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+    
+    /**
+     * 测量指定成本参数下单次哈希的中位耗时
+     * 
+     * @param cost 成本参数
+     * @return 中位耗时（纳秒）
+     */
+    public long measure(int cost) {
+        PasswordHasher hasher = hasherFactory.apply(cost);
+        // 预热一次，排除类加载和JIT的影响
+        hasher.hash(SAMPLE_PASSWORD);
+        long[] elapsed = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            hasher.hash(SAMPLE_PASSWORD);
+            elapsed[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[samples / 2];
+    }
+}
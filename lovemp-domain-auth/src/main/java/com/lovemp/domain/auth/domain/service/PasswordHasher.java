@@ -0,0 +1,38 @@
+package com.lovemp.domain.auth.domain.service;
+
+/**
+ * 密码哈希算法
+ * 
+ * <p>实现应是CPU密集的慢哈希（BCrypt、PBKDF2等），由{@link PasswordHashingService}在专用线程池中调用，
+ * 不应在请求线程上直接调用</p>
+ * 
+ * @author lovemp
+ * @since 1.0.0
+ */
+public interface PasswordHasher {
+    
+    /**
+     * 使用当前成本参数计算密码哈希
+     * 
+     * @param rawPassword 原始密码
+     * @return 自描述的编码哈希，包含算法、成本参数和盐值
+     */
+    String hash(String rawPassword);
+    
+    /**
+     * 校验密码
+     * 
+     * @param rawPassword 原始密码
+     * @param encodedPassword 已保存的编码哈希
+     * @return 是否匹配
+     */
+    boolean matches(String rawPassword, String encodedPassword);
+    
+    /**
+     * 判断已保存的哈希是否需要按当前成本参数重新计算
+     * 
+     * @param encodedPassword 已保存的编码哈希
+     * @return 成本参数低于当前配置或算法已变更时返回true
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,127 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.exception.TooManyRequestsException;
+import com.lovemp.common.util.Assert;
+import com.lovemp.common.util.ThreadPoolUtils;
+import com.lovemp.domain.auth.domain.model.valueobject.PasswordVerification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希服务
+ * 
+ * <p>将CPU密集的密码哈希从请求线程卸载到专用的有界线程池：
+ * <ul>
+ *   <li>线程数固定（默认等于CPU核数），登录突发时哈希计算不会占满Web容器线程池</li>
+ *   <li>等待队列有界，队列已满时立即以{@link TooManyRequestsException}拒绝，而不是让请求排队超时</li>
+ *   <li>校验成功且已保存的哈希成本参数低于当前配置时，顺带用明文计算新哈希，调用方保存即可完成透明升级</li>
+ * </ul>
+ * 
+ * <p>使用示例：
+ * <pre>
+ * service.verify(rawPassword, account.getPassword()).thenAccept(result -&gt; {
+ *     if (result.isMatched() &amp;&amp; result.getUpgradedHash() != null) {
+ *         account.rehashPassword(result.getUpgradedHash());
+ *         accountRepository.save(account);
+ *     }
+ * });
+ * </pre>
+ * 
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class PasswordHashingService {
+    
+    private final PasswordHasher hasher;
+    
+    private final ThreadPoolExecutor executor;
+    
+    private final AtomicLong rejectedCount = new AtomicLong();
+    
+    /**
+     * 构造函数
+     * 
+     * @param hasher 密码哈希算法
+     * @param threads 哈希线程数
+     * @param queueCapacity 等待队列容量
+     */
+    public PasswordHashingService(PasswordHasher hasher, int threads, int queueCapacity) {
+        Assert.notNull(hasher, "密码哈希算法不能为空");
+        Assert.isTrue(threads > 0, "哈希线程数必须大于0");
+        Assert.isTrue(queueCapacity > 0, "等待队列容量必须大于0");
+        this.hasher = hasher;
+        this.executor = ThreadPoolUtils.newDaemonPool("password-hash", threads, new ArrayBlockingQueue<>(queueCapacity));
+    }
+    
+    /**
+     * 异步计算密码哈希
+     * 
+     * @param rawPassword 原始密码
+     * @return 编码哈希
+     * @throws TooManyRequestsException 等待队列已满
+     */
+    public CompletableFuture<String> hash(String rawPassword) {
+        Assert.notEmpty(rawPassword, "密码不能为空");
+        return submit(() -> hasher.hash(rawPassword));
+    }
+    
+    /**
+     * 异步校验密码，匹配且需要升级时同时计算新哈希
+     * 
+     * @param rawPassword 原始密码
+     * @param encodedPassword 已保存的编码哈希
+     * @return 校验结果
+     * @throws TooManyRequestsException 等待队列已满
+     */
+    public CompletableFuture<PasswordVerification> verify(String rawPassword, String encodedPassword) {
+        Assert.notEmpty(rawPassword, "密码不能为空");
+        Assert.notEmpty(encodedPassword, "加密密码不能为空");
+        return submit(() -> {
+            if (!hasher.matches(rawPassword, encodedPassword)) {
+                return PasswordVerification.MISMATCHED;
+            }
+            // 明文只在登录时可得，借此机会把旧成本参数的哈希升级到当前配置
+            String upgradedHash = hasher.needsRehash(encodedPassword) ? hasher.hash(rawPassword) : null;
+            return PasswordVerification.matched(upgradedHash);
+        });
+    }
+    
+    /**
+     * 获取因队列已满被拒绝的请求数
+     * 
+     * @return 被拒绝的请求数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+    
+    /**
+     * 获取当前排队等待的请求数
+     * 
+     * @return 排队请求数
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+    
+    /**
+     * 关闭线程池，已提交的请求会继续执行
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new TooManyRequestsException("登录请求过多，请稍后再试", e);
+        }
+    }
+}
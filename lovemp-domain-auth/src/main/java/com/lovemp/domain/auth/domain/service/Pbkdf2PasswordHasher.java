@@ -0,0 +1,99 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.common.util.EncryptionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * PBKDF2-HMAC-SHA256密码哈希
+ * 
+ * <p>基于{@link EncryptionUtils#pbkdf2Encrypt}，编码格式为{@code $pbkdf2-sha256$迭代次数$盐值$哈希}，
+ * 迭代次数随哈希一起保存，调高迭代次数后旧哈希仍可校验，并由{@link #needsRehash}提示升级</p>
+ * 
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+    
+    /**
+     * 默认迭代次数
+     */
+    public static final int DEFAULT_ITERATIONS = 310_000;
+    
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    
+    private static final int SALT_BYTES = 16;
+    
+    private static final int KEY_LENGTH = 256;
+    
+    private final int iterations;
+    
+    /**
+     * 使用默认迭代次数创建实例
+     */
+    public Pbkdf2PasswordHasher() {
+        this(DEFAULT_ITERATIONS);
+    }
+    
+    /**
+     * 构造函数
+     * 
+     * @param iterations 迭代次数
+     */
+    public Pbkdf2PasswordHasher(int iterations) {
+        Assert.isTrue(iterations > 0, "迭代次数必须大于0");
+        this.iterations = iterations;
+    }
+    
+    @Override
+    public String hash(String rawPassword) {
+        Assert.notEmpty(rawPassword, "密码不能为空");
+        String salt = EncryptionUtils.generateSalt(SALT_BYTES);
+        return PREFIX + iterations + '$' + salt + '$'
+                + EncryptionUtils.pbkdf2Encrypt(rawPassword, salt, iterations, KEY_LENGTH);
+    }
+    
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || rawPassword.isEmpty() || encodedPassword == null) {
+            return false;
+        }
+        String[] parts = parse(encodedPassword);
+        if (parts == null) {
+            return false;
+        }
+        String actual = EncryptionUtils.pbkdf2Encrypt(rawPassword, parts[1], Integer.parseInt(parts[0]), KEY_LENGTH);
+        // 常量时间比较，避免通过响应时间推测哈希前缀
+        return MessageDigest.isEqual(actual.getBytes(StandardCharsets.US_ASCII),
+                parts[2].getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        String[] parts = encodedPassword == null ? null : parse(encodedPassword);
+        return parts == null || Integer.parseInt(parts[0]) < iterations;
+    }
+    
+    public int getIterations() {
+        return iterations;
+    }
+    
+    /**
+     * 解析编码哈希
+     * 
+     * @return [迭代次数, 盐值, 哈希]，格式不符时返回null
+     */
+    private static String[] parse(String encodedPassword) {
+        if (!encodedPassword.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3 || parts[0].isEmpty() || parts[0].length() > 9
+                || !parts[0].chars().allMatch(Character::isDigit) || Integer.parseInt(parts[0]) == 0) {
+            return null;
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,357 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 权限层级闭包索引
+ *
+ * <p>按{@link Permission#getParentId()}把权限组织成森林，并为每个权限物化全部祖先和全部后代（闭包表）：
+ * <ul>
+ *   <li>{@link #isDescendantOf}只做一次集合查找，{@link #getDescendants}直接返回物化的子树，不再逐级递归查询</li>
+ *   <li>保存和删除权限时只调整被移动子树及其新旧祖先的闭包，不重建整个索引</li>
+ *   <li>父权限不存在的权限作为根节点；删除权限后其子节点成为根节点</li>
+ *   <li>每次变更递增版本号，依赖层级的缓存（如菜单树）以版本号判断是否过期</li>
+ * </ul>
+ *
+ * <p>读取无锁，写入串行。单个节点的闭包集合不可变，整体替换；全量加载在新的索引上完成后整体替换，
+ * 加载期间的读取仍然看到完整的旧索引</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class PermissionHierarchy {
+
+    private static final Comparator<Permission> SORT_ORDER = Comparator
+            .comparing((Permission permission) -> permission.getSortOrder() == null ? 0 : permission.getSortOrder())
+            .thenComparing(Permission::getCode);
+
+    private volatile Map<PermissionId, Node> nodes = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 用全部权限重建索引，用于启动时初始化
+     *
+     * @param permissions 全部权限
+     */
+    public synchronized void load(Collection<Permission> permissions) {
+        Assert.notNull(permissions, "权限集合不能为空");
+        Map<PermissionId, Node> next = new ConcurrentHashMap<>();
+        Map<PermissionId, Permission> byId = new HashMap<>();
+        for (Permission permission : permissions) {
+            byId.put(permission.getId(), permission);
+        }
+        for (Permission permission : permissions) {
+            next.put(permission.getId(), new Node(permission, Set.of(), Set.of(), Set.of()));
+        }
+        for (Permission permission : permissions) {
+            PermissionId parentId = permission.getParentId();
+            if (parentId != null && byId.containsKey(parentId) && !formsCycle(permission.getId(), parentId, byId)) {
+                link(next, permission.getId(), parentId);
+            }
+        }
+        nodes = next;
+        version.incrementAndGet();
+    }
+
+    /**
+     * 校验权限的父权限是否可用：父权限必须已存在，且不能是权限自身或其后代
+     *
+     * @param permission 待保存的权限
+     */
+    public void checkParent(Permission permission) {
+        PermissionId parentId = permission.getParentId();
+        if (parentId == null) {
+            return;
+        }
+        Assert.isTrue(nodes.containsKey(parentId), "父权限不存在: " + parentId.getValue());
+        Assert.isFalse(parentId.equals(permission.getId()) || isDescendantOf(parentId, permission.getId()),
+                "父权限不能是权限自身或其下级权限");
+    }
+
+    /**
+     * 权限保存后调用，父权限变化时移动整棵子树
+     *
+     * @param permission 已保存的权限
+     */
+    public synchronized void onSaved(Permission permission) {
+        checkParent(permission);
+        PermissionId id = permission.getId();
+        Node existing = nodes.get(id);
+        if (existing == null) {
+            nodes.put(id, new Node(permission, Set.of(), Set.of(), Set.of()));
+        } else {
+            nodes.put(id, existing.with(permission));
+            if (sameParent(existing.parentId(), permission.getParentId())) {
+                version.incrementAndGet();
+                return;
+            }
+            unlink(nodes, id);
+        }
+        if (permission.getParentId() != null) {
+            link(nodes, id, permission.getParentId());
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * 权限删除后调用，子节点成为根节点
+     *
+     * @param permissionId 已删除的权限ID
+     */
+    public synchronized void onDeleted(PermissionId permissionId) {
+        Node node = nodes.get(permissionId);
+        if (node == null) {
+            return;
+        }
+        for (PermissionId childId : node.children) {
+            unlink(nodes, childId);
+        }
+        unlink(nodes, permissionId);
+        nodes.remove(permissionId);
+        version.incrementAndGet();
+    }
+
+    /**
+     * 判断权限是否是另一个权限的后代（不含自身）
+     *
+     * @param descendantId 可能的后代
+     * @param ancestorId 可能的祖先
+     * @return 如果是后代返回true，否则返回false
+     */
+    public boolean isDescendantOf(PermissionId descendantId, PermissionId ancestorId) {
+        Node node = nodes.get(descendantId);
+        return node != null && node.ancestors.contains(ancestorId);
+    }
+
+    /**
+     * 获取全部祖先，按从根到父的顺序
+     *
+     * @param permissionId 权限ID
+     * @return 祖先ID集合，权限不存在时返回空集合
+     */
+    public Set<PermissionId> getAncestors(PermissionId permissionId) {
+        Node node = nodes.get(permissionId);
+        return node == null ? Set.of() : node.ancestors;
+    }
+
+    /**
+     * 获取全部后代（不含自身）
+     *
+     * @param permissionId 权限ID
+     * @return 后代ID集合，权限不存在时返回空集合
+     */
+    public Set<PermissionId> getDescendants(PermissionId permissionId) {
+        Node node = nodes.get(permissionId);
+        return node == null ? Set.of() : node.descendants;
+    }
+
+    /**
+     * 获取直接子权限，按排序号和权限代码排序
+     *
+     * @param permissionId 权限ID
+     * @return 子权限列表
+     */
+    public List<Permission> getChildren(PermissionId permissionId) {
+        Node node = nodes.get(permissionId);
+        return node == null ? List.of() : sorted(node.children);
+    }
+
+    /**
+     * 获取所有根权限，按排序号和权限代码排序
+     *
+     * @return 根权限列表
+     */
+    public List<Permission> getRoots() {
+        List<Permission> roots = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            if (node.ancestors.isEmpty()) {
+                roots.add(node.permission);
+            }
+        }
+        roots.sort(SORT_ORDER);
+        return roots;
+    }
+
+    /**
+     * 获取权限
+     *
+     * @param permissionId 权限ID
+     * @return 权限，不存在时返回null
+     */
+    public Permission get(PermissionId permissionId) {
+        Node node = nodes.get(permissionId);
+        return node == null ? null : node.permission;
+    }
+
+    /**
+     * 获取索引版本号，每次变更后递增
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    private List<Permission> sorted(Set<PermissionId> ids) {
+        List<Permission> permissions = new ArrayList<>(ids.size());
+        for (PermissionId id : ids) {
+            Node node = nodes.get(id);
+            if (node != null) {
+                permissions.add(node.permission);
+            }
+        }
+        permissions.sort(SORT_ORDER);
+        return permissions;
+    }
+
+    /**
+     * 把以childId为根的子树挂到parentId下
+     */
+    private static void link(Map<PermissionId, Node> nodes, PermissionId childId, PermissionId parentId) {
+        Node parent = nodes.get(parentId);
+        Node child = nodes.get(childId);
+        Set<PermissionId> subtree = subtree(childId, child);
+        Set<PermissionId> newAncestors = new LinkedHashSet<>(parent.ancestors);
+        newAncestors.add(parentId);
+
+        for (PermissionId id : subtree) {
+            Node node = nodes.get(id);
+            Set<PermissionId> ancestors = new LinkedHashSet<>(newAncestors);
+            ancestors.addAll(node.ancestors);
+            nodes.put(id, node.withAncestors(ancestors));
+        }
+        for (PermissionId ancestorId : newAncestors) {
+            Node ancestor = nodes.get(ancestorId);
+            Set<PermissionId> descendants = new LinkedHashSet<>(ancestor.descendants);
+            descendants.addAll(subtree);
+            nodes.put(ancestorId, ancestor.withDescendants(descendants));
+        }
+        Node linkedParent = nodes.get(parentId);
+        Set<PermissionId> children = new LinkedHashSet<>(linkedParent.children);
+        children.add(childId);
+        nodes.put(parentId, linkedParent.withChildren(children));
+    }
+
+    /**
+     * 把以childId为根的子树从原父节点摘下，成为独立的树
+     */
+    private static void unlink(Map<PermissionId, Node> nodes, PermissionId childId) {
+        Node child = nodes.get(childId);
+        if (child == null || child.ancestors.isEmpty()) {
+            return;
+        }
+        Set<PermissionId> oldAncestors = child.ancestors;
+        Set<PermissionId> subtree = subtree(childId, child);
+        for (PermissionId id : subtree) {
+            Node node = nodes.get(id);
+            Set<PermissionId> ancestors = new LinkedHashSet<>(node.ancestors);
+            ancestors.removeAll(oldAncestors);
+            nodes.put(id, node.withAncestors(ancestors));
+        }
+        for (PermissionId ancestorId : oldAncestors) {
+            Node ancestor = nodes.get(ancestorId);
+            Set<PermissionId> descendants = new LinkedHashSet<>(ancestor.descendants);
+            descendants.removeAll(subtree);
+            Set<PermissionId> children = ancestor.children;
+            if (children.contains(childId)) {
+                children = new LinkedHashSet<>(children);
+                children.remove(childId);
+            }
+            nodes.put(ancestorId, ancestor.withDescendants(descendants).withChildren(children));
+        }
+    }
+
+    private static Set<PermissionId> subtree(PermissionId rootId, Node root) {
+        Set<PermissionId> subtree = new LinkedHashSet<>();
+        subtree.add(rootId);
+        subtree.addAll(root.descendants);
+        return subtree;
+    }
+
+    private static boolean sameParent(PermissionId left, PermissionId right) {
+        return left == null ? right == null : left.equals(right);
+    }
+
+    /**
+     * 判断沿父链向上是否会回到自身，用于全量加载时跳过脏数据中的环
+     */
+    private static boolean formsCycle(PermissionId id, PermissionId parentId, Map<PermissionId, Permission> byId) {
+        Set<PermissionId> visited = new LinkedHashSet<>();
+        for (PermissionId current = parentId; current != null && visited.add(current); ) {
+            if (current.equals(id)) {
+                return true;
+            }
+            Permission parent = byId.get(current);
+            current = parent == null ? null : parent.getParentId();
+        }
+        return false;
+    }
+
+    /**
+     * 索引节点，所有集合不可变
+     */
+    private static final class Node {
+
+        final Permission permission;
+
+        /**
+         * 祖先，按从根到父的顺序
+         */
+        final Set<PermissionId> ancestors;
+
+        final Set<PermissionId> descendants;
+
+        final Set<PermissionId> children;
+
+        Node(Permission permission, Set<PermissionId> ancestors, Set<PermissionId> descendants,
+             Set<PermissionId> children) {
+            this.permission = permission;
+            this.ancestors = ancestors;
+            this.descendants = descendants;
+            this.children = children;
+        }
+
+        PermissionId parentId() {
+            return ancestors.isEmpty() ? null : last(ancestors);
+        }
+
+        Node with(Permission permission) {
+            return new Node(permission, ancestors, descendants, children);
+        }
+
+        Node withAncestors(Set<PermissionId> ancestors) {
+            return new Node(permission, Collections.unmodifiableSet(ancestors), descendants, children);
+        }
+
+        Node withDescendants(Set<PermissionId> descendants) {
+            return new Node(permission, ancestors, Collections.unmodifiableSet(descendants), children);
+        }
+
+        Node withChildren(Set<PermissionId> children) {
+            return new Node(permission, ancestors, descendants, Collections.unmodifiableSet(children));
+        }
+
+        private static PermissionId last(Set<PermissionId> ids) {
+            PermissionId last = null;
+            for (PermissionId id : ids) {
+                last = id;
+            }
+            return last;
+        }
+    }
+}
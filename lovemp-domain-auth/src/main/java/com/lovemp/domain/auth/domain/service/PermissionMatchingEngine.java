@@ -0,0 +1,192 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.auth.domain.repository.PermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 权限匹配引擎
+ *
+ * <p>为每个启用的角色维护一棵编译好的{@link PermissionTrie}，鉴权时只访问内存：
+ * <ul>
+ *   <li>所有角色的权限和前缀树保存在不可变快照中，读取无锁</li>
+ *   <li>多个角色的鉴权使用合并后的一棵前缀树，耗时与角色数量无关；合并结果按角色集合缓存在快照中，
+ *       快照替换后随之失效</li>
+ *   <li>角色或权限变更后调用{@link #refresh}或{@link #reload}，在新快照上编译完成后整体替换，
+ *       正在进行的鉴权要么看到旧快照要么看到新快照，不会看到编译到一半的状态</li>
+ *   <li>未加载或已禁用的角色不授予任何权限</li>
+ * </ul>
+ *
+ * <p>账号鉴权通过{@link EffectivePermissionCache#isAllowed}进入本引擎，角色和权限的增量变更也由该缓存转发</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public class PermissionMatchingEngine {
+
+    private final RoleRepository roleRepository;
+
+    private final PermissionRepository permissionRepository;
+
+    /**
+     * 每个快照缓存的合并前缀树数量上限，角色组合通常很少，超过后新组合只编译不缓存
+     */
+    private static final int MAX_MERGED_TRIES = 1024;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 构造函数
+     *
+     * @param roleRepository 角色仓储
+     * @param permissionRepository 权限仓储
+     */
+    public PermissionMatchingEngine(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+        Assert.notNull(roleRepository, "角色仓储不能为空");
+        Assert.notNull(permissionRepository, "权限仓储不能为空");
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+    }
+
+    /**
+     * 判断角色集合是否允许对资源路径执行动作
+     *
+     * @param roleIds 角色ID集合
+     * @param path 资源路径
+     * @param action 操作动作
+     * @return 任一角色允许时返回true
+     */
+    public boolean isAllowed(Collection<RoleId> roleIds, String path, String action) {
+        return compile(roleIds).isAllowed(path, action);
+    }
+
+    /**
+     * 获取单个角色的前缀树
+     *
+     * @param roleId 角色ID
+     * @return 前缀树，角色未加载或已禁用时返回空前缀树
+     */
+    public PermissionTrie getTrie(RoleId roleId) {
+        return snapshot.tries.getOrDefault(roleId, PermissionTrie.EMPTY);
+    }
+
+    /**
+     * 把角色集合在当前快照中的启用权限合并成一棵前缀树，同一角色集合只编译一次
+     *
+     * @param roleIds 角色ID集合
+     * @return 前缀树
+     */
+    public PermissionTrie compile(Collection<RoleId> roleIds) {
+        Assert.notNull(roleIds, "角色ID集合不能为空");
+        return snapshot.merged(roleIds);
+    }
+
+    /**
+     * 重新加载所有启用的角色和权限，整体替换快照
+     */
+    public synchronized void reload() {
+        Map<PermissionId, Permission> permissions = permissionRepository.findAllEnabled().stream()
+                .collect(Collectors.toMap(Permission::getId, Function.identity(), (a, b) -> a));
+        Map<RoleId, List<Permission>> rolePermissions = new HashMap<>();
+        Map<RoleId, PermissionTrie> tries = new HashMap<>();
+        for (Role role : roleRepository.findAllEnabled()) {
+            List<Permission> loaded = loadPermissions(role, id -> Optional.ofNullable(permissions.get(id)));
+            rolePermissions.put(role.getId(), loaded);
+            tries.put(role.getId(), PermissionTrie.compile(loaded));
+        }
+        snapshot = new Snapshot(rolePermissions, tries);
+    }
+
+    /**
+     * 重新编译单个角色，在角色的权限或启用状态变更后调用
+     *
+     * @param roleId 角色ID
+     */
+    public synchronized void refresh(RoleId roleId) {
+        Assert.notNull(roleId, "角色ID不能为空");
+        Snapshot current = snapshot;
+        Map<RoleId, List<Permission>> rolePermissions = new HashMap<>(current.permissions);
+        Map<RoleId, PermissionTrie> tries = new HashMap<>(current.tries);
+        Optional<Role> role = roleRepository.findById(roleId).filter(Role::isEnabled);
+        if (role.isPresent()) {
+            List<Permission> loaded = loadPermissions(role.get(), this::findPermission);
+            rolePermissions.put(roleId, loaded);
+            tries.put(roleId, PermissionTrie.compile(loaded));
+        } else {
+            rolePermissions.remove(roleId);
+            tries.remove(roleId);
+        }
+        snapshot = new Snapshot(rolePermissions, tries);
+    }
+
+    private Optional<Permission> findPermission(PermissionId permissionId) {
+        return permissionRepository.findById(permissionId);
+    }
+
+    private static List<Permission> loadPermissions(Role role,
+                                                    Function<PermissionId, Optional<Permission>> loader) {
+        List<Permission> permissions = new ArrayList<>(role.getPermissionIds().size());
+        for (PermissionId permissionId : role.getPermissionIds()) {
+            loader.apply(permissionId).ifPresent(permissions::add);
+        }
+        return permissions;
+    }
+
+    /**
+     * 不可变的角色权限快照，合并前缀树缓存随快照一起替换
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        final Map<RoleId, List<Permission>> permissions;
+
+        final Map<RoleId, PermissionTrie> tries;
+
+        final Map<Set<RoleId>, PermissionTrie> merged = new ConcurrentHashMap<>();
+
+        Snapshot(Map<RoleId, List<Permission>> permissions, Map<RoleId, PermissionTrie> tries) {
+            this.permissions = Map.copyOf(permissions);
+            this.tries = Map.copyOf(tries);
+        }
+
+        PermissionTrie merged(Collection<RoleId> roleIds) {
+            if (roleIds.isEmpty()) {
+                return PermissionTrie.EMPTY;
+            }
+            if (roleIds.size() == 1) {
+                return tries.getOrDefault(roleIds.iterator().next(), PermissionTrie.EMPTY);
+            }
+            Set<RoleId> key = Set.copyOf(roleIds);
+            PermissionTrie trie = merged.get(key);
+            if (trie != null) {
+                return trie;
+            }
+            List<Permission> all = new ArrayList<>();
+            for (RoleId roleId : key) {
+                all.addAll(permissions.getOrDefault(roleId, List.of()));
+            }
+            trie = PermissionTrie.compile(all);
+            if (merged.size() < MAX_MERGED_TRIES) {
+                PermissionTrie previous = merged.putIfAbsent(key, trie);
+                return previous == null ? trie : previous;
+            }
+            return trie;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 编译后的权限路径前缀树
+ *
+ * <p>把一组启用的权限按资源路径的分段编译成不可变的前缀树，每个节点保存授予该节点及其下级路径的动作位掩码：
+ * <ul>
+ *   <li>权限覆盖自身路径及所有下级路径，按路径段匹配，{@code /api/user}不覆盖{@code /api/users}</li>
+ *   <li>路径段{@code *}匹配任意一个路径段，资源路径为空的权限覆盖所有路径</li>
+ *   <li>动作为空或{@code *}的权限授予所有动作，动作编译为位掩码，最多支持63种动作</li>
+ * </ul>
+ *
+ * <p>{@link #isAllowed}的耗时只与路径深度有关，与权限数量无关，匹配过程不创建对象。
+ * 实例不可变，权限变更时重新编译并整体替换，见{@link PermissionMatchingEngine}</p>
+ *
+ * @author lovemp
+ * @since 1.0.0
+ */
+public final class PermissionTrie {
+
+    /**
+     * 空前缀树，拒绝所有请求
+     */
+    public static final PermissionTrie EMPTY = new PermissionTrie(Collections.emptyMap(), Node.LEAF, 0);
+
+    private static final String WILDCARD = "*";
+
+    /**
+     * 最高位保留给未登记的动作，只有通配动作的权限会设置该位
+     */
+    private static final long UNKNOWN_ACTION = 1L << 63;
+
+    private static final long ALL_ACTIONS = -1L;
+
+    private static final int MAX_ACTIONS = 63;
+
+    private final Map<String, Long> actionBits;
+
+    private final Node root;
+
+    private final int size;
+
+    private PermissionTrie(Map<String, Long> actionBits, Node root, int size) {
+        this.actionBits = actionBits;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 编译权限，已禁用的权限被忽略
+     *
+     * @param permissions 权限集合
+     * @return 前缀树
+     */
+    public static PermissionTrie compile(Collection<Permission> permissions) {
+        Assert.notNull(permissions, "权限集合不能为空");
+        Map<String, Long> actionBits = new HashMap<>();
+        Builder root = new Builder();
+        int size = 0;
+        for (Permission permission : permissions) {
+            if (permission == null || !permission.isEnabled()) {
+                continue;
+            }
+            long mask = actionMask(permission.getAction(), actionBits);
+            Builder node = root;
+            String path = permission.getResourcePath();
+            if (path != null) {
+                int end;
+                for (int start = skipSlashes(path, 0); start < path.length(); start = skipSlashes(path, end)) {
+                    end = segmentEnd(path, start);
+                    node = node.child(path.substring(start, end));
+                }
+            }
+            node.mask |= mask;
+            size++;
+        }
+        return size == 0 ? EMPTY : new PermissionTrie(Map.copyOf(actionBits), root.build(), size);
+    }
+
+    /**
+     * 判断是否允许对资源路径执行动作
+     *
+     * @param path 资源路径
+     * @param action 操作动作
+     * @return 如果允许返回true，否则返回false
+     */
+    public boolean isAllowed(String path, String action) {
+        if (path == null) {
+            return false;
+        }
+        Long bit = action == null ? null : actionBits.get(action);
+        return match(root, path, 0, bit == null ? UNKNOWN_ACTION : bit);
+    }
+
+    /**
+     * 获取编译进前缀树的启用权限数量
+     *
+     * @return 权限数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean match(Node node, String path, int pos, long wanted) {
+        if ((node.mask & wanted) != 0) {
+            return true;
+        }
+        int start = skipSlashes(path, pos);
+        if (start == path.length()) {
+            return false;
+        }
+        int end = segmentEnd(path, start);
+        Node child = node.child(path, start, end);
+        if (child != null && match(child, path, end, wanted)) {
+            return true;
+        }
+        return node.wildcard != null && match(node.wildcard, path, end, wanted);
+    }
+
+    private static long actionMask(String action, Map<String, Long> actionBits) {
+        if (action == null || WILDCARD.equals(action)) {
+            return ALL_ACTIONS;
+        }
+        Long bit = actionBits.get(action);
+        if (bit == null) {
+            Assert.state(actionBits.size() < MAX_ACTIONS, "权限动作种类不能超过" + MAX_ACTIONS + "种");
+            bit = 1L << actionBits.size();
+            actionBits.put(action, bit);
+        }
+        return bit;
+    }
+
+    private static int skipSlashes(String path, int pos) {
+        while (pos < path.length() && path.charAt(pos) == '/') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.length() : end;
+    }
+
+    /**
+     * 前缀树节点，子节点按路径段排序后二分查找
+     */
+    private static final class Node {
+
+        static final Node LEAF = new Node(new String[0], new Node[0], null, 0L);
+
+        final String[] segments;
+
+        final Node[] children;
+
+        final Node wildcard;
+
+        final long mask;
+
+        Node(String[] segments, Node[] children, Node wildcard, long mask) {
+            this.segments = segments;
+            this.children = children;
+            this.wildcard = wildcard;
+            this.mask = mask;
+        }
+
+        Node child(String path, int start, int end) {
+            int low = 0;
+            int high = segments.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(segments[mid], path, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 按String.compareTo的顺序比较路径段与路径的一个区间，不截取子串
+         */
+        private static int compare(String segment, String path, int start, int end) {
+            int length = end - start;
+            int limit = Math.min(segment.length(), length);
+            for (int i = 0; i < limit; i++) {
+                int diff = segment.charAt(i) - path.charAt(start + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return segment.length() - length;
+        }
+    }
+
+    /**
+     * 编译期使用的可变节点
+     */
+    private static final class Builder {
+
+        final Map<String, Builder> children = new TreeMap<>();
+
+        long mask;
+
+        Builder child(String segment) {
+            return children.computeIfAbsent(segment, key -> new Builder());
+        }
+
+        Node build() {
+            Builder wildcard = children.remove(WILDCARD);
+            String[] segments = children.keySet().toArray(new String[0]);
+            Node[] nodes = new Node[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                nodes[i] = children.get(segments[i]).build();
+            }
+            return new Node(segments, nodes, wildcard == null ? null : wildcard.build(), mask);
+        }
+    }
+}
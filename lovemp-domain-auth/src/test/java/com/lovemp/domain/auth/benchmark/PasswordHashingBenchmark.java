@@ -0,0 +1,67 @@
+package com.lovemp.domain.auth.benchmark;
+
+import com.lovemp.domain.auth.domain.service.Pbkdf2PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码哈希成本基准测试
+ *
+ * <p>测量不同PBKDF2迭代次数下单次哈希与校验的耗时，用于在部署主机上确定满足目标登录延迟的成本参数。
+ * 启动时的自动校准见PasswordHashCalibrator，BCrypt强度通过lovemp.auth.password.target-latency配置。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Secret#2024";
+
+    @Param({"100000", "210000", "310000", "600000"})
+    private int iterations;
+
+    private Pbkdf2PasswordHasher hasher;
+
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        hasher = new Pbkdf2PasswordHasher(iterations);
+        encoded = hasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return hasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return hasher.matches(PASSWORD, encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.lovemp.domain.auth.benchmark;
+
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.service.PermissionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 权限匹配基准测试
+ *
+ * <p>对比逐个调用Permission.matches的线性扫描与编译后的路径前缀树，权限按"模块/资源/子资源"三级生成，
+ * 请求路径分别命中最后一个权限和不命中任何权限（线性扫描的最坏情况）。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PermissionTrieBenchmark {
+
+    private static final String[] ACTIONS = {"READ", "WRITE", "DELETE", "EXPORT"};
+
+    @Param({"1000", "5000"})
+    private int permissionCount;
+
+    private List<Permission> permissions;
+
+    private PermissionTrie trie;
+
+    private String hitPath;
+
+    private String missPath;
+
+    @Setup
+    public void setUp() {
+        permissions = new ArrayList<>(permissionCount);
+        for (int i = 0; i < permissionCount; i++) {
+            Permission permission = Permission.create(PermissionId.of("p" + i), "perm:" + i, "权限" + i, "API");
+            permission.setResourcePath("/api/module" + (i % 50) + "/resource" + (i / 50) + "/item" + (i % 7));
+            permission.setAction(ACTIONS[i % ACTIONS.length]);
+            permissions.add(permission);
+        }
+        trie = PermissionTrie.compile(permissions);
+        Permission last = permissions.get(permissionCount - 1);
+        hitPath = last.getResourcePath() + "/detail/1";
+        missPath = "/api/module1/unknown/item1";
+    }
+
+    @Benchmark
+    public boolean linearHit() {
+        String action = ACTIONS[(permissionCount - 1) % ACTIONS.length];
+        for (Permission permission : permissions) {
+            if (permission.matches(hitPath, action)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean trieHit() {
+        return trie.isAllowed(hitPath, ACTIONS[(permissionCount - 1) % ACTIONS.length]);
+    }
+
+    @Benchmark
+    public boolean linearMiss() {
+        for (Permission permission : permissions) {
+            if (permission.matches(missPath, "READ")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean trieMiss() {
+        return trie.isAllowed(missPath, "READ");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PermissionTrieBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
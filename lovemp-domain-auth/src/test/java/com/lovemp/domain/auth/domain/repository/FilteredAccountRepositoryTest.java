@@ -0,0 +1,154 @@
+package com.lovemp.domain.auth.domain.repository;
+
+import com.lovemp.domain.auth.domain.event.AccountCreatedEvent;
+import com.lovemp.domain.auth.domain.model.aggregate.Account;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("带存在性过滤器的仓储测试")
+class FilteredAccountRepositoryTest {
+
+    private AccountRepository delegate;
+
+    private FilteredAccountRepository repository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = Account.create(AccountId.of("a1"), PersonId.of("person-1"), "zhangsan", "hash", "ZhangSan@Example.com");
+        delegate = mock(AccountRepository.class);
+        when(delegate.streamAll(anyInt())).thenAnswer(invocation -> Stream.of(account));
+        when(delegate.existsByUsername("zhangsan")).thenReturn(true);
+        when(delegate.existsByEmail(anyString())).thenReturn(true);
+        repository = new FilteredAccountRepository(delegate, 1_000);
+    }
+
+    @Test
+    @DisplayName("测试预热前直接委托")
+    void testDelegateBeforeWarmUp() {
+        assertFalse(repository.existsByUsername("lisi"));
+        verify(delegate).existsByUsername("lisi");
+    }
+
+    @Test
+    @DisplayName("测试未接入账号创建事件时预热后仍直接委托")
+    void testDelegateWithoutCreatedEventFeed() {
+        repository.warmUp();
+
+        assertFalse(repository.isReady());
+        assertFalse(repository.existsByUsername("lisi"));
+        assertTrue(repository.existsByEmail("lisi@example.com"));
+        verify(delegate).existsByUsername("lisi");
+        verify(delegate).existsByEmail("lisi@example.com");
+    }
+
+    @Test
+    @DisplayName("测试预热后不存在的用户名和邮箱不访问底层仓储")
+    void testWarmUp() {
+        assertEquals(1, repository.warmUp());
+        repository.attachCreatedEventFeed();
+        assertTrue(repository.isReady());
+
+        assertFalse(repository.existsByUsername("lisi"));
+        assertFalse(repository.existsByEmail("lisi@example.com"));
+        verify(delegate, never()).existsByUsername("lisi");
+        verify(delegate, never()).existsByEmail("lisi@example.com");
+
+        assertTrue(repository.existsByUsername("zhangsan"));
+        assertTrue(repository.existsByEmail(" zhangsan@EXAMPLE.com "));
+        assertEquals(1, repository.getUsernameFilter().getFilteredCount());
+        assertEquals(1, repository.getEmailFilter().getFilteredCount());
+    }
+
+    @Test
+    @DisplayName("测试保存后新账号可见")
+    void testSave() {
+        repository.warmUp();
+        repository.attachCreatedEventFeed();
+        Account created = Account.create(AccountId.of("a2"), PersonId.of("person-2"), "lisi", "hash", "lisi@example.com");
+        when(delegate.existsByUsername("lisi")).thenReturn(true);
+
+        repository.save(created);
+
+        verify(delegate).save(created);
+        assertTrue(repository.existsByUsername("lisi"));
+    }
+
+    @Test
+    @DisplayName("测试其他节点新增的账号通过事件可见")
+    void testAccountCreatedOnOtherNode() {
+        repository.warmUp();
+        repository.attachCreatedEventFeed();
+        Account created = Account.create(AccountId.of("a3"), PersonId.of("person-3"), "wangwu", "hash", "wangwu@example.com");
+        when(delegate.existsByUsername("wangwu")).thenReturn(true);
+
+        created.getUnmodifiableDomainEvents().stream()
+                .filter(AccountCreatedEvent.class::isInstance)
+                .map(AccountCreatedEvent.class::cast)
+                .forEach(repository::onAccountCreated);
+
+        assertTrue(repository.existsByUsername("wangwu"));
+        verify(delegate).existsByUsername("wangwu");
+    }
+
+    @Test
+    @DisplayName("测试角色代码过滤")
+    void testRoleCode() {
+        RoleRepository roles = mock(RoleRepository.class);
+        Role admin = Role.create(RoleId.of("r1"), "ADMIN", "管理员", "SYSTEM");
+        when(roles.findAll()).thenReturn(List.of(admin));
+        when(roles.existsByCode("ADMIN")).thenReturn(true);
+        FilteredRoleRepository repository = new FilteredRoleRepository(roles);
+        repository.warmUp();
+
+        // 未接入创建通知前直接委托
+        assertFalse(repository.existsByCode("GUEST"));
+        verify(roles).existsByCode("GUEST");
+
+        repository.attachCreatedEventFeed();
+        assertTrue(repository.existsByCode("ADMIN"));
+        assertFalse(repository.existsByCode("GUEST"));
+        verify(roles, times(1)).existsByCode("GUEST");
+
+        when(roles.existsByCode("AUDITOR")).thenReturn(true);
+        repository.onRoleCreated("AUDITOR");
+        assertTrue(repository.existsByCode("AUDITOR"));
+    }
+
+    @Test
+    @DisplayName("测试权限代码过滤")
+    void testPermissionCode() {
+        PermissionRepository permissions = mock(PermissionRepository.class);
+        Permission read = Permission.create(PermissionId.of("p1"), "user:read", "查看用户", "MENU");
+        when(permissions.findAll()).thenReturn(List.of(read));
+        when(permissions.existsByCode("user:read")).thenReturn(true);
+        FilteredPermissionRepository repository = new FilteredPermissionRepository(permissions);
+        repository.warmUp();
+
+        assertFalse(repository.isReady());
+        assertFalse(repository.existsByCode("user:delete"));
+        verify(permissions).existsByCode("user:delete");
+
+        repository.attachCreatedEventFeed();
+        assertTrue(repository.isReady());
+        assertTrue(repository.existsByCode("user:read"));
+        assertFalse(repository.existsByCode("user:delete"));
+        verify(permissions, times(1)).existsByCode("user:delete");
+    }
+}
@@ -0,0 +1,227 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.exception.DomainRuleViolationException;
+import com.lovemp.domain.auth.domain.model.aggregate.Account;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.auth.domain.repository.AccountRepository;
+import com.lovemp.domain.auth.domain.repository.PermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("有效权限缓存测试")
+class EffectivePermissionCacheTest {
+
+    private final Map<PermissionId, Permission> permissions = new HashMap<>();
+
+    private final Map<RoleId, Role> roles = new HashMap<>();
+
+    private AccountRepository accountRepository;
+
+    private RoleRepository roleRepository;
+
+    private PermissionRepository permissionRepository;
+
+    private EffectivePermissionCache cache;
+
+    private Account account;
+
+    private Role editor;
+
+    private Role viewer;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        roleRepository = mock(RoleRepository.class);
+        permissionRepository = mock(PermissionRepository.class);
+        when(roleRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(roles.get(invocation.<RoleId>getArgument(0))));
+        when(permissionRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(permissions.get(invocation.<PermissionId>getArgument(0))));
+
+        permission("p1", "user:read");
+        permission("p2", "user:write");
+        permission("p3", "report:read");
+        viewer = role("r1", "VIEWER", "p1", "p3");
+        editor = role("r2", "EDITOR", "p1", "p2");
+
+        account = Account.create(AccountId.of("a1"), PersonId.of("person-1"), "zhangsan", "hash", "zhangsan@example.com");
+        account.addRole(viewer.getId());
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        cache = new EffectivePermissionCache(accountRepository, roleRepository, permissionRepository);
+    }
+
+    @Test
+    @DisplayName("测试首次访问后从内存读取权限和角色")
+    void testLoadsOnce() {
+        assertEquals(Set.of("user:read", "report:read"), Set.copyOf(cache.getPermissionCodes(account.getId())));
+        assertEquals(List.of("VIEWER"), cache.getRoleCodes(account.getId()));
+        assertTrue(cache.hasPermission(account.getId(), "report:read"));
+        assertFalse(cache.hasPermission(account.getId(), "user:write"));
+        assertFalse(cache.hasPermission(account.getId(), "unknown"));
+
+        verify(accountRepository, times(1)).findById(account.getId());
+        verify(roleRepository, times(1)).findById(viewer.getId());
+    }
+
+    @Test
+    @DisplayName("测试账号增删角色后增量更新")
+    void testRoleChanges() {
+        cache.getPermissionCodes(account.getId());
+
+        account.addRole(editor.getId());
+        cache.onRoleAdded(account.getId(), editor.getId());
+        assertTrue(cache.hasPermission(account.getId(), "user:write"));
+        assertEquals(List.of("VIEWER", "EDITOR"), cache.getRoleCodes(account.getId()));
+
+        account.removeRole(viewer.getId());
+        cache.onRoleRemoved(account.getId(), viewer.getId());
+        assertFalse(cache.hasPermission(account.getId(), "report:read"));
+        // 两个角色都授予了user:read，移除其中一个后仍然保留
+        assertTrue(cache.hasPermission(account.getId(), "user:read"));
+        verify(accountRepository, times(1)).findById(account.getId());
+    }
+
+    @Test
+    @DisplayName("测试角色增删权限后更新成员账号")
+    void testPermissionChanges() {
+        cache.getPermissionCodes(account.getId());
+
+        viewer.addPermission(PermissionId.of("p2"));
+        cache.onPermissionAdded(viewer.getId(), PermissionId.of("p2"));
+        assertTrue(cache.hasPermission(account.getId(), "user:write"));
+
+        viewer.removePermission(PermissionId.of("p1"));
+        cache.onPermissionRemoved(viewer.getId(), PermissionId.of("p1"));
+        assertFalse(cache.hasPermission(account.getId(), "user:read"));
+        assertEquals(Set.of("user:write", "report:read"), Set.copyOf(cache.getPermissionCodes(account.getId())));
+    }
+
+    @Test
+    @DisplayName("测试禁用权限和角色后不再授予")
+    void testDisable() {
+        cache.getPermissionCodes(account.getId());
+
+        permissions.get(PermissionId.of("p3")).disable();
+        cache.evictPermission(PermissionId.of("p3"));
+        assertFalse(cache.hasPermission(account.getId(), "report:read"));
+
+        viewer.disable();
+        cache.evictRole(viewer.getId());
+        assertTrue(cache.getPermissionCodes(account.getId()).isEmpty());
+        assertTrue(cache.getRoleCodes(account.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试不存在的账号不被缓存")
+    void testMissingAccount() {
+        AccountId missing = AccountId.of("missing");
+        when(accountRepository.findById(missing)).thenReturn(Optional.empty());
+
+        assertTrue(cache.getPermissionCodes(missing).isEmpty());
+        assertTrue(cache.getRoleCodes(missing).isEmpty());
+        verify(accountRepository, times(2)).findById(missing);
+    }
+
+    @Test
+    @DisplayName("测试重新加载后同步其他节点的变更")
+    void testReloadPicksUpChangesFromOtherNodes() {
+        assertTrue(cache.hasPermission(account.getId(), "report:read"));
+
+        // 其他节点修改了角色、权限和账号，本节点没有收到增量调用
+        viewer.removePermission(PermissionId.of("p3"));
+        permissions.get(PermissionId.of("p1")).disable();
+        account.addRole(editor.getId());
+        when(permissionRepository.findAllEnabled()).thenReturn(List.of(
+                permissions.get(PermissionId.of("p2")), permissions.get(PermissionId.of("p3"))));
+        assertTrue(cache.hasPermission(account.getId(), "report:read"));
+
+        cache.reload();
+        assertFalse(cache.hasPermission(account.getId(), "report:read"));
+        assertFalse(cache.hasPermission(account.getId(), "user:read"));
+        assertTrue(cache.hasPermission(account.getId(), "user:write"));
+        assertEquals(List.of("VIEWER", "EDITOR"), cache.getRoleCodes(account.getId()));
+    }
+
+    @Test
+    @DisplayName("测试缓存的账号数不超过上限")
+    void testMaxAccounts() {
+        EffectivePermissionCache bounded = new EffectivePermissionCache(accountRepository, roleRepository,
+                permissionRepository, null, 2, Duration.ofMinutes(5));
+        for (int i = 0; i < 5; i++) {
+            Account other = Account.create(AccountId.of("other-" + i), PersonId.of("person-" + i), "user" + i,
+                    "hash", "user" + i + "@example.com");
+            other.addRole(editor.getId());
+            when(accountRepository.findById(other.getId())).thenReturn(Optional.of(other));
+            assertTrue(bounded.hasPermission(other.getId(), "user:write"));
+        }
+        assertEquals(2, bounded.getCachedAccountCount());
+
+        // 被淘汰的账号不再接收增量更新，重新访问时从仓储加载
+        editor.removePermission(PermissionId.of("p2"));
+        bounded.onPermissionRemoved(editor.getId(), PermissionId.of("p2"));
+        for (int i = 0; i < 5; i++) {
+            assertFalse(bounded.hasPermission(AccountId.of("other-" + i), "user:write"));
+        }
+    }
+
+    @Test
+    @DisplayName("测试按路径鉴权经由权限匹配引擎，角色变更同步到引擎")
+    void testIsAllowedThroughEngine() {
+        resource("p1", "/api/users", "READ");
+        resource("p2", "/api/users", "WRITE");
+        resource("p3", "/api/reports", "READ");
+        when(roleRepository.findAllEnabled()).thenReturn(List.of(viewer, editor));
+        when(permissionRepository.findAllEnabled()).thenReturn(List.copyOf(permissions.values()));
+        PermissionMatchingEngine engine = new PermissionMatchingEngine(roleRepository, permissionRepository);
+        engine.reload();
+        EffectivePermissionCache pathCache =
+                new EffectivePermissionCache(accountRepository, roleRepository, permissionRepository, engine);
+
+        assertTrue(pathCache.isAllowed(account.getId(), "/api/reports/daily", "READ"));
+        assertFalse(pathCache.isAllowed(account.getId(), "/api/users/1", "WRITE"));
+
+        viewer.addPermission(PermissionId.of("p2"));
+        pathCache.onPermissionAdded(viewer.getId(), PermissionId.of("p2"));
+        assertTrue(pathCache.isAllowed(account.getId(), "/api/users/1", "WRITE"));
+
+        assertThrows(DomainRuleViolationException.class, () -> cache.isAllowed(account.getId(), "/api/users", "READ"));
+    }
+
+    private void resource(String id, String path, String action) {
+        Permission permission = permissions.get(PermissionId.of(id));
+        permission.setResourcePath(path);
+        permission.setAction(action);
+    }
+
+    private void permission(String id, String code) {
+        permissions.put(PermissionId.of(id), Permission.create(PermissionId.of(id), code, code, "API"));
+    }
+
+    private Role role(String id, String code, String... permissionIds) {
+        Role role = Role.create(RoleId.of(id), code, code, "CUSTOM");
+        for (String permissionId : permissionIds) {
+            role.addPermission(PermissionId.of(permissionId));
+        }
+        roles.put(role.getId(), role);
+        return role;
+    }
+}
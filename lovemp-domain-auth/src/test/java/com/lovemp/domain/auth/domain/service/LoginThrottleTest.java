@@ -0,0 +1,294 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.exception.TooManyRequestsException;
+import com.lovemp.domain.auth.domain.event.AccountLockedEvent;
+import com.lovemp.domain.auth.domain.model.aggregate.Account;
+import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
+import com.lovemp.domain.auth.domain.model.valueobject.PasswordVerification;
+import com.lovemp.domain.auth.domain.repository.AccountRepository;
+import com.lovemp.domain.auth.domain.repository.LoginAttemptStore;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("登录限流器测试")
+class LoginThrottleTest {
+
+    private final InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore();
+
+    private final MutableClock clock = new MutableClock();
+
+    private AccountRepository accountRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = Account.create(AccountId.of("a1"), PersonId.of("person-1"), "zhangsan", "hash", "zhangsan@example.com");
+        account.activate();
+        account.clearEvents();
+        accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findByUsername("zhangsan")).thenReturn(Optional.of(account));
+    }
+
+    @Test
+    @DisplayName("测试未达阈值时不读写账号，达到阈值时锁定一次")
+    void testLockAtThreshold() {
+        LoginThrottle throttle = newThrottle();
+
+        for (int i = 0; i < 4; i++) {
+            throttle.checkAllowed("zhangsan", "10.0.0.1");
+            throttle.recordFailure("zhangsan", "10.0.0.1");
+        }
+        verifyNoInteractions(accountRepository);
+
+        throttle.recordFailure("zhangsan", "10.0.0.1");
+        assertTrue(account.getStatus().isLocked());
+        assertTrue(account.getUnmodifiableDomainEvents().stream().anyMatch(e -> e instanceof AccountLockedEvent));
+        verify(accountRepository).save(account);
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("zhangsan", "10.0.0.2"));
+
+        throttle.recordFailure("zhangsan", "10.0.0.1");
+        throttle.reconcile();
+        verify(accountRepository, times(1)).save(any());
+        assertEquals(1, throttle.getLockedCount());
+    }
+
+    @Test
+    @DisplayName("测试多个节点共享计数，只锁定一次")
+    void testSharedAcrossNodes() {
+        LoginThrottle first = newThrottle();
+        LoginThrottle second = newThrottle();
+
+        for (int i = 0; i < 3; i++) {
+            first.recordFailure("zhangsan", null);
+        }
+        second.recordFailure("zhangsan", null);
+        second.recordFailure("zhangsan", null);
+        verifyNoInteractions(accountRepository);
+
+        first.reconcile();
+        second.reconcile();
+        assertTrue(account.getStatus().isLocked());
+        // 下一个时间片刷新时获知其他节点的计数，账号已锁定，不再重复保存
+        clock.advance(Duration.ofMinutes(1));
+        first.reconcile();
+        verify(accountRepository, times(1)).save(any());
+        assertThrows(TooManyRequestsException.class, () -> first.checkAllowed("zhangsan", null));
+    }
+
+    @Test
+    @DisplayName("测试在其他节点解锁后再次越过阈值时重新锁定")
+    void testRelockAfterUnlockOnOtherNode() {
+        LoginThrottle first = newThrottle();
+        LoginThrottle second = newThrottle();
+        for (int i = 0; i < 5; i++) {
+            second.recordFailure("zhangsan", null);
+        }
+        assertTrue(account.getStatus().isLocked());
+
+        // 管理员通过第一个节点解锁，第二个节点的本地计数仍在
+        account.unlock();
+        first.reset("zhangsan");
+        clock.advance(Duration.ofMinutes(1));
+        second.reconcile();
+
+        for (int i = 0; i < 5; i++) {
+            second.recordFailure("zhangsan", null);
+        }
+        assertTrue(account.getStatus().isLocked());
+        verify(accountRepository, times(2)).save(account);
+        assertEquals(2, second.getLockedCount());
+    }
+
+    @Test
+    @DisplayName("测试IP达到阈值时拒绝登录但不锁定账号")
+    void testIpThreshold() {
+        LoginThrottle throttle = new LoginThrottle(store, accountRepository, 5, 3, Duration.ofMinutes(15), 15,
+                Duration.ofSeconds(1), clock);
+
+        throttle.recordFailure("lisi", "10.0.0.1");
+        throttle.recordFailure("wangwu", "10.0.0.1");
+        throttle.recordFailure("zhaoliu", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("zhangsan", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("zhangsan", "10.0.0.2"));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("测试登录成功清空计数、窗口滑过后计数过期")
+    void testResetAndWindowExpiry() {
+        LoginThrottle throttle = newThrottle();
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("zhangsan", "10.0.0.1");
+        }
+        throttle.recordSuccess("zhangsan");
+        throttle.recordFailure("zhangsan", "10.0.0.1");
+        throttle.reconcile();
+        assertEquals(1, store.count("u:zhangsan"));
+
+        clock.advance(Duration.ofMinutes(16));
+        throttle.reconcile();
+        assertEquals(0, throttle.getTrackedKeyCount());
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("zhangsan", "10.0.0.1");
+        }
+        assertFalse(account.getStatus().isLocked());
+    }
+
+    @Test
+    @DisplayName("测试共享存储不可用时按本地计数限流，恢复后补做锁定")
+    void testStoreUnavailable() {
+        LoginThrottle throttle = newThrottle();
+        store.available = false;
+
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("zhangsan", null);
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkAllowed("zhangsan", null));
+        assertFalse(account.getStatus().isLocked());
+        assertTrue(throttle.getSyncFailureCount() > 0);
+
+        store.available = true;
+        throttle.reconcile();
+        assertEquals(5, store.count("u:zhangsan"));
+        assertTrue(account.getStatus().isLocked());
+    }
+
+    @Test
+    @DisplayName("测试远低于阈值且没有新失败的键不刷新共享计数")
+    void testSkipRefreshFarBelowThreshold() {
+        LoginThrottle throttle = newThrottle();
+        throttle.recordFailure("lisi", "10.0.0.1");
+        throttle.recordFailure("zhangsan", null);
+        throttle.recordFailure("zhangsan", null);
+        throttle.recordFailure("zhangsan", null);
+        throttle.reconcile();
+        int calls = store.calls;
+
+        // 下一个时间片只刷新接近阈值的zhangsan
+        clock.advance(Duration.ofMinutes(1));
+        throttle.reconcile();
+        assertEquals(calls + 1, store.calls);
+        assertEquals(3, throttle.getTrackedKeyCount());
+    }
+
+    @Test
+    @DisplayName("测试跟踪键数达到上限后新键直接写入共享存储并照常锁定")
+    void testMaxTrackedKeys() {
+        LoginThrottle throttle = new LoginThrottle(store, accountRepository, 5, 50, Duration.ofMinutes(15), 15,
+                Duration.ofSeconds(1), 2, clock);
+        throttle.recordFailure("lisi", null);
+        throttle.recordFailure("wangwu", null);
+
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("zhangsan", null);
+        }
+        assertEquals(2, throttle.getTrackedKeyCount());
+        assertEquals(5, store.count("u:zhangsan"));
+        assertTrue(account.getStatus().isLocked());
+        verify(accountRepository, times(1)).save(account);
+    }
+
+    @Test
+    @DisplayName("测试确认登录时密码错误不修改账号")
+    void testConfirmLogin() {
+        assertFalse(account.confirmLogin(PasswordVerification.MISMATCHED));
+        assertEquals(0, account.getFailedLoginAttempts());
+        assertTrue(account.getUnmodifiableDomainEvents().isEmpty());
+
+        assertTrue(account.confirmLogin(PasswordVerification.matched("upgraded")));
+        assertEquals("upgraded", account.getPassword());
+        assertNotNull(account.getLastLoginAt());
+    }
+
+    private LoginThrottle newThrottle() {
+        return new LoginThrottle(store, accountRepository, 5, 50, Duration.ofMinutes(15), 15,
+                Duration.ofSeconds(1), clock);
+    }
+
+    /**
+     * 内存实现，语义与Redis实现一致
+     */
+    private static class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+        private final Map<String, TreeMap<Long, Long>> slots = new HashMap<>();
+
+        private volatile boolean available = true;
+
+        private long lastSlot;
+
+        private int lastWindowSlots;
+
+        private int calls;
+
+        @Override
+        public synchronized long addAndCount(String key, long slot, long delta, int windowSlots) {
+            calls++;
+            if (!available) {
+                throw new IllegalStateException("store unavailable");
+            }
+            lastSlot = slot;
+            lastWindowSlots = windowSlots;
+            TreeMap<Long, Long> counts = slots.computeIfAbsent(key, k -> new TreeMap<>());
+            if (delta > 0) {
+                counts.merge(slot, delta, Long::sum);
+            }
+            counts.headMap(slot - windowSlots, true).clear();
+            return counts.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public synchronized void reset(String key) {
+            slots.remove(key);
+        }
+
+        synchronized long count(String key) {
+            TreeMap<Long, Long> counts = slots.get(key);
+            if (counts == null) {
+                return 0;
+            }
+            return counts.tailMap(lastSlot - lastWindowSlots, false).values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.exception.TooManyRequestsException;
+import com.lovemp.domain.auth.domain.model.valueobject.PasswordVerification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("密码哈希服务测试")
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("测试PBKDF2哈希校验与迭代次数升级判断")
+    void testPbkdf2Hasher() {
+        Pbkdf2PasswordHasher legacy = new Pbkdf2PasswordHasher(1_000);
+        Pbkdf2PasswordHasher current = new Pbkdf2PasswordHasher(2_000);
+
+        String encoded = legacy.hash("Secret#123");
+
+        assertTrue(encoded.startsWith("$pbkdf2-sha256$1000$"));
+        assertNotEquals(encoded, legacy.hash("Secret#123"));
+        assertTrue(current.matches("Secret#123", encoded));
+        assertFalse(current.matches("Secret#124", encoded));
+        assertTrue(current.needsRehash(encoded));
+        assertFalse(legacy.needsRehash(encoded));
+        assertFalse(current.matches("Secret#123", "plain-text"));
+        assertTrue(current.needsRehash("plain-text"));
+    }
+
+    @Test
+    @DisplayName("测试校验成功且成本不足时返回升级后的哈希")
+    void testVerifyUpgradesHash() throws Exception {
+        String encoded = new Pbkdf2PasswordHasher(1_000).hash("Secret#123");
+        Pbkdf2PasswordHasher current = new Pbkdf2PasswordHasher(2_000);
+        service = new PasswordHashingService(current, 2, 8);
+
+        PasswordVerification upgraded = service.verify("Secret#123", encoded).get(5, TimeUnit.SECONDS);
+        assertTrue(upgraded.isMatched());
+        assertNotNull(upgraded.getUpgradedHash());
+        assertFalse(current.needsRehash(upgraded.getUpgradedHash()));
+
+        PasswordVerification unchanged = service.verify("Secret#123", upgraded.getUpgradedHash())
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(unchanged.isMatched());
+        assertNull(unchanged.getUpgradedHash());
+
+        PasswordVerification mismatched = service.verify("Wrong#123", encoded).get(5, TimeUnit.SECONDS);
+        assertFalse(mismatched.isMatched());
+        assertNull(mismatched.getUpgradedHash());
+    }
+
+    @Test
+    @DisplayName("测试队列已满时立即拒绝")
+    void testRejectsWhenQueueFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        service = new PasswordHashingService(new BlockingHasher(release), 1, 1);
+
+        CompletableFuture<String> running = service.hash("a");
+        CompletableFuture<String> queued = service.hash("b");
+
+        assertThrows(TooManyRequestsException.class, () -> service.hash("c"));
+        assertEquals(1, service.getRejectedCount());
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("测试校准选择不超过目标延迟的最大成本")
+    void testCalibrate() {
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(cost -> new SleepingHasher(cost * 5L), 3);
+
+        assertEquals(4, calibrator.calibrate(Duration.ofMillis(22), 1, 2, 4, 8));
+        // 最小候选成本也超过目标延迟时不低于下限
+        assertEquals(1, calibrator.calibrate(Duration.ofMillis(1), 1, 2));
+    }
+
+    /**
+     * 等待放行后才返回的哈希算法，用于占满线程池
+     */
+    private static class BlockingHasher implements PasswordHasher {
+
+        private final CountDownLatch release;
+
+        BlockingHasher(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String hash(String rawPassword) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return hash(rawPassword).equals(encodedPassword);
+        }
+
+        @Override
+        public boolean needsRehash(String encodedPassword) {
+            return false;
+        }
+    }
+
+    /**
+     * 耗时与成本参数成正比的哈希算法
+     */
+    private static class SleepingHasher implements PasswordHasher {
+
+        private final long millis;
+
+        SleepingHasher(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public String hash(String rawPassword) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword;
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return rawPassword.equals(encodedPassword);
+        }
+
+        @Override
+        public boolean needsRehash(String encodedPassword) {
+            return false;
+        }
+    }
+}
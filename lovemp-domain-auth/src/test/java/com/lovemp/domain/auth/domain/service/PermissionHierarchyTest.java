@@ -0,0 +1,184 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.common.exception.DomainRuleViolationException;
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.auth.domain.repository.HierarchicalPermissionRepository;
+import com.lovemp.domain.auth.domain.repository.PermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("权限层级闭包索引测试")
+class PermissionHierarchyTest {
+
+    @Test
+    @DisplayName("测试全量加载后的祖先、后代和子节点")
+    void testLoad() {
+        PermissionHierarchy hierarchy = new PermissionHierarchy();
+        hierarchy.load(List.of(
+                permission("system", null, 1),
+                permission("user", "system", 2),
+                permission("role", "system", 1),
+                permission("user:add", "user", 1),
+                permission("orphan", "missing", 1)));
+
+        assertEquals(List.of(id("system"), id("user")), new ArrayList<>(hierarchy.getAncestors(id("user:add"))));
+        assertEquals(Set.of(id("user"), id("role"), id("user:add")), hierarchy.getDescendants(id("system")));
+        assertTrue(hierarchy.isDescendantOf(id("user:add"), id("system")));
+        assertFalse(hierarchy.isDescendantOf(id("system"), id("user:add")));
+        assertEquals(List.of("role", "user"), codes(hierarchy.getChildren(id("system"))));
+        assertEquals(List.of("orphan", "system"), codes(hierarchy.getRoots()));
+    }
+
+    @Test
+    @DisplayName("测试全量加载时跳过环")
+    void testLoadSkipsCycle() {
+        PermissionHierarchy hierarchy = new PermissionHierarchy();
+        hierarchy.load(List.of(permission("a", "b", 1), permission("b", "a", 1)));
+
+        assertFalse(hierarchy.isDescendantOf(id("a"), id("a")));
+        assertEquals(2, hierarchy.getRoots().size());
+    }
+
+    @Test
+    @DisplayName("测试修改父权限时移动整棵子树")
+    void testMoveSubtree() {
+        PermissionHierarchy hierarchy = new PermissionHierarchy();
+        Permission user = permission("user", "system", 1);
+        hierarchy.load(List.of(
+                permission("system", null, 1),
+                permission("org", null, 2),
+                user,
+                permission("user:add", "user", 1)));
+        long version = hierarchy.getVersion();
+
+        user.setParentId(id("org"));
+        hierarchy.onSaved(user);
+
+        assertTrue(hierarchy.getDescendants(id("system")).isEmpty());
+        assertTrue(hierarchy.getChildren(id("system")).isEmpty());
+        assertEquals(Set.of(id("user"), id("user:add")), hierarchy.getDescendants(id("org")));
+        assertEquals(List.of(id("org"), id("user")), new ArrayList<>(hierarchy.getAncestors(id("user:add"))));
+        assertTrue(hierarchy.getVersion() > version);
+    }
+
+    @Test
+    @DisplayName("测试拒绝把权限挂到自身下级或不存在的父权限下")
+    void testRejectInvalidParent() {
+        PermissionHierarchy hierarchy = new PermissionHierarchy();
+        Permission system = permission("system", null, 1);
+        hierarchy.load(List.of(system, permission("user", "system", 1)));
+
+        system.setParentId(id("user"));
+        assertThrows(DomainRuleViolationException.class, () -> hierarchy.checkParent(system));
+        system.setParentId(id("system"));
+        assertThrows(DomainRuleViolationException.class, () -> hierarchy.checkParent(system));
+        assertThrows(DomainRuleViolationException.class,
+                () -> hierarchy.checkParent(permission("new", "missing", 1)));
+    }
+
+    @Test
+    @DisplayName("测试删除权限后子节点成为根节点")
+    void testDelete() {
+        PermissionHierarchy hierarchy = new PermissionHierarchy();
+        hierarchy.load(List.of(
+                permission("system", null, 1),
+                permission("user", "system", 1),
+                permission("user:add", "user", 1)));
+
+        hierarchy.onDeleted(id("system"));
+
+        assertNull(hierarchy.get(id("system")));
+        assertEquals(List.of("user"), codes(hierarchy.getRoots()));
+        assertEquals(List.of(id("user")), new ArrayList<>(hierarchy.getAncestors(id("user:add"))));
+    }
+
+    @Test
+    @DisplayName("测试仓储保存失败时不修改索引")
+    void testRepositoryRejectsBeforeWrite() {
+        PermissionRepository delegate = mock(PermissionRepository.class);
+        when(delegate.findAll()).thenReturn(List.of(permission("system", null, 1)));
+        HierarchicalPermissionRepository repository = new HierarchicalPermissionRepository(delegate);
+
+        assertThrows(DomainRuleViolationException.class, () -> repository.save(permission("user", "missing", 1)));
+        verify(delegate, never()).save(any());
+
+        repository.save(permission("user", "system", 1));
+        verify(delegate).save(any());
+        assertTrue(repository.isDescendantOf(id("user"), id("system")));
+        assertEquals(List.of("user"), codes(repository.findDescendants(id("system"))));
+    }
+
+    @Test
+    @DisplayName("测试菜单树补齐上级菜单并在版本变化后重新生成")
+    void testMenuTree() {
+        Permission system = permission("system", null, 1);
+        Permission user = permission("user", "system", 1);
+        Permission api = Permission.create(id("user:api"), "user:api", "user:api", "API");
+        api.setParentId(user.getId());
+        PermissionRepository delegate = mock(PermissionRepository.class);
+        when(delegate.findAll()).thenReturn(List.of(system, user, api));
+        HierarchicalPermissionRepository repository = new HierarchicalPermissionRepository(delegate);
+        Role role = Role.create(RoleId.of("r1"), "ADMIN", "管理员", "SYSTEM");
+        role.addPermission(user.getId());
+        role.addPermission(api.getId());
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findById(role.getId())).thenReturn(Optional.of(role));
+        MenuTreeCache cache = new MenuTreeCache(repository, roleRepository);
+
+        MenuTreeCache.MenuTree tree = cache.getMenuTree(List.of(role.getId()));
+        assertTrue(tree.getJson().contains("\"code\":\"system\""));
+        assertTrue(tree.getJson().contains("\"code\":\"user\""));
+        assertFalse(tree.getJson().contains("user:api"));
+        assertSame(tree, cache.getMenuTree(List.of(role.getId())));
+
+        // 版本号只取决于内容：其他节点生成的相同菜单树版本号相同，无关的变更不改变版本号
+        assertEquals(tree.getVersion(),
+                new MenuTreeCache(repository, roleRepository).getMenuTree(List.of(role.getId())).getVersion());
+        cache.onRoleChanged();
+        assertEquals(tree.getVersion(), cache.getMenuTree(List.of(role.getId())).getVersion());
+
+        role.addPermission(id("role"));
+        repository.save(permission("role", "system", 2));
+        MenuTreeCache.MenuTree reloaded = cache.getMenuTree(List.of(role.getId()));
+        assertTrue(reloaded.getJson().contains("\"code\":\"role\""));
+        assertNotEquals(tree.getVersion(), reloaded.getVersion());
+
+        role.disable();
+        cache.onRoleChanged();
+        assertEquals("[]", cache.getMenuTree(List.of(role.getId())).getJson());
+    }
+
+    private static Permission permission(String code, String parentCode, int sortOrder) {
+        Permission permission = Permission.create(id(code), code, code, MenuTreeCache.TYPE_MENU);
+        if (parentCode != null) {
+            permission.setParentId(id(parentCode));
+        }
+        permission.setSortOrder(sortOrder);
+        return permission;
+    }
+
+    private static PermissionId id(String code) {
+        return PermissionId.of(code);
+    }
+
+    private static List<String> codes(List<Permission> permissions) {
+        List<String> codes = new ArrayList<>();
+        for (Permission permission : permissions) {
+            codes.add(permission.getCode());
+        }
+        return codes;
+    }
+}
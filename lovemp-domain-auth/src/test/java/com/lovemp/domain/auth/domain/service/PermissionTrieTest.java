@@ -0,0 +1,155 @@
+package com.lovemp.domain.auth.domain.service;
+
+import com.lovemp.domain.auth.domain.model.entity.Permission;
+import com.lovemp.domain.auth.domain.model.entity.Role;
+import com.lovemp.domain.auth.domain.model.valueobject.PermissionId;
+import com.lovemp.domain.auth.domain.model.valueobject.RoleId;
+import com.lovemp.domain.auth.domain.repository.PermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("权限前缀树测试")
+class PermissionTrieTest {
+
+    @Test
+    @DisplayName("测试路径段前缀、通配段和动作掩码")
+    void testIsAllowed() {
+        PermissionTrie trie = PermissionTrie.compile(List.of(
+                permission("p1", "/api/users", "READ"),
+                permission("p2", "/api/users/*/roles", "WRITE"),
+                permission("p3", "/api/reports", "*")));
+
+        assertTrue(trie.isAllowed("/api/users", "READ"));
+        assertTrue(trie.isAllowed("/api/users/42/profile", "READ"));
+        assertFalse(trie.isAllowed("/api/users", "WRITE"));
+        assertFalse(trie.isAllowed("/api/usersx", "READ"));
+        assertTrue(trie.isAllowed("/api/users/42/roles/7", "WRITE"));
+        assertFalse(trie.isAllowed("/api/users/42/profile", "WRITE"));
+        assertTrue(trie.isAllowed("/api/reports/daily", "EXPORT"));
+        assertFalse(trie.isAllowed("/api/orders", "READ"));
+        assertFalse(trie.isAllowed(null, "READ"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    @DisplayName("测试禁用权限被忽略、空路径权限覆盖所有路径")
+    void testDisabledAndGlobalPermissions() {
+        Permission disabled = permission("p1", "/api/users", "READ");
+        disabled.disable();
+        assertSame(PermissionTrie.EMPTY, PermissionTrie.compile(List.of(disabled)));
+
+        PermissionTrie global = PermissionTrie.compile(List.of(permission("p2", null, "READ")));
+        assertTrue(global.isAllowed("/anything/at/all", "READ"));
+        assertFalse(global.isAllowed("/anything", "DELETE"));
+    }
+
+    @Test
+    @DisplayName("测试前缀树与逐个调用Permission.matches结果一致")
+    void testConsistentWithPermissionMatches() {
+        Random random = new Random(7);
+        String[] segments = {"api", "users", "roles", "*", "1", "reports"};
+        String[] actions = {"READ", "WRITE", "DELETE", "*", null};
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            permissions.add(permission("p" + i, randomPath(random, segments), actions[random.nextInt(actions.length)]));
+        }
+        PermissionTrie trie = PermissionTrie.compile(permissions);
+
+        for (int i = 0; i < 2000; i++) {
+            String path = randomPath(random, segments).replace("*", "42");
+            String action = actions[random.nextInt(3)];
+            boolean expected = permissions.stream().anyMatch(p -> p.matches(path, action));
+            assertEquals(expected, trie.isAllowed(path, action), path + " " + action);
+        }
+    }
+
+    @Test
+    @DisplayName("测试引擎刷新角色后替换前缀树")
+    void testEngineRefresh() {
+        Role role = Role.create(RoleId.of("r1"), "ADMIN", "管理员", "SYSTEM");
+        Permission read = permission("p1", "/api/users", "READ");
+        Permission write = permission("p2", "/api/users", "WRITE");
+        role.addPermission(read.getId());
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(roleRepository.findAllEnabled()).thenReturn(List.of(role));
+        when(roleRepository.findById(role.getId())).thenReturn(Optional.of(role));
+        when(permissionRepository.findAllEnabled()).thenReturn(List.of(read, write));
+        when(permissionRepository.findById(any())).thenAnswer(invocation ->
+                Optional.of(invocation.getArgument(0).equals(read.getId()) ? read : write));
+        PermissionMatchingEngine engine = new PermissionMatchingEngine(roleRepository, permissionRepository);
+
+        engine.reload();
+        assertTrue(engine.isAllowed(List.of(role.getId()), "/api/users/1", "READ"));
+        assertFalse(engine.isAllowed(List.of(role.getId()), "/api/users/1", "WRITE"));
+
+        role.addPermission(write.getId());
+        engine.refresh(role.getId());
+        assertTrue(engine.isAllowed(List.of(role.getId()), "/api/users/1", "WRITE"));
+
+        role.disable();
+        engine.refresh(role.getId());
+        assertFalse(engine.isAllowed(List.of(role.getId()), "/api/users/1", "READ"));
+        assertSame(PermissionTrie.EMPTY, engine.getTrie(role.getId()));
+    }
+
+    @Test
+    @DisplayName("测试多角色鉴权使用合并前缀树，刷新后重新合并")
+    void testEngineMergesRoles() {
+        Role reader = Role.create(RoleId.of("r1"), "READER", "只读", "SYSTEM");
+        Role writer = Role.create(RoleId.of("r2"), "WRITER", "编辑", "SYSTEM");
+        Permission read = permission("p1", "/api/users", "READ");
+        Permission write = permission("p2", "/api/orders", "WRITE");
+        reader.addPermission(read.getId());
+        writer.addPermission(write.getId());
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(roleRepository.findAllEnabled()).thenReturn(List.of(reader, writer));
+        when(roleRepository.findById(writer.getId())).thenReturn(Optional.of(writer));
+        when(permissionRepository.findAllEnabled()).thenReturn(List.of(read, write));
+        when(permissionRepository.findById(write.getId())).thenReturn(Optional.of(write));
+        PermissionMatchingEngine engine = new PermissionMatchingEngine(roleRepository, permissionRepository);
+        engine.reload();
+
+        List<RoleId> roleIds = List.of(reader.getId(), writer.getId());
+        PermissionTrie merged = engine.compile(roleIds);
+        assertEquals(2, merged.size());
+        assertSame(merged, engine.compile(List.of(writer.getId(), reader.getId())));
+        assertTrue(engine.isAllowed(roleIds, "/api/users/1", "READ"));
+        assertTrue(engine.isAllowed(roleIds, "/api/orders/1", "WRITE"));
+        assertFalse(engine.isAllowed(roleIds, "/api/orders/1", "READ"));
+        assertFalse(engine.isAllowed(List.of(), "/api/users/1", "READ"));
+
+        writer.disable();
+        engine.refresh(writer.getId());
+        assertNotSame(merged, engine.compile(roleIds));
+        assertFalse(engine.isAllowed(roleIds, "/api/orders/1", "WRITE"));
+        assertTrue(engine.isAllowed(roleIds, "/api/users/1", "READ"));
+    }
+
+    private static Permission permission(String id, String path, String action) {
+        Permission permission = Permission.create(PermissionId.of(id), id, id, "API");
+        permission.setResourcePath(path);
+        permission.setAction(action);
+        return permission;
+    }
+
+    private static String randomPath(Random random, String[] segments) {
+        StringBuilder path = new StringBuilder();
+        int depth = 1 + random.nextInt(4);
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments[random.nextInt(segments.length)]);
+        }
+        return path.toString();
+    }
+}
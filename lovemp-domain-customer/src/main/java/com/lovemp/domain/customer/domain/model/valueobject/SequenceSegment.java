@@ -0,0 +1,92 @@
+package com.lovemp.domain.customer.domain.model.valueobject;
+
+import com.lovemp.common.domain.ValueObject;
+import com.lovemp.common.util.Assert;
+
+import java.util.Objects;
+
+/**
+ * 序号号段值对象
+ * 
+ * <p>表示从持久化层一次性租用的一段连续顾客编码序号，区间为[start, end]</p>
+ */
+public class SequenceSegment implements ValueObject {
+    
+    private final long start;
+    
+    private final long end;
+    
+    private SequenceSegment(long start, long end) {
+        Assert.isTrue(start > 0, "号段起始序号必须大于0");
+        Assert.isTrue(end >= start, "号段结束序号不能小于起始序号");
+        this.start = start;
+        this.end = end;
+    }
+    
+    /**
+     * 创建号段
+     * 
+     * @param start 起始序号（包含）
+     * @param end 结束序号（包含）
+     * @return 序号号段
+     */
+    public static SequenceSegment of(long start, long end) {
+        return new SequenceSegment(start, end);
+    }
+    
+    /**
+     * 根据租用后的最大序号和步长创建号段
+     * 
+     * @param maxValue 租用后的最大序号
+     * @param step 租用步长
+     * @return 序号号段
+     */
+    public static SequenceSegment ofMaxValue(long maxValue, int step) {
+        return new SequenceSegment(maxValue - step + 1, maxValue);
+    }
+    
+    /**
+     * 获取起始序号
+     * 
+     * @return 起始序号
+     */
+    public long getStart() {
+        return start;
+    }
+    
+    /**
+     * 获取结束序号
+     * 
+     * @return 结束序号
+     */
+    public long getEnd() {
+        return end;
+    }
+    
+    /**
+     * 获取号段容量
+     * 
+     * @return 号段内序号数量
+     */
+    public long size() {
+        return end - start + 1;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SequenceSegment that = (SequenceSegment) o;
+        return start == that.start && end == that.end;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+    
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + "]";
+    }
+}
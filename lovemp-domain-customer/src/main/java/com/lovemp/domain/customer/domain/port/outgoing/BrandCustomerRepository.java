@@ -1,5 +1,6 @@
 package com.lovemp.domain.customer.domain.port.outgoing;
 
+import com.lovemp.common.domain.specification.ExpressionSpecification;
 import com.lovemp.domain.customer.domain.model.aggregate.BrandCustomer;
 import com.lovemp.domain.customer.domain.model.valueobject.CustomerCode;
 import com.lovemp.domain.customer.domain.model.valueobject.CustomerRelationId;
@@ -9,6 +10,7 @@ import com.lovemp.domain.person.domain.model.valueobject.PersonId;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 品牌顾客仓储接口
@@ -43,11 +45,24 @@ public interface BrandCustomerRepository {
     /**
      * 根据品牌ID查找所有顾客
      * 
+     * <p>结果全部加载到内存，大品牌请使用{@link #streamByBrandId}</p>
+     * 
      * @param brandId 品牌ID
      * @return 品牌顾客列表
      */
     List<BrandCustomer> findByBrandId(String brandId);
     
+    /**
+     * 流式读取品牌的所有顾客
+     * 
+     * <p>按fetchSize分批拉取，适用于大品牌的批处理和导出，调用方必须关闭返回的流</p>
+     * 
+     * @param brandId 品牌ID
+     * @param fetchSize 每批拉取条数
+     * @return 惰性品牌顾客流
+     */
+    Stream<BrandCustomer> streamByBrandId(String brandId, int fetchSize);
+    
     /**
      * 根据自然人ID查找所有品牌顾客关系
      * 
@@ -101,9 +116,24 @@ public interface BrandCustomerRepository {
      */
     List<BrandCustomer> findByBrandIdAndLevel(String brandId, int level);
     
+    /**
+     * 根据规约查找顾客
+     * 
+     * <p>实现应通过SqlPredicateTranslator或JpaPredicateTranslator将规约下推为查询条件，
+     * 并用Pushdown.filterResidual对无法下推的部分做内存过滤；属性定义见BrandCustomerSpecifications</p>
+     * 
+     * @param specification 顾客规约
+     * @param limit 最大返回条数
+     * @return 品牌顾客列表
+     */
+    List<BrandCustomer> findBySpecification(ExpressionSpecification<BrandCustomer> specification, int limit);
+    
     /**
      * 获取品牌下一个顾客编码序号
      * 
+     * <p>实现应委托给{@link com.lovemp.domain.customer.domain.service.CustomerSequenceAllocator}，
+     * 按号段从数据库租用序号，避免每创建一个顾客就访问一次数据库。序号允许出现空洞，但不会重复</p>
+     * 
      * @param brandId 品牌ID
      * @return 下一个序号
      */
@@ -0,0 +1,22 @@
+package com.lovemp.domain.customer.domain.port.outgoing;
+
+import com.lovemp.domain.customer.domain.model.valueobject.SequenceSegment;
+
+/**
+ * 顾客编码序号号段仓储接口
+ * 
+ * <p>按品牌从持久化层租用一段连续序号。实现必须保证同一品牌在所有节点上租到的号段互不重叠，
+ * 典型实现为单条原子更新：{@code UPDATE customer_sequence SET max_value = max_value + :step WHERE brand_id = :brandId}，
+ * 再读取更新后的max_value（品牌首次租用时插入初始行）</p>
+ */
+public interface CustomerSequenceSegmentRepository {
+    
+    /**
+     * 为品牌租用一段序号
+     * 
+     * @param brandId 品牌ID
+     * @param step 租用步长
+     * @return 租到的号段，容量等于step
+     */
+    SequenceSegment leaseSegment(String brandId, int step);
+}
@@ -10,6 +10,7 @@ import com.lovemp.domain.person.domain.model.valueobject.PersonId;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 顾客共享仓储接口
@@ -56,11 +57,24 @@ public interface CustomerSharingRepository {
     /**
      * 根据源品牌ID查找所有共享关系
      * 
+     * <p>结果全部加载到内存，大品牌请使用{@link #streamBySourceBrandId}</p>
+     * 
      * @param sourceBrandId 源品牌ID
      * @return 顾客共享列表
      */
     List<CustomerSharing> findBySourceBrandId(String sourceBrandId);
     
+    /**
+     * 流式读取源品牌的所有共享关系
+     * 
+     * <p>按fetchSize分批拉取，适用于大品牌的批处理和导出，调用方必须关闭返回的流</p>
+     * 
+     * @param sourceBrandId 源品牌ID
+     * @param fetchSize 每批拉取条数
+     * @return 惰性顾客共享流
+     */
+    Stream<CustomerSharing> streamBySourceBrandId(String sourceBrandId, int fetchSize);
+    
     /**
      * 根据目标品牌ID查找所有共享关系
      * 
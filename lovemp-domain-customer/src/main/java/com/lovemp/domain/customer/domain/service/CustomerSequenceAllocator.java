@@ -0,0 +1,207 @@
+package com.lovemp.domain.customer.domain.service;
+
+import com.lovemp.common.util.Assert;
+import com.lovemp.common.util.ThreadPoolUtils;
+import com.lovemp.domain.customer.domain.model.valueobject.SequenceSegment;
+import com.lovemp.domain.customer.domain.port.outgoing.CustomerSequenceSegmentRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 顾客编码序号分配器
+ *
+ * <p>按品牌租用号段（默认每次1000个序号），在内存中分配，当前号段剩余量低于阈值时异步预取下一号段，
+ * 使创建品牌顾客时不再每次都访问数据库、争抢同一行锁。BrandCustomerRepository.getNextCustomerSequence
+ * 的实现应委托给本分配器。</p>
+ *
+ * <p>序号在节点重启或号段切换时可能出现空洞，但由于号段由数据库原子租用，跨节点永不重复。</p>
+ */
+@Slf4j
+public class CustomerSequenceAllocator {
+
+    /**
+     * 默认号段大小
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1000;
+
+    /**
+     * 默认预取比例：当前号段剩余不足20%时预取下一号段
+     */
+    public static final double DEFAULT_PREFETCH_RATIO = 0.2;
+
+    private final CustomerSequenceSegmentRepository segmentRepository;
+
+    private final int segmentSize;
+
+    private final long prefetchThreshold;
+
+    private final Executor prefetchExecutor;
+
+    private final ConcurrentMap<String, BrandSegmentBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * 使用默认号段大小和预取比例创建分配器
+     *
+     * @param segmentRepository 号段仓储
+     */
+    public CustomerSequenceAllocator(CustomerSequenceSegmentRepository segmentRepository) {
+        this(segmentRepository, DEFAULT_SEGMENT_SIZE, DEFAULT_PREFETCH_RATIO, defaultPrefetchExecutor());
+    }
+
+    /**
+     * 构造顾客编码序号分配器
+     *
+     * @param segmentRepository 号段仓储
+     * @param segmentSize 号段大小
+     * @param prefetchRatio 预取比例，当前号段剩余量低于该比例时触发异步预取
+     * @param prefetchExecutor 预取执行器
+     */
+    public CustomerSequenceAllocator(CustomerSequenceSegmentRepository segmentRepository, int segmentSize,
+                                     double prefetchRatio, Executor prefetchExecutor) {
+        Assert.notNull(segmentRepository, "号段仓储不能为空");
+        Assert.isTrue(segmentSize > 0, "号段大小必须大于0");
+        Assert.isTrue(prefetchRatio >= 0 && prefetchRatio < 1, "预取比例必须在0到1之间");
+        Assert.notNull(prefetchExecutor, "预取执行器不能为空");
+
+        this.segmentRepository = segmentRepository;
+        this.segmentSize = segmentSize;
+        this.prefetchThreshold = (long) Math.ceil(segmentSize * prefetchRatio);
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * 获取品牌的下一个顾客编码序号
+     *
+     * @param brandId 品牌ID
+     * @return 下一个序号
+     */
+    public long nextSequence(String brandId) {
+        Assert.notEmpty(brandId, "品牌ID不能为空");
+
+        BrandSegmentBuffer buffer = buffers.computeIfAbsent(brandId, BrandSegmentBuffer::new);
+        while (true) {
+            Segment current = buffer.current;
+            if (current != null) {
+                long value = current.cursor.getAndIncrement();
+                if (value <= current.end) {
+                    if (current.end - value < prefetchThreshold) {
+                        buffer.prefetch();
+                    }
+                    return value;
+                }
+            }
+            buffer.switchSegment(current);
+        }
+    }
+
+    /**
+     * 丢弃品牌在内存中缓存的号段
+     *
+     * <p>用于品牌序号被人工调整后重新从持久化层租用，被丢弃的剩余序号成为空洞</p>
+     *
+     * @param brandId 品牌ID
+     */
+    public void evict(String brandId) {
+        buffers.remove(brandId);
+    }
+
+    private SequenceSegment lease(String brandId) {
+        SequenceSegment segment = segmentRepository.leaseSegment(brandId, segmentSize);
+        Assert.notNull(segment, "号段仓储返回了空号段");
+        return segment;
+    }
+
+    private static ExecutorService defaultPrefetchExecutor() {
+        return ThreadPoolUtils.newDaemonPool("customer-sequence-prefetch", 2, new LinkedBlockingQueue<>(1024));
+    }
+
+    /**
+     * 内存中的号段，cursor越过end即表示耗尽
+     */
+    private static final class Segment {
+
+        private final AtomicLong cursor;
+
+        private final long end;
+
+        private Segment(SequenceSegment segment) {
+            this.cursor = new AtomicLong(segment.getStart());
+            this.end = segment.getEnd();
+        }
+    }
+
+    /**
+     * 单个品牌的双号段缓冲：当前号段 + 预取中的下一号段
+     */
+    private final class BrandSegmentBuffer {
+
+        private final String brandId;
+
+        private volatile Segment current;
+
+        private final AtomicReference<CompletableFuture<SequenceSegment>> next = new AtomicReference<>();
+
+        private BrandSegmentBuffer(String brandId) {
+            this.brandId = brandId;
+        }
+
+        /**
+         * 异步预取下一号段，同一时刻最多只有一个预取任务
+         */
+        private void prefetch() {
+            if (next.get() != null) {
+                return;
+            }
+            CompletableFuture<SequenceSegment> future = new CompletableFuture<>();
+            if (!next.compareAndSet(null, future)) {
+                return;
+            }
+            try {
+                prefetchExecutor.execute(() -> {
+                    try {
+                        future.complete(lease(brandId));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * 切换到下一号段：优先使用预取结果，预取失败或尚未发起时同步租用
+         *
+         * @param exhausted 调用方观察到已耗尽的号段
+         */
+        private synchronized void switchSegment(Segment exhausted) {
+            if (current != exhausted) {
+                // 其他线程已完成切换
+                return;
+            }
+            SequenceSegment segment = null;
+            CompletableFuture<SequenceSegment> future = next.getAndSet(null);
+            if (future != null) {
+                try {
+                    segment = future.join();
+                } catch (CompletionException e) {
+                    log.warn("品牌{}预取号段失败，改为同步租用: {}", brandId, e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+                }
+            }
+            if (segment == null) {
+                segment = lease(brandId);
+            }
+            current = new Segment(segment);
+        }
+    }
+}
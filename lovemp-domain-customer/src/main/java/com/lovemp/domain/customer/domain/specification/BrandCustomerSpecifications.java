@@ -0,0 +1,104 @@
+package com.lovemp.domain.customer.domain.specification;
+
+import com.lovemp.common.domain.specification.Attribute;
+import com.lovemp.common.domain.specification.ExpressionSpecification;
+import com.lovemp.common.util.Assert;
+import com.lovemp.domain.customer.domain.model.aggregate.BrandCustomer;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerStatus;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerType;
+
+/**
+ * 品牌顾客规约工厂
+ *
+ * <p>声明品牌顾客的可查询属性并提供常用规约，组合出的规约既可在内存中求值，
+ * 也可由仓储适配器翻译为SQL/JPA条件下推到数据库。例如"品牌X下积分在100到500之间的正常VIP顾客"：</p>
+ * <pre>
+ * ExpressionSpecification&lt;BrandCustomer&gt; spec = BrandCustomerSpecifications.ofBrand(brandId)
+ *         .and(BrandCustomerSpecifications.active())
+ *         .and(BrandCustomerSpecifications.vip())
+ *         .and(BrandCustomerSpecifications.pointsBetween(100, 500));
+ * </pre>
+ */
+public final class BrandCustomerSpecifications {
+
+    /**
+     * 品牌ID
+     */
+    public static final Attribute<BrandCustomer, String> BRAND_ID = Attribute.of("brandId", BrandCustomer::getBrandId);
+
+    /**
+     * 顾客类型
+     */
+    public static final Attribute<BrandCustomer, CustomerType> CUSTOMER_TYPE =
+            Attribute.of("customerType", BrandCustomer::getCustomerType);
+
+    /**
+     * 顾客状态
+     */
+    public static final Attribute<BrandCustomer, CustomerStatus> STATUS = Attribute.of("status", BrandCustomer::getStatus);
+
+    /**
+     * 积分
+     */
+    public static final Attribute<BrandCustomer, Integer> POINTS = Attribute.of("points", BrandCustomer::getPoints);
+
+    /**
+     * 等级
+     */
+    public static final Attribute<BrandCustomer, Integer> LEVEL = Attribute.of("level", BrandCustomer::getLevel);
+
+    private BrandCustomerSpecifications() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 属于指定品牌
+     *
+     * @param brandId 品牌ID
+     * @return 规约
+     */
+    public static ExpressionSpecification<BrandCustomer> ofBrand(String brandId) {
+        Assert.notEmpty(brandId, "品牌ID不能为空");
+        return BRAND_ID.eq(brandId);
+    }
+
+    /**
+     * 状态正常
+     *
+     * @return 规约
+     */
+    public static ExpressionSpecification<BrandCustomer> active() {
+        return STATUS.eq(CustomerStatus.ACTIVE);
+    }
+
+    /**
+     * VIP顾客
+     *
+     * @return 规约
+     */
+    public static ExpressionSpecification<BrandCustomer> vip() {
+        return CUSTOMER_TYPE.eq(CustomerType.VIP);
+    }
+
+    /**
+     * 积分在闭区间内
+     *
+     * @param minPoints 最小积分
+     * @param maxPoints 最大积分
+     * @return 规约
+     */
+    public static ExpressionSpecification<BrandCustomer> pointsBetween(int minPoints, int maxPoints) {
+        Assert.isTrue(minPoints <= maxPoints, "最小积分不能大于最大积分");
+        return POINTS.between(minPoints, maxPoints);
+    }
+
+    /**
+     * 等级不低于指定值
+     *
+     * @param level 等级
+     * @return 规约
+     */
+    public static ExpressionSpecification<BrandCustomer> levelAtLeast(int level) {
+        return LEVEL.ge(level);
+    }
+}
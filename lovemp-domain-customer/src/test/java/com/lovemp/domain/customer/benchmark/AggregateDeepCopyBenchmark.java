@@ -0,0 +1,108 @@
+package com.lovemp.domain.customer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.lovemp.common.util.BeanUtils;
+import com.lovemp.common.util.JsonUtils;
+import com.lovemp.domain.enterprise.domain.model.aggregate.Enterprise;
+import com.lovemp.domain.enterprise.domain.model.valueobject.EnterpriseId;
+import com.lovemp.domain.enterprise.domain.model.valueobject.EnterpriseType;
+import com.lovemp.domain.enterprise.domain.model.valueobject.LegalRepresentative;
+import com.lovemp.domain.enterprise.domain.model.valueobject.Money;
+import com.lovemp.domain.person.domain.model.aggregate.Person;
+import com.lovemp.domain.person.domain.model.valueobject.Address;
+import com.lovemp.domain.person.domain.model.valueobject.ContactInfo;
+import com.lovemp.domain.person.domain.model.valueobject.Gender;
+import com.lovemp.domain.person.domain.model.valueobject.IdentityDocument;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 聚合快照深拷贝基准测试
+ *
+ * <p>对比结构化深拷贝（BeanUtils.deepCopy）与原先JSON往返方式在Person、Enterprise聚合上的耗时和分配。
+ * 原JSON方式无法把这两个聚合反序列化回来（值对象没有Jackson可用的构造方式），因此JSON基线只测量
+ * "序列化为字符串再解析为JsonNode树"这一段，是原实现开销的下界。
+ *
+ * <p>运行方式：在IDE中直接运行main方法，加上{@code -prof gc}可对比每次操作的分配字节数。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregateDeepCopyBenchmark {
+
+    private Person person;
+
+    private Enterprise enterprise;
+
+    @Setup
+    public void setUp() {
+        person = Person.create(PersonId.of("person-1"), "张三", Gender.MALE, LocalDate.of(1990, 1, 1),
+                IdentityDocument.ofIdCard("110101199001011234", "北京市公安局",
+                        LocalDate.of(2020, 1, 1), LocalDate.of(2040, 1, 1)),
+                ContactInfo.basic("13800138000", null));
+        for (int i = 0; i < 5; i++) {
+            person.addAddress(Address.ofChina("北京市", "北京市", "海淀区", "清华园街道",
+                    "清华园路" + i + "号", "100084"), "地址" + i, i == 0);
+            person.addContactInfo(ContactInfo.of(null, "user" + i + "@example.com", null, null, null, null),
+                    "邮箱" + i, false);
+        }
+
+        enterprise = Enterprise.create(EnterpriseId.of("enterprise-1"), "测试企业", "91310000XXXXXXXXXX",
+                EnterpriseType.LIMITED_LIABILITY_COMPANY,
+                LegalRepresentative.naturalPerson("张三", "1234567890XXXXXX", "13800138000"),
+                Money.ofCNY(new BigDecimal("1000")), LocalDate.of(2020, 1, 1),
+                com.lovemp.domain.enterprise.domain.model.valueobject.Address.of(
+                        "上海市", "浦东新区", "张江高科技园区", "博云路2号", "详细地址", "201203"),
+                com.lovemp.domain.enterprise.domain.model.valueobject.ContactInfo.email(
+                        "mail@example.com", "联系人", null));
+        for (int i = 0; i < 5; i++) {
+            enterprise.addOfficeAddress(com.lovemp.domain.enterprise.domain.model.valueobject.Address.of(
+                    "北京市", "海淀区", "中关村", "科技路" + i + "号", "详细地址", "100080"), "办公室" + i, false);
+        }
+    }
+
+    @Benchmark
+    public Person personStructural() {
+        return BeanUtils.deepCopy(person);
+    }
+
+    @Benchmark
+    public JsonNode personJsonRoundTrip() {
+        return JsonUtils.parseJsonNode(JsonUtils.toJson(person));
+    }
+
+    @Benchmark
+    public Enterprise enterpriseStructural() {
+        return BeanUtils.deepCopy(enterprise);
+    }
+
+    @Benchmark
+    public JsonNode enterpriseJsonRoundTrip() {
+        return JsonUtils.parseJsonNode(JsonUtils.toJson(enterprise));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AggregateDeepCopyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
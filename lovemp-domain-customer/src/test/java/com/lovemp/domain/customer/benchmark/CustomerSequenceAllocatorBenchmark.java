@@ -0,0 +1,110 @@
+package com.lovemp.domain.customer.benchmark;
+
+import com.lovemp.domain.customer.domain.model.aggregate.BrandCustomer;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerType;
+import com.lovemp.domain.customer.domain.model.valueobject.RelationType;
+import com.lovemp.domain.customer.domain.model.valueobject.SequenceSegment;
+import com.lovemp.domain.customer.domain.port.outgoing.CustomerSequenceSegmentRepository;
+import com.lovemp.domain.customer.domain.service.CustomerDomainService;
+import com.lovemp.domain.customer.domain.service.CustomerSequenceAllocator;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 品牌会员注册活动场景下的顾客创建吞吐量基准测试
+ *
+ * <p>模拟数据库一次往返耗时{@code roundTripMicros}微秒，且同一品牌的序号行在更新期间被行锁串行化。
+ * 对比每个顾客访问一次数据库（原始方式）与按号段租用并异步预取两种方式的创建吞吐量。
+ *
+ * <p>运行方式：在IDE中直接运行main方法。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class CustomerSequenceAllocatorBenchmark {
+
+    private static final String BRAND_ID = "brand-campaign";
+
+    private static final String BRAND_CODE = "BR";
+
+    @Param({"200", "1000"})
+    private long roundTripMicros;
+
+    private final CustomerDomainService domainService = new CustomerDomainService();
+
+    private final PersonId personId = PersonId.of("person-benchmark");
+
+    private SimulatedSequenceTable table;
+
+    private CustomerSequenceAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        table = new SimulatedSequenceTable(roundTripMicros);
+        allocator = new CustomerSequenceAllocator(table);
+    }
+
+    @Benchmark
+    public BrandCustomer perCustomerRoundTrip() {
+        long sequence = table.leaseSegment(BRAND_ID, 1).getEnd();
+        return createCustomer(sequence);
+    }
+
+    @Benchmark
+    public BrandCustomer segmentLeased() {
+        return createCustomer(allocator.nextSequence(BRAND_ID));
+    }
+
+    private BrandCustomer createCustomer(long sequence) {
+        return domainService.createBrandCustomer(BRAND_ID, personId, CustomerType.NORMAL,
+                RelationType.ACTIVE_REGISTRATION, BRAND_CODE, sequence);
+    }
+
+    /**
+     * 模拟带行锁和网络往返的序号表
+     */
+    static class SimulatedSequenceTable implements CustomerSequenceSegmentRepository {
+
+        private final long roundTripNanos;
+
+        private long maxValue;
+
+        SimulatedSequenceTable(long roundTripMicros) {
+            this.roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        }
+
+        @Override
+        public synchronized SequenceSegment leaseSegment(String brandId, int step) {
+            LockSupport.parkNanos(roundTripNanos);
+            maxValue += step;
+            return SequenceSegment.ofMaxValue(maxValue, step);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerSequenceAllocatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,171 @@
+package com.lovemp.domain.customer.domain.service;
+
+import com.lovemp.common.exception.DomainRuleViolationException;
+import com.lovemp.domain.customer.domain.model.valueobject.SequenceSegment;
+import com.lovemp.domain.customer.domain.port.outgoing.CustomerSequenceSegmentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CustomerSequenceAllocator 序号分配器测试")
+class CustomerSequenceAllocatorTest {
+
+    /**
+     * 模拟数据库原子租用号段的内存实现
+     */
+    static class InMemorySegmentRepository implements CustomerSequenceSegmentRepository {
+
+        private final Map<String, AtomicLong> maxValues = new ConcurrentHashMap<>();
+        private final AtomicInteger leaseCount = new AtomicInteger();
+
+        @Override
+        public SequenceSegment leaseSegment(String brandId, int step) {
+            leaseCount.incrementAndGet();
+            long maxValue = maxValues.computeIfAbsent(brandId, key -> new AtomicLong()).addAndGet(step);
+            return SequenceSegment.ofMaxValue(maxValue, step);
+        }
+
+        int getLeaseCount() {
+            return leaseCount.get();
+        }
+    }
+
+    @Test
+    @DisplayName("应该按号段顺序分配序号")
+    void should_allocate_sequences_from_segment() {
+        // Arrange
+        InMemorySegmentRepository repository = new InMemorySegmentRepository();
+        CustomerSequenceAllocator allocator = new CustomerSequenceAllocator(repository, 10, 0, Runnable::run);
+
+        // Act
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            sequences.add(allocator.nextSequence("brand-1"));
+        }
+
+        // Assert
+        for (int i = 0; i < 25; i++) {
+            assertThat(sequences.get(i)).isEqualTo(i + 1L);
+        }
+        assertThat(repository.getLeaseCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("不同品牌的序号应该相互独立")
+    void should_keep_brands_independent() {
+        // Arrange
+        InMemorySegmentRepository repository = new InMemorySegmentRepository();
+        CustomerSequenceAllocator allocator = new CustomerSequenceAllocator(repository, 100, 0.2, Runnable::run);
+
+        // Act & Assert
+        assertThat(allocator.nextSequence("brand-1")).isEqualTo(1L);
+        assertThat(allocator.nextSequence("brand-2")).isEqualTo(1L);
+        assertThat(allocator.nextSequence("brand-1")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("剩余量低于阈值时应该预取下一号段")
+    void should_prefetch_next_segment_before_exhausted() {
+        // Arrange
+        InMemorySegmentRepository repository = new InMemorySegmentRepository();
+        CustomerSequenceAllocator allocator = new CustomerSequenceAllocator(repository, 10, 0.5, Runnable::run);
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            allocator.nextSequence("brand-1");
+        }
+
+        // Assert：第6个序号后剩余4个，低于阈值5，已预取第二个号段
+        assertThat(repository.getLeaseCount()).isEqualTo(2);
+        for (int i = 7; i <= 20; i++) {
+            assertThat(allocator.nextSequence("brand-1")).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("预取失败时应该回退为同步租用")
+    void should_fallback_to_sync_lease_when_prefetch_rejected() {
+        // Arrange
+        InMemorySegmentRepository repository = new InMemorySegmentRepository();
+        CustomerSequenceAllocator allocator = new CustomerSequenceAllocator(repository, 5, 0.5, runnable -> {
+            throw new RejectedExecutionException("队列已满");
+        });
+
+        // Act
+        List<Long> sequences = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            sequences.add(allocator.nextSequence("brand-1"));
+        }
+
+        // Assert
+        assertThat(sequences).doesNotHaveDuplicates().hasSize(12);
+        assertThat(sequences.get(11)).isEqualTo(12L);
+    }
+
+    @Test
+    @DisplayName("多节点多线程并发分配的序号不应该重复")
+    void should_never_duplicate_across_nodes_and_threads() throws Exception {
+        // Arrange：两个分配器模拟两个节点共享同一数据库
+        InMemorySegmentRepository repository = new InMemorySegmentRepository();
+        ExecutorService prefetch = Executors.newFixedThreadPool(2);
+        CustomerSequenceAllocator node1 = new CustomerSequenceAllocator(repository, 50, 0.2, prefetch);
+        CustomerSequenceAllocator node2 = new CustomerSequenceAllocator(repository, 50, 0.2, prefetch);
+        Set<Long> sequences = ConcurrentHashMap.newKeySet();
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        int perThread = 5_000;
+
+        try {
+            // Act
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                CustomerSequenceAllocator allocator = t % 2 == 0 ? node1 : node2;
+                futures.add(workers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        sequences.add(allocator.nextSequence("brand-1"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            workers.shutdownNow();
+            prefetch.shutdownNow();
+        }
+
+        // Assert
+        assertThat(sequences).hasSize(8 * perThread);
+    }
+
+    @Test
+    @DisplayName("参数无效时应该抛出异常")
+    void should_throw_exception_when_arguments_invalid() {
+        InMemorySegmentRepository repository = new InMemorySegmentRepository();
+
+        assertThatThrownBy(() -> new CustomerSequenceAllocator(repository, 0, 0.2, Runnable::run))
+                .isInstanceOf(DomainRuleViolationException.class)
+                .hasMessageContaining("号段大小必须大于0");
+        assertThatThrownBy(() -> new CustomerSequenceAllocator(repository).nextSequence(""))
+                .isInstanceOf(DomainRuleViolationException.class)
+                .hasMessageContaining("品牌ID不能为空");
+    }
+}
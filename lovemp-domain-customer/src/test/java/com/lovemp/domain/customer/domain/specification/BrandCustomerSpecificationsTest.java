@@ -0,0 +1,103 @@
+package com.lovemp.domain.customer.domain.specification;
+
+import com.lovemp.common.domain.specification.ExpressionSpecification;
+import com.lovemp.common.domain.specification.Pushdown;
+import com.lovemp.common.domain.specification.SqlPredicate;
+import com.lovemp.common.domain.specification.SqlPredicateTranslator;
+import com.lovemp.domain.customer.domain.model.aggregate.BrandCustomer;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerCode;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerRelationId;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerStatus;
+import com.lovemp.domain.customer.domain.model.valueobject.CustomerType;
+import com.lovemp.domain.customer.domain.model.valueobject.RelationType;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BrandCustomerSpecifications 品牌顾客规约测试")
+class BrandCustomerSpecificationsTest {
+
+    private final SqlPredicateTranslator<BrandCustomer> translator = new SqlPredicateTranslator<BrandCustomer>()
+            .map("brandId", "brand_id")
+            .map("customerType", "customer_type", type -> ((CustomerType) type).getCode())
+            .map("status", "status", status -> ((CustomerStatus) status).getCode())
+            .map("points", "points");
+
+    private final ExpressionSpecification<BrandCustomer> activeVipInRange = BrandCustomerSpecifications.ofBrand("brand-1")
+            .and(BrandCustomerSpecifications.active())
+            .and(BrandCustomerSpecifications.vip())
+            .and(BrandCustomerSpecifications.pointsBetween(100, 500));
+
+    @Test
+    @DisplayName("应该在内存中正确求值")
+    void should_evaluate_in_memory() {
+        // Arrange
+        BrandCustomer matched = customer("brand-1", CustomerType.VIP, 200, true);
+        BrandCustomer otherBrand = customer("brand-2", CustomerType.VIP, 200, true);
+        BrandCustomer inactive = customer("brand-1", CustomerType.VIP, 200, false);
+        BrandCustomer normal = customer("brand-1", CustomerType.NORMAL, 200, true);
+        BrandCustomer tooManyPoints = customer("brand-1", CustomerType.VIP, 800, true);
+
+        // Act & Assert
+        assertThat(activeVipInRange.isSatisfiedBy(matched)).isTrue();
+        assertThat(activeVipInRange.isSatisfiedBy(otherBrand)).isFalse();
+        assertThat(activeVipInRange.isSatisfiedBy(inactive)).isFalse();
+        assertThat(activeVipInRange.isSatisfiedBy(normal)).isFalse();
+        assertThat(activeVipInRange.isSatisfiedBy(tooManyPoints)).isFalse();
+    }
+
+    @Test
+    @DisplayName("映射过的属性应该全部下推为SQL条件")
+    void should_push_down_mapped_attributes() {
+        // Act
+        Pushdown<BrandCustomer, SqlPredicate> pushdown = translator.translate(activeVipInRange);
+
+        // Assert
+        assertThat(pushdown.isFullyPushed()).isTrue();
+        assertThat(pushdown.getPredicate().getSql())
+                .isEqualTo("(brand_id = ? AND status = ? AND customer_type = ? AND points BETWEEN ? AND ?)");
+        assertThat(pushdown.getPredicate().getParameters()).containsExactly("brand-1", 1, 2, 100, 500);
+    }
+
+    @Test
+    @DisplayName("未映射的属性应该留在内存中过滤")
+    void should_keep_unmapped_attributes_as_residual() {
+        // Arrange
+        ExpressionSpecification<BrandCustomer> spec = activeVipInRange.and(BrandCustomerSpecifications.levelAtLeast(3));
+        BrandCustomer lowLevel = customer("brand-1", CustomerType.VIP, 200, true);
+        BrandCustomer highLevel = customer("brand-1", CustomerType.VIP, 200, true);
+        highLevel.setLevel(3);
+
+        // Act
+        Pushdown<BrandCustomer, SqlPredicate> pushdown = translator.translate(spec);
+        List<BrandCustomer> filtered = pushdown.filterResidual(Arrays.asList(lowLevel, highLevel));
+
+        // Assert
+        assertThat(pushdown.isFullyPushed()).isFalse();
+        assertThat(pushdown.getPredicate().getParameters()).containsExactly("brand-1", 1, 2, 100, 500);
+        assertThat(filtered).containsExactly(highLevel);
+    }
+
+    @Test
+    @DisplayName("积分区间无效时应该抛出异常")
+    void should_throw_exception_when_points_range_invalid() {
+        assertThatThrownBy(() -> BrandCustomerSpecifications.pointsBetween(500, 100))
+                .hasMessageContaining("最小积分不能大于最大积分");
+    }
+
+    private BrandCustomer customer(String brandId, CustomerType type, int points, boolean active) {
+        BrandCustomer customer = BrandCustomer.create(CustomerRelationId.generate(), brandId, PersonId.of("person-1"),
+                CustomerCode.of("C202312001"), type, RelationType.ACTIVE_REGISTRATION);
+        customer.activate();
+        customer.addPoints(points);
+        if (!active) {
+            customer.freeze("测试冻结");
+        }
+        return customer;
+    }
+}
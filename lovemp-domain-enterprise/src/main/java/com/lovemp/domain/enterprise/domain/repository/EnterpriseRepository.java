@@ -1,5 +1,7 @@
 package com.lovemp.domain.enterprise.domain.repository;
 
+import com.lovemp.common.domain.CursorPage;
+import com.lovemp.common.domain.CursorRequest;
 import com.lovemp.common.domain.Page;
 import com.lovemp.common.domain.Repository;
 import com.lovemp.domain.enterprise.domain.model.aggregate.Enterprise;
@@ -58,6 +60,18 @@ public interface EnterpriseRepository extends Repository<Enterprise, EnterpriseI
      */
     Page<Enterprise> findByEnterpriseType(EnterpriseType enterpriseType, int pageIndex, int pageSize);
     
+    /**
+     * 查询指定企业类型的企业（键集分页）
+     * 
+     * <p>按ID升序排列，游标键为上一页最后一条的ID，实现应使用{@code enterprise_type = ? AND id > ?}
+     * 条件配合(enterprise_type, id)索引定位</p>
+     * 
+     * @param enterpriseType 企业类型
+     * @param request 游标分页请求
+     * @return 企业游标分页结果
+     */
+    CursorPage<Enterprise> findByEnterpriseType(EnterpriseType enterpriseType, CursorRequest request);
+    
     /**
      * 查询指定区域内的企业
      * 
@@ -69,6 +83,19 @@ public interface EnterpriseRepository extends Repository<Enterprise, EnterpriseI
      */
     Page<Enterprise> findByRegion(String province, String city, int pageIndex, int pageSize);
     
+    /**
+     * 查询指定区域内的企业（键集分页）
+     * 
+     * <p>按ID升序排列，游标键为上一页最后一条的ID，实现应使用{@code province = ? AND city = ? AND id > ?}
+     * 条件配合(province, city, id)索引定位</p>
+     * 
+     * @param province 省份
+     * @param city 城市
+     * @param request 游标分页请求
+     * @return 企业游标分页结果
+     */
+    CursorPage<Enterprise> findByRegion(String province, String city, CursorRequest request);
+    
     /**
      * 获取最近注册的企业
      * 
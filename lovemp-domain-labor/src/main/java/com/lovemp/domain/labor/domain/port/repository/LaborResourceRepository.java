@@ -8,6 +8,7 @@ import com.lovemp.domain.person.domain.model.valueobject.PersonId;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 劳动力资源仓储接口
@@ -40,11 +41,24 @@ public interface LaborResourceRepository {
     /**
      * 查找特定企业的劳动力资源
      *
+     * <p>结果全部加载到内存，大型企业请使用{@link #streamByEnterpriseId}</p>
+     *
      * @param enterpriseId 企业ID
      * @return 劳动力资源列表
      */
     List<LaborResource> findByEnterpriseId(EnterpriseId enterpriseId);
     
+    /**
+     * 流式读取特定企业的劳动力资源
+     *
+     * <p>按fetchSize分批拉取，适用于大型企业的批处理和导出，调用方必须关闭返回的流</p>
+     *
+     * @param enterpriseId 企业ID
+     * @param fetchSize 每批拉取条数
+     * @return 惰性劳动力资源流
+     */
+    Stream<LaborResource> streamByEnterpriseId(EnterpriseId enterpriseId, int fetchSize);
+    
     /**
      * 查找特定品牌的劳动力资源
      *
@@ -0,0 +1,122 @@
+package com.lovemp.domain.person.domain.repository;
+
+import com.lovemp.common.util.BlindIndexer;
+import com.lovemp.domain.person.domain.model.aggregate.Person;
+import com.lovemp.domain.person.domain.model.valueobject.ContactInfoWithTag;
+import com.lovemp.domain.person.domain.model.valueobject.IdentityDocument;
+import com.lovemp.domain.person.domain.model.valueobject.IdentityDocumentType;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 自然人盲索引字段
+ *
+ * <p>证件号码和手机号加密存储，等值查询通过盲索引完成。仓储实现在保存自然人时用{@link #documentNumberIndexes}、
+ * {@link #mobileIndexes}计算索引写入person_blind_index表，查询时按候选索引命中(field, index_value)索引。</p>
+ *
+ * <p>证件号码索引按{@link #documentNumberIndexesByType}连同证件类型写入，由(field, document_type, index_value)
+ * 唯一索引保证同一密钥版本下证件不重复。</p>
+ */
+public final class PersonBlindIndexes {
+
+    /**
+     * 证件号码：去除空白并转为大写（身份证末位X不区分大小写）
+     */
+    public static final BlindIndexer.Field DOCUMENT_NUMBER = BlindIndexer.Field.of("person.document_number",
+            value -> value.replace(" ", "").toUpperCase(Locale.ROOT));
+
+    /**
+     * 手机号：去除空白和连字符，以及+86国家码前缀
+     */
+    public static final BlindIndexer.Field MOBILE = BlindIndexer.Field.of("person.mobile", value -> {
+        String digits = value.replace(" ", "").replace("-", "");
+        return digits.startsWith("+86") ? digits.substring(3) : digits;
+    });
+
+    private PersonBlindIndexes() {
+        // 工具类不允许实例化
+    }
+
+    /**
+     * 计算自然人所有证件号码的盲索引
+     *
+     * @param person 自然人聚合根
+     * @param indexer 盲索引生成器
+     * @return 去重后的盲索引
+     */
+    public static Set<String> documentNumberIndexes(Person person, BlindIndexer indexer) {
+        Set<String> indexes = new LinkedHashSet<>();
+        for (IdentityDocument document : person.getIdentityDocuments()) {
+            addIfPresent(indexes, indexer.index(DOCUMENT_NUMBER, document.getNumber()));
+        }
+        return indexes;
+    }
+
+    /**
+     * 按证件类型计算自然人所有证件号码的盲索引，仓储写入person_blind_index时连同证件类型保存
+     *
+     * @param person 自然人聚合根
+     * @param indexer 盲索引生成器
+     * @return 证件类型到去重后盲索引的映射
+     */
+    public static Map<IdentityDocumentType, Set<String>> documentNumberIndexesByType(Person person,
+                                                                                    BlindIndexer indexer) {
+        Map<IdentityDocumentType, Set<String>> indexes = new EnumMap<>(IdentityDocumentType.class);
+        for (IdentityDocument document : person.getIdentityDocuments()) {
+            String index = indexer.index(DOCUMENT_NUMBER, document.getNumber());
+            if (index != null) {
+                indexes.computeIfAbsent(document.getType(), type -> new LinkedHashSet<>()).add(index);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * 计算自然人所有手机号码的盲索引
+     *
+     * @param person 自然人聚合根
+     * @param indexer 盲索引生成器
+     * @return 去重后的盲索引
+     */
+    public static Set<String> mobileIndexes(Person person, BlindIndexer indexer) {
+        Set<String> indexes = new LinkedHashSet<>();
+        for (ContactInfoWithTag contactInfo : person.getContactInfos()) {
+            addIfPresent(indexes, indexer.index(MOBILE, contactInfo.getContactInfo().getMobile()));
+        }
+        return indexes;
+    }
+
+    /**
+     * 判断自然人是否持有指定号码的证件，用于排除盲索引碰撞
+     *
+     * @param person 自然人聚合根
+     * @param documentNumber 证件号码
+     * @return 是否持有
+     */
+    public static boolean hasDocumentNumber(Person person, String documentNumber) {
+        return person.getIdentityDocuments().stream()
+                .anyMatch(document -> BlindIndexer.matches(DOCUMENT_NUMBER, documentNumber, document.getNumber()));
+    }
+
+    /**
+     * 判断自然人是否使用指定手机号码，用于排除盲索引碰撞
+     *
+     * @param person 自然人聚合根
+     * @param mobile 手机号码
+     * @return 是否使用
+     */
+    public static boolean hasMobile(Person person, String mobile) {
+        return person.getContactInfos().stream()
+                .anyMatch(contactInfo -> BlindIndexer.matches(MOBILE, mobile, contactInfo.getContactInfo().getMobile()));
+    }
+
+    private static void addIfPresent(Set<String> indexes, String index) {
+        if (index != null) {
+            indexes.add(index);
+        }
+    }
+}
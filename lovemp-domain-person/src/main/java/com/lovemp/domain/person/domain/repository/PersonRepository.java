@@ -1,12 +1,17 @@
 package com.lovemp.domain.person.domain.repository;
 
+import com.lovemp.common.domain.CursorPage;
+import com.lovemp.common.domain.CursorRequest;
 import com.lovemp.common.domain.Repository;
 import com.lovemp.common.domain.Page;
+import com.lovemp.common.util.BlindIndexer;
 import com.lovemp.domain.person.domain.model.aggregate.Person;
 import com.lovemp.domain.person.domain.model.valueobject.PersonId;
 import com.lovemp.domain.person.domain.model.valueobject.IdentityDocument;
 import com.lovemp.domain.person.domain.model.valueobject.PersonStatus;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -25,11 +30,44 @@ public interface PersonRepository extends Repository<Person, PersonId> {
     /**
      * 根据证件号码查找自然人
      * 
+     * <p>证件号码加密存储，实现应委托{@link #findByDocumentNumber(String, BlindIndexer)}按盲索引查询，
+     * 而非扫描解密</p>
+     * 
      * @param documentNumber 证件号码
      * @return 自然人可选结果
      */
     Optional<Person> findByDocumentNumber(String documentNumber);
     
+    /**
+     * 根据证件号码查找自然人（盲索引）
+     * 
+     * <p>按所有有效密钥版本的候选索引查询，再按证件号码比对排除索引碰撞</p>
+     * 
+     * @param documentNumber 证件号码
+     * @param indexer 盲索引生成器
+     * @return 自然人可选结果
+     */
+    default Optional<Person> findByDocumentNumber(String documentNumber, BlindIndexer indexer) {
+        List<String> candidates = indexer.candidates(PersonBlindIndexes.DOCUMENT_NUMBER, documentNumber);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return findByDocumentNumberIndex(candidates).stream()
+                .filter(person -> PersonBlindIndexes.hasDocumentNumber(person, documentNumber))
+                .findFirst();
+    }
+    
+    /**
+     * 根据证件号码盲索引查找自然人
+     * 
+     * <p>实现应使用{@code field = 'person.document_number' AND index_value IN (?)}条件
+     * 配合person_blind_index表的(field, index_value)索引定位，结果可能包含索引碰撞的记录</p>
+     * 
+     * @param blindIndexes 候选盲索引，见{@link BlindIndexer#candidates}
+     * @return 命中索引的自然人列表
+     */
+    List<Person> findByDocumentNumberIndex(Collection<String> blindIndexes);
+    
     /**
      * 根据姓名模糊查询自然人
      * 
@@ -40,14 +78,59 @@ public interface PersonRepository extends Repository<Person, PersonId> {
      */
     Page<Person> findByNameLike(String name, int pageIndex, int pageSize);
     
+    /**
+     * 根据姓名模糊查询自然人（键集分页）
+     * 
+     * <p>按(姓名, ID)升序排列，游标键为上一页最后一条的姓名和ID，实现应使用
+     * {@code name > ? OR (name = ? AND id > ?)}条件配合(name, id)索引定位，而非OFFSET跳过</p>
+     * 
+     * @param name 姓名
+     * @param request 游标分页请求
+     * @return 自然人游标分页结果
+     */
+    CursorPage<Person> findByNameLike(String name, CursorRequest request);
+    
     /**
      * 根据手机号码查找自然人
      * 
+     * <p>手机号码加密存储，实现应委托{@link #findByMobile(String, BlindIndexer)}按盲索引查询，
+     * 而非扫描解密</p>
+     * 
      * @param mobile 手机号码
      * @return 自然人可选结果
      */
     Optional<Person> findByMobile(String mobile);
     
+    /**
+     * 根据手机号码查找自然人（盲索引）
+     * 
+     * <p>按所有有效密钥版本的候选索引查询，再按手机号码比对排除索引碰撞</p>
+     * 
+     * @param mobile 手机号码
+     * @param indexer 盲索引生成器
+     * @return 自然人可选结果
+     */
+    default Optional<Person> findByMobile(String mobile, BlindIndexer indexer) {
+        List<String> candidates = indexer.candidates(PersonBlindIndexes.MOBILE, mobile);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return findByMobileIndex(candidates).stream()
+                .filter(person -> PersonBlindIndexes.hasMobile(person, mobile))
+                .findFirst();
+    }
+    
+    /**
+     * 根据手机号码盲索引查找自然人
+     * 
+     * <p>实现应使用{@code field = 'person.mobile' AND index_value IN (?)}条件
+     * 配合person_blind_index表的(field, index_value)索引定位，结果可能包含索引碰撞的记录</p>
+     * 
+     * @param blindIndexes 候选盲索引，见{@link BlindIndexer#candidates}
+     * @return 命中索引的自然人列表
+     */
+    List<Person> findByMobileIndex(Collection<String> blindIndexes);
+    
     /**
      * 根据状态查询自然人列表
      * 
@@ -58,6 +141,18 @@ public interface PersonRepository extends Repository<Person, PersonId> {
      */
     Page<Person> findByStatus(PersonStatus status, int pageIndex, int pageSize);
     
+    /**
+     * 根据状态查询自然人列表（键集分页）
+     * 
+     * <p>按ID升序排列，游标键为上一页最后一条的ID，实现应使用{@code status = ? AND id > ?}
+     * 条件配合(status, id)索引定位</p>
+     * 
+     * @param status 状态
+     * @param request 游标分页请求
+     * @return 自然人游标分页结果
+     */
+    CursorPage<Person> findByStatus(PersonStatus status, CursorRequest request);
+    
     /**
      * 统计特定状态的自然人数量
      * 
@@ -69,6 +164,9 @@ public interface PersonRepository extends Repository<Person, PersonId> {
     /**
      * 保存自然人聚合根
      * 
+     * <p>实现应在同一事务内用{@link PersonBlindIndexes}以当前密钥重建该自然人的盲索引，
+     * 旧版本密钥生成的索引随之替换。证件号码索引连同证件类型写入，违反唯一索引说明证件已被其他自然人使用</p>
+     * 
      * @param person 自然人聚合根
      * @return 保存后的自然人聚合根
      */
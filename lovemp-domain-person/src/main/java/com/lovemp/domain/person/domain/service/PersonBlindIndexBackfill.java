@@ -0,0 +1,91 @@
+package com.lovemp.domain.person.domain.service;
+
+import com.lovemp.common.domain.CursorPage;
+import com.lovemp.common.domain.CursorRequest;
+import com.lovemp.domain.person.domain.model.aggregate.Person;
+import com.lovemp.domain.person.domain.model.valueobject.PersonStatus;
+import com.lovemp.domain.person.domain.repository.PersonRepository;
+
+/**
+ * 自然人盲索引回填任务
+ *
+ * <p>V1.0.2__blind_index.sql上线后，已有人员的证件号码、手机号仍是明文且没有盲索引。本任务按状态逐页
+ * 读取所有人员并重新保存，由{@link PersonRepository#save}加密字段并以当前密钥重建盲索引。
+ * 重新保存是幂等的，任务中断后从头再执行即可；密钥轮换后也可用本任务把旧版本索引全部换成当前版本。</p>
+ *
+ * <p>全部回填完成后才能执行db/migration-post-backfill/V1.0.3__drop_plaintext_person_indexes.sql删除明文索引。</p>
+ */
+public class PersonBlindIndexBackfill {
+
+    /**
+     * 默认每页人员数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final PersonRepository personRepository;
+
+    private final int batchSize;
+
+    /**
+     * 使用默认每页人员数创建回填任务
+     *
+     * @param personRepository 自然人仓储
+     */
+    public PersonBlindIndexBackfill(PersonRepository personRepository) {
+        this(personRepository, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param personRepository 自然人仓储
+     * @param batchSize 每页人员数
+     */
+    public PersonBlindIndexBackfill(PersonRepository personRepository, int batchSize) {
+        if (personRepository == null) {
+            throw new IllegalArgumentException("自然人仓储不能为空");
+        }
+        if (batchSize <= 0 || batchSize > CursorRequest.MAX_SIZE) {
+            throw new IllegalArgumentException("每页人员数必须在1到" + CursorRequest.MAX_SIZE + "之间");
+        }
+        this.personRepository = personRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 回填所有状态的人员
+     *
+     * @return 重新保存的人员数
+     */
+    public long run() {
+        long saved = 0;
+        for (PersonStatus status : PersonStatus.values()) {
+            saved += run(status);
+        }
+        return saved;
+    }
+
+    /**
+     * 回填指定状态的人员
+     *
+     * <p>按ID键集分页读取，每页保存完再取下一页，游标不受保存影响</p>
+     *
+     * @param status 人员状态
+     * @return 重新保存的人员数
+     */
+    public long run(PersonStatus status) {
+        long saved = 0;
+        CursorRequest request = CursorRequest.first(batchSize);
+        while (true) {
+            CursorPage<Person> page = personRepository.findByStatus(status, request);
+            for (Person person : page.getContent()) {
+                personRepository.save(person);
+                saved++;
+            }
+            if (!page.hasNext()) {
+                return saved;
+            }
+            request = CursorRequest.of(page.getNextCursor(), batchSize);
+        }
+    }
+}
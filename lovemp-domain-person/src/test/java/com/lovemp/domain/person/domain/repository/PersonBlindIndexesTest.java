@@ -0,0 +1,86 @@
+package com.lovemp.domain.person.domain.repository;
+
+import com.lovemp.common.util.BlindIndexer;
+import com.lovemp.domain.person.domain.model.aggregate.Person;
+import com.lovemp.domain.person.domain.model.valueobject.ContactInfo;
+import com.lovemp.domain.person.domain.model.valueobject.Gender;
+import com.lovemp.domain.person.domain.model.valueobject.IdentityDocument;
+import com.lovemp.domain.person.domain.model.valueobject.IdentityDocumentType;
+import com.lovemp.domain.person.domain.model.valueobject.PersonId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("自然人盲索引测试")
+class PersonBlindIndexesTest {
+
+    private final BlindIndexer indexer = new BlindIndexer(1, "person-blind-index-secret");
+
+    private Person person;
+
+    @BeforeEach
+    void setUp() {
+        IdentityDocument document = IdentityDocument.ofIdCard("11010119900101123x", "北京市公安局",
+                LocalDate.now(), LocalDate.now().plusYears(20));
+        person = Person.create(PersonId.of(UUID.randomUUID().toString()), "张三", Gender.MALE,
+                LocalDate.of(1990, 1, 1), document, ContactInfo.basic("138-0013-8000", null));
+    }
+
+    @Test
+    @DisplayName("测试写入索引与查询候选索引一致")
+    void testIndexesMatchCandidates() {
+        assertEquals(indexer.index(PersonBlindIndexes.DOCUMENT_NUMBER, "11010119900101123X"),
+                PersonBlindIndexes.documentNumberIndexes(person, indexer).iterator().next());
+        assertTrue(PersonBlindIndexes.mobileIndexes(person, indexer)
+                .contains(indexer.candidates(PersonBlindIndexes.MOBILE, "+86 13800138000").get(0)));
+    }
+
+    @Test
+    @DisplayName("测试证件号码索引按证件类型分组")
+    void testDocumentNumberIndexesByType() {
+        Map<IdentityDocumentType, Set<String>> byType = PersonBlindIndexes.documentNumberIndexesByType(person, indexer);
+
+        assertEquals(Set.of(IdentityDocumentType.ID_CARD), byType.keySet());
+        assertEquals(PersonBlindIndexes.documentNumberIndexes(person, indexer), byType.get(IdentityDocumentType.ID_CARD));
+    }
+
+    @Test
+    @DisplayName("测试按盲索引查找并排除索引碰撞")
+    void testFindByDocumentNumber() {
+        Person other = Person.create(PersonId.of(UUID.randomUUID().toString()), "李四", Gender.FEMALE,
+                LocalDate.of(1991, 1, 1), IdentityDocument.ofIdCard("110101199101011234", "北京市公安局",
+                        LocalDate.now(), LocalDate.now().plusYears(20)), ContactInfo.basic("13900139000", null));
+        PersonRepository repository = mock(PersonRepository.class);
+        when(repository.findByDocumentNumberIndex(any())).thenReturn(List.of(other, person));
+        when(repository.findByDocumentNumber(anyString(), any(BlindIndexer.class))).thenCallRealMethod();
+
+        Optional<Person> found = repository.findByDocumentNumber("11010119900101123X", indexer);
+
+        assertTrue(found.isPresent());
+        assertSame(person, found.get());
+        verify(repository).findByDocumentNumberIndex(
+                indexer.candidates(PersonBlindIndexes.DOCUMENT_NUMBER, "11010119900101123X"));
+    }
+
+    @Test
+    @DisplayName("测试空查询值不访问仓储")
+    void testFindByEmptyMobile() {
+        PersonRepository repository = mock(PersonRepository.class);
+        when(repository.findByMobile(any(), any(BlindIndexer.class))).thenCallRealMethod();
+
+        assertFalse(repository.findByMobile(" ", indexer).isPresent());
+        verify(repository, never()).findByMobileIndex(any());
+    }
+}
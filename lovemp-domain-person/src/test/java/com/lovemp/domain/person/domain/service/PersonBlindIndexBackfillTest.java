@@ -0,0 +1,57 @@
+package com.lovemp.domain.person.domain.service;
+
+import com.lovemp.common.domain.Cursor;
+import com.lovemp.common.domain.CursorPage;
+import com.lovemp.common.domain.CursorRequest;
+import com.lovemp.domain.person.domain.model.aggregate.Person;
+import com.lovemp.domain.person.domain.model.valueobject.PersonStatus;
+import com.lovemp.domain.person.domain.repository.PersonRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("自然人盲索引回填任务测试")
+class PersonBlindIndexBackfillTest {
+
+    @Test
+    @DisplayName("测试按游标逐页重新保存所有状态的人员")
+    void testResavesEveryPage() {
+        PersonRepository repository = mock(PersonRepository.class);
+        Person first = mock(Person.class);
+        Person second = mock(Person.class);
+        Person disabled = mock(Person.class);
+        when(repository.findByStatus(any(PersonStatus.class), any(CursorRequest.class)))
+                .thenReturn(CursorPage.empty());
+        when(repository.findByStatus(eq(PersonStatus.ACTIVE), argThat(CursorRequest::isFirst)))
+                .thenReturn(CursorPage.of(List.of(first), 1, Cursor.of("p-1")));
+        when(repository.findByStatus(eq(PersonStatus.ACTIVE), argThat(request -> !request.isFirst())))
+                .thenReturn(CursorPage.of(List.of(second), 1, null));
+        when(repository.findByStatus(eq(PersonStatus.DISABLED), any(CursorRequest.class)))
+                .thenReturn(CursorPage.of(List.of(disabled), 1, null));
+
+        assertEquals(3, new PersonBlindIndexBackfill(repository, 1).run());
+
+        verify(repository).save(first);
+        verify(repository).save(second);
+        verify(repository).save(disabled);
+        verify(repository, times(PersonStatus.values().length + 1)).findByStatus(any(), any(CursorRequest.class));
+    }
+
+    @Test
+    @DisplayName("测试每页人员数校验")
+    void testBatchSizeValidation() {
+        PersonRepository repository = mock(PersonRepository.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new PersonBlindIndexBackfill(repository, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PersonBlindIndexBackfill(repository, CursorRequest.MAX_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> new PersonBlindIndexBackfill(null));
+    }
+}
@@ -0,0 +1,34 @@
+package com.lovemp.config;
+
+import com.lovemp.common.util.IdGenerator;
+import com.lovemp.common.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ID生成配置类
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * 雪花ID生成器，同时注册为IdGenerator的全局生成器
+     */
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(
+            @Value("${lovemp.id.snowflake.datacenter-id:1}") long datacenterId,
+            @Value("${lovemp.id.snowflake.worker-id:1}") long workerId,
+            @Value("${lovemp.id.snowflake.datacenter-id-bits:5}") int datacenterIdBits,
+            @Value("${lovemp.id.snowflake.worker-id-bits:5}") int workerIdBits,
+            @Value("${lovemp.id.snowflake.sequence-bits:12}") int sequenceBits,
+            @Value("${lovemp.id.snowflake.max-borrow-millis:100}") long maxBorrowMillis,
+            @Value("${lovemp.id.snowflake.max-backward-millis:5}") long maxBackwardMillis,
+            @Value("${lovemp.id.snowflake.block-size:1}") int blockSize) {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.DEFAULT_EPOCH,
+                datacenterId, workerId, datacenterIdBits, workerIdBits, sequenceBits,
+                maxBorrowMillis, maxBackwardMillis, blockSize);
+        IdGenerator.setSnowflakeGenerator(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,37 @@
+package com.lovemp.config;
+
+import com.lovemp.domain.auth.domain.repository.AccountRepository;
+import com.lovemp.domain.auth.domain.repository.LoginAttemptStore;
+import com.lovemp.domain.auth.domain.service.LoginThrottle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 登录限流自动配置类
+ *
+ * <p>账号仓储有实现时才启用。仓储适配器和{@link LoginAttemptStore}由组件扫描的配置注册，
+ * 放在自动配置中@ConditionalOnBean才能在这些定义全部加载后求值</p>
+ */
+@AutoConfiguration
+public class LoginThrottleAutoConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnBean({AccountRepository.class, LoginAttemptStore.class})
+    public LoginThrottle loginThrottle(
+            LoginAttemptStore loginAttemptStore,
+            AccountRepository accountRepository,
+            @Value("${lovemp.auth.login-throttle.max-failures:5}") int maxFailures,
+            @Value("${lovemp.auth.login-throttle.max-ip-failures:50}") int maxIpFailures,
+            @Value("${lovemp.auth.login-throttle.window:15m}") Duration window,
+            @Value("${lovemp.auth.login-throttle.window-slots:15}") int windowSlots,
+            @Value("${lovemp.auth.login-throttle.sync-interval:1s}") Duration syncInterval,
+            @Value("${lovemp.auth.login-throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        return new LoginThrottle(loginAttemptStore, accountRepository, maxFailures, maxIpFailures,
+                window, windowSlots, syncInterval, maxTrackedKeys, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,83 @@
+package com.lovemp.config;
+
+import com.lovemp.domain.auth.domain.repository.LoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 登录限流配置类
+ *
+ * <p>失败计数在本地累加，按sync-interval批量同步到Redis，多个节点共享同一个滑动窗口；
+ * 限流器本身由{@link LoginThrottleAutoConfiguration}在账号仓储有实现时创建</p>
+ */
+@Configuration
+public class LoginThrottleConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoginAttemptStore loginAttemptStore(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${lovemp.auth.login-throttle.window:15m}") Duration window) {
+        return new RedisLoginAttemptStore(stringRedisTemplate, window);
+    }
+
+    /**
+     * 基于Redis Hash的失败计数存储，每个计数键一个Hash，字段为时间片编号
+     */
+    static class RedisLoginAttemptStore implements LoginAttemptStore {
+
+        private static final String KEY_PREFIX = "lovemp:login-attempt:";
+
+        /**
+         * 累加当前时间片、删除滑出窗口的时间片并求和，在Redis中原子执行
+         */
+        private static final RedisScript<Long> ADD_AND_COUNT = new DefaultRedisScript<>(
+                "local slot = tonumber(ARGV[1]) "
+                        + "local delta = tonumber(ARGV[2]) "
+                        + "local oldest = slot - tonumber(ARGV[3]) "
+                        + "if delta > 0 then "
+                        + "  redis.call('HINCRBY', KEYS[1], ARGV[1], delta) "
+                        + "  redis.call('PEXPIRE', KEYS[1], ARGV[4]) "
+                        + "end "
+                        + "local total = 0 "
+                        + "local fields = redis.call('HGETALL', KEYS[1]) "
+                        + "for i = 1, #fields, 2 do "
+                        + "  if tonumber(fields[i]) > oldest then "
+                        + "    total = total + tonumber(fields[i + 1]) "
+                        + "  else "
+                        + "    redis.call('HDEL', KEYS[1], fields[i]) "
+                        + "  end "
+                        + "end "
+                        + "return total",
+                Long.class);
+
+        private final StringRedisTemplate redisTemplate;
+
+        private final String ttlMillis;
+
+        RedisLoginAttemptStore(StringRedisTemplate redisTemplate, Duration window) {
+            this.redisTemplate = redisTemplate;
+            this.ttlMillis = String.valueOf(window.toMillis());
+        }
+
+        @Override
+        public long addAndCount(String key, long slot, long delta, int windowSlots) {
+            Long count = redisTemplate.execute(ADD_AND_COUNT, List.of(KEY_PREFIX + key),
+                    String.valueOf(slot), String.valueOf(delta), String.valueOf(windowSlots), ttlMillis);
+            return count == null ? 0 : count;
+        }
+
+        @Override
+        public void reset(String key) {
+            redisTemplate.delete(KEY_PREFIX + key);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.lovemp.config;
+
+import com.lovemp.common.resilience.OutboundCallExecutor;
+import com.lovemp.common.resilience.OutboundPolicy;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 外部调用容错配置类
+ *
+ * <p>使用resilience4j自动配置的Registry，熔断、重试和舱壁指标随Actuator一起暴露；
+ * 业务模块可注入OutboundCallExecutor后注册自己的策略</p>
+ */
+@Configuration
+public class OutboundCallConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public OutboundCallExecutor outboundCallExecutor(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${lovemp.outbound.max-attempts:3}") int maxAttempts,
+            @Value("${lovemp.outbound.initial-backoff:200ms}") Duration initialBackoff,
+            @Value("${lovemp.outbound.backoff-multiplier:2.0}") double backoffMultiplier,
+            @Value("${lovemp.outbound.jitter-factor:0.5}") double jitterFactor,
+            @Value("${lovemp.outbound.max-backoff:10s}") Duration maxBackoff,
+            @Value("${lovemp.outbound.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${lovemp.outbound.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${lovemp.outbound.minimum-number-of-calls:20}") int minimumNumberOfCalls,
+            @Value("${lovemp.outbound.open-state-wait:30s}") Duration openStateWait,
+            @Value("${lovemp.outbound.max-concurrent-calls:64}") int maxConcurrentCalls) {
+        OutboundPolicy defaultPolicy = OutboundPolicy.builder()
+                .maxAttempts(maxAttempts)
+                .initialBackoff(initialBackoff)
+                .backoffMultiplier(backoffMultiplier)
+                .jitterFactor(jitterFactor)
+                .maxBackoff(maxBackoff)
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .openStateWait(openStateWait)
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .build();
+        return new OutboundCallExecutor(circuitBreakerRegistry, retryRegistry, bulkheadRegistry, null, defaultPolicy);
+    }
+}
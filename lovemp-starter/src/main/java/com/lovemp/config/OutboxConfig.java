@@ -0,0 +1,65 @@
+package com.lovemp.config;
+
+import com.lovemp.common.outbox.JdbcOutboxStore;
+import com.lovemp.common.outbox.OutboxDispatcher;
+import com.lovemp.common.outbox.OutboxMessagePublisher;
+import com.lovemp.common.outbox.OutboxStore;
+import com.lovemp.common.outbox.TransactionalOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 领域事件发件箱配置类
+ *
+ * <p>需先执行db/migration/V1.0.1__domain_event_outbox.sql建表，再通过lovemp.outbox.enabled开启</p>
+ *
+ * <p>各领域库通过应用唯一的数据源访问，发件箱表建在该数据源的默认库中，聚合与事件在同一事务中提交，
+ * 因此只配置一个存储和一个调度器。新增独立数据源时，需为其另建发件箱表并配置对应的存储和调度器。</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "lovemp.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public OutboxStore outboxStore(JdbcTemplate jdbcTemplate,
+                                   @Value("${lovemp.outbox.table-name:domain_event_outbox}") String tableName) {
+        return new JdbcOutboxStore(jdbcTemplate, tableName);
+    }
+
+    @Bean
+    public TransactionalOutbox transactionalOutbox(OutboxStore outboxStore) {
+        return new TransactionalOutbox(outboxStore);
+    }
+
+    /**
+     * 默认发布器：以Spring应用事件的形式在进程内发布，可通过&#64;EventListener监听OutboxMessage；
+     * 接入消息中间件时声明自定义的OutboxMessagePublisher即可替换
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxMessagePublisher outboxMessagePublisher(ApplicationEventPublisher applicationEventPublisher) {
+        return applicationEventPublisher::publishEvent;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public OutboxDispatcher outboxDispatcher(
+            OutboxStore outboxStore,
+            OutboxMessagePublisher outboxMessagePublisher,
+            @Value("${lovemp.outbox.batch-size:100}") int batchSize,
+            @Value("${lovemp.outbox.poll-interval:500ms}") Duration pollInterval,
+            @Value("${lovemp.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${lovemp.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${lovemp.outbox.max-backoff:5m}") Duration maxBackoff,
+            @Value("${lovemp.outbox.parallelism:1}") int parallelism) {
+        return new OutboxDispatcher(outboxStore, outboxMessagePublisher, batchSize, pollInterval,
+                maxAttempts, initialBackoff, maxBackoff, parallelism, Clock.systemUTC());
+    }
+}
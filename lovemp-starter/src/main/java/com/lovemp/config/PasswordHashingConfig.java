@@ -0,0 +1,83 @@
+package com.lovemp.config;
+
+import com.lovemp.domain.auth.domain.service.PasswordHashCalibrator;
+import com.lovemp.domain.auth.domain.service.PasswordHasher;
+import com.lovemp.domain.auth.domain.service.PasswordHashingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * 密码哈希配置类
+ *
+ * <p>BCrypt强度可以固定配置，也可以在启动时按目标延迟校准；
+ * 登录校验通过PasswordHashingService在专用线程池中执行，强度调高后旧哈希在下次登录成功时自动升级</p>
+ */
+@Slf4j
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * 校准时的候选BCrypt强度
+     */
+    private static final int[] CANDIDATE_STRENGTHS = {10, 11, 12, 13, 14};
+
+    /**
+     * 密码编码器
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${lovemp.auth.password.bcrypt-strength:10}") int strength,
+            @Value("${lovemp.auth.password.target-latency:#{null}}") Duration targetLatency) {
+        if (targetLatency != null) {
+            strength = new PasswordHashCalibrator(cost -> new BCryptPasswordHasher(new BCryptPasswordEncoder(cost)), 5)
+                    .calibrate(targetLatency, CANDIDATE_STRENGTHS);
+            log.info("BCrypt强度校准完成: strength={}, targetLatency={}", strength, targetLatency);
+        }
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PasswordHashingService passwordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${lovemp.auth.password.threads:0}") int threads,
+            @Value("${lovemp.auth.password.queue-capacity:256}") int queueCapacity) {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return new PasswordHashingService(new BCryptPasswordHasher(passwordEncoder), threads, queueCapacity);
+    }
+
+    /**
+     * 基于Spring Security PasswordEncoder的密码哈希适配器
+     */
+    static class BCryptPasswordHasher implements PasswordHasher {
+
+        private final PasswordEncoder encoder;
+
+        BCryptPasswordHasher(PasswordEncoder encoder) {
+            this.encoder = encoder;
+        }
+
+        @Override
+        public String hash(String rawPassword) {
+            return encoder.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(String rawPassword, String encodedPassword) {
+            return encoder.matches(rawPassword, encodedPassword);
+        }
+
+        @Override
+        public boolean needsRehash(String encodedPassword) {
+            // BCryptPasswordEncoder在已保存哈希的强度低于当前强度时返回true
+            return encoder.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lovemp.config;
+
+import com.lovemp.domain.auth.domain.repository.AccountRepository;
+import com.lovemp.domain.auth.domain.repository.PermissionRepository;
+import com.lovemp.domain.auth.domain.repository.RoleRepository;
+import com.lovemp.domain.auth.domain.service.EffectivePermissionCache;
+import com.lovemp.domain.auth.domain.service.PermissionMatchingEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * 有效权限缓存自动配置类
+ *
+ * <p>权限匹配引擎启动时加载全部启用的角色和权限，之后由有效权限缓存转发增量变更；
+ * 有效权限缓存按reload-interval定期重新加载，同步其他节点的变更</p>
+ *
+ * <p>账号、角色、权限仓储都有实现时才启用。仓储适配器由组件扫描注册，
+ * 自动配置在所有组件扫描的配置之后处理，@ConditionalOnBean才能可靠地看到这些仓储；
+ * 本类通过META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports注册，不参与组件扫描</p>
+ */
+@AutoConfiguration
+public class PermissionCacheAutoConfiguration {
+
+    @Bean(initMethod = "reload")
+    @ConditionalOnBean({RoleRepository.class, PermissionRepository.class})
+    public PermissionMatchingEngine permissionMatchingEngine(RoleRepository roleRepository,
+                                                             PermissionRepository permissionRepository) {
+        return new PermissionMatchingEngine(roleRepository, permissionRepository);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnBean({AccountRepository.class, RoleRepository.class, PermissionRepository.class})
+    public EffectivePermissionCache effectivePermissionCache(
+            AccountRepository accountRepository,
+            RoleRepository roleRepository,
+            PermissionRepository permissionRepository,
+            PermissionMatchingEngine permissionMatchingEngine,
+            @Value("${lovemp.auth.permission-cache.max-accounts:100000}") int maxAccounts,
+            @Value("${lovemp.auth.permission-cache.reload-interval:5m}") Duration reloadInterval) {
+        return new EffectivePermissionCache(accountRepository, roleRepository, permissionRepository,
+                permissionMatchingEngine, maxAccounts, reloadInterval);
+    }
+}
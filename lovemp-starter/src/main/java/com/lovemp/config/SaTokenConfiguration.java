@@ -1,16 +1,22 @@
 package com.lovemp.config;
 
 import cn.dev33.satoken.context.SaHolder;
+import cn.dev33.satoken.context.model.SaRequest;
+import cn.dev33.satoken.exception.NotPermissionException;
 import cn.dev33.satoken.filter.SaServletFilter;
 import cn.dev33.satoken.router.SaRouter;
 import cn.dev33.satoken.stp.StpInterface;
 import cn.dev33.satoken.stp.StpUtil;
+import com.lovemp.domain.auth.domain.model.valueobject.AccountId;
+import com.lovemp.domain.auth.domain.service.EffectivePermissionCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Sa-Token配置类
@@ -20,42 +26,75 @@ public class SaTokenConfiguration {
 
     /**
      * Sa-Token过滤器配置
+     *
+     * <p>开启lovemp.auth.path-permission.enabled后，登录用户还需经{@link EffectivePermissionCache#isAllowed}
+     * 按请求路径和动作鉴权：GET、HEAD、OPTIONS对应READ，DELETE对应DELETE，其他方法对应WRITE</p>
      */
     @Bean
-    public SaServletFilter saServletFilter() {
+    public SaServletFilter saServletFilter(
+            ObjectProvider<EffectivePermissionCache> effectivePermissionCache,
+            @Value("${lovemp.auth.path-permission.enabled:false}") boolean pathPermissionEnabled) {
         return new SaServletFilter()
                 .addInclude("/**")
                 .addExclude("/auth/login", "/auth/register", "/swagger-ui/**", "/v3/api-docs/**", "/actuator/**", "/h2-console/**")
                 .setAuth(obj -> {
                     // 检查是否登录
                     SaRouter.match("/**", StpUtil::checkLogin);
+                    EffectivePermissionCache cache = effectivePermissionCache.getIfAvailable();
+                    if (pathPermissionEnabled && cache != null) {
+                        SaRequest request = SaHolder.getRequest();
+                        String action = actionOf(request.getMethod());
+                        if (!cache.isAllowed(AccountId.of(StpUtil.getLoginIdAsString()), request.getRequestPath(), action)) {
+                            throw new NotPermissionException(action + " " + request.getRequestPath());
+                        }
+                    }
                 })
                 .setError(e -> {
                     // 处理认证异常
+                    if (e instanceof NotPermissionException) {
+                        SaHolder.getResponse().setStatus(HttpStatus.FORBIDDEN.value());
+                        return "{\"code\":403,\"message\":\"" + e.getMessage() + "\"}";
+                    }
                     SaHolder.getResponse().setStatus(HttpStatus.UNAUTHORIZED.value());
                     return "{\"code\":401,\"message\":\"" + e.getMessage() + "\"}";
                 });
     }
 
     /**
-     * 自定义权限验证接口
+     * 把HTTP方法映射为权限动作
+     */
+    private static String actionOf(String method) {
+        switch (method.toUpperCase(Locale.ROOT)) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+                return "READ";
+            case "DELETE":
+                return "DELETE";
+            default:
+                return "WRITE";
+        }
+    }
+
+    /**
+     * 自定义权限验证接口，loginId为账号ID，权限和角色从内存中的有效权限缓存读取
+     *
+     * <p>缓存由{@link PermissionCacheAutoConfiguration}在仓储适配器存在时创建，每次调用时按需获取</p>
      */
     @Bean
-    public StpInterface stpInterface() {
+    public StpInterface stpInterface(ObjectProvider<EffectivePermissionCache> effectivePermissionCache) {
         return new StpInterface() {
             @Override
             public List<String> getPermissionList(Object loginId, String loginType) {
-                // TODO: 实现从数据库获取权限列表
-                List<String> permissionList = new ArrayList<>();
-                return permissionList;
+                EffectivePermissionCache cache = effectivePermissionCache.getIfAvailable();
+                return cache == null ? List.of() : cache.getPermissionCodes(AccountId.of(String.valueOf(loginId)));
             }
 
             @Override
             public List<String> getRoleList(Object loginId, String loginType) {
-                // TODO: 实现从数据库获取角色列表
-                List<String> roleList = new ArrayList<>();
-                return roleList;
+                EffectivePermissionCache cache = effectivePermissionCache.getIfAvailable();
+                return cache == null ? List.of() : cache.getRoleCodes(AccountId.of(String.valueOf(loginId)));
             }
         };
     }
-} 
\ No newline at end of file
+}
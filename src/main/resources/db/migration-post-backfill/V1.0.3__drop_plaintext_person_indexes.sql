@@ -0,0 +1,23 @@
+-- 删除人员表明文索引
+-- 版本: 1.0.3
+-- 说明: V1.0.2保留了person表的uk_id_card、idx_mobile，供盲索引回填完成前的数据继续使用。
+--       PersonBlindIndexBackfill完成全部回填后，证件唯一性由person_blind_index.uk_document保证，
+--       等值查询走(field, index_value)索引，明文索引不再需要。
+--       本脚本不在默认迁移目录中：确认回填完成后，在下一个版本中将本目录加入spring.flyway.locations执行。
+--       执行时若仍有未回填的人员，查询不存在的表使迁移失败，不删除索引。
+
+-- 使用自然人核心域数据库
+USE person_db;
+
+SET @pending = (SELECT COUNT(*) FROM person p
+                WHERE p.is_deleted = 0
+                  AND NOT EXISTS (SELECT 1 FROM person_blind_index b
+                                  WHERE b.person_id = p.id AND b.field = 'person.document_number'));
+
+SET @ddl = IF(@pending = 0,
+              'ALTER TABLE person DROP INDEX uk_id_card, DROP INDEX idx_mobile',
+              'SELECT 1 FROM blind_index_backfill_not_finished');
+
+PREPARE drop_plaintext_indexes FROM @ddl;
+EXECUTE drop_plaintext_indexes;
+DEALLOCATE PREPARE drop_plaintext_indexes;
@@ -0,0 +1,27 @@
+-- 领域事件发件箱表
+-- 版本: 1.0.1
+-- 说明: 事务性发件箱，领域事件与聚合在同一事务中写入本表，由OutboxDispatcher后台批量投递。
+--       应用只有一个数据源，各领域库位于同一MySQL实例，通过该数据源在同一事务中写入聚合表和本表，
+--       因此只建一张发件箱表，位于应用数据源的默认库中（不指定USE），由OutboxConfig中唯一的
+--       JdbcOutboxStore和OutboxDispatcher读写。领域库拆分到独立数据源时，需为该数据源单独建表并配置存储和调度器。
+
+CREATE TABLE IF NOT EXISTS domain_event_outbox (
+  id BIGINT NOT NULL AUTO_INCREMENT COMMENT '自增主键，决定投递顺序',
+  event_id VARCHAR(36) NOT NULL COMMENT '事件ID',
+  aggregate_type VARCHAR(100) DEFAULT NULL COMMENT '聚合类型',
+  aggregate_id VARCHAR(64) DEFAULT NULL COMMENT '聚合ID',
+  ordering_key VARCHAR(200) NOT NULL COMMENT '顺序键：聚合类型:聚合ID，无归属聚合时为事件ID',
+  event_type VARCHAR(255) NOT NULL COMMENT '事件类型（全限定类名）',
+  payload TEXT NOT NULL COMMENT '事件JSON',
+  occurred_on DATETIME(3) NOT NULL COMMENT '事件发生时间',
+  status VARCHAR(20) NOT NULL COMMENT '状态：PENDING-待投递，DISPATCHED-已投递，DEAD-死信',
+  attempts INT NOT NULL DEFAULT 0 COMMENT '已尝试投递次数',
+  next_attempt_at DATETIME(3) NOT NULL COMMENT '下次可投递时间',
+  last_error VARCHAR(1000) DEFAULT NULL COMMENT '最近一次投递错误',
+  dispatched_at DATETIME(3) DEFAULT NULL COMMENT '投递成功时间',
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_event_id (event_id),
+  KEY idx_status_next_attempt (status, next_attempt_at, id),
+  KEY idx_ordering_key (ordering_key, status, id),
+  KEY idx_dispatched_at (status, dispatched_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='领域事件发件箱表';
@@ -0,0 +1,57 @@
+-- 加密字段盲索引
+-- 版本: 1.0.2
+-- 说明: 证件号码、手机号、邮箱改为加密存储后，密文不能再建立等值索引和唯一约束，
+--       等值查询和唯一性校验改由BlindIndexer生成的盲索引（密钥版本.HMAC-SHA256截断值）完成。
+--       已有明文数据的加密和盲索引回填需要密钥，由应用侧任务PersonBlindIndexBackfill完成，不在本脚本中执行。
+--       回填完成前等值查询和证件唯一性仍依赖原有的明文索引，因此本脚本保留uk_id_card、idx_mobile，
+--       回填完成后再执行db/migration-post-backfill/V1.0.3__drop_plaintext_person_indexes.sql删除。
+
+-- 使用自然人核心域数据库
+USE person_db;
+
+-- 创建person_blind_index表（人员盲索引表）
+CREATE TABLE IF NOT EXISTS person_blind_index (
+  id BIGINT NOT NULL AUTO_INCREMENT COMMENT '自增主键',
+  person_id VARCHAR(36) NOT NULL COMMENT '人员ID',
+  field VARCHAR(50) NOT NULL COMMENT '索引字段：person.document_number、person.mobile',
+  document_type VARCHAR(30) DEFAULT NULL COMMENT '证件类型，仅证件号码索引填写；手机号为NULL，不参与唯一约束',
+  index_value VARCHAR(24) NOT NULL COMMENT '盲索引：密钥版本.HMAC-SHA256截断值',
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_document (field, document_type, index_value),
+  KEY idx_field_index_value (field, index_value),
+  KEY idx_person_id (person_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='人员盲索引表';
+
+-- 加宽证件号码、手机号、邮箱列以容纳密文；回填期间数据中明文与密文并存，原有明文索引继续服务未回填的数据
+ALTER TABLE person
+  MODIFY COLUMN id_card_no VARCHAR(100) NOT NULL COMMENT '证件号码（密文）',
+  MODIFY COLUMN mobile VARCHAR(100) NOT NULL COMMENT '手机号（密文）',
+  MODIFY COLUMN email VARCHAR(200) DEFAULT NULL COMMENT '邮箱（密文）';
+
+-- 使用认证授权域数据库
+USE auth_db;
+
+-- 创建account表（账号表），此前的迁移脚本未创建认证授权域的表
+CREATE TABLE IF NOT EXISTS account (
+  id VARCHAR(36) NOT NULL COMMENT '主键ID',
+  username VARCHAR(50) NOT NULL COMMENT '用户名',
+  password VARCHAR(100) NOT NULL COMMENT '密码哈希',
+  email VARCHAR(200) NOT NULL COMMENT '邮箱（密文）',
+  email_bidx VARCHAR(24) NOT NULL COMMENT '邮箱盲索引：密钥版本.HMAC-SHA256截断值',
+  person_id VARCHAR(36) DEFAULT NULL COMMENT '人员ID',
+  account_type TINYINT NOT NULL COMMENT '账号类型：1-员工，2-客户，3-系统',
+  status TINYINT NOT NULL COMMENT '状态：0-禁用，1-启用，2-锁定',
+  last_login_time DATETIME DEFAULT NULL COMMENT '最后登录时间',
+  last_login_ip VARCHAR(50) DEFAULT NULL COMMENT '最后登录IP',
+  version INT NOT NULL DEFAULT 0 COMMENT '版本号',
+  is_deleted TINYINT NOT NULL DEFAULT 0 COMMENT '是否删除：0-否，1-是',
+  created_by VARCHAR(36) NOT NULL COMMENT '创建人',
+  created_time DATETIME NOT NULL COMMENT '创建时间',
+  updated_by VARCHAR(36) NOT NULL COMMENT '更新人',
+  updated_time DATETIME NOT NULL COMMENT '更新时间',
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_username (username),
+  KEY idx_email_bidx (email_bidx),
+  KEY idx_person_id (person_id),
+  KEY idx_account_type_status (account_type, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='账号表';